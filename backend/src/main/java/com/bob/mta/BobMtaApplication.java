@@ -2,6 +2,7 @@ package com.bob.mta;
 
 import com.bob.mta.common.security.JwtProperties;
 import com.bob.mta.modules.notification.NotificationProperties;
+import com.bob.mta.modules.plan.PlanProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -14,7 +15,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
     DataSourceTransactionManagerAutoConfiguration.class,
     JdbcTemplateAutoConfiguration.class
 })
-@EnableConfigurationProperties({JwtProperties.class, NotificationProperties.class})
+@EnableConfigurationProperties({JwtProperties.class, NotificationProperties.class, PlanProperties.class})
 public class BobMtaApplication {
     public static void main(String[] args) {
         SpringApplication.run(BobMtaApplication.class, args);
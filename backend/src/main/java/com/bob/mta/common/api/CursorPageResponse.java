@@ -0,0 +1,59 @@
+package com.bob.mta.common.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cursor based pagination container. Clients pass {@code nextCursor} back to fetch the following page;
+ * {@code total} is only populated when explicitly requested.
+ *
+ * @param <T> row type
+ */
+public class CursorPageResponse<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> list;
+
+    private final String nextCursor;
+
+    private final Long total;
+
+    private final long pageSize;
+
+    private CursorPageResponse(final List<T> list, final String nextCursor, final Long total, final long pageSize) {
+        this.list = list;
+        this.nextCursor = nextCursor;
+        this.total = total;
+        this.pageSize = pageSize;
+    }
+
+    public static <T> CursorPageResponse<T> of(final List<T> list, final String nextCursor, final Long total,
+                                               final long pageSize) {
+        final List<T> safeList = list == null ? Collections.emptyList() : List.copyOf(list);
+        return new CursorPageResponse<>(safeList, nextCursor, total, pageSize);
+    }
+
+    public List<T> getList() {
+        return list;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public long getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -1,6 +1,16 @@
 package com.bob.mta.modules.notification;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface ApiNotificationAdapter {
 
     NotificationResult invoke(ApiCallRequest request);
+
+    /**
+     * Invokes the endpoint without blocking the caller. Adapters without a non-blocking transport complete
+     * the future on the calling thread.
+     */
+    default CompletableFuture<NotificationResult> invokeAsync(ApiCallRequest request) {
+        return CompletableFuture.completedFuture(invoke(request));
+    }
 }
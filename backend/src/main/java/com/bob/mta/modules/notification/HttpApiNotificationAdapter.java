@@ -2,6 +2,7 @@ package com.bob.mta.modules.notification;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
@@ -11,13 +12,19 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestOperations;
 
+import java.io.IOException;
+import java.net.URI;
 import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 @ConditionalOnProperty(prefix = "notification.api", name = "enabled", havingValue = "true", matchIfMissing = true)
@@ -26,19 +33,22 @@ public class HttpApiNotificationAdapter implements ApiNotificationAdapter {
     private static final Logger log = LoggerFactory.getLogger(HttpApiNotificationAdapter.class);
 
     private final RestOperations restOperations;
+    private final NotificationHttpClient httpClient;
+    private final Duration readTimeout;
 
-    public HttpApiNotificationAdapter(RestTemplateBuilder builder, NotificationProperties properties) {
+    @Autowired
+    public HttpApiNotificationAdapter(RestTemplateBuilder builder, NotificationHttpClient httpClient,
+                                      NotificationProperties properties) {
         NotificationProperties.Api config = properties.getApi();
-        Duration connectTimeout = config.getConnectTimeout() == null ? Duration.ofSeconds(5) : config.getConnectTimeout();
-        Duration readTimeout = config.getReadTimeout() == null ? Duration.ofSeconds(15) : config.getReadTimeout();
-        this.restOperations = builder
-                .setConnectTimeout(connectTimeout)
-                .setReadTimeout(readTimeout)
-                .build();
+        this.readTimeout = config.getReadTimeout() == null ? Duration.ofSeconds(15) : config.getReadTimeout();
+        this.restOperations = httpClient.restTemplate(builder, readTimeout);
+        this.httpClient = httpClient;
     }
 
     HttpApiNotificationAdapter(RestOperations restOperations) {
         this.restOperations = restOperations;
+        this.httpClient = null;
+        this.readTimeout = null;
     }
 
     @Override
@@ -54,19 +64,13 @@ public class HttpApiNotificationAdapter implements ApiNotificationAdapter {
             }
             HttpEntity<String> entity = new HttpEntity<>(request.getBody(), headers);
             ResponseEntity<String> response = restOperations.exchange(request.getEndpoint(), method, entity, String.class);
-            int status = response.getStatusCode().value();
-            Map<String, String> metadata = new LinkedHashMap<>();
-            metadata.put("endpoint", request.getEndpoint());
-            metadata.put("status", String.valueOf(status));
-            if (StringUtils.hasText(response.getBody())) {
-                metadata.put("body", truncate(response.getBody()));
-            }
-            if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("API call to {} succeeded with status {}", request.getEndpoint(), status);
-                return NotificationResult.success("API", "api.invoked", metadata);
-            }
-            log.warn("API call to {} failed with status {}", request.getEndpoint(), status);
-            return NotificationResult.failure("API", "api.failed", "HTTP status %d".formatted(status), metadata);
+            return statusResult(request.getEndpoint(), response.getStatusCode().value(), response.getBody());
+        } catch (RestClientResponseException ex) {
+            return statusResult(request.getEndpoint(), ex.getStatusCode().value(), ex.getResponseBodyAsString());
+        } catch (ResourceAccessException ex) {
+            log.error("Failed to reach API {}", request.getEndpoint(), ex);
+            return NotificationResult.failure("API", "api.failed", ex.getMessage(),
+                    Map.of("reason", "IO_ERROR"));
         } catch (RestClientException ex) {
             log.error("Failed to invoke API", ex);
             return NotificationResult.failure("API", "api.failed", ex.getMessage(),
@@ -74,6 +78,63 @@ public class HttpApiNotificationAdapter implements ApiNotificationAdapter {
         }
     }
 
+    @Override
+    public CompletableFuture<NotificationResult> invokeAsync(ApiCallRequest request) {
+        if (httpClient == null) {
+            return ApiNotificationAdapter.super.invokeAsync(request);
+        }
+        java.net.http.HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request);
+        } catch (IllegalArgumentException ex) {
+            log.error("Failed to build API call to {}", request.getEndpoint(), ex);
+            return CompletableFuture.completedFuture(NotificationResult.failure("API", "api.failed",
+                    ex.getMessage(), Map.of("reason", "HTTP_ERROR")));
+        }
+        return httpClient.sendAsync(httpRequest)
+                .thenApply(response -> statusResult(request.getEndpoint(), response.statusCode(), response.body()))
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    log.error("Failed to reach API {}", request.getEndpoint(), cause);
+                    return NotificationResult.failure("API", "api.failed", cause.getMessage(),
+                            Map.of("reason", cause instanceof IOException ? "IO_ERROR" : "HTTP_ERROR"));
+                });
+    }
+
+    private java.net.http.HttpRequest buildRequest(ApiCallRequest request) {
+        java.net.http.HttpRequest.BodyPublisher body = request.getBody() == null
+                ? java.net.http.HttpRequest.BodyPublishers.noBody()
+                : java.net.http.HttpRequest.BodyPublishers.ofString(request.getBody());
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(URI.create(request.getEndpoint()))
+                .method(resolveMethod(request.getMethod()).name(), body)
+                .timeout(readTimeout);
+        request.getHeaders().forEach(builder::header);
+        if (request.getHeaders().keySet().stream().noneMatch(HttpHeaders.CONTENT_TYPE::equalsIgnoreCase)) {
+            builder.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        return builder.build();
+    }
+
+    private NotificationResult statusResult(String endpoint, int status, String body) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("endpoint", endpoint);
+        metadata.put("status", String.valueOf(status));
+        if (status >= 200 && status < 300) {
+            if (StringUtils.hasText(body)) {
+                metadata.put("body", truncate(body));
+            }
+            log.info("API call to {} succeeded with status {}", endpoint, status);
+            return NotificationResult.success("API", "api.invoked", metadata);
+        }
+        metadata.put("reason", "HTTP_STATUS");
+        if (StringUtils.hasText(body)) {
+            metadata.put("body", truncate(body));
+        }
+        log.warn("API call to {} failed with status {}", endpoint, status);
+        return NotificationResult.failure("API", "api.failed", "HTTP status %d".formatted(status), metadata);
+    }
+
     private HttpMethod resolveMethod(String method) {
         if (!StringUtils.hasText(method)) {
             return HttpMethod.POST;
@@ -1,6 +1,16 @@
 package com.bob.mta.modules.notification;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface InstantMessageNotificationAdapter {
 
     NotificationResult send(InstantMessage message);
+
+    /**
+     * Sends the message without blocking the caller. Adapters without a non-blocking transport complete the
+     * future on the calling thread.
+     */
+    default CompletableFuture<NotificationResult> sendAsync(InstantMessage message) {
+        return CompletableFuture.completedFuture(send(message));
+    }
 }
@@ -0,0 +1,83 @@
+package com.bob.mta.modules.notification;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker of a single notification endpoint. The circuit opens after {@code failureThreshold}
+ * consecutive retryable failures and rejects calls for {@code openDuration}; afterwards it is half open and
+ * lets exactly one probe through. A probe that reaches the endpoint closes the circuit again, a failed probe
+ * reopens it for another {@code openDuration}.
+ */
+public class NotificationCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    public NotificationCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration == null ? Duration.ZERO : openDuration;
+    }
+
+    /**
+     * Returns whether a call may be made now. In the half open state only the first caller is admitted
+     * until its outcome was recorded.
+     */
+    public synchronized boolean tryAcquire(Instant now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (now.isBefore(openedAt.plus(openDuration))) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (probeInFlight) {
+                    yield false;
+                }
+                probeInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Records a call that reached the endpoint, including permanent failures such as client errors.
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        openedAt = null;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure(Instant now) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = now;
+        }
+        probeInFlight = false;
+    }
+
+    public synchronized Snapshot snapshot() {
+        Instant retryAt = state == State.OPEN ? openedAt.plus(openDuration) : null;
+        return new Snapshot(state, consecutiveFailures, openedAt, retryAt);
+    }
+
+    public record Snapshot(State state, int consecutiveFailures, Instant openedAt, Instant retryAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.bob.mta.modules.notification;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the notification circuit breakers as {@code /actuator/notificationcircuits}.
+ */
+@Component
+@Endpoint(id = "notificationcircuits")
+public class NotificationCircuitEndpoint {
+
+    private final NotificationRetryExecutor retryExecutor;
+
+    public NotificationCircuitEndpoint(NotificationRetryExecutor retryExecutor) {
+        this.retryExecutor = retryExecutor;
+    }
+
+    @ReadOperation
+    public Map<String, NotificationCircuitBreaker.Snapshot> circuits() {
+        return retryExecutor.circuitSnapshots();
+    }
+}
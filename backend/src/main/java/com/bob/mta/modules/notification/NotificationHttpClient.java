@@ -0,0 +1,204 @@
+package com.bob.mta.modules.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client shared by the HTTP based notification adapters. All deliveries go through one
+ * {@link HttpClient}, which keeps connections alive between deliveries and negotiates HTTP/2 where the
+ * endpoint supports it, so only the first delivery to a host pays for the TCP and TLS handshakes. At most
+ * {@code maxConnectionsPerHost} requests per host are in flight; asynchronous requests wait for a free slot
+ * without holding a thread. Every request is timed in {@value #METRIC_NAME}, tagged with host and outcome and
+ * published as a histogram; the first {@value #MAX_HOST_TAGS} hosts get a tag value of their own and any
+ * further host is tagged {@value #OTHER_HOST}, so endpoints taken from request payloads cannot grow the
+ * number of series without bound.
+ * <p>
+ * The JDK client reads its idle connection timeout only from the JVM-wide system property
+ * {@code jdk.httpclient.keepalive.timeout} (1200 seconds unless set). It is deliberately not set from here;
+ * endpoints that drop idle connections sooner need {@code -Djdk.httpclient.keepalive.timeout} at startup.
+ */
+@Component
+public class NotificationHttpClient {
+
+    static final String METRIC_NAME = "notification.http.requests";
+
+    static final int MAX_HOST_TAGS = 32;
+
+    static final String OTHER_HOST = "other";
+
+    private final HttpClient client;
+    private final MeterRegistry meterRegistry;
+    private final int maxConnectionsPerHost;
+    private final ConcurrentMap<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+    private final Set<String> taggedHosts = new HashSet<>();
+
+    @Autowired
+    public NotificationHttpClient(NotificationProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    NotificationHttpClient(NotificationProperties properties, MeterRegistry meterRegistry) {
+        NotificationProperties.Http config = properties.getHttp();
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(config.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (config.getConnectTimeout() != null && !config.getConnectTimeout().isZero()) {
+            builder.connectTimeout(config.getConnectTimeout());
+        }
+        this.client = builder.build();
+        this.meterRegistry = meterRegistry;
+        this.maxConnectionsPerHost = Math.max(1, config.getMaxConnectionsPerHost());
+    }
+
+    /**
+     * Blocking client for adapters built on {@link RestTemplate}. The customizers of {@code builder} still
+     * apply, only the request factory is replaced by one sending through the shared client.
+     */
+    public RestTemplate restTemplate(RestTemplateBuilder builder, Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(client);
+        if (readTimeout != null) {
+            requestFactory.setReadTimeout(readTimeout);
+        }
+        return builder.requestFactory(() -> requestFactory)
+                .additionalInterceptors(this::intercept)
+                .build();
+    }
+
+    /**
+     * Sends {@code request} without blocking the caller. The future fails with the transport error when the
+     * endpoint could not be reached; HTTP error statuses complete it normally.
+     */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        String host = hostOf(request.uri());
+        HostLimiter limiter = limiters.computeIfAbsent(host, key -> new HostLimiter(maxConnectionsPerHost));
+        return limiter.acquire().thenCompose(ignored -> {
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse<String>> response;
+            try {
+                response = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            } catch (RuntimeException ex) {
+                response = CompletableFuture.failedFuture(ex);
+            }
+            return response.whenComplete((result, error) -> {
+                limiter.release();
+                record(host, error == null ? outcome(result.statusCode()) : "IO_ERROR", start);
+            });
+        });
+    }
+
+    private ClientHttpResponse intercept(org.springframework.http.HttpRequest request, byte[] body,
+                                         ClientHttpRequestExecution execution) throws IOException {
+        String host = hostOf(request.getURI());
+        HostLimiter limiter = limiters.computeIfAbsent(host, key -> new HostLimiter(maxConnectionsPerHost));
+        limiter.acquire().join();
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            record(host, outcome(response.getStatusCode().value()), start);
+            return response;
+        } catch (IOException | RuntimeException ex) {
+            record(host, "IO_ERROR", start);
+            throw ex;
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private void record(String host, String outcome, long startNanos) {
+        Timer.builder(METRIC_NAME)
+                .description("Latency of outbound notification HTTP requests")
+                .tag("host", hostTag(host))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    String hostTag(String host) {
+        synchronized (taggedHosts) {
+            if (taggedHosts.contains(host) || taggedHosts.size() < MAX_HOST_TAGS && taggedHosts.add(host)) {
+                return host;
+            }
+        }
+        return OTHER_HOST;
+    }
+
+    private static String outcome(int status) {
+        if (status >= 200 && status < 300) {
+            return "SUCCESS";
+        }
+        if (status >= 400 && status < 500) {
+            return "CLIENT_ERROR";
+        }
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        return "OTHER";
+    }
+
+    private static String hostOf(URI uri) {
+        if (uri == null || uri.getHost() == null) {
+            return "unknown";
+        }
+        return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * Counting semaphore whose waiters are futures, so that asynchronous senders do not park a thread.
+     */
+    static final class HostLimiter {
+
+        private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private int available;
+
+        HostLimiter(int permits) {
+            this.available = permits;
+        }
+
+        synchronized CompletableFuture<Void> acquire() {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+
+        void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            next.complete(null);
+        }
+    }
+}
@@ -10,6 +10,9 @@ public class NotificationProperties {
     private final Email email = new Email();
     private final InstantMessage instantMessage = new InstantMessage();
     private final Api api = new Api();
+    private final Http http = new Http();
+    private final Retry retry = new Retry();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
 
     public Email getEmail() {
         return email;
@@ -23,11 +26,24 @@ public class NotificationProperties {
         return api;
     }
 
+    public Http getHttp() {
+        return http;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     public static class Email {
 
         private boolean enabled;
         private String from;
         private String replyTo;
+        private final Batch batch = new Batch();
 
         public boolean isEnabled() {
             return enabled;
@@ -52,13 +68,79 @@ public class NotificationProperties {
         public void setReplyTo(String replyTo) {
             this.replyTo = replyTo;
         }
+
+        public Batch getBatch() {
+            return batch;
+        }
+
+        public static class Batch {
+
+            /**
+             * Queues messages and sends them in batches over one reused SMTP session instead of opening a
+             * session per message.
+             */
+            private boolean enabled;
+            /**
+             * Messages sent per batch at most.
+             */
+            private int size = 50;
+            /**
+             * Time the first message of a batch waits for further messages once the queue is drained. By
+             * default a batch is sent right away; messages queued while it is being sent form the next batch.
+             */
+            private Duration flushInterval = Duration.ZERO;
+            private int queueCapacity = 1000;
+            /**
+             * Idle time after which the SMTP session is closed.
+             */
+            private Duration idleTimeout = Duration.ofSeconds(30);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getSize() {
+                return size;
+            }
+
+            public void setSize(int size) {
+                this.size = size;
+            }
+
+            public Duration getFlushInterval() {
+                return flushInterval;
+            }
+
+            public void setFlushInterval(Duration flushInterval) {
+                this.flushInterval = flushInterval;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Duration getIdleTimeout() {
+                return idleTimeout;
+            }
+
+            public void setIdleTimeout(Duration idleTimeout) {
+                this.idleTimeout = idleTimeout;
+            }
+        }
     }
 
     public static class InstantMessage {
 
         private boolean enabled;
         private String webhookUrl;
-        private Duration connectTimeout = Duration.ofSeconds(5);
         private Duration readTimeout = Duration.ofSeconds(10);
 
         public boolean isEnabled() {
@@ -77,14 +159,6 @@ public class NotificationProperties {
             this.webhookUrl = webhookUrl;
         }
 
-        public Duration getConnectTimeout() {
-            return connectTimeout;
-        }
-
-        public void setConnectTimeout(Duration connectTimeout) {
-            this.connectTimeout = connectTimeout;
-        }
-
         public Duration getReadTimeout() {
             return readTimeout;
         }
@@ -97,7 +171,6 @@ public class NotificationProperties {
     public static class Api {
 
         private boolean enabled = true;
-        private Duration connectTimeout = Duration.ofSeconds(5);
         private Duration readTimeout = Duration.ofSeconds(15);
 
         public boolean isEnabled() {
@@ -108,6 +181,27 @@ public class NotificationProperties {
             this.enabled = enabled;
         }
 
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+    }
+
+    public static class Http {
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        /**
+         * Negotiates HTTP/2 with endpoints that support it and falls back to HTTP/1.1 otherwise.
+         */
+        private boolean http2 = true;
+        /**
+         * Requests in flight to a single host; further requests wait for a free slot.
+         */
+        private int maxConnectionsPerHost = 20;
+
         public Duration getConnectTimeout() {
             return connectTimeout;
         }
@@ -116,12 +210,92 @@ public class NotificationProperties {
             this.connectTimeout = connectTimeout;
         }
 
-        public Duration getReadTimeout() {
-            return readTimeout;
+        public boolean isHttp2() {
+            return http2;
         }
 
-        public void setReadTimeout(Duration readTimeout) {
-            this.readTimeout = readTimeout;
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public int getMaxConnectionsPerHost() {
+            return maxConnectionsPerHost;
+        }
+
+        public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+        }
+    }
+
+    public static class Retry {
+
+        private int maxAttempts = 3;
+        /**
+         * Upper bound of the delay before the second attempt; every further attempt doubles it up to
+         * {@code maxDelay}, and the actual delay is drawn uniformly below that bound.
+         */
+        private Duration initialDelay = Duration.ofMillis(200);
+        private double multiplier = 2.0;
+        private Duration maxDelay = Duration.ofSeconds(5);
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+    }
+
+    public static class CircuitBreaker {
+
+        /**
+         * Consecutive retryable failures of an endpoint after which its circuit opens.
+         */
+        private int failureThreshold = 5;
+        /**
+         * Time an open circuit rejects calls before a single probe is let through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
         }
     }
 }
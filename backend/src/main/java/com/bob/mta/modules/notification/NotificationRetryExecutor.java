@@ -0,0 +1,153 @@
+package com.bob.mta.modules.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs notification deliveries under the {@link NotificationRetryPolicy} and a circuit breaker per endpoint.
+ * Endpoints are identified by channel and host, so all paths of a failing host share one circuit; deliveries
+ * without an endpoint share the circuit of their channel. While a circuit is open the delivery fails right
+ * away with reason {@code CIRCUIT_OPEN} and no attempt is made.
+ */
+@Component
+public class NotificationRetryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetryExecutor.class);
+
+    private final NotificationRetryPolicy policy;
+    private final NotificationProperties.CircuitBreaker circuitConfig;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final ConcurrentMap<String, NotificationCircuitBreaker> circuits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationRetryExecutor(NotificationProperties properties) {
+        this(properties, Clock.systemUTC(), duration -> Thread.sleep(duration.toMillis()));
+    }
+
+    NotificationRetryExecutor(NotificationProperties properties, Clock clock, Sleeper sleeper) {
+        this.policy = new NotificationRetryPolicy(properties.getRetry());
+        this.circuitConfig = properties.getCircuitBreaker();
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    public NotificationAttempt execute(String channel, String endpoint, Supplier<NotificationResult> delivery) {
+        Objects.requireNonNull(delivery, "delivery");
+        String circuitKey = circuitKey(channel, endpoint);
+        NotificationCircuitBreaker circuit = circuits.computeIfAbsent(circuitKey,
+                key -> new NotificationCircuitBreaker(circuitConfig.getFailureThreshold(),
+                        circuitConfig.getOpenDuration()));
+        NotificationResult lastResult = null;
+        int attempts = 0;
+        while (attempts < policy.getMaxAttempts()) {
+            if (!circuit.tryAcquire(clock.instant())) {
+                if (lastResult == null) {
+                    lastResult = circuitOpen(channel, circuitKey);
+                }
+                break;
+            }
+            attempts++;
+            lastResult = deliver(channel, delivery);
+            boolean retryable = policy.isRetryable(lastResult);
+            if (lastResult.isSuccess() || !retryable) {
+                circuit.onSuccess();
+                break;
+            }
+            circuit.onFailure(clock.instant());
+            if (attempts < policy.getMaxAttempts() && !pause(policy.backoff(attempts, ThreadLocalRandom.current()))) {
+                break;
+            }
+        }
+        return new NotificationAttempt(lastResult, attempts);
+    }
+
+    /**
+     * State of every circuit seen so far, keyed by {@code CHANNEL endpoint}.
+     */
+    public Map<String, NotificationCircuitBreaker.Snapshot> circuitSnapshots() {
+        Map<String, NotificationCircuitBreaker.Snapshot> snapshots = new TreeMap<>();
+        circuits.forEach((key, circuit) -> snapshots.put(key, circuit.snapshot()));
+        return snapshots;
+    }
+
+    private NotificationResult deliver(String channel, Supplier<NotificationResult> delivery) {
+        try {
+            NotificationResult result = delivery.get();
+            if (result != null) {
+                return result;
+            }
+            return NotificationResult.failure(channel, "notification.failed", "No response from " + channel,
+                    Map.of(NotificationRetryPolicy.REASON_KEY, "NO_RESPONSE"));
+        } catch (RuntimeException ex) {
+            return NotificationResult.failure(channel, "notification.failed", ex.getMessage(),
+                    Map.of(NotificationRetryPolicy.REASON_KEY, "EXCEPTION"));
+        }
+    }
+
+    private boolean pause(Duration delay) {
+        if (delay.isZero()) {
+            return true;
+        }
+        try {
+            sleeper.sleep(delay);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private NotificationResult circuitOpen(String channel, String circuitKey) {
+        log.warn("Skipping delivery to {}, circuit is open", circuitKey);
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put(NotificationRetryPolicy.REASON_KEY, NotificationRetryPolicy.REASON_CIRCUIT_OPEN);
+        metadata.put("circuit", circuitKey);
+        return NotificationResult.failure(channel, "notification.circuitOpen",
+                "Circuit open for " + circuitKey, metadata);
+    }
+
+    private static String circuitKey(String channel, String endpoint) {
+        String safeChannel = StringUtils.hasText(channel) ? channel : "UNKNOWN";
+        if (!StringUtils.hasText(endpoint)) {
+            return safeChannel;
+        }
+        try {
+            URI uri = URI.create(endpoint.trim());
+            if (uri.getHost() != null) {
+                return safeChannel + " " + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+            }
+        } catch (IllegalArgumentException ex) {
+            // fall through to the raw endpoint
+        }
+        return safeChannel + " " + endpoint.trim();
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+
+        void sleep(Duration duration) throws InterruptedException;
+    }
+
+    public record NotificationAttempt(NotificationResult result, int attempts) {
+
+        public NotificationAttempt {
+            Objects.requireNonNull(result, "result");
+        }
+    }
+}
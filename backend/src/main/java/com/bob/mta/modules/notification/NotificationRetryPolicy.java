@@ -0,0 +1,88 @@
+package com.bob.mta.modules.notification;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides whether a failed delivery is worth repeating and how long to wait before doing so. Failures are
+ * classified from the {@code status} and {@code reason} metadata of the {@link NotificationResult}: client
+ * errors other than 408 and 429, and failures caused by the configuration or the message itself, are
+ * permanent; server errors, timeouts, I/O errors and unclassified failures are retried. The delay before
+ * attempt {@code n + 1} is drawn uniformly from zero to {@code initialDelay * multiplier^(n - 1)}, capped at
+ * {@code maxDelay} ("full jitter"), so that callers failing together do not retry in lockstep.
+ */
+public class NotificationRetryPolicy {
+
+    public static final String REASON_KEY = "reason";
+    public static final String STATUS_KEY = "status";
+
+    public static final String REASON_CONFIGURATION = "CONFIGURATION";
+    public static final String REASON_CIRCUIT_OPEN = "CIRCUIT_OPEN";
+
+    private static final Set<String> PERMANENT_REASONS = Set.of(REASON_CONFIGURATION, REASON_CIRCUIT_OPEN,
+            "NO_RECIPIENT", "INVALID_MESSAGE", "SMTP_AUTH");
+
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final double multiplier;
+    private final long maxDelayMillis;
+
+    public NotificationRetryPolicy(NotificationProperties.Retry config) {
+        this.maxAttempts = Math.max(1, config.getMaxAttempts());
+        this.initialDelayMillis = millis(config.getInitialDelay());
+        this.multiplier = Math.max(1.0, config.getMultiplier());
+        this.maxDelayMillis = Math.max(initialDelayMillis, millis(config.getMaxDelay()));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isRetryable(NotificationResult result) {
+        if (result == null) {
+            return true;
+        }
+        if (result.isSuccess()) {
+            return false;
+        }
+        Map<String, String> metadata = result.getMetadata();
+        String reason = metadata.get(REASON_KEY);
+        if (reason != null && PERMANENT_REASONS.contains(reason)) {
+            return false;
+        }
+        Integer status = parseStatus(metadata.get(STATUS_KEY));
+        if (status == null) {
+            return true;
+        }
+        return status == 408 || status == 429 || status >= 500;
+    }
+
+    /**
+     * @param attempt number of attempts made so far, starting at one
+     */
+    public Duration backoff(int attempt, RandomGenerator random) {
+        double bound = initialDelayMillis * Math.pow(multiplier, Math.max(0, attempt - 1));
+        long cap = (long) Math.min(maxDelayMillis, bound);
+        if (cap <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(random.nextLong(cap + 1));
+    }
+
+    private static Integer parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(status.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static long millis(Duration duration) {
+        return duration == null ? 0 : Math.max(0, duration.toMillis());
+    }
+}
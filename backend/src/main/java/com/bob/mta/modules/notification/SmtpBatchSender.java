@@ -0,0 +1,260 @@
+package com.bob.mta.modules.notification;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends queued messages in batches over a single SMTP session. A batch takes what is queued, up to
+ * {@code size} messages, and is flushed once the queue is drained or, if set, its first message waited
+ * {@code flushInterval}, so a lone message is not held back while messages arriving during a send are
+ * grouped into the next batch. The session stays open across batches and is closed after {@code idleTimeout}
+ * without mail or after an error that may have broken it.
+ * Each message completes its own future, so one rejected recipient does not fail the rest of the batch.
+ * A future that is not completed within the send timeout fails with a {@link TimeoutException}, and the
+ * message is dropped from the queue if it was not sent yet.
+ */
+final class SmtpBatchSender {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpBatchSender.class);
+
+    /**
+     * Stands in for a session timeout that is not configured, which JavaMail would wait for indefinitely.
+     */
+    private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofSeconds(30);
+
+    private final TransportFactory transports;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long idleTimeoutNanos;
+    private final Duration sendTimeout;
+    private final Thread worker;
+    private final Object submitLock = new Object();
+    private volatile boolean running = true;
+    private Transport transport;
+
+    /**
+     * @param sessionTimeout time a single message may take on the session, see {@link #sessionTimeout}
+     */
+    SmtpBatchSender(TransportFactory transports, NotificationProperties.Email.Batch config,
+                    Duration sessionTimeout) {
+        this.transports = transports;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+        this.batchSize = Math.max(1, config.getSize());
+        this.flushIntervalNanos = nanos(config.getFlushInterval(), Duration.ZERO);
+        this.idleTimeoutNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(100),
+                nanos(config.getIdleTimeout(), Duration.ofSeconds(30)));
+        this.sendTimeout = Duration.ofNanos(flushIntervalNanos).plus(sessionTimeout);
+        this.worker = new Thread(this::run, "smtp-batch");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Opens sessions the way {@link JavaMailSenderImpl} does for a single send.
+     */
+    static TransportFactory transports(JavaMailSenderImpl mailSender) {
+        return () -> {
+            String protocol = StringUtils.hasText(mailSender.getProtocol()) ? mailSender.getProtocol() : "smtp";
+            Transport transport = mailSender.getSession().getTransport(protocol);
+            transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                    mailSender.getPassword());
+            return transport;
+        };
+    }
+
+    /**
+     * Sum of the connection, read and write timeouts of the mail session, i.e. the longest a single message
+     * may take to be sent over a new session. Unset timeouts count as {@link #DEFAULT_SESSION_TIMEOUT}.
+     */
+    static Duration sessionTimeout(JavaMailSender mailSender) {
+        Properties properties = new Properties();
+        String protocol = "smtp";
+        if (mailSender instanceof JavaMailSenderImpl impl) {
+            properties = impl.getJavaMailProperties();
+            protocol = StringUtils.hasText(impl.getProtocol()) ? impl.getProtocol() : protocol;
+        }
+        Duration total = Duration.ZERO;
+        for (String key : List.of("connectiontimeout", "timeout", "writetimeout")) {
+            total = total.plus(millis(properties.getProperty("mail." + protocol + "." + key)));
+        }
+        return total;
+    }
+
+    /**
+     * Flush interval plus {@code sessionTimeout}; callers waiting for a queued message should not wait
+     * longer, and the future of the message fails once it has passed.
+     */
+    Duration sendTimeout() {
+        return sendTimeout;
+    }
+
+    /**
+     * @return future completed once the message was accepted by the server, or failed with the
+     * {@link MessagingException} that prevented it or a {@link TimeoutException} after {@link #sendTimeout()}
+     */
+    CompletableFuture<Void> submit(MimeMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        // checked and offered under the lock shutdown() stops on, so nothing is queued after its final drain
+        synchronized (submitLock) {
+            if (!running) {
+                result.completeExceptionally(new MessagingException("SMTP batch sender is shut down"));
+                return result;
+            }
+            if (!queue.offer(new Pending(message, result, System.nanoTime() + sendTimeout.toNanos()))) {
+                log.warn("SMTP batch queue is full, rejecting message");
+                result.completeExceptionally(new MessagingException("SMTP batch queue is full"));
+                return result;
+            }
+        }
+        return result.orTimeout(sendTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void shutdown() {
+        synchronized (submitLock) {
+            running = false;
+        }
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Pending late;
+        while ((late = queue.poll()) != null) {
+            late.result.completeExceptionally(new MessagingException("SMTP batch sender is shut down"));
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                Pending first = queue.poll(idleTimeoutNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    closeTransport();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        queue.drainTo(batch);
+        deliver(batch);
+        closeTransport();
+    }
+
+    private void deliver(List<Pending> batch) {
+        boolean checked = false;
+        for (int index = 0; index < batch.size(); index++) {
+            Pending pending = batch.get(index);
+            // the caller gave up on the message, so it is dropped rather than sent behind its back
+            if (pending.result.isDone()) {
+                continue;
+            }
+            if (System.nanoTime() - pending.deadline >= 0) {
+                pending.result.completeExceptionally(new TimeoutException("Not sent within " + sendTimeout));
+                continue;
+            }
+            try {
+                // isConnected() costs a NOOP round trip, so a reused session is only checked once per batch
+                if (transport == null || (!checked && !transport.isConnected())) {
+                    closeTransport();
+                    transport = transports.connect();
+                }
+                checked = true;
+            } catch (MessagingException ex) {
+                log.error("Failed to open SMTP session for {} messages", batch.size() - index, ex);
+                closeTransport();
+                batch.subList(index, batch.size()).forEach(failed -> failed.result.completeExceptionally(ex));
+                return;
+            }
+            try {
+                MimeMessage message = pending.message;
+                if (message.getSentDate() == null) {
+                    message.setSentDate(new Date());
+                }
+                String messageId = message.getMessageID();
+                message.saveChanges();
+                if (messageId != null) {
+                    message.setHeader("Message-ID", messageId);
+                }
+                transport.sendMessage(message, message.getAllRecipients());
+                pending.result.complete(null);
+            } catch (SendFailedException ex) {
+                pending.result.completeExceptionally(ex);
+            } catch (MessagingException | RuntimeException ex) {
+                closeTransport();
+                pending.result.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void closeTransport() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Failed to close SMTP session", ex);
+        }
+        transport = null;
+    }
+
+    private static Duration millis(String value) {
+        if (!StringUtils.hasText(value)) {
+            return DEFAULT_SESSION_TIMEOUT;
+        }
+        try {
+            long millis = Long.parseLong(value.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : DEFAULT_SESSION_TIMEOUT;
+        } catch (NumberFormatException ex) {
+            return DEFAULT_SESSION_TIMEOUT;
+        }
+    }
+
+    private static long nanos(Duration duration, Duration fallback) {
+        Duration effective = duration == null || duration.isNegative() ? fallback : duration;
+        return effective.toNanos();
+    }
+
+    @FunctionalInterface
+    interface TransportFactory {
+
+        Transport connect() throws MessagingException;
+    }
+
+    private record Pending(MimeMessage message, CompletableFuture<Void> result, long deadline) {
+    }
+}
@@ -1,12 +1,18 @@
 package com.bob.mta.modules.notification;
 
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
+import org.springframework.mail.MailAuthenticationException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
@@ -14,8 +20,12 @@ import org.springframework.util.StringUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 @Primary
@@ -27,53 +37,168 @@ public class SmtpEmailNotificationAdapter implements EmailNotificationAdapter {
 
     private final JavaMailSender mailSender;
     private final NotificationProperties properties;
+    private final SmtpBatchSender batchSender;
 
+    @Autowired
     public SmtpEmailNotificationAdapter(JavaMailSender mailSender, NotificationProperties properties) {
+        this(mailSender, properties, batchTransports(mailSender, properties));
+    }
+
+    SmtpEmailNotificationAdapter(JavaMailSender mailSender, NotificationProperties properties,
+                                 SmtpBatchSender.TransportFactory batchTransports) {
         this.mailSender = mailSender;
         this.properties = properties;
+        this.batchSender = batchTransports == null
+                ? null : new SmtpBatchSender(batchTransports, properties.getEmail().getBatch(),
+                SmtpBatchSender.sessionTimeout(mailSender));
+    }
+
+    @PreDestroy
+    void shutdownBatchSender() {
+        if (batchSender != null) {
+            batchSender.shutdown();
+        }
     }
 
     @Override
     public NotificationResult send(EmailMessage message) {
-        NotificationProperties.Email config = properties.getEmail();
-        String from = config.getFrom();
-        if (!StringUtils.hasText(from)) {
-            return NotificationResult.failure("EMAIL", "email.configuration.missing-from",
-                    "Email sender address is not configured", Map.of());
+        if (batchSender != null) {
+            return awaitBatched(sendAsync(message));
         }
-        List<String> toRecipients = message.getTo();
-        if (CollectionUtils.isEmpty(toRecipients)) {
-            return NotificationResult.failure("EMAIL", "email.configuration.missing-recipient",
-                    "Email recipient list is empty", Map.of("reason", "NO_RECIPIENT"));
+        NotificationResult invalid = validate(message);
+        if (invalid != null) {
+            return invalid;
         }
         try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
-            helper.setFrom(from);
-            if (StringUtils.hasText(config.getReplyTo())) {
-                helper.setReplyTo(config.getReplyTo());
-            }
-            helper.setTo(toRecipients.toArray(String[]::new));
-            if (!message.getCc().isEmpty()) {
-                helper.setCc(message.getCc().toArray(String[]::new));
-            }
-            helper.setSubject(message.getSubject());
-            helper.setText(message.getContent() == null ? "" : message.getContent(), true);
-
-            mailSender.send(mimeMessage);
-
-            Map<String, String> metadata = new LinkedHashMap<>();
-            metadata.put("from", from);
-            metadata.put("to", String.join(",", toRecipients));
-            if (!message.getCc().isEmpty()) {
-                metadata.put("cc", String.join(",", message.getCc()));
-            }
-            log.info("Email dispatched to {}", metadata.get("to"));
-            return NotificationResult.success("EMAIL", "email.dispatched", metadata);
+            mailSender.send(createMimeMessage(message));
+            return dispatched(message);
+        } catch (MailAuthenticationException ex) {
+            log.error("SMTP server rejected the credentials", ex);
+            return NotificationResult.failure("EMAIL", "email.dispatch.failed", ex.getMessage(),
+                    Map.of("reason", "SMTP_AUTH"));
         } catch (Exception ex) {
             log.error("Failed to send email via SMTP", ex);
             return NotificationResult.failure("EMAIL", "email.dispatch.failed", ex.getMessage(),
                     Map.of("reason", "SMTP_ERROR"));
         }
     }
+
+    /**
+     * Queues the message for the next batch when batching is enabled; the future completes once the server
+     * accepted or rejected this particular message.
+     */
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(EmailMessage message) {
+        if (batchSender == null) {
+            return EmailNotificationAdapter.super.sendAsync(message);
+        }
+        NotificationResult invalid = validate(message);
+        if (invalid != null) {
+            return CompletableFuture.completedFuture(invalid);
+        }
+        MimeMessage mimeMessage;
+        try {
+            mimeMessage = createMimeMessage(message);
+        } catch (MessagingException ex) {
+            log.error("Failed to build email", ex);
+            return CompletableFuture.completedFuture(NotificationResult.failure("EMAIL", "email.dispatch.failed",
+                    ex.getMessage(), Map.of("reason", "INVALID_MESSAGE")));
+        }
+        return batchSender.submit(mimeMessage).handle((ignored, error) -> {
+            if (error == null) {
+                return dispatched(message);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                log.warn("Email to {} was not sent within {}", message.getTo(), batchSender.sendTimeout());
+                return timedOut();
+            }
+            if (cause instanceof AuthenticationFailedException) {
+                log.error("SMTP server rejected the credentials", cause);
+                return NotificationResult.failure("EMAIL", "email.dispatch.failed", cause.getMessage(),
+                        Map.of("reason", "SMTP_AUTH"));
+            }
+            log.error("Failed to send email via SMTP", cause);
+            return NotificationResult.failure("EMAIL", "email.dispatch.failed", cause.getMessage(),
+                    Map.of("reason", "SMTP_ERROR"));
+        });
+    }
+
+    /**
+     * Waits for a queued message no longer than the batch sender lets it wait in the queue, so a hanging
+     * SMTP session cannot block the caller indefinitely.
+     */
+    private NotificationResult awaitBatched(CompletableFuture<NotificationResult> result) {
+        try {
+            return result.get(batchSender.sendTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            return timedOut();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return NotificationResult.failure("EMAIL", "email.dispatch.failed", "Interrupted while sending email",
+                    Map.of("reason", "SMTP_ERROR"));
+        } catch (ExecutionException ex) {
+            return NotificationResult.failure("EMAIL", "email.dispatch.failed", ex.getCause().getMessage(),
+                    Map.of("reason", "SMTP_ERROR"));
+        }
+    }
+
+    private NotificationResult timedOut() {
+        return NotificationResult.failure("EMAIL", "email.dispatch.failed",
+                "Email was not sent within " + batchSender.sendTimeout(), Map.of("reason", "TIMEOUT"));
+    }
+
+    private NotificationResult validate(EmailMessage message) {
+        if (!StringUtils.hasText(properties.getEmail().getFrom())) {
+            return NotificationResult.failure("EMAIL", "email.configuration.missing-from",
+                    "Email sender address is not configured",
+                    Map.of("reason", NotificationRetryPolicy.REASON_CONFIGURATION));
+        }
+        if (CollectionUtils.isEmpty(message.getTo())) {
+            return NotificationResult.failure("EMAIL", "email.configuration.missing-recipient",
+                    "Email recipient list is empty", Map.of("reason", "NO_RECIPIENT"));
+        }
+        return null;
+    }
+
+    private MimeMessage createMimeMessage(EmailMessage message) throws MessagingException {
+        NotificationProperties.Email config = properties.getEmail();
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
+        helper.setFrom(config.getFrom());
+        if (StringUtils.hasText(config.getReplyTo())) {
+            helper.setReplyTo(config.getReplyTo());
+        }
+        helper.setTo(message.getTo().toArray(String[]::new));
+        if (!message.getCc().isEmpty()) {
+            helper.setCc(message.getCc().toArray(String[]::new));
+        }
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent() == null ? "" : message.getContent(), true);
+        return mimeMessage;
+    }
+
+    private NotificationResult dispatched(EmailMessage message) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("from", properties.getEmail().getFrom());
+        metadata.put("to", String.join(",", message.getTo()));
+        if (!message.getCc().isEmpty()) {
+            metadata.put("cc", String.join(",", message.getCc()));
+        }
+        log.info("Email dispatched to {}", metadata.get("to"));
+        return NotificationResult.success("EMAIL", "email.dispatched", metadata);
+    }
+
+    private static SmtpBatchSender.TransportFactory batchTransports(JavaMailSender mailSender,
+                                                                    NotificationProperties properties) {
+        if (!properties.getEmail().getBatch().isEnabled()) {
+            return null;
+        }
+        if (mailSender instanceof JavaMailSenderImpl impl) {
+            return SmtpBatchSender.transports(impl);
+        }
+        log.warn("Batched email delivery needs a JavaMailSenderImpl, sending messages one by one");
+        return null;
+    }
 }
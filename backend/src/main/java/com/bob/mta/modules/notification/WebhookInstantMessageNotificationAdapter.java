@@ -1,7 +1,10 @@
 package com.bob.mta.modules.notification;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
@@ -11,11 +14,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestOperations;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 @ConditionalOnProperty(prefix = "notification.instant-message", name = "enabled", havingValue = "true")
@@ -24,42 +31,40 @@ public class WebhookInstantMessageNotificationAdapter implements InstantMessageN
     private static final Logger log = LoggerFactory.getLogger(WebhookInstantMessageNotificationAdapter.class);
 
     private final RestOperations restOperations;
+    private final NotificationHttpClient httpClient;
+    private final ObjectMapper objectMapper;
     private final NotificationProperties properties;
 
-    public WebhookInstantMessageNotificationAdapter(RestTemplateBuilder builder, NotificationProperties properties) {
-        NotificationProperties.InstantMessage config = properties.getInstantMessage();
-        Duration connectTimeout = config.getConnectTimeout() == null ? Duration.ofSeconds(5) : config.getConnectTimeout();
-        Duration readTimeout = config.getReadTimeout() == null ? Duration.ofSeconds(10) : config.getReadTimeout();
-        this.restOperations = builder
-                .setConnectTimeout(connectTimeout)
-                .setReadTimeout(readTimeout)
-                .build();
+    @Autowired
+    public WebhookInstantMessageNotificationAdapter(RestTemplateBuilder builder, NotificationHttpClient httpClient,
+                                                    ObjectMapper objectMapper, NotificationProperties properties) {
+        this.restOperations = httpClient.restTemplate(builder, readTimeout(properties));
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
         this.properties = properties;
     }
 
     WebhookInstantMessageNotificationAdapter(RestOperations restOperations, NotificationProperties properties) {
         this.restOperations = restOperations;
+        this.httpClient = null;
+        this.objectMapper = null;
         this.properties = properties;
     }
 
     @Override
     public NotificationResult send(InstantMessage message) {
-        NotificationProperties.InstantMessage config = properties.getInstantMessage();
-        String webhookUrl = config.getWebhookUrl();
+        String webhookUrl = properties.getInstantMessage().getWebhookUrl();
         if (!StringUtils.hasText(webhookUrl)) {
-            return NotificationResult.failure("IM", "im.configuration.missing-webhook",
-                    "Instant message webhook URL is not configured", Map.of());
+            return missingWebhook();
         }
         try {
             Map<String, Object> payload = buildPayload(message);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             restOperations.postForEntity(webhookUrl, new HttpEntity<>(payload, headers), String.class);
-            Map<String, String> metadata = new LinkedHashMap<>();
-            metadata.put("webhook", webhookUrl);
-            metadata.put("recipients", String.join(",", message.getRecipients()));
-            log.info("Instant message dispatched to {}", metadata.get("recipients"));
-            return NotificationResult.success("IM", "im.dispatched", metadata);
+            return dispatched(webhookUrl, message);
+        } catch (RestClientResponseException ex) {
+            return rejected(ex.getStatusCode().value(), ex.getMessage());
         } catch (RestClientException ex) {
             log.error("Failed to send instant message", ex);
             return NotificationResult.failure("IM", "im.dispatch.failed", ex.getMessage(),
@@ -67,6 +72,66 @@ public class WebhookInstantMessageNotificationAdapter implements InstantMessageN
         }
     }
 
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(InstantMessage message) {
+        if (httpClient == null) {
+            return InstantMessageNotificationAdapter.super.sendAsync(message);
+        }
+        String webhookUrl = properties.getInstantMessage().getWebhookUrl();
+        if (!StringUtils.hasText(webhookUrl)) {
+            return CompletableFuture.completedFuture(missingWebhook());
+        }
+        java.net.http.HttpRequest request;
+        try {
+            request = java.net.http.HttpRequest.newBuilder(URI.create(webhookUrl))
+                    .timeout(readTimeout(properties))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(buildPayload(message))))
+                    .build();
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            log.error("Failed to send instant message", ex);
+            return CompletableFuture.completedFuture(NotificationResult.failure("IM", "im.dispatch.failed",
+                    ex.getMessage(), Map.of("reason", "WEBHOOK_ERROR")));
+        }
+        return httpClient.sendAsync(request)
+                .thenApply(response -> response.statusCode() >= 200 && response.statusCode() < 300
+                        ? dispatched(webhookUrl, message)
+                        : rejected(response.statusCode(), "HTTP status %d".formatted(response.statusCode())))
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    log.error("Failed to send instant message", cause);
+                    return NotificationResult.failure("IM", "im.dispatch.failed", cause.getMessage(),
+                            Map.of("reason", "WEBHOOK_ERROR"));
+                });
+    }
+
+    private NotificationResult dispatched(String webhookUrl, InstantMessage message) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("webhook", webhookUrl);
+        metadata.put("recipients", String.join(",", message.getRecipients()));
+        log.info("Instant message dispatched to {}", metadata.get("recipients"));
+        return NotificationResult.success("IM", "im.dispatched", metadata);
+    }
+
+    private NotificationResult rejected(int status, String error) {
+        log.warn("Instant message webhook answered with status {}", status);
+        return NotificationResult.failure("IM", "im.dispatch.failed", error,
+                Map.of("reason", "HTTP_STATUS", "status", String.valueOf(status)));
+    }
+
+    private NotificationResult missingWebhook() {
+        return NotificationResult.failure("IM", "im.configuration.missing-webhook",
+                "Instant message webhook URL is not configured",
+                Map.of("reason", NotificationRetryPolicy.REASON_CONFIGURATION));
+    }
+
+    private static Duration readTimeout(NotificationProperties properties) {
+        Duration readTimeout = properties.getInstantMessage().getReadTimeout();
+        return readTimeout == null ? Duration.ofSeconds(10) : readTimeout;
+    }
+
     private Map<String, Object> buildPayload(InstantMessage message) {
         Map<String, Object> text = new LinkedHashMap<>();
         text.put("content", message.getContent());
@@ -0,0 +1,270 @@
+package com.bob.mta.modules.plan;
+
+import com.bob.mta.modules.plan.repository.PlanHydrationMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "plan")
+public class PlanProperties {
+
+    private final Cache cache = new Cache();
+    private final Persistence persistence = new Persistence();
+    private final Board board = new Board();
+    private final ActionDispatch actionDispatch = new ActionDispatch();
+    private final Reminders reminders = new Reminders();
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Persistence getPersistence() {
+        return persistence;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public ActionDispatch getActionDispatch() {
+        return actionDispatch;
+    }
+
+    public Reminders getReminders() {
+        return reminders;
+    }
+
+    public static class Cache {
+
+        private boolean enabled = true;
+        /**
+         * Upper bound for the summed weight of cached aggregates, where a plan weighs one unit for its
+         * header plus one per participant, node execution, activity and reminder rule.
+         */
+        private long maxWeight = 200_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        public void setMaxWeight(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+    }
+
+    public static class Persistence {
+
+        /**
+         * How the database repository loads plan aggregates for queries that do not choose a mode themselves.
+         */
+        private PlanHydrationMode hydrationMode = PlanHydrationMode.BATCHED;
+
+        public PlanHydrationMode getHydrationMode() {
+            return hydrationMode;
+        }
+
+        public void setHydrationMode(PlanHydrationMode hydrationMode) {
+            this.hydrationMode = hydrationMode;
+        }
+    }
+
+    public static class Board {
+
+        /**
+         * Number of plans from which the in-memory board is aggregated on the fork/join pool; zero or less
+         * keeps the aggregation on the calling thread.
+         */
+        private int parallelThreshold = 5_000;
+
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+    }
+
+    public static class ActionDispatch {
+
+        /**
+         * Delivers node actions on the worker pool after the node transition committed; when disabled they
+         * are delivered on the request thread before the transition returns.
+         */
+        private boolean async = true;
+        private int workers = 8;
+        /**
+         * Actions waiting for a free worker; further actions stay pending until the next sweep.
+         */
+        private int queueCapacity = 500;
+        /**
+         * Time an instance owns a pending action without renewing it before another sweep may deliver it again.
+         * The sweep runs at least twice per lease to renew the actions still queued on its instance.
+         */
+        private Duration lease = Duration.ofMinutes(5);
+        private Duration sweepInterval = Duration.ofSeconds(30);
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getSweepInterval() {
+            return sweepInterval;
+        }
+
+        public void setSweepInterval(Duration sweepInterval) {
+            this.sweepInterval = sweepInterval;
+        }
+    }
+
+    public static class Reminders {
+
+        /**
+         * Sends reminders when their rules fire; when disabled the occurrences are still kept up to date.
+         */
+        private boolean enabled = true;
+        /**
+         * Resolution of the timing wheel.
+         */
+        private Duration tick = Duration.ofSeconds(1);
+        private int wheelSize = 512;
+        /**
+         * Occurrences firing within this window are leased into the timing wheel; later ones stay in the
+         * database.
+         */
+        private Duration horizon = Duration.ofMinutes(10);
+        private Duration refreshInterval = Duration.ofMinutes(1);
+        /**
+         * Upper bound for the occurrences held in the timing wheel of an instance.
+         */
+        private int maxLoaded = 100_000;
+        private int workers = 4;
+        private int queueCapacity = 1_000;
+        /**
+         * Time after its fire time an instance owns a leased occurrence before another instance may send it.
+         * Occurrences of an instance that stopped without shutting down wait this long; a graceful shutdown
+         * releases them right away.
+         */
+        private Duration lease = Duration.ofMinutes(5);
+        /**
+         * Occurrences missed by longer than this, e.g. during downtime, are not sent anymore.
+         */
+        private Duration maxLateness = Duration.ofHours(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public Duration getHorizon() {
+            return horizon;
+        }
+
+        public void setHorizon(Duration horizon) {
+            this.horizon = horizon;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public int getMaxLoaded() {
+            return maxLoaded;
+        }
+
+        public void setMaxLoaded(int maxLoaded) {
+            this.maxLoaded = maxLoaded;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getMaxLateness() {
+            return maxLateness;
+        }
+
+        public void setMaxLateness(Duration maxLateness) {
+            this.maxLateness = maxLateness;
+        }
+    }
+}
@@ -1,30 +1,78 @@
 package com.bob.mta.modules.plan.controller;
 
+import com.bob.mta.common.api.ApiResponse;
+import com.bob.mta.modules.plan.dto.PlanCalendarDeltaResponse;
+import com.bob.mta.modules.plan.repository.PlanChangeStamp;
 import com.bob.mta.modules.plan.service.PlanService;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 
 @RestController
 @RequestMapping("/api/v1/calendar")
 public class CalendarController {
 
+    private static final String CALENDAR_CONTENT_TYPE = "text/calendar;charset=UTF-8";
+
     private final PlanService planService;
 
     public CalendarController(PlanService planService) {
         this.planService = planService;
     }
 
+    /**
+     * Streams the tenant feed straight to the response. The ETag covers the plan count, the latest plan
+     * update, the latest plan deletion, the window and the language of the feed, and Last-Modified is the
+     * later of the update and the deletion, so polling clients are answered with
+     * {@code 304 Not Modified} through {@code If-None-Match} or {@code If-Modified-Since} without rendering
+     * anything.
+     */
     @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
     @GetMapping(value = "/tenant/{tenantId}.ics", produces = "text/calendar")
-    public ResponseEntity<String> tenantFeed(@PathVariable String tenantId) {
-        String content = planService.renderTenantCalendar(tenantId);
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType("text/calendar"))
-                .body(content);
+    public void tenantFeed(@PathVariable String tenantId,
+                           @RequestParam(required = false) OffsetDateTime from,
+                           @RequestParam(required = false) OffsetDateTime to,
+                           ServletWebRequest request,
+                           HttpServletResponse response) throws IOException {
+        PlanChangeStamp stamp = planService.stampTenantCalendar(tenantId, from, to);
+        long lastModified = stamp.lastModified() == null ? -1 : stamp.lastModified().toInstant().toEpochMilli();
+        if (request.checkNotModified(feedEtag(tenantId, from, to, stamp), lastModified)) {
+            return;
+        }
+        response.setContentType(CALENDAR_CONTENT_TYPE);
+        Writer writer = response.getWriter();
+        planService.writeTenantCalendar(tenantId, from, to, writer);
+        writer.flush();
+    }
+
+    /**
+     * Incremental sync of the tenant feed: events changed since {@code syncToken} and the ids of removed
+     * plans, together with the token for the next call.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
+    @GetMapping("/tenant/{tenantId}/changes")
+    public ApiResponse<PlanCalendarDeltaResponse> tenantChanges(@PathVariable String tenantId,
+                                                               @RequestParam(required = false) String syncToken) {
+        return ApiResponse.success(PlanCalendarDeltaResponse.from(
+                planService.getTenantCalendarChanges(tenantId, syncToken)));
+    }
+
+    private String feedEtag(String tenantId, OffsetDateTime from, OffsetDateTime to, PlanChangeStamp stamp) {
+        String key = String.join("|", tenantId, String.valueOf(from), String.valueOf(to),
+                LocaleContextHolder.getLocale().toLanguageTag(), String.valueOf(stamp.total()),
+                String.valueOf(stamp.lastUpdated()), String.valueOf(stamp.lastDeleted()));
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 }
@@ -1,6 +1,7 @@
 package com.bob.mta.modules.plan.controller;
 
 import com.bob.mta.common.api.ApiResponse;
+import com.bob.mta.common.api.CursorPageResponse;
 import com.bob.mta.common.api.PageResponse;
 import com.bob.mta.common.i18n.MessageResolver;
 import com.bob.mta.modules.audit.service.AuditRecorder;
@@ -9,6 +10,7 @@ import com.bob.mta.modules.file.service.FileService;
 import com.bob.mta.modules.plan.domain.Plan;
 import com.bob.mta.modules.plan.domain.PlanReminderRule;
 import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.dto.BulkCreatePlanRequest;
 import com.bob.mta.modules.plan.dto.CancelPlanRequest;
 import com.bob.mta.modules.plan.dto.CompleteNodeRequest;
 import com.bob.mta.modules.plan.dto.CreatePlanRequest;
@@ -17,6 +19,9 @@ import com.bob.mta.modules.plan.dto.PlanActivityResponse;
 import com.bob.mta.modules.plan.dto.PlanActivityTypeMetadataResponse;
 import com.bob.mta.modules.plan.dto.PlanAnalyticsResponse;
 import com.bob.mta.modules.plan.dto.PlanBoardResponse;
+import com.bob.mta.modules.plan.dto.PlanBulkCreateResponse;
+import com.bob.mta.modules.plan.dto.PlanConflictCheckRequest;
+import com.bob.mta.modules.plan.dto.PlanConflictCheckResponse;
 import com.bob.mta.modules.plan.dto.PlanDetailResponse;
 import com.bob.mta.modules.plan.dto.PlanNodeAttachmentResponse;
 import com.bob.mta.modules.plan.dto.PlanNodeHandoverRequest;
@@ -34,13 +39,20 @@ import com.bob.mta.modules.plan.dto.PlanSummaryResponse;
 import com.bob.mta.modules.plan.dto.UpdatePlanRequest;
 import com.bob.mta.i18n.Localization;
 import com.bob.mta.i18n.LocalizationKeys;
+import com.bob.mta.modules.plan.service.PlanBoardCardPage;
+import com.bob.mta.modules.plan.service.PlanBoardView;
+import com.bob.mta.modules.plan.service.PlanBulkCreateResult;
+import com.bob.mta.modules.plan.service.PlanScheduleWindow;
 import com.bob.mta.modules.plan.service.PlanService;
 import com.bob.mta.modules.plan.service.command.CreatePlanCommand;
 import com.bob.mta.modules.plan.service.command.PlanNodeCommand;
 import com.bob.mta.modules.plan.service.command.UpdatePlanCommand;
+import com.bob.mta.modules.plan.repository.PlanBoardGroupType;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -66,6 +78,8 @@ import java.util.Objects;
 @RequestMapping("/api/v1/plans")
 public class PlanController {
 
+    private static final Logger log = LoggerFactory.getLogger(PlanController.class);
+
     private final PlanService planService;
     private final AuditRecorder auditRecorder;
     private final FileService fileService;
@@ -90,8 +104,44 @@ public class PlanController {
                                                                @RequestParam(required = false) OffsetDateTime to,
                                                                @RequestParam(defaultValue = "0") int page,
                                                                @RequestParam(defaultValue = "10") int size) {
-        var result = planService.listPlans(tenantId, customerId, owner, keyword, status, from, to, page, size);
-        List<PlanSummaryResponse> pageItems = result.plans().stream()
+        var result = planService.listPlanSummaries(tenantId, customerId, owner, keyword, status, from, to, page, size);
+        List<PlanSummaryResponse> pageItems = result.summaries().stream()
+                .map(PlanSummaryResponse::from)
+                .toList();
+        return ApiResponse.success(PageResponse.of(pageItems, result.totalCount(), page, size));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
+    @GetMapping("/cursor")
+    public ApiResponse<CursorPageResponse<PlanSummaryResponse>> scroll(
+            @RequestParam(required = false) String tenantId,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) String owner,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) PlanStatus status,
+            @RequestParam(required = false) OffsetDateTime from,
+            @RequestParam(required = false) OffsetDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        var result = planService.scrollPlans(tenantId, customerId, owner, keyword, status, from, to, cursor, size,
+                includeTotal);
+        List<PlanSummaryResponse> items = result.summaries().stream()
+                .map(PlanSummaryResponse::from)
+                .toList();
+        Long total = result.totalCount() == null ? null : result.totalCount().longValue();
+        return ApiResponse.success(CursorPageResponse.of(items, result.nextCursor(), total, result.pageSize()));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
+    @GetMapping("/search")
+    public ApiResponse<PageResponse<PlanSummaryResponse>> search(@RequestParam(required = false) String tenantId,
+                                                                 @RequestParam String keyword,
+                                                                 @RequestParam(required = false) PlanStatus status,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size) {
+        var result = planService.searchPlans(tenantId, keyword, status, page, size);
+        List<PlanSummaryResponse> pageItems = result.summaries().stream()
                 .map(PlanSummaryResponse::from)
                 .toList();
         return ApiResponse.success(PageResponse.of(pageItems, result.totalCount(), page, size));
@@ -105,28 +155,62 @@ public class PlanController {
                                                 @RequestParam(required = false) String owner,
                                                 @RequestParam(name = "status", required = false)
                                                 List<PlanStatus> statuses,
+                                                @RequestParam(required = false) String keyword,
                                                 @RequestParam(required = false) OffsetDateTime from,
                                                 @RequestParam(required = false) OffsetDateTime to,
                                                 @RequestParam(defaultValue = "WEEK")
-                                                PlanBoardGrouping granularity) {
-        List<PlanStatus> sanitizedStatuses = sanitizeStatuses(statuses);
-        List<String> sanitizedCustomers = sanitizeCustomerIds(customerIds);
-        PlanSearchCriteria criteria = PlanSearchCriteria.builder()
-                .tenantId(StringUtils.hasText(tenantId) ? tenantId : null)
-                .owner(StringUtils.hasText(owner) ? owner : null)
-                .statuses(sanitizedStatuses)
-                .customerIds(sanitizedCustomers)
-                .from(from)
-                .to(to)
-                .build();
+                                                PlanBoardGrouping granularity,
+                                                @RequestParam(defaultValue = "0") int cardLimit) {
+        PlanSearchCriteria criteria = boardCriteria(tenantId, customerIds, owner, statuses, keyword, from, to);
         PlanBoardGrouping grouping = granularity == null ? PlanBoardGrouping.WEEK : granularity;
-        PlanBoardResponse response = PlanBoardResponse.from(planService.getPlanBoard(criteria, grouping));
+        PlanBoardView view = cardLimit > 0
+                ? planService.getPlanBoard(criteria, grouping, cardLimit)
+                : planService.getPlanBoard(criteria, grouping);
+        PlanBoardResponse response = PlanBoardResponse.from(view);
         String tenantScope = StringUtils.hasText(criteria.getTenantId()) ? criteria.getTenantId() : "GLOBAL";
         auditRecorder.record("PlanBoard", tenantScope, "VIEW_PLAN_BOARD",
                 messageResolver.getMessage(LocalizationKeys.Audit.PLAN_BOARD_VIEW), null, response);
         return ApiResponse.success(response);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
+    @GetMapping("/board/cards")
+    public ApiResponse<CursorPageResponse<PlanBoardResponse.PlanCardResponse>> boardCards(
+            @RequestParam(required = false) String tenantId,
+            @RequestParam(name = "customerId", required = false) List<String> customerIds,
+            @RequestParam(required = false) String owner,
+            @RequestParam(name = "status", required = false) List<PlanStatus> statuses,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) OffsetDateTime from,
+            @RequestParam(required = false) OffsetDateTime to,
+            @RequestParam(defaultValue = "WEEK") PlanBoardGrouping granularity,
+            @RequestParam PlanBoardGroupType groupType,
+            @RequestParam String groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        PlanSearchCriteria criteria = boardCriteria(tenantId, customerIds, owner, statuses, keyword, from, to);
+        PlanBoardCardPage page = planService.getPlanBoardCards(criteria, granularity, groupType, groupId, cursor,
+                limit);
+        List<PlanBoardResponse.PlanCardResponse> items = page.cards().stream()
+                .map(PlanBoardResponse.PlanCardResponse::from)
+                .toList();
+        return ApiResponse.success(CursorPageResponse.of(items, page.nextCursor(), null, page.pageSize()));
+    }
+
+    private PlanSearchCriteria boardCriteria(String tenantId, List<String> customerIds, String owner,
+                                             List<PlanStatus> statuses, String keyword, OffsetDateTime from,
+                                             OffsetDateTime to) {
+        return PlanSearchCriteria.builder()
+                .tenantId(StringUtils.hasText(tenantId) ? tenantId : null)
+                .owner(StringUtils.hasText(owner) ? owner : null)
+                .keyword(StringUtils.hasText(keyword) ? keyword.trim() : null)
+                .statuses(sanitizeStatuses(statuses))
+                .customerIds(sanitizeCustomerIds(customerIds))
+                .from(from)
+                .to(to)
+                .build();
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
     @GetMapping("/analytics")
     public ApiResponse<PlanAnalyticsResponse> analytics(@RequestParam(required = false) String tenantId,
@@ -138,6 +222,21 @@ public class PlanController {
                 planService.getAnalytics(tenantId, customerId, ownerId, from, to)));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
+    @PostMapping("/conflicts/check")
+    public ApiResponse<List<PlanConflictCheckResponse>> checkConflicts(
+            @Valid @RequestBody PlanConflictCheckRequest request) {
+        List<PlanScheduleWindow> windows = request.getWindows().stream()
+                .map(window -> new PlanScheduleWindow(window.getReference(), window.getCustomerId(),
+                        window.getOwner(), window.getStartTime(), window.getEndTime(), window.getExcludePlanId()))
+                .toList();
+        List<PlanConflictCheckResponse> results = planService.checkScheduleConflicts(request.getTenantId(), windows)
+                .stream()
+                .map(PlanConflictCheckResponse::from)
+                .toList();
+        return ApiResponse.success(results);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
     @GetMapping("/filter-options")
     public ApiResponse<PlanFilterOptionsResponse> filterOptions(
@@ -239,25 +338,28 @@ public class PlanController {
     @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
     @PostMapping
     public ApiResponse<PlanDetailResponse> create(@Valid @RequestBody CreatePlanRequest request) {
-        CreatePlanCommand command = new CreatePlanCommand(
-                request.getTenantId(),
-                request.getTitle(),
-                request.getDescription(),
-                request.getCustomerId(),
-                request.getOwner(),
-                request.getStartTime(),
-                request.getEndTime(),
-                request.getTimezone(),
-                request.getParticipants(),
-                toCommands(request.getNodes())
-        );
-        Plan plan = planService.createPlan(command);
+        Plan plan = planService.createPlan(toCreateCommand(request));
         PlanDetailResponse detail = toDetailResponse(plan);
         auditRecorder.record("Plan", plan.getId(), "CREATE_PLAN",
                 messageResolver.getMessage("audit.plan.create"), null, detail);
         return ApiResponse.success(detail);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
+    @PostMapping("/bulk")
+    public ApiResponse<PlanBulkCreateResponse> bulkCreate(@Valid @RequestBody BulkCreatePlanRequest request) {
+        List<CreatePlanCommand> commands = request.getPlans().stream()
+                .map(this::toCreateCommand)
+                .toList();
+        PlanBulkCreateResult result = planService.createPlans(commands, progress ->
+                log.info("Bulk plan creation progress: {}/{} ({}%)", progress.processed(), progress.total(),
+                        progress.percentage()));
+        PlanBulkCreateResponse response = PlanBulkCreateResponse.from(result);
+        auditRecorder.record("Plan", "BULK", "BULK_CREATE_PLAN",
+                messageResolver.getMessage("audit.plan.bulkCreate"), null, response);
+        return ApiResponse.success(response);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','OPERATOR')")
     @PutMapping("/{id}")
     public ApiResponse<PlanDetailResponse> update(@PathVariable String id, @Valid @RequestBody UpdatePlanRequest request) {
@@ -421,6 +523,21 @@ public class PlanController {
                 .toList();
     }
 
+    private CreatePlanCommand toCreateCommand(CreatePlanRequest request) {
+        return new CreatePlanCommand(
+                request.getTenantId(),
+                request.getTitle(),
+                request.getDescription(),
+                request.getCustomerId(),
+                request.getOwner(),
+                request.getStartTime(),
+                request.getEndTime(),
+                request.getTimezone(),
+                request.getParticipants(),
+                toCommands(request.getNodes())
+        );
+    }
+
     private List<PlanReminderRule> toReminderRules(List<PlanReminderRuleRequest> rules) {
         if (rules == null) {
             return List.of();
@@ -2,7 +2,9 @@ package com.bob.mta.modules.plan.domain;
 
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 public class Plan {
 
@@ -23,12 +25,15 @@ public class Plan {
     private final OffsetDateTime canceledAt;
     private final String timezone;
     private final int progress;
+    private final int completedNodes;
+    private final OffsetDateTime lastActivityAt;
     private final List<PlanNode> nodes;
     private final List<PlanNodeExecution> executions;
     private final OffsetDateTime createdAt;
     private final OffsetDateTime updatedAt;
     private final List<PlanActivity> activities;
     private final PlanReminderPolicy reminderPolicy;
+    private final long version;
 
     public Plan(String id, String tenantId, String title, String description, String customerId, String owner,
                 List<String> participants, PlanStatus status, OffsetDateTime plannedStartTime,
@@ -37,6 +42,22 @@ public class Plan {
                 List<PlanNode> nodes, List<PlanNodeExecution> executions,
                 OffsetDateTime createdAt, OffsetDateTime updatedAt,
                 List<PlanActivity> activities, PlanReminderPolicy reminderPolicy) {
+        this(id, tenantId, title, description, customerId, owner, participants, status, plannedStartTime,
+                plannedEndTime, actualStartTime, actualEndTime, cancelReason, canceledBy, canceledAt, timezone,
+                nodes, executions, createdAt, updatedAt, activities, reminderPolicy, 0L);
+    }
+
+    /**
+     * @param version optimistic concurrency stamp of the stored aggregate; repositories only accept a save
+     *                whose version still matches the stored one
+     */
+    public Plan(String id, String tenantId, String title, String description, String customerId, String owner,
+                List<String> participants, PlanStatus status, OffsetDateTime plannedStartTime,
+                OffsetDateTime plannedEndTime, OffsetDateTime actualStartTime, OffsetDateTime actualEndTime,
+                String cancelReason, String canceledBy, OffsetDateTime canceledAt, String timezone,
+                List<PlanNode> nodes, List<PlanNodeExecution> executions,
+                OffsetDateTime createdAt, OffsetDateTime updatedAt,
+                List<PlanActivity> activities, PlanReminderPolicy reminderPolicy, long version) {
         this.id = id;
         this.tenantId = tenantId;
         this.title = title;
@@ -59,17 +80,23 @@ public class Plan {
         this.updatedAt = updatedAt;
         this.activities = activities == null ? List.of() : List.copyOf(activities);
         this.reminderPolicy = reminderPolicy == null ? PlanReminderPolicy.empty() : reminderPolicy;
-        this.progress = calculateProgress(this.executions);
+        this.version = version;
+        this.completedNodes = (int) this.executions.stream()
+                .filter(execution -> execution.getStatus() == PlanNodeStatus.DONE)
+                .count();
+        this.progress = calculateProgress(completedNodes, this.executions.size());
+        this.lastActivityAt = this.activities.stream()
+                .map(PlanActivity::getOccurredAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
     }
 
-    private int calculateProgress(List<PlanNodeExecution> executions) {
-        if (executions.isEmpty()) {
+    private static int calculateProgress(int completed, int total) {
+        if (total == 0) {
             return 0;
         }
-        long done = executions.stream()
-                .filter(execution -> execution.getStatus() == PlanNodeStatus.DONE)
-                .count();
-        return (int) Math.round(done * 100.0 / executions.size());
+        return (int) Math.round(completed * 100.0 / total);
     }
 
     public String getId() {
@@ -140,6 +167,18 @@ public class Plan {
         return progress;
     }
 
+    public int getTotalNodes() {
+        return executions.size();
+    }
+
+    public int getCompletedNodes() {
+        return completedNodes;
+    }
+
+    public OffsetDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
     public List<PlanNode> getNodes() {
         return Collections.unmodifiableList(nodes);
     }
@@ -167,7 +206,7 @@ public class Plan {
                 cancelReason != null ? cancelReason : this.cancelReason,
                 canceledBy != null ? canceledBy : this.canceledBy,
                 canceledAt != null ? canceledAt : this.canceledAt,
-                timezone, nodes, updatedExecutions, createdAt, updatedAt, newActivities, reminderPolicy);
+                timezone, nodes, updatedExecutions, createdAt, updatedAt, newActivities, reminderPolicy, version);
     }
 
     public Plan withDefinition(List<PlanNode> newNodes, List<PlanNodeExecution> newExecutions,
@@ -178,7 +217,7 @@ public class Plan {
         return new Plan(id, tenantId, title, newDescription, customerId, owner, newParticipants, status,
                 newPlannedStart, newPlannedEnd, actualStartTime, actualEndTime,
                 cancelReason, canceledBy, canceledAt, newTimezone, newNodes, newExecutions, createdAt, updatedAt,
-                newActivities, reminderPolicy);
+                newActivities, reminderPolicy, version);
     }
 
     public Plan withNodes(List<PlanNode> newNodes, List<PlanNodeExecution> newExecutions,
@@ -186,7 +225,7 @@ public class Plan {
         return new Plan(id, tenantId, title, description, customerId, owner, participants, status,
                 plannedStartTime, plannedEndTime, actualStartTime, actualEndTime,
                 cancelReason, canceledBy, canceledAt, timezone, newNodes, newExecutions, createdAt, updatedAt,
-                newActivities, reminderPolicy);
+                newActivities, reminderPolicy, version);
     }
 
     public Plan withReminderPolicy(PlanReminderPolicy newPolicy, OffsetDateTime updatedAt,
@@ -194,7 +233,7 @@ public class Plan {
         return new Plan(id, tenantId, title, description, customerId, owner, participants, status,
                 plannedStartTime, plannedEndTime, actualStartTime, actualEndTime,
                 cancelReason, canceledBy, canceledAt, timezone, nodes, executions, createdAt, updatedAt,
-                newActivities, newPolicy);
+                newActivities, newPolicy, version);
     }
 
     public Plan withOwnerAndParticipants(String newOwner, List<String> newParticipants, OffsetDateTime updatedAt,
@@ -203,7 +242,7 @@ public class Plan {
         return new Plan(id, tenantId, title, description, customerId, newOwner, participants, status,
                 plannedStartTime, plannedEndTime, actualStartTime, actualEndTime,
                 cancelReason, canceledBy, canceledAt, timezone, nodes, executions, createdAt, updatedAt,
-                newActivities, reminderPolicy);
+                newActivities, reminderPolicy, version);
     }
 
     public List<PlanActivity> getActivities() {
@@ -213,4 +252,15 @@ public class Plan {
     public PlanReminderPolicy getReminderPolicy() {
         return reminderPolicy;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Plan withVersion(long newVersion) {
+        return new Plan(id, tenantId, title, description, customerId, owner, participants, status,
+                plannedStartTime, plannedEndTime, actualStartTime, actualEndTime,
+                cancelReason, canceledBy, canceledAt, timezone, nodes, executions, createdAt, updatedAt,
+                activities, reminderPolicy, newVersion);
+    }
 }
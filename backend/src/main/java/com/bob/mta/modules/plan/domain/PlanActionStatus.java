@@ -3,5 +3,6 @@ package com.bob.mta.modules.plan.domain;
 public enum PlanActionStatus {
     SUCCESS,
     FAILED,
-    SKIPPED
+    SKIPPED,
+    PENDING
 }
@@ -4,9 +4,11 @@ import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 
 public class PlanActivity {
 
+    private final String id;
     private final PlanActivityType type;
     private final OffsetDateTime occurredAt;
     private final String actor;
@@ -14,8 +16,18 @@ public class PlanActivity {
     private final String referenceId;
     private final Map<String, String> attributes;
 
+    /**
+     * Records a new activity under a fresh id. The id stays with the activity through every write, so storing
+     * the same activity again has no effect.
+     */
     public PlanActivity(PlanActivityType type, OffsetDateTime occurredAt, String actor, String message,
                         String referenceId, Map<String, String> attributes) {
+        this(UUID.randomUUID().toString(), type, occurredAt, actor, message, referenceId, attributes);
+    }
+
+    public PlanActivity(String id, PlanActivityType type, OffsetDateTime occurredAt, String actor, String message,
+                        String referenceId, Map<String, String> attributes) {
+        this.id = Objects.requireNonNull(id, "id");
         this.type = Objects.requireNonNull(type, "type");
         this.occurredAt = Objects.requireNonNull(occurredAt, "occurredAt");
         this.actor = actor;
@@ -24,6 +36,10 @@ public class PlanActivity {
         this.attributes = attributes == null ? Map.of() : Map.copyOf(attributes);
     }
 
+    public String getId() {
+        return id;
+    }
+
     public PlanActivityType getType() {
         return type;
     }
@@ -0,0 +1,38 @@
+package com.bob.mta.modules.plan.domain;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Plan columns rendered into a calendar event. Read from the plan row alone, so calendar feeds can page
+ * through a tenant without hydrating nodes, executions or reminders.
+ */
+public record PlanCalendarEntry(
+        String id,
+        String tenantId,
+        String title,
+        String description,
+        String owner,
+        PlanStatus status,
+        OffsetDateTime plannedStartTime,
+        OffsetDateTime plannedEndTime,
+        String cancelReason,
+        String canceledBy,
+        OffsetDateTime canceledAt
+) {
+
+    public static PlanCalendarEntry from(Plan plan) {
+        return new PlanCalendarEntry(
+                plan.getId(),
+                plan.getTenantId(),
+                plan.getTitle(),
+                plan.getDescription(),
+                plan.getOwner(),
+                plan.getStatus(),
+                plan.getPlannedStartTime(),
+                plan.getPlannedEndTime(),
+                plan.getCancelReason(),
+                plan.getCanceledBy(),
+                plan.getCanceledAt()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.bob.mta.modules.plan.domain;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * A reminder rule of a plan that is due at {@code fireTime}. Every rule has at most one occurrence, which
+ * moves when the rule offset or the plan schedule changes.
+ */
+public record PlanReminderOccurrence(String planId, String reminderId, OffsetDateTime fireTime) {
+
+    public PlanReminderOccurrence {
+        Objects.requireNonNull(planId, "planId");
+        Objects.requireNonNull(reminderId, "reminderId");
+        Objects.requireNonNull(fireTime, "fireTime");
+    }
+}
@@ -23,15 +23,29 @@ public final class PlanRiskEvaluator {
     }
 
     public static PlanRiskSnapshot evaluate(Plan plan, OffsetDateTime referenceTime, int dueSoonMinutes) {
-        if (plan == null || referenceTime == null) {
+        if (plan == null) {
             return PlanRiskSnapshot.inactive();
         }
-        if (plan.getStatus() == PlanStatus.CANCELED
-                || plan.getStatus() == PlanStatus.COMPLETED
-                || plan.getStatus() == PlanStatus.DESIGN) {
+        return evaluate(plan.getStatus(), plan.getPlannedEndTime(), referenceTime, dueSoonMinutes);
+    }
+
+    public static PlanRiskSnapshot evaluate(PlanSummaryProjection summary, OffsetDateTime referenceTime) {
+        if (summary == null) {
+            return PlanRiskSnapshot.inactive();
+        }
+        return evaluate(summary.status(), summary.plannedEndTime(), referenceTime, DEFAULT_DUE_SOON_MINUTES);
+    }
+
+    public static PlanRiskSnapshot evaluate(PlanStatus status, OffsetDateTime plannedEnd,
+                                            OffsetDateTime referenceTime, int dueSoonMinutes) {
+        if (referenceTime == null) {
+            return PlanRiskSnapshot.inactive();
+        }
+        if (status == PlanStatus.CANCELED
+                || status == PlanStatus.COMPLETED
+                || status == PlanStatus.DESIGN) {
             return PlanRiskSnapshot.inactive();
         }
-        OffsetDateTime plannedEnd = plan.getPlannedEndTime();
         if (plannedEnd == null) {
             return PlanRiskSnapshot.inactive();
         }
@@ -0,0 +1,55 @@
+package com.bob.mta.modules.plan.domain;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Header level view of a plan for list pages. Carries the plan columns plus the derived progress,
+ * participant list and reminder rule count, without nodes, executions, activities or attachments.
+ */
+public record PlanSummaryProjection(
+        String id,
+        String tenantId,
+        String title,
+        String customerId,
+        String owner,
+        PlanStatus status,
+        OffsetDateTime plannedStartTime,
+        OffsetDateTime plannedEndTime,
+        OffsetDateTime actualStartTime,
+        OffsetDateTime actualEndTime,
+        String cancelReason,
+        String canceledBy,
+        OffsetDateTime canceledAt,
+        String timezone,
+        int progress,
+        List<String> participants,
+        int reminderRuleCount
+) {
+
+    public PlanSummaryProjection {
+        participants = participants == null ? List.of() : List.copyOf(participants);
+    }
+
+    public static PlanSummaryProjection from(Plan plan) {
+        return new PlanSummaryProjection(
+                plan.getId(),
+                plan.getTenantId(),
+                plan.getTitle(),
+                plan.getCustomerId(),
+                plan.getOwner(),
+                plan.getStatus(),
+                plan.getPlannedStartTime(),
+                plan.getPlannedEndTime(),
+                plan.getActualStartTime(),
+                plan.getActualEndTime(),
+                plan.getCancelReason(),
+                plan.getCanceledBy(),
+                plan.getCanceledAt(),
+                plan.getTimezone(),
+                plan.getProgress(),
+                plan.getParticipants(),
+                plan.getReminderPolicy().getRules().size()
+        );
+    }
+}
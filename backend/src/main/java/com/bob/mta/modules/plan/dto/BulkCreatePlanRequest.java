@@ -0,0 +1,23 @@
+package com.bob.mta.modules.plan.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkCreatePlanRequest {
+
+    @Valid
+    @NotEmpty
+    @Size(max = 5000)
+    private List<CreatePlanRequest> plans;
+
+    public List<CreatePlanRequest> getPlans() {
+        return plans;
+    }
+
+    public void setPlans(List<CreatePlanRequest> plans) {
+        this.plans = plans;
+    }
+}
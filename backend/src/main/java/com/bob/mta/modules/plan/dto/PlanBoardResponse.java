@@ -81,6 +81,7 @@ public class PlanBoardResponse {
         private final OffsetDateTime earliestStart;
         private final OffsetDateTime latestEnd;
         private final List<PlanCardResponse> plans;
+        private final String nextCursor;
 
         public CustomerGroupResponse(String customerId,
                                      String customerName,
@@ -93,7 +94,8 @@ public class PlanBoardResponse {
                                      double averageProgress,
                                      OffsetDateTime earliestStart,
                                      OffsetDateTime latestEnd,
-                                     List<PlanCardResponse> plans) {
+                                     List<PlanCardResponse> plans,
+                                     String nextCursor) {
             this.customerId = customerId;
             this.customerName = customerName;
             this.totalPlans = totalPlans;
@@ -106,6 +108,7 @@ public class PlanBoardResponse {
             this.earliestStart = earliestStart;
             this.latestEnd = latestEnd;
             this.plans = plans == null ? List.of() : List.copyOf(plans);
+            this.nextCursor = nextCursor;
         }
 
         public static CustomerGroupResponse from(PlanBoardView.CustomerGroup group) {
@@ -124,7 +127,8 @@ public class PlanBoardResponse {
                     group.getAverageProgress(),
                     group.getEarliestStart(),
                     group.getLatestEnd(),
-                    plans
+                    plans,
+                    group.getNextCursor()
             );
         }
 
@@ -175,6 +179,10 @@ public class PlanBoardResponse {
         public List<PlanCardResponse> getPlans() {
             return plans;
         }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
     }
 
     public static class TimeBucketResponse {
@@ -188,6 +196,7 @@ public class PlanBoardResponse {
         private final long dueSoonPlans;
         private final long atRiskPlans;
         private final List<PlanCardResponse> plans;
+        private final String nextCursor;
 
         public TimeBucketResponse(String bucketId,
                                   OffsetDateTime start,
@@ -198,7 +207,8 @@ public class PlanBoardResponse {
                                   long overduePlans,
                                   long dueSoonPlans,
                                   long atRiskPlans,
-                                  List<PlanCardResponse> plans) {
+                                  List<PlanCardResponse> plans,
+                                  String nextCursor) {
             this.bucketId = bucketId;
             this.start = start;
             this.end = end;
@@ -209,6 +219,7 @@ public class PlanBoardResponse {
             this.dueSoonPlans = dueSoonPlans;
             this.atRiskPlans = atRiskPlans;
             this.plans = plans == null ? List.of() : List.copyOf(plans);
+            this.nextCursor = nextCursor;
         }
 
         public static TimeBucketResponse from(PlanBoardView.TimeBucket bucket) {
@@ -225,7 +236,8 @@ public class PlanBoardResponse {
                     bucket.getOverduePlans(),
                     bucket.getDueSoonPlans(),
                     bucket.getAtRiskPlans(),
-                    plans
+                    plans,
+                    bucket.getNextCursor()
             );
         }
 
@@ -268,6 +280,10 @@ public class PlanBoardResponse {
         public List<PlanCardResponse> getPlans() {
             return plans;
         }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
     }
 
     public static class PlanCardResponse {
@@ -0,0 +1,28 @@
+package com.bob.mta.modules.plan.dto;
+
+import com.bob.mta.modules.plan.service.PlanBulkCreateResult;
+
+import java.util.List;
+
+public class PlanBulkCreateResponse {
+
+    private final int createdCount;
+    private final List<String> planIds;
+
+    public PlanBulkCreateResponse(int createdCount, List<String> planIds) {
+        this.createdCount = createdCount;
+        this.planIds = planIds;
+    }
+
+    public static PlanBulkCreateResponse from(PlanBulkCreateResult result) {
+        return new PlanBulkCreateResponse(result.createdCount(), result.planIds());
+    }
+
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    public List<String> getPlanIds() {
+        return planIds;
+    }
+}
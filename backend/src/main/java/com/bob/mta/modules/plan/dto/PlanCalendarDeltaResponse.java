@@ -0,0 +1,75 @@
+package com.bob.mta.modules.plan.dto;
+
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.service.PlanCalendarDelta;
+
+import java.util.Collections;
+import java.util.List;
+
+public class PlanCalendarDeltaResponse {
+
+    private final String syncToken;
+    private final boolean fullResync;
+    private final List<Change> changes;
+    private final List<String> removedPlanIds;
+
+    private PlanCalendarDeltaResponse(String syncToken, boolean fullResync, List<Change> changes,
+                                      List<String> removedPlanIds) {
+        this.syncToken = syncToken;
+        this.fullResync = fullResync;
+        this.changes = changes == null ? List.of() : List.copyOf(changes);
+        this.removedPlanIds = removedPlanIds == null ? List.of() : List.copyOf(removedPlanIds);
+    }
+
+    public static PlanCalendarDeltaResponse from(PlanCalendarDelta delta) {
+        return new PlanCalendarDeltaResponse(
+                delta.syncToken(),
+                delta.fullResync(),
+                delta.changes().stream()
+                        .map(change -> new Change(change.planId(), change.status(), change.event()))
+                        .toList(),
+                delta.removedPlanIds()
+        );
+    }
+
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+
+    public List<Change> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    public List<String> getRemovedPlanIds() {
+        return Collections.unmodifiableList(removedPlanIds);
+    }
+
+    public static class Change {
+
+        private final String planId;
+        private final PlanStatus status;
+        private final String event;
+
+        public Change(String planId, PlanStatus status, String event) {
+            this.planId = planId;
+            this.status = status;
+            this.event = event;
+        }
+
+        public String getPlanId() {
+            return planId;
+        }
+
+        public PlanStatus getStatus() {
+            return status;
+        }
+
+        public String getEvent() {
+            return event;
+        }
+    }
+}
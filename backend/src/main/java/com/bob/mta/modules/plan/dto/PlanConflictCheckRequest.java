@@ -0,0 +1,102 @@
+package com.bob.mta.modules.plan.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public class PlanConflictCheckRequest {
+
+    @NotBlank
+    private String tenantId = "default";
+
+    @Valid
+    @NotEmpty
+    @Size(max = 1000)
+    private List<WindowRequest> windows;
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public List<WindowRequest> getWindows() {
+        return windows;
+    }
+
+    public void setWindows(List<WindowRequest> windows) {
+        this.windows = windows;
+    }
+
+    public static class WindowRequest {
+
+        private String reference;
+
+        private String customerId;
+
+        private String owner;
+
+        @NotNull
+        private OffsetDateTime startTime;
+
+        @NotNull
+        private OffsetDateTime endTime;
+
+        private String excludePlanId;
+
+        public String getReference() {
+            return reference;
+        }
+
+        public void setReference(String reference) {
+            this.reference = reference;
+        }
+
+        public String getCustomerId() {
+            return customerId;
+        }
+
+        public void setCustomerId(String customerId) {
+            this.customerId = customerId;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+
+        public OffsetDateTime getStartTime() {
+            return startTime;
+        }
+
+        public void setStartTime(OffsetDateTime startTime) {
+            this.startTime = startTime;
+        }
+
+        public OffsetDateTime getEndTime() {
+            return endTime;
+        }
+
+        public void setEndTime(OffsetDateTime endTime) {
+            this.endTime = endTime;
+        }
+
+        public String getExcludePlanId() {
+            return excludePlanId;
+        }
+
+        public void setExcludePlanId(String excludePlanId) {
+            this.excludePlanId = excludePlanId;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bob.mta.modules.plan.dto;
+
+import com.bob.mta.modules.plan.service.PlanScheduleConflict;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public class PlanConflictCheckResponse {
+
+    private final String reference;
+    private final boolean conflicting;
+    private final List<ConflictingPlanResponse> conflicts;
+
+    public PlanConflictCheckResponse(String reference, boolean conflicting, List<ConflictingPlanResponse> conflicts) {
+        this.reference = reference;
+        this.conflicting = conflicting;
+        this.conflicts = conflicts;
+    }
+
+    public static PlanConflictCheckResponse from(PlanScheduleConflict result) {
+        return new PlanConflictCheckResponse(result.reference(), result.hasConflicts(),
+                result.conflicts().stream().map(ConflictingPlanResponse::from).toList());
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public boolean isConflicting() {
+        return conflicting;
+    }
+
+    public List<ConflictingPlanResponse> getConflicts() {
+        return conflicts;
+    }
+
+    public static class ConflictingPlanResponse {
+
+        private final String planId;
+        private final String title;
+        private final String customerId;
+        private final String owner;
+        private final OffsetDateTime plannedStartTime;
+        private final OffsetDateTime plannedEndTime;
+
+        public ConflictingPlanResponse(String planId, String title, String customerId, String owner,
+                                       OffsetDateTime plannedStartTime, OffsetDateTime plannedEndTime) {
+            this.planId = planId;
+            this.title = title;
+            this.customerId = customerId;
+            this.owner = owner;
+            this.plannedStartTime = plannedStartTime;
+            this.plannedEndTime = plannedEndTime;
+        }
+
+        public static ConflictingPlanResponse from(PlanScheduleConflict.ConflictingPlan plan) {
+            return new ConflictingPlanResponse(plan.planId(), plan.title(), plan.customerId(), plan.ownerId(),
+                    plan.plannedStartTime(), plan.plannedEndTime());
+        }
+
+        public String getPlanId() {
+            return planId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getCustomerId() {
+            return customerId;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public OffsetDateTime getPlannedStartTime() {
+            return plannedStartTime;
+        }
+
+        public OffsetDateTime getPlannedEndTime() {
+            return plannedEndTime;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.bob.mta.modules.plan.dto;
 import com.bob.mta.modules.plan.domain.Plan;
 import com.bob.mta.modules.plan.domain.PlanStatus;
 import com.bob.mta.modules.plan.domain.PlanRiskEvaluator;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -87,6 +88,33 @@ public class PlanSummaryResponse {
         );
     }
 
+    public static PlanSummaryResponse from(PlanSummaryProjection summary) {
+        var risk = PlanRiskEvaluator.evaluate(summary, OffsetDateTime.now());
+        return new PlanSummaryResponse(
+                summary.id(),
+                summary.tenantId(),
+                summary.title(),
+                summary.customerId(),
+                summary.owner(),
+                summary.status(),
+                summary.plannedStartTime(),
+                summary.plannedEndTime(),
+                summary.actualStartTime(),
+                summary.actualEndTime(),
+                summary.cancelReason(),
+                summary.canceledBy(),
+                summary.canceledAt(),
+                summary.timezone(),
+                summary.progress(),
+                summary.participants(),
+                summary.reminderRuleCount(),
+                risk.overdue(),
+                risk.dueSoon(),
+                risk.minutesUntilDue(),
+                risk.minutesOverdue()
+        );
+    }
+
     public String getId() {
         return id;
     }
@@ -3,6 +3,8 @@ package com.bob.mta.modules.plan.persistence;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -10,7 +12,21 @@ public interface PlanActionHistoryMapper {
 
     void insert(PlanActionHistoryEntity entity);
 
+    void insertPending(@Param("entity") PlanActionHistoryEntity entity,
+                       @Param("owner") String owner,
+                       @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    List<String> renewLeases(@Param("actionIds") Collection<String> actionIds,
+                             @Param("owner") String owner,
+                             @Param("leaseUntil") OffsetDateTime leaseUntil);
+
     List<PlanActionHistoryEntity> findByPlanId(@Param("planId") String planId);
 
+    List<PlanActionHistoryEntity> claimPending(@Param("owner") String owner,
+                                               @Param("now") OffsetDateTime now,
+                                               @Param("orphanedBefore") OffsetDateTime orphanedBefore,
+                                               @Param("leaseUntil") OffsetDateTime leaseUntil,
+                                               @Param("limit") int limit);
+
     void deleteByPlanId(@Param("planId") String planId);
 }
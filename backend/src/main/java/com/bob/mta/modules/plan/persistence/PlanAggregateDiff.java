@@ -0,0 +1,169 @@
+package com.bob.mta.modules.plan.persistence;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Computes row level differences between the persisted state of a plan aggregate and the state that
+ * should be written, so that repositories only issue the INSERT/UPDATE/DELETE statements for rows that
+ * actually changed instead of rewriting every child table.
+ * <p>
+ * Timestamps are compared on their instant with the microsecond precision PostgreSQL keeps, otherwise a
+ * reloaded row would always look different from the in-memory value it was written from.
+ */
+public final class PlanAggregateDiff {
+
+    private PlanAggregateDiff() {
+    }
+
+    /**
+     * Compares the plan header columns. The version stamp is maintained by the database and ignored here.
+     */
+    public static boolean planChanged(PlanEntity current, PlanEntity target) {
+        if (current == null || target == null) {
+            return current != target;
+        }
+        return !normalize(current).equals(normalize(target));
+    }
+
+    public static Changes<PlanParticipantEntity> participants(List<PlanParticipantEntity> current,
+                                                              List<PlanParticipantEntity> target) {
+        return diff(current, target, PlanParticipantEntity::participantId, UnaryOperator.identity());
+    }
+
+    public static Changes<PlanNodeEntity> nodes(List<PlanNodeEntity> current, List<PlanNodeEntity> target) {
+        return diff(current, target, PlanNodeEntity::nodeId, UnaryOperator.identity());
+    }
+
+    public static Changes<PlanNodeExecutionEntity> executions(List<PlanNodeExecutionEntity> current,
+                                                              List<PlanNodeExecutionEntity> target) {
+        return diff(current, target, PlanNodeExecutionEntity::nodeId, PlanAggregateDiff::normalize);
+    }
+
+    public static Changes<PlanNodeAttachmentEntity> attachments(List<PlanNodeAttachmentEntity> current,
+                                                                List<PlanNodeAttachmentEntity> target) {
+        return diff(current, target, attachment -> attachment.nodeId() + '\u0000' + attachment.fileId(),
+                UnaryOperator.identity());
+    }
+
+    public static Changes<PlanActivityEntity> activities(List<PlanActivityEntity> current,
+                                                         List<PlanActivityEntity> target) {
+        return diff(current, target, PlanActivityEntity::activityId, PlanAggregateDiff::normalize);
+    }
+
+    public static Changes<PlanReminderRuleEntity> reminderRules(List<PlanReminderRuleEntity> current,
+                                                                List<PlanReminderRuleEntity> target) {
+        return diff(current, target, PlanReminderRuleEntity::ruleId, UnaryOperator.identity());
+    }
+
+    private static <T, K> Changes<T> diff(List<T> current, List<T> target, Function<T, K> key,
+                                          UnaryOperator<T> normalizer) {
+        Map<K, T> existing = new LinkedHashMap<>();
+        if (current != null) {
+            for (T row : current) {
+                existing.put(key.apply(row), row);
+            }
+        }
+        List<T> inserts = new ArrayList<>();
+        List<T> updates = new ArrayList<>();
+        if (target != null) {
+            for (T row : target) {
+                T persisted = existing.remove(key.apply(row));
+                if (persisted == null) {
+                    inserts.add(row);
+                } else if (!normalizer.apply(persisted).equals(normalizer.apply(row))) {
+                    updates.add(row);
+                }
+            }
+        }
+        return new Changes<>(inserts, updates, new ArrayList<>(existing.values()));
+    }
+
+    private static PlanEntity normalize(PlanEntity entity) {
+        return new PlanEntity(
+                entity.id(),
+                entity.tenantId(),
+                entity.customerId(),
+                entity.owner(),
+                entity.title(),
+                entity.description(),
+                entity.status(),
+                normalize(entity.plannedStartTime()),
+                normalize(entity.plannedEndTime()),
+                normalize(entity.actualStartTime()),
+                normalize(entity.actualEndTime()),
+                entity.cancelReason(),
+                entity.canceledBy(),
+                normalize(entity.canceledAt()),
+                entity.timezone(),
+                normalize(entity.createdAt()),
+                normalize(entity.updatedAt()),
+                normalize(entity.reminderUpdatedAt()),
+                entity.reminderUpdatedBy(),
+                null,
+                entity.totalNodes(),
+                entity.completedNodes(),
+                entity.progress(),
+                normalize(entity.lastActivityAt())
+        );
+    }
+
+    private static PlanNodeExecutionEntity normalize(PlanNodeExecutionEntity entity) {
+        return new PlanNodeExecutionEntity(
+                entity.planId(),
+                entity.nodeId(),
+                entity.status(),
+                normalize(entity.startTime()),
+                normalize(entity.endTime()),
+                entity.operator(),
+                entity.result(),
+                entity.log()
+        );
+    }
+
+    private static PlanActivityEntity normalize(PlanActivityEntity entity) {
+        return new PlanActivityEntity(
+                entity.planId(),
+                entity.activityId(),
+                entity.type(),
+                normalize(entity.occurredAt()),
+                entity.actor(),
+                entity.message(),
+                entity.referenceId(),
+                entity.attributes()
+        );
+    }
+
+    private static OffsetDateTime normalize(OffsetDateTime value) {
+        if (value == null) {
+            return null;
+        }
+        return value.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public record Changes<T>(List<T> inserts, List<T> updates, List<T> deletes) {
+
+        public Changes {
+            inserts = inserts == null ? List.of() : List.copyOf(inserts);
+            updates = updates == null ? List.of() : List.copyOf(updates);
+            deletes = deletes == null ? List.of() : List.copyOf(deletes);
+        }
+
+        public boolean isEmpty() {
+            return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+        }
+
+        public <K> List<K> deletedKeys(Function<T, K> key) {
+            Objects.requireNonNull(key, "key");
+            return deletes.stream().map(key).toList();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bob.mta.modules.plan.persistence;
+
+/**
+ * Plan header row returned together with its child rows, each child table aggregated into a JSON array
+ * whose element keys match the component names of the corresponding entity record.
+ */
+public record PlanAggregateJsonEntity(
+        PlanEntity plan,
+        String participants,
+        String nodes,
+        String executions,
+        String attachments,
+        String activities,
+        String reminderRules
+) {
+}
@@ -12,6 +12,10 @@ public interface PlanAggregateMapper {
 
     List<PlanEntity> findPlans(PlanQueryParameters parameters);
 
+    List<PlanAggregateJsonEntity> findPlanAggregates(PlanQueryParameters parameters);
+
+    List<PlanSummaryEntity> findPlanSummaries(PlanQueryParameters parameters);
+
     int countPlans(PlanQueryParameters parameters);
 
     PlanEntity findPlanById(@Param("planId") String planId);
@@ -36,43 +40,105 @@ public interface PlanAggregateMapper {
 
     void insertPlan(PlanEntity entity);
 
-    void updatePlan(PlanEntity entity);
+    void insertPlans(@Param("plans") List<PlanEntity> plans);
+
+    int updatePlan(PlanEntity entity);
+
+    void incrementPlanVersion(@Param("planId") String planId);
+
+    void touchPlanActivity(@Param("planId") String planId, @Param("occurredAt") OffsetDateTime occurredAt);
+
+    int compareAndIncrementPlanVersion(@Param("planId") String planId,
+                                       @Param("expectedVersion") long expectedVersion);
+
+    Long findPlanVersion(@Param("planId") String planId);
 
     void deletePlan(@Param("planId") String planId);
 
+    void insertTombstone(@Param("planId") String planId, @Param("deletedAt") OffsetDateTime deletedAt);
+
+    void deleteTombstonesBefore(@Param("cutoff") OffsetDateTime cutoff);
+
     void deleteParticipants(@Param("planId") String planId);
 
     void insertParticipants(@Param("participants") List<PlanParticipantEntity> participants);
 
+    void deleteParticipantsByIds(@Param("planId") String planId,
+                                 @Param("participantIds") Collection<String> participantIds);
+
     void deleteNodes(@Param("planId") String planId);
 
     void insertNodes(@Param("nodes") List<PlanNodeEntity> nodes);
 
+    void updateNode(PlanNodeEntity node);
+
+    void deleteNodesByIds(@Param("planId") String planId, @Param("nodeIds") Collection<String> nodeIds);
+
     void deleteExecutions(@Param("planId") String planId);
 
     void insertExecutions(@Param("executions") List<PlanNodeExecutionEntity> executions);
 
+    void updateExecution(PlanNodeExecutionEntity execution);
+
+    void deleteExecutionsByNodeIds(@Param("planId") String planId, @Param("nodeIds") Collection<String> nodeIds);
+
     void deleteAttachments(@Param("planId") String planId);
 
     void insertAttachments(@Param("attachments") List<PlanNodeAttachmentEntity> attachments);
 
+    void deleteAttachmentsByKeys(@Param("planId") String planId,
+                                 @Param("attachments") List<PlanNodeAttachmentEntity> attachments);
+
     void deleteActivities(@Param("planId") String planId);
 
     void insertActivities(@Param("activities") List<PlanActivityEntity> activities);
 
+    void appendActivities(@Param("activities") List<PlanActivityEntity> activities);
+
+    void updateActivity(PlanActivityEntity activity);
+
+    void deleteActivitiesByIds(@Param("planId") String planId, @Param("activityIds") Collection<String> activityIds);
+
     void deleteReminderRules(@Param("planId") String planId);
 
     void insertReminderRules(@Param("rules") List<PlanReminderRuleEntity> rules);
 
+    void updateReminderRule(PlanReminderRuleEntity rule);
+
+    void deleteReminderRulesByIds(@Param("planId") String planId, @Param("ruleIds") Collection<String> ruleIds);
+
+    void deleteReminderOccurrencesExcept(@Param("planId") String planId,
+                                         @Param("reminderIds") Collection<String> reminderIds);
+
+    void upsertReminderOccurrences(@Param("occurrences") List<PlanReminderOccurrenceEntity> occurrences);
+
+    List<PlanReminderOccurrenceEntity> leaseReminderOccurrences(@Param("owner") String owner,
+                                                                @Param("now") OffsetDateTime now,
+                                                                @Param("notBefore") OffsetDateTime notBefore,
+                                                                @Param("until") OffsetDateTime until,
+                                                                @Param("leaseSeconds") long leaseSeconds,
+                                                                @Param("limit") int limit);
+
+    int claimReminderOccurrence(@Param("occurrence") PlanReminderOccurrenceEntity occurrence,
+                                @Param("owner") String owner,
+                                @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    void completeReminderOccurrence(@Param("occurrence") PlanReminderOccurrenceEntity occurrence,
+                                    @Param("owner") String owner,
+                                    @Param("status") String status,
+                                    @Param("completedAt") OffsetDateTime completedAt);
+
+    int expireReminderOccurrences(@Param("before") OffsetDateTime before, @Param("now") OffsetDateTime now);
+
+    void releaseReminderOccurrences(@Param("owner") String owner);
+
     void updateReminderAudit(@Param("planId") String planId,
                              @Param("updatedAt") OffsetDateTime updatedAt,
                              @Param("updatedBy") String updatedBy);
 
-    String nextPlanId();
-
-    String nextNodeId();
+    List<Long> allocateSequenceBlocks(@Param("sequence") String sequence, @Param("blocks") int blocks);
 
-    String nextReminderId();
+    Long findSequenceIncrement(@Param("sequence") String sequence);
 
     List<PlanStatusCountEntity> countPlansByStatus(PlanAnalyticsQueryParameters parameters);
 
@@ -89,4 +155,21 @@ public interface PlanAggregateMapper {
     List<PlanBoardTimeBucketEntity> aggregateTimeBuckets(PlanBoardQueryParameters parameters);
 
     List<PlanBoardPlanEntity> findPlansForBoard(PlanBoardQueryParameters parameters);
+
+    PlanBoardMetricsEntity aggregateBoardMetrics(PlanBoardQueryParameters parameters);
+
+    List<PlanBoardPlanEntity> findBoardCards(PlanBoardCardQueryParameters parameters);
+
+    List<PlanFilterFacetEntity> aggregateFilterFacets(@Param("tenantId") String tenantId);
+
+    PlanChangeStampEntity stampPlanChanges(PlanQueryParameters parameters);
+
+    List<PlanEntity> findCalendarChanges(@Param("tenantId") String tenantId,
+                                         @Param("since") OffsetDateTime since,
+                                         @Param("until") OffsetDateTime until,
+                                         @Param("limit") int limit);
+
+    List<PlanTombstoneEntity> findTombstones(@Param("tenantId") String tenantId,
+                                             @Param("since") OffsetDateTime since,
+                                             @Param("until") OffsetDateTime until);
 }
@@ -0,0 +1,76 @@
+package com.bob.mta.modules.plan.persistence;
+
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanBoardCardQuery;
+import com.bob.mta.modules.plan.repository.PlanBoardGroupType;
+import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
+import com.bob.mta.modules.plan.service.PlanBoardView;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Board filters of {@link PlanBoardQueryParameters} narrowed to one board column and keyset page.
+ */
+public record PlanBoardCardQueryParameters(String tenantId,
+                                           List<String> customerIds,
+                                           String ownerId,
+                                           PlanStatus status,
+                                           List<PlanStatus> statuses,
+                                           String keyword,
+                                           OffsetDateTime from,
+                                           OffsetDateTime to,
+                                           PlanBoardGrouping grouping,
+                                           OffsetDateTime referenceTime,
+                                           int dueSoonMinutes,
+                                           boolean timeBucket,
+                                           boolean unknownCustomer,
+                                           String groupId,
+                                           OffsetDateTime cursorStartTime,
+                                           String cursorPlanId,
+                                           int limit) {
+
+    /**
+     * @param limit number of rows to read, usually one more than the page size
+     */
+    public static PlanBoardCardQueryParameters of(PlanBoardQueryParameters board, PlanBoardCardQuery query,
+                                                  int limit) {
+        boolean timeBucket = query.groupType() == PlanBoardGroupType.TIME_BUCKET;
+        return new PlanBoardCardQueryParameters(
+                board.tenantId(),
+                board.customerIds(),
+                board.ownerId(),
+                board.status(),
+                board.statuses(),
+                board.keyword(),
+                board.from(),
+                board.to(),
+                board.grouping(),
+                board.referenceTime(),
+                board.dueSoonMinutes(),
+                timeBucket,
+                !timeBucket && PlanBoardView.UNKNOWN_CUSTOMER_ID.equals(query.groupId()),
+                query.groupId(),
+                query.after() == null ? null : query.after().plannedStartTime(),
+                query.after() == null ? null : query.after().planId(),
+                limit
+        );
+    }
+
+    public List<String> customerIds() {
+        return customerIds == null ? List.of() : Collections.unmodifiableList(customerIds);
+    }
+
+    public List<PlanStatus> statuses() {
+        return statuses == null ? List.of() : Collections.unmodifiableList(statuses);
+    }
+
+    public String[] customerIdArray() {
+        return customerIds().toArray(String[]::new);
+    }
+
+    public String[] statusArray() {
+        return statuses().stream().map(PlanStatus::name).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bob.mta.modules.plan.persistence;
+
+public record PlanBoardMetricsEntity(long totalPlans,
+                                     long activePlans,
+                                     long completedPlans,
+                                     long overduePlans,
+                                     long dueSoonPlans,
+                                     double averageProgress,
+                                     double averageDurationHours) {
+}
@@ -16,6 +16,7 @@ public record PlanBoardPlanEntity(String planId,
                                   boolean overdue,
                                   boolean dueSoon,
                                   Long minutesUntilDue,
-                                  Long minutesOverdue) {
+                                  Long minutesOverdue,
+                                  String bucketId) {
 }
 
@@ -5,33 +5,58 @@ import com.bob.mta.modules.plan.domain.PlanStatus;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
 
+import org.springframework.util.StringUtils;
+
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Board filters bound by the board statements of {@code PlanAggregateMapper}. A single {@code customerId} of the
+ * criteria is folded into {@code customerIds}, which takes precedence as in {@code PlanSearchCriteria}.
+ */
 public record PlanBoardQueryParameters(String tenantId,
                                        List<String> customerIds,
                                        String ownerId,
+                                       PlanStatus status,
                                        List<PlanStatus> statuses,
+                                       String keyword,
                                        OffsetDateTime from,
                                        OffsetDateTime to,
                                        PlanBoardGrouping grouping,
                                        OffsetDateTime referenceTime,
-                                       int dueSoonMinutes) {
+                                       int dueSoonMinutes,
+                                       Integer cardLimit) {
 
     public static PlanBoardQueryParameters fromCriteria(PlanSearchCriteria criteria,
                                                         PlanBoardGrouping grouping,
                                                         OffsetDateTime referenceTime,
                                                         int dueSoonMinutes) {
+        return fromCriteria(criteria, grouping, referenceTime, dueSoonMinutes, null);
+    }
+
+    /**
+     * @param cardLimit largest number of cards read per customer group and time bucket, {@code null} for all
+     */
+    public static PlanBoardQueryParameters fromCriteria(PlanSearchCriteria criteria,
+                                                        PlanBoardGrouping grouping,
+                                                        OffsetDateTime referenceTime,
+                                                        int dueSoonMinutes,
+                                                        Integer cardLimit) {
         PlanSearchCriteria effectiveCriteria = criteria == null
                 ? PlanSearchCriteria.builder().build()
                 : criteria;
         PlanBoardGrouping effectiveGrouping = grouping == null ? PlanBoardGrouping.WEEK : grouping;
         OffsetDateTime reference = referenceTime == null ? OffsetDateTime.now() : referenceTime;
         int dueSoon = dueSoonMinutes <= 0 ? PlanRiskEvaluator.DEFAULT_DUE_SOON_MINUTES : dueSoonMinutes;
-        List<String> customers = effectiveCriteria.getCustomerIds().isEmpty()
-                ? List.of()
-                : List.copyOf(effectiveCriteria.getCustomerIds());
+        List<String> customers;
+        if (!effectiveCriteria.getCustomerIds().isEmpty()) {
+            customers = List.copyOf(effectiveCriteria.getCustomerIds());
+        } else if (effectiveCriteria.getCustomerId() != null) {
+            customers = List.of(effectiveCriteria.getCustomerId());
+        } else {
+            customers = List.of();
+        }
         List<PlanStatus> statuses = effectiveCriteria.getStatuses().isEmpty()
                 ? List.of()
                 : List.copyOf(effectiveCriteria.getStatuses());
@@ -39,12 +64,15 @@ public record PlanBoardQueryParameters(String tenantId,
                 effectiveCriteria.getTenantId(),
                 customers,
                 effectiveCriteria.getOwner(),
+                effectiveCriteria.getStatus(),
                 statuses,
+                StringUtils.hasText(effectiveCriteria.getKeyword()) ? effectiveCriteria.getKeyword().trim() : null,
                 effectiveCriteria.getFrom(),
                 effectiveCriteria.getTo(),
                 effectiveGrouping,
                 reference,
-                dueSoon
+                dueSoon,
+                cardLimit == null || cardLimit <= 0 ? null : cardLimit
         );
     }
 
@@ -55,5 +83,16 @@ public record PlanBoardQueryParameters(String tenantId,
     public List<PlanStatus> statuses() {
         return statuses == null ? List.of() : Collections.unmodifiableList(statuses);
     }
+
+    /**
+     * {@code customerIds} bound as one SQL array for {@code = ANY(...)}.
+     */
+    public String[] customerIdArray() {
+        return customerIds().toArray(String[]::new);
+    }
+
+    public String[] statusArray() {
+        return statuses().stream().map(PlanStatus::name).toArray(String[]::new);
+    }
 }
 
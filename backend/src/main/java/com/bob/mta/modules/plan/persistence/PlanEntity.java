@@ -23,6 +23,21 @@ public record PlanEntity(
         OffsetDateTime createdAt,
         OffsetDateTime updatedAt,
         OffsetDateTime reminderUpdatedAt,
-        String reminderUpdatedBy
+        String reminderUpdatedBy,
+        Long version,
+        Integer totalNodes,
+        Integer completedNodes,
+        Integer progress,
+        OffsetDateTime lastActivityAt
 ) {
+
+    public PlanEntity(String id, String tenantId, String customerId, String owner, String title, String description,
+                      PlanStatus status, OffsetDateTime plannedStartTime, OffsetDateTime plannedEndTime,
+                      OffsetDateTime actualStartTime, OffsetDateTime actualEndTime, String cancelReason,
+                      String canceledBy, OffsetDateTime canceledAt, String timezone, OffsetDateTime createdAt,
+                      OffsetDateTime updatedAt, OffsetDateTime reminderUpdatedAt, String reminderUpdatedBy) {
+        this(id, tenantId, customerId, owner, title, description, status, plannedStartTime, plannedEndTime,
+                actualStartTime, actualEndTime, cancelReason, canceledBy, canceledAt, timezone, createdAt, updatedAt,
+                reminderUpdatedAt, reminderUpdatedBy, null, null, null, null, null);
+    }
 }
@@ -0,0 +1,19 @@
+package com.bob.mta.modules.plan.persistence;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One row of the filter facet aggregate: the plan count of a status, owner or customer value, or with
+ * dimension {@code WINDOW} the count and planned window of all plans in scope.
+ */
+public record PlanFilterFacetEntity(String dimension,
+                                    String facetValue,
+                                    long total,
+                                    OffsetDateTime earliestStart,
+                                    OffsetDateTime latestEnd) {
+
+    public static final String STATUS = "STATUS";
+    public static final String OWNER = "OWNER";
+    public static final String CUSTOMER = "CUSTOMER";
+    public static final String WINDOW = "WINDOW";
+}
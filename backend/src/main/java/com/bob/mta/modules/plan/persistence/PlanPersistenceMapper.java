@@ -4,11 +4,19 @@ import com.bob.mta.modules.plan.domain.Plan;
 import com.bob.mta.modules.plan.domain.PlanActivity;
 import com.bob.mta.modules.plan.domain.PlanActionHistory;
 import com.bob.mta.modules.plan.domain.PlanActionStatus;
+import com.bob.mta.modules.plan.domain.PlanCalendarEntry;
 import com.bob.mta.modules.plan.domain.PlanNode;
 import com.bob.mta.modules.plan.domain.PlanNodeActionType;
 import com.bob.mta.modules.plan.domain.PlanNodeExecution;
 import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
 import com.bob.mta.modules.plan.domain.PlanReminderRule;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -21,6 +29,24 @@ import java.util.stream.Collectors;
 
 public final class PlanPersistenceMapper {
 
+    private static final ObjectMapper JSON = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final TypeReference<List<PlanParticipantEntity>> PARTICIPANT_ROWS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PlanNodeEntity>> NODE_ROWS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PlanNodeExecutionEntity>> EXECUTION_ROWS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PlanNodeAttachmentEntity>> ATTACHMENT_ROWS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PlanActivityEntity>> ACTIVITY_ROWS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PlanReminderRuleEntity>> REMINDER_RULE_ROWS = new TypeReference<>() {
+    };
+
     private PlanPersistenceMapper() {
     }
 
@@ -45,7 +71,12 @@ public final class PlanPersistenceMapper {
                 plan.getCreatedAt(),
                 plan.getUpdatedAt(),
                 plan.getReminderPolicy().getUpdatedAt(),
-                plan.getReminderPolicy().getUpdatedBy()
+                plan.getReminderPolicy().getUpdatedBy(),
+                plan.getVersion(),
+                plan.getTotalNodes(),
+                plan.getCompletedNodes(),
+                plan.getProgress(),
+                plan.getLastActivityAt()
         );
 
         List<PlanParticipantEntity> participants = plan.getParticipants().stream()
@@ -132,10 +163,82 @@ public final class PlanPersistenceMapper {
                 entity.createdAt(),
                 entity.updatedAt(),
                 activities,
-                reminderPolicy
+                reminderPolicy,
+                entity.version() == null ? 0L : entity.version()
+        );
+    }
+
+    /**
+     * Decodes a plan row whose child tables were aggregated into JSON arrays by the database.
+     */
+    public static Plan toDomain(PlanAggregateJsonEntity row) {
+        return toDomain(toAggregate(row));
+    }
+
+    public static PlanAggregate toAggregate(PlanAggregateJsonEntity row) {
+        Objects.requireNonNull(row, "row");
+        return new PlanAggregate(
+                row.plan(),
+                readRows(row.participants(), PARTICIPANT_ROWS),
+                readRows(row.nodes(), NODE_ROWS),
+                readRows(row.executions(), EXECUTION_ROWS),
+                readRows(row.attachments(), ATTACHMENT_ROWS),
+                readRows(row.activities(), ACTIVITY_ROWS),
+                readRows(row.reminderRules(), REMINDER_RULE_ROWS)
+        );
+    }
+
+    public static PlanSummaryProjection toSummary(PlanSummaryEntity entity) {
+        Objects.requireNonNull(entity, "entity");
+        return new PlanSummaryProjection(
+                entity.id(),
+                entity.tenantId(),
+                entity.title(),
+                entity.customerId(),
+                entity.owner(),
+                entity.status(),
+                entity.plannedStartTime(),
+                entity.plannedEndTime(),
+                entity.actualStartTime(),
+                entity.actualEndTime(),
+                entity.cancelReason(),
+                entity.canceledBy(),
+                entity.canceledAt(),
+                entity.timezone(),
+                entity.progress(),
+                entity.participants(),
+                entity.reminderRuleCount()
+        );
+    }
+
+    public static PlanCalendarEntry toCalendarEntry(PlanEntity entity) {
+        Objects.requireNonNull(entity, "entity");
+        return new PlanCalendarEntry(
+                entity.id(),
+                entity.tenantId(),
+                entity.title(),
+                entity.description(),
+                entity.owner(),
+                entity.status(),
+                entity.plannedStartTime(),
+                entity.plannedEndTime(),
+                entity.cancelReason(),
+                entity.canceledBy(),
+                entity.canceledAt()
         );
     }
 
+    private static <T> List<T> readRows(String json, TypeReference<List<T>> type) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            return JSON.readValue(json, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to decode aggregated plan rows", ex);
+        }
+    }
+
     private static void flattenNodes(String planId, List<PlanNode> nodes, String parentId, List<PlanNodeEntity> collector) {
         if (nodes == null || nodes.isEmpty()) {
             return;
@@ -200,22 +303,18 @@ public final class PlanPersistenceMapper {
         if (activities == null || activities.isEmpty()) {
             return List.of();
         }
-        List<PlanActivityEntity> entities = new ArrayList<>();
-        for (int index = 0; index < activities.size(); index++) {
-            PlanActivity activity = activities.get(index);
-            String activityId = planId + "-activity-" + (index + 1);
-            entities.add(new PlanActivityEntity(
-                    planId,
-                    activityId,
-                    activity.getType(),
-                    activity.getOccurredAt(),
-                    activity.getActor(),
-                    activity.getMessage(),
-                    activity.getReferenceId(),
-                    activity.getAttributes()
-            ));
-        }
-        return entities;
+        return activities.stream()
+                .map(activity -> new PlanActivityEntity(
+                        planId,
+                        activity.getId(),
+                        activity.getType(),
+                        activity.getOccurredAt(),
+                        activity.getActor(),
+                        activity.getMessage(),
+                        activity.getReferenceId(),
+                        activity.getAttributes()
+                ))
+                .collect(Collectors.toList());
     }
 
     public static List<PlanActivity> toActivities(List<PlanActivityEntity> entities) {
@@ -226,6 +325,7 @@ public final class PlanPersistenceMapper {
                 .sorted(Comparator.comparing(PlanActivityEntity::occurredAt)
                         .thenComparing(PlanActivityEntity::activityId))
                 .map(activity -> new PlanActivity(
+                        activity.activityId(),
                         activity.type(),
                         activity.occurredAt(),
                         activity.actor(),
@@ -2,6 +2,7 @@ package com.bob.mta.modules.plan.persistence;
 
 import com.bob.mta.modules.plan.domain.PlanStatus;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
+import com.bob.mta.modules.plan.repository.PlanSearchCursor;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -18,9 +19,20 @@ public record PlanQueryParameters(
         OffsetDateTime plannedEndTo,
         Integer limit,
         Integer offset,
-        String excludePlanId
+        String excludePlanId,
+        OffsetDateTime cursorStartTime,
+        String cursorPlanId,
+        boolean rankByKeyword
 ) {
 
+    public PlanQueryParameters(String tenantId, String customerId, List<String> customerIds, String owner,
+                               String keyword, PlanStatus status, List<PlanStatus> statuses,
+                               OffsetDateTime plannedStartFrom, OffsetDateTime plannedEndTo, Integer limit,
+                               Integer offset, String excludePlanId) {
+        this(tenantId, customerId, customerIds, owner, keyword, status, statuses, plannedStartFrom, plannedEndTo,
+                limit, offset, excludePlanId, null, null, false);
+    }
+
     public static PlanQueryParameters empty() {
         return new PlanQueryParameters(null, null, List.of(), null, null, null, List.of(), null, null, null, null, null);
     }
@@ -29,6 +41,7 @@ public record PlanQueryParameters(
         if (criteria == null) {
             return empty();
         }
+        PlanSearchCursor after = criteria.getAfter();
         return new PlanQueryParameters(
                 criteria.getTenantId(),
                 criteria.getCustomerId(),
@@ -41,7 +54,10 @@ public record PlanQueryParameters(
                 criteria.getTo(),
                 criteria.getLimit(),
                 criteria.getOffset(),
-                criteria.getExcludePlanId()
+                criteria.getExcludePlanId(),
+                after == null ? null : after.plannedStartTime(),
+                after == null ? null : after.planId(),
+                criteria.isRankByKeyword()
         );
     }
 }
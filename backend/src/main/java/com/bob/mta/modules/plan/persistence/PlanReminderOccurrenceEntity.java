@@ -0,0 +1,6 @@
+package com.bob.mta.modules.plan.persistence;
+
+import java.time.OffsetDateTime;
+
+public record PlanReminderOccurrenceEntity(String planId, String reminderId, OffsetDateTime fireTime) {
+}
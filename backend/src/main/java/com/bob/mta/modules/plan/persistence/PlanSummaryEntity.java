@@ -0,0 +1,31 @@
+package com.bob.mta.modules.plan.persistence;
+
+import com.bob.mta.modules.plan.domain.PlanStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record PlanSummaryEntity(
+        String id,
+        String tenantId,
+        String customerId,
+        String owner,
+        String title,
+        PlanStatus status,
+        OffsetDateTime plannedStartTime,
+        OffsetDateTime plannedEndTime,
+        OffsetDateTime actualStartTime,
+        OffsetDateTime actualEndTime,
+        String cancelReason,
+        String canceledBy,
+        OffsetDateTime canceledAt,
+        String timezone,
+        int progress,
+        List<String> participants,
+        int reminderRuleCount
+) {
+
+    public PlanSummaryEntity {
+        participants = participants == null ? List.of() : List.copyOf(participants);
+    }
+}
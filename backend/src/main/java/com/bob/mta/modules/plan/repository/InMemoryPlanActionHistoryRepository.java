@@ -1,14 +1,19 @@
 package com.bob.mta.modules.plan.repository;
 
 import com.bob.mta.modules.plan.domain.PlanActionHistory;
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 @Repository
 @ConditionalOnMissingBean(PlanActionHistoryRepository.class)
@@ -35,6 +40,25 @@ public class InMemoryPlanActionHistoryRepository implements PlanActionHistoryRep
         });
     }
 
+    @Override
+    public void update(PlanActionHistory history) {
+        Objects.requireNonNull(history, "history");
+        storage.computeIfPresent(history.getPlanId(), (planId, existing) -> existing.stream()
+                .map(entry -> entry.getId().equals(history.getId()) ? history : entry)
+                .toList());
+    }
+
+    @Override
+    public Set<String> renewLeases(Collection<String> actionIds, String owner, OffsetDateTime leaseUntil) {
+        Set<String> requested = Set.copyOf(actionIds);
+        return storage.values().stream()
+                .flatMap(List::stream)
+                .filter(entry -> requested.contains(entry.getId()))
+                .filter(entry -> entry.getStatus() == PlanActionStatus.PENDING)
+                .map(PlanActionHistory::getId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     @Override
     public List<PlanActionHistory> findByPlanId(String planId) {
         if (planId == null) {
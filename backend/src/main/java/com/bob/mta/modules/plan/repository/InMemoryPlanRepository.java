@@ -1,14 +1,19 @@
 package com.bob.mta.modules.plan.repository;
 
 import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
 import com.bob.mta.modules.plan.domain.PlanActivity;
 import com.bob.mta.modules.plan.domain.PlanNode;
 import com.bob.mta.modules.plan.domain.PlanNodeExecution;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
 import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
 import com.bob.mta.modules.plan.persistence.PlanAggregateMapper;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -24,6 +29,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @ConditionalOnMissingBean(PlanAggregateMapper.class)
@@ -54,9 +60,12 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
     }
 
     private final ConcurrentMap<String, Plan> storage = new ConcurrentHashMap<>();
+    private final PlanKeywordIndex keywordIndex = new PlanKeywordIndex();
+    private final ConcurrentMap<String, PlanTombstone> tombstones = new ConcurrentHashMap<>();
     private final AtomicLong planSequence = new AtomicLong(5000);
     private final AtomicLong nodeSequence = new AtomicLong(1000);
     private final AtomicLong reminderSequence = new AtomicLong(9000);
+    private final Map<String, Map<String, ReminderOccurrenceState>> reminderOccurrences = new LinkedHashMap<>();
 
     @Override
     public List<Plan> findAll() {
@@ -71,7 +80,9 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
         }
         int offset = criteria.getOffset() == null ? 0 : Math.max(criteria.getOffset(), 0);
         Integer limit = criteria.getLimit() != null && criteria.getLimit() > 0 ? criteria.getLimit() : null;
+        PlanSearchCursor after = criteria.getAfter();
         return filtered.stream()
+                .filter(plan -> after == null || after.precedes(plan))
                 .skip(offset)
                 .limit(limit == null ? Long.MAX_VALUE : limit)
                 .collect(Collectors.toList());
@@ -89,12 +100,43 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
 
     @Override
     public void save(Plan plan) {
-        storage.put(plan.getId(), plan);
+        Plan stored = storage.compute(plan.getId(), (id, existing) -> {
+            if (existing == null) {
+                return plan;
+            }
+            if (existing.getVersion() != plan.getVersion()) {
+                throw new OptimisticLockingFailureException("Plan " + id + " was modified concurrently, "
+                        + "expected version " + plan.getVersion() + " but found " + existing.getVersion());
+            }
+            return plan.withVersion(plan.getVersion() + 1);
+        });
+        keywordIndex.index(stored);
     }
 
     @Override
     public void delete(String id) {
-        storage.remove(id);
+        Plan removed = storage.remove(id);
+        keywordIndex.remove(id);
+        synchronized (reminderOccurrences) {
+            reminderOccurrences.remove(id);
+        }
+        if (removed != null) {
+            tombstones.put(id, new PlanTombstone(id, removed.getTenantId(), OffsetDateTime.now()));
+        }
+    }
+
+    @Override
+    public List<PlanTombstone> findTombstones(String tenantId, OffsetDateTime since, OffsetDateTime until) {
+        return tombstones.values().stream()
+                .filter(tombstone -> Objects.equals(tombstone.tenantId(), tenantId))
+                .filter(tombstone -> tombstone.deletedAt().isAfter(since) && !tombstone.deletedAt().isAfter(until))
+                .sorted(Comparator.comparing(PlanTombstone::planId))
+                .toList();
+    }
+
+    @Override
+    public void pruneTombstones(OffsetDateTime cutoff) {
+        tombstones.values().removeIf(tombstone -> tombstone.deletedAt().isBefore(cutoff));
     }
 
     @Override
@@ -131,6 +173,123 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
                 policy.getUpdatedAt()));
     }
 
+    @Override
+    public void replaceReminderOccurrences(String planId, List<PlanReminderOccurrence> occurrences,
+                                           OffsetDateTime now) {
+        synchronized (reminderOccurrences) {
+            Map<String, ReminderOccurrenceState> previous = reminderOccurrences.getOrDefault(planId, Map.of());
+            Map<String, ReminderOccurrenceState> next = new LinkedHashMap<>();
+            for (PlanReminderOccurrence occurrence : occurrences) {
+                ReminderOccurrenceState stored = previous.get(occurrence.reminderId());
+                if (stored != null && stored.occurrence.fireTime().isEqual(occurrence.fireTime())) {
+                    next.put(occurrence.reminderId(), stored);
+                } else if (!occurrence.fireTime().isBefore(now)) {
+                    next.put(occurrence.reminderId(), new ReminderOccurrenceState(occurrence));
+                }
+            }
+            if (next.isEmpty()) {
+                reminderOccurrences.remove(planId);
+            } else {
+                reminderOccurrences.put(planId, next);
+            }
+        }
+    }
+
+    @Override
+    public List<PlanReminderOccurrence> leaseReminderOccurrences(String owner, OffsetDateTime now,
+                                                                 OffsetDateTime notBefore, OffsetDateTime until,
+                                                                 Duration lease, int limit) {
+        synchronized (reminderOccurrences) {
+            List<ReminderOccurrenceState> leased = reminderOccurrences.values().stream()
+                    .flatMap(states -> states.values().stream())
+                    .filter(state -> state.status == ReminderOccurrenceStatus.PENDING
+                            || state.status == ReminderOccurrenceStatus.SENDING)
+                    .filter(state -> !state.occurrence.fireTime().isBefore(notBefore)
+                            && !state.occurrence.fireTime().isAfter(until))
+                    .filter(state -> state.leaseUntil == null || state.leaseUntil.isBefore(now))
+                    .sorted(Comparator.comparing(state -> state.occurrence.fireTime()))
+                    .limit(Math.max(0, limit))
+                    .toList();
+            for (ReminderOccurrenceState state : leased) {
+                OffsetDateTime fireTime = state.occurrence.fireTime();
+                state.status = ReminderOccurrenceStatus.PENDING;
+                state.owner = owner;
+                state.leaseUntil = (fireTime.isAfter(now) ? fireTime : now).plus(lease);
+            }
+            return leased.stream().map(state -> state.occurrence).toList();
+        }
+    }
+
+    @Override
+    public boolean claimReminderOccurrence(PlanReminderOccurrence occurrence, String owner,
+                                           OffsetDateTime leaseUntil) {
+        synchronized (reminderOccurrences) {
+            ReminderOccurrenceState state = reminderOccurrenceState(occurrence, owner);
+            if (state == null || state.status != ReminderOccurrenceStatus.PENDING) {
+                return false;
+            }
+            state.status = ReminderOccurrenceStatus.SENDING;
+            state.leaseUntil = leaseUntil;
+            return true;
+        }
+    }
+
+    @Override
+    public void completeReminderOccurrence(PlanReminderOccurrence occurrence, String owner,
+                                           PlanActionStatus outcome, OffsetDateTime completedAt) {
+        synchronized (reminderOccurrences) {
+            ReminderOccurrenceState state = reminderOccurrenceState(occurrence, owner);
+            if (state != null && state.status == ReminderOccurrenceStatus.SENDING) {
+                state.status = ReminderOccurrenceStatus.COMPLETED;
+                state.leaseUntil = null;
+            }
+        }
+    }
+
+    @Override
+    public int expireReminderOccurrences(OffsetDateTime before, OffsetDateTime now) {
+        synchronized (reminderOccurrences) {
+            int expired = 0;
+            for (Map<String, ReminderOccurrenceState> states : reminderOccurrences.values()) {
+                for (ReminderOccurrenceState state : states.values()) {
+                    if (state.status != ReminderOccurrenceStatus.COMPLETED
+                            && state.occurrence.fireTime().isBefore(before)
+                            && (state.leaseUntil == null || state.leaseUntil.isBefore(now))) {
+                        state.status = ReminderOccurrenceStatus.COMPLETED;
+                        state.owner = null;
+                        state.leaseUntil = null;
+                        expired++;
+                    }
+                }
+            }
+            return expired;
+        }
+    }
+
+    @Override
+    public void releaseReminderOccurrences(String owner) {
+        synchronized (reminderOccurrences) {
+            for (Map<String, ReminderOccurrenceState> states : reminderOccurrences.values()) {
+                for (ReminderOccurrenceState state : states.values()) {
+                    if (state.status == ReminderOccurrenceStatus.PENDING && Objects.equals(state.owner, owner)) {
+                        state.owner = null;
+                        state.leaseUntil = null;
+                    }
+                }
+            }
+        }
+    }
+
+    private ReminderOccurrenceState reminderOccurrenceState(PlanReminderOccurrence occurrence, String owner) {
+        ReminderOccurrenceState state = reminderOccurrences.getOrDefault(occurrence.planId(), Map.of())
+                .get(occurrence.reminderId());
+        if (state == null || !state.occurrence.fireTime().isEqual(occurrence.fireTime())
+                || !Objects.equals(state.owner, owner)) {
+            return null;
+        }
+        return state;
+    }
+
     @Override
     public List<PlanActivity> findTimeline(String planId) {
         Plan plan = storage.get(planId);
@@ -147,6 +306,30 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
                 current.getUpdatedAt()));
     }
 
+    @Override
+    public void appendActivities(String planId, List<PlanActivity> activities) {
+        if (activities == null || activities.isEmpty()) {
+            return;
+        }
+        storage.computeIfPresent(planId, (id, current) -> {
+            Set<String> recorded = current.getActivities().stream()
+                    .map(PlanActivity::getId)
+                    .collect(Collectors.toSet());
+            List<PlanActivity> merged = new ArrayList<>(current.getActivities());
+            activities.stream().filter(activity -> recorded.add(activity.getId())).forEach(merged::add);
+            if (merged.size() == current.getActivities().size()) {
+                return current;
+            }
+            merged.sort(Comparator.comparing(PlanActivity::getOccurredAt));
+            return rebuildPlan(current,
+                    current.getNodes(),
+                    current.getExecutions(),
+                    current.getReminderPolicy(),
+                    merged,
+                    current.getUpdatedAt());
+        });
+    }
+
     @Override
     public Map<String, List<String>> findAttachments(String planId) {
         Plan plan = storage.get(planId);
@@ -222,7 +405,8 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
                 original.getCreatedAt(),
                 updatedAt == null ? original.getUpdatedAt() : updatedAt,
                 activities == null ? original.getActivities() : activities,
-                reminderPolicy == null ? original.getReminderPolicy() : reminderPolicy
+                reminderPolicy == null ? original.getReminderPolicy() : reminderPolicy,
+                original.getVersion()
         );
     }
 
@@ -235,14 +419,10 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
     }
 
     private List<Plan> filter(PlanSearchCriteria criteria) {
-        Comparator<Plan> comparator = Comparator
-                .comparing(Plan::getPlannedStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
-                .thenComparing(Plan::getId, Comparator.nullsLast(Comparator.naturalOrder()));
-
         Set<String> allowedCustomers = criteria == null
                 ? Set.of()
                 : new LinkedHashSet<>(criteria.getCustomerIds());
-        return storage.values().stream()
+        return candidates(criteria)
                 .filter(plan -> criteria == null || criteria.getTenantId() == null
                         || Objects.equals(plan.getTenantId(), criteria.getTenantId()))
                 .filter(plan -> {
@@ -270,14 +450,57 @@ public class InMemoryPlanRepository implements PlanAggregateRepository,
                         && !plan.getPlannedStartTime().isAfter(criteria.getTo())))
                 .filter(plan -> criteria == null || criteria.getExcludePlanId() == null
                         || !Objects.equals(plan.getId(), criteria.getExcludePlanId()))
-                .sorted(comparator)
+                .sorted(criteria != null && criteria.isRankByKeyword() && StringUtils.hasText(criteria.getKeyword())
+                        ? keywordRanking(criteria.getKeyword()).thenComparing(PlanSearchCursor.PLAN_ORDER)
+                        : PlanSearchCursor.PLAN_ORDER)
                 .collect(Collectors.toList());
     }
 
+    private Stream<Plan> candidates(PlanSearchCriteria criteria) {
+        if (criteria == null || !StringUtils.hasText(criteria.getKeyword())) {
+            return storage.values().stream();
+        }
+        return keywordIndex.candidates(criteria.getKeyword()).stream()
+                .map(storage::get)
+                .filter(Objects::nonNull);
+    }
+
+    private Comparator<Plan> keywordRanking(String keyword) {
+        String needle = PlanKeywordIndex.normalize(keyword);
+        return Comparator.comparingInt((Plan plan) -> {
+            int score = 0;
+            if (PlanKeywordIndex.normalize(plan.getTitle()).contains(needle)) {
+                score += 2;
+            }
+            if (PlanKeywordIndex.normalize(plan.getDescription()).contains(needle)) {
+                score += 1;
+            }
+            return score;
+        }).reversed();
+    }
+
     private boolean containsIgnoreCase(String value, String needle) {
         if (value == null || value.isBlank()) {
             return false;
         }
         return value.toLowerCase(Locale.ROOT).contains(needle.toLowerCase(Locale.ROOT));
     }
+
+    private enum ReminderOccurrenceStatus {
+        PENDING,
+        SENDING,
+        COMPLETED
+    }
+
+    private static final class ReminderOccurrenceState {
+
+        private final PlanReminderOccurrence occurrence;
+        private ReminderOccurrenceStatus status = ReminderOccurrenceStatus.PENDING;
+        private String owner;
+        private OffsetDateTime leaseUntil;
+
+        private ReminderOccurrenceState(PlanReminderOccurrence occurrence) {
+            this.occurrence = occurrence;
+        }
+    }
 }
@@ -2,12 +2,50 @@ package com.bob.mta.modules.plan.repository;
 
 import com.bob.mta.modules.plan.domain.PlanActionHistory;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface PlanActionHistoryRepository {
 
     void append(PlanActionHistory history);
 
+    /**
+     * Replaces the stored entry with the same id, used to record the outcome of an action that was
+     * appended as {@code PENDING}. Repositories whose {@link #append} is not an upsert must override this.
+     */
+    default void update(PlanActionHistory history) {
+        append(history);
+    }
+
+    /**
+     * Appends a {@code PENDING} action already leased to {@code owner} until {@code leaseUntil}, so that no
+     * sweep delivers it while the instance that recorded it still holds it in its queue.
+     */
+    default void appendPending(PlanActionHistory history, String owner, OffsetDateTime leaseUntil) {
+        append(history);
+    }
+
+    /**
+     * Extends the lease of the given actions that are still {@code PENDING} and leased to {@code owner}, and
+     * returns their ids. An action missing from the result was completed or taken over by another owner and
+     * must not be delivered by {@code owner}.
+     */
+    default Set<String> renewLeases(Collection<String> actionIds, String owner, OffsetDateTime leaseUntil) {
+        return Set.copyOf(actionIds);
+    }
+
+    /**
+     * Leases up to {@code limit} pending actions to {@code owner} until {@code leaseUntil} for delivery. An
+     * action qualifies when its previous lease expired before {@code now}, or when it was never leased and was
+     * triggered before {@code orphanedBefore}.
+     */
+    default List<PlanActionHistory> claimPending(String owner, OffsetDateTime now, OffsetDateTime orphanedBefore,
+                                                 OffsetDateTime leaseUntil, int limit) {
+        return List.of();
+    }
+
     List<PlanActionHistory> findByPlanId(String planId);
 
     void deleteByPlanId(String planId);
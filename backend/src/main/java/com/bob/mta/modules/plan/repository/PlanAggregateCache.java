@@ -0,0 +1,176 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.PlanProperties;
+import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.persistence.PlanAggregateMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of hydrated plan aggregates keyed by plan id and stamped with the {@code mt_plan.version}
+ * they were loaded at. A lookup only returns an entry when the caller presents the same version, so stale
+ * entries written by other instances are never served; local writes additionally invalidate their entry
+ * immediately and again once the surrounding transaction completes.
+ */
+@Component
+@ConditionalOnBean(PlanAggregateMapper.class)
+public class PlanAggregateCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "plan.aggregate";
+
+    private final boolean enabled;
+    private final long maxWeight;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long weight;
+
+    public PlanAggregateCache(PlanProperties properties) {
+        this(properties.getCache().isEnabled(), properties.getCache().getMaxWeight());
+    }
+
+    PlanAggregateCache(boolean enabled, long maxWeight) {
+        this.enabled = enabled && maxWeight > 0;
+        this.maxWeight = maxWeight;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached aggregate when it was loaded at {@code version}, otherwise records a miss and
+     * drops the outdated entry.
+     */
+    public synchronized Plan get(String planId, long version) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(planId);
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            return entry.plan();
+        }
+        if (entry != null) {
+            remove(planId);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized void put(String planId, long version, Plan plan) {
+        if (!enabled || plan == null) {
+            return;
+        }
+        int planWeight = weigh(plan);
+        if (planWeight > maxWeight) {
+            return;
+        }
+        remove(planId);
+        entries.put(planId, new Entry(plan, version, planWeight));
+        weight += planWeight;
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            weight -= evicted.weight();
+            evictions.increment();
+        }
+    }
+
+    public void invalidate(String planId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            remove(planId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (PlanAggregateCache.this) {
+                        remove(planId);
+                    }
+                }
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, PlanAggregateCache::hitCount)
+                .tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Plan aggregate lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, PlanAggregateCache::missCount)
+                .tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Plan aggregate lookups that had to hydrate from the database")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", this, PlanAggregateCache::evictionCount)
+                .tag("cache", CACHE_NAME)
+                .description("Plan aggregates evicted to stay within the configured weight")
+                .register(registry);
+        Gauge.builder("cache.size", this, PlanAggregateCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.weight", this, PlanAggregateCache::weight)
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    private void remove(String planId) {
+        Entry removed = entries.remove(planId);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+
+    private static int weigh(Plan plan) {
+        return 1
+                + plan.getParticipants().size()
+                + plan.getExecutions().size()
+                + plan.getActivities().size()
+                + (plan.getReminderPolicy() == null ? 0 : plan.getReminderPolicy().getRules().size());
+    }
+
+    private record Entry(Plan plan, long version, int weight) {
+    }
+}
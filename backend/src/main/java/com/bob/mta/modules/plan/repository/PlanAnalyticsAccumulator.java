@@ -0,0 +1,209 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanAnalytics;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Mutable accumulator that derives every figure of {@link PlanAnalytics} from a single traversal of the
+ * filtered plans. Upcoming plans, owner loads and risk plans are kept in bounded heaps of their limit, so
+ * nothing but the final top entries is ever sorted. Partial accumulators can be combined, which lets
+ * {@link #summarize(List, PlanAnalyticsQuery)} split large tenants across the common fork/join pool.
+ * <p>
+ * Orderings follow the SQL of the persistence profile: upcoming plans by planned start, owners by active
+ * and then overdue plans descending, risk plans overdue first and then by planned end, ties by id.
+ */
+final class PlanAnalyticsAccumulator {
+
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    private static final Comparator<Plan> UPCOMING_ORDER =
+            Comparator.comparing((Plan plan) -> plan.getPlannedStartTime().toInstant())
+                    .thenComparing(Plan::getId);
+
+    private static final Comparator<PlanAnalytics.OwnerLoad> OWNER_ORDER =
+            Comparator.comparingLong(PlanAnalytics.OwnerLoad::getActivePlans).reversed()
+                    .thenComparing(Comparator.comparingLong(PlanAnalytics.OwnerLoad::getOverduePlans).reversed())
+                    .thenComparing(PlanAnalytics.OwnerLoad::getOwnerId);
+
+    private static final Comparator<Plan> RISK_ORDER =
+            Comparator.comparing((Plan plan) -> plan.getPlannedEndTime().toInstant())
+                    .thenComparing(Plan::getId);
+
+    private final Instant reference;
+    private final Instant dueSoonThreshold;
+    private final int upcomingLimit;
+    private final int riskLimit;
+
+    private long total;
+    private final long[] statusCounts = new long[PlanStatus.values().length];
+    private long overdue;
+    private final PriorityQueue<Plan> upcoming;
+    private final Map<String, long[]> owners = new HashMap<>();
+    private final PriorityQueue<Plan> overdueRisks;
+    private final PriorityQueue<Plan> dueSoonRisks;
+
+    private PlanAnalyticsAccumulator(PlanAnalyticsQuery query) {
+        this.reference = query.getReferenceTime().toInstant();
+        this.dueSoonThreshold = reference.plusSeconds(query.getDueSoonMinutes() * 60L);
+        this.upcomingLimit = query.getUpcomingLimit();
+        this.riskLimit = query.getRiskLimit();
+        this.upcoming = new PriorityQueue<>(UPCOMING_ORDER.reversed());
+        this.overdueRisks = new PriorityQueue<>(RISK_ORDER.reversed());
+        this.dueSoonRisks = new PriorityQueue<>(RISK_ORDER.reversed());
+    }
+
+    static PlanAnalytics summarize(List<Plan> plans, PlanAnalyticsQuery query) {
+        var stream = plans.size() >= PARALLEL_THRESHOLD ? plans.parallelStream() : plans.stream();
+        return stream.collect(() -> new PlanAnalyticsAccumulator(query),
+                        PlanAnalyticsAccumulator::accept,
+                        PlanAnalyticsAccumulator::combine)
+                .toAnalytics(query);
+    }
+
+    void accept(Plan plan) {
+        total++;
+        PlanStatus status = plan.getStatus();
+        if (status != null) {
+            statusCounts[status.ordinal()]++;
+        }
+        boolean active = status == PlanStatus.SCHEDULED || status == PlanStatus.IN_PROGRESS;
+        Instant plannedEnd = plan.getPlannedEndTime() == null ? null : plan.getPlannedEndTime().toInstant();
+        boolean planOverdue = active && plannedEnd != null && plannedEnd.isBefore(reference);
+        if (planOverdue) {
+            overdue++;
+        }
+
+        OffsetDateTime plannedStart = plan.getPlannedStartTime();
+        if (plannedStart != null && status != PlanStatus.CANCELED && status != PlanStatus.COMPLETED
+                && !plannedStart.toInstant().isBefore(reference)) {
+            offer(upcoming, plan, upcomingLimit);
+        }
+
+        String owner = plan.getOwner();
+        if (owner != null && !owner.isBlank()) {
+            long[] load = owners.computeIfAbsent(owner, ignored -> new long[3]);
+            load[0]++;
+            if (active) {
+                load[1]++;
+            }
+            if (planOverdue) {
+                load[2]++;
+            }
+        }
+
+        if (planOverdue) {
+            offer(overdueRisks, plan, riskLimit);
+        } else if (active && plannedEnd != null && plannedEnd.isBefore(dueSoonThreshold)) {
+            offer(dueSoonRisks, plan, riskLimit);
+        }
+    }
+
+    void combine(PlanAnalyticsAccumulator other) {
+        total += other.total;
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] += other.statusCounts[i];
+        }
+        overdue += other.overdue;
+        other.upcoming.forEach(plan -> offer(upcoming, plan, upcomingLimit));
+        other.owners.forEach((owner, load) -> owners.merge(owner, load, (left, right) -> {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        }));
+        other.overdueRisks.forEach(plan -> offer(overdueRisks, plan, riskLimit));
+        other.dueSoonRisks.forEach(plan -> offer(dueSoonRisks, plan, riskLimit));
+    }
+
+    PlanAnalytics toAnalytics(PlanAnalyticsQuery query) {
+        List<PlanAnalytics.UpcomingPlan> upcomingPlans = drain(upcoming, UPCOMING_ORDER).stream()
+                .map(plan -> new PlanAnalytics.UpcomingPlan(
+                        plan.getId(),
+                        plan.getTitle(),
+                        plan.getStatus(),
+                        plan.getPlannedStartTime(),
+                        plan.getPlannedEndTime(),
+                        plan.getOwner(),
+                        plan.getCustomerId(),
+                        plan.getProgress()
+                ))
+                .toList();
+
+        PriorityQueue<PlanAnalytics.OwnerLoad> topOwners = new PriorityQueue<>(OWNER_ORDER.reversed());
+        owners.forEach((owner, load) ->
+                offer(topOwners, new PlanAnalytics.OwnerLoad(owner, load[0], load[1], load[2]),
+                        query.getOwnerLimit()));
+        List<PlanAnalytics.OwnerLoad> ownerLoads = drain(topOwners, OWNER_ORDER);
+
+        List<PlanAnalytics.RiskPlan> riskPlans = new ArrayList<>(riskLimit);
+        for (Plan plan : drain(overdueRisks, RISK_ORDER)) {
+            riskPlans.add(toRiskPlan(plan, PlanAnalytics.RiskLevel.OVERDUE));
+        }
+        for (Plan plan : drain(dueSoonRisks, RISK_ORDER)) {
+            if (riskPlans.size() >= riskLimit) {
+                break;
+            }
+            riskPlans.add(toRiskPlan(plan, PlanAnalytics.RiskLevel.DUE_SOON));
+        }
+
+        return new PlanAnalytics(total,
+                statusCounts[PlanStatus.DESIGN.ordinal()],
+                statusCounts[PlanStatus.SCHEDULED.ordinal()],
+                statusCounts[PlanStatus.IN_PROGRESS.ordinal()],
+                statusCounts[PlanStatus.COMPLETED.ordinal()],
+                statusCounts[PlanStatus.CANCELED.ordinal()],
+                overdue, upcomingPlans, ownerLoads, List.copyOf(riskPlans));
+    }
+
+    private PlanAnalytics.RiskPlan toRiskPlan(Plan plan, PlanAnalytics.RiskLevel level) {
+        long plannedEnd = plan.getPlannedEndTime().toEpochSecond();
+        long minutesUntilDue = level == PlanAnalytics.RiskLevel.DUE_SOON
+                ? Math.max(0, plannedEnd - reference.getEpochSecond()) / 60 : 0;
+        long minutesOverdue = level == PlanAnalytics.RiskLevel.OVERDUE
+                ? Math.max(0, reference.getEpochSecond() - plannedEnd) / 60 : 0;
+        return new PlanAnalytics.RiskPlan(
+                plan.getId(),
+                plan.getTitle(),
+                plan.getStatus(),
+                plan.getPlannedEndTime(),
+                plan.getOwner(),
+                plan.getCustomerId(),
+                level,
+                minutesUntilDue,
+                minutesOverdue
+        );
+    }
+
+    /**
+     * Keeps the {@code limit} smallest elements; the heap is ordered worst first so the head is evicted.
+     */
+    private static <T> void offer(PriorityQueue<T> heap, T element, int limit) {
+        if (limit <= 0) {
+            return;
+        }
+        if (heap.size() < limit) {
+            heap.add(element);
+            return;
+        }
+        if (heap.comparator().compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    private static <T> List<T> drain(PriorityQueue<T> heap, Comparator<? super T> order) {
+        List<T> values = new ArrayList<>(heap);
+        values.sort(order);
+        return List.copyOf(values);
+    }
+}
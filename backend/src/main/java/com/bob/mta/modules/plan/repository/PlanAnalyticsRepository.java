@@ -1,6 +1,7 @@
 package com.bob.mta.modules.plan.repository;
 
 import com.bob.mta.modules.plan.domain.PlanAnalytics;
+import com.bob.mta.modules.plan.service.PlanBoardCardPage;
 import com.bob.mta.modules.plan.service.PlanBoardView;
 
 public interface PlanAnalyticsRepository {
@@ -8,4 +9,22 @@ public interface PlanAnalyticsRepository {
     PlanAnalytics summarize(PlanAnalyticsQuery query);
 
     PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping);
+
+    /**
+     * Board with at most {@code cardLimit} cards per customer group and time bucket; counters and metrics
+     * still cover every matching plan.
+     */
+    default PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping, int cardLimit) {
+        return getPlanBoard(criteria, grouping).withCardLimit(cardLimit);
+    }
+
+    /**
+     * Next cards of one board column, in board order.
+     */
+    default PlanBoardCardPage findBoardCards(PlanSearchCriteria criteria, PlanBoardGrouping grouping,
+                                             PlanBoardCardQuery query) {
+        PlanBoardView board = getPlanBoard(criteria, grouping);
+        return PlanBoardCardPage.of(board.findCards(query.groupType(), query.groupId()), query.after(),
+                query.limit());
+    }
 }
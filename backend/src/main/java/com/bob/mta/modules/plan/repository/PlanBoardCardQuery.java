@@ -0,0 +1,18 @@
+package com.bob.mta.modules.plan.repository;
+
+import java.util.Objects;
+
+/**
+ * Requests the cards of one board column after {@code after}, which is {@code null} for the first page.
+ * {@code groupId} is the customer id of a customer group, or the bucket id of a time bucket.
+ */
+public record PlanBoardCardQuery(PlanBoardGroupType groupType, String groupId, PlanSearchCursor after, int limit) {
+
+    public PlanBoardCardQuery {
+        Objects.requireNonNull(groupType, "groupType");
+        Objects.requireNonNull(groupId, "groupId");
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.bob.mta.modules.plan.repository;
+
+/**
+ * Kind of board column whose cards are paged: a customer group or a time bucket.
+ */
+public enum PlanBoardGroupType {
+    CUSTOMER,
+    TIME_BUCKET
+}
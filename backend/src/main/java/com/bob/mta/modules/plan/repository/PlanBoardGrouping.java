@@ -7,6 +7,7 @@ public enum PlanBoardGrouping {
     DAY,
     WEEK,
     MONTH,
+    QUARTER,
     YEAR
 }
 
@@ -0,0 +1,41 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.domain.Plan;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Number of plans matching a query, the latest {@code updated_at} among them and the latest deletion
+ * recorded for the tenant. Together they change whenever a matching plan is written, added or removed, so
+ * they can validate cached renderings of the matching plans. A deletion leaves {@code updated_at} of the
+ * remaining plans untouched, which is why the tombstone high-water mark is part of the stamp.
+ */
+public record PlanChangeStamp(long total, OffsetDateTime lastUpdated, OffsetDateTime lastDeleted) {
+
+    public static PlanChangeStamp of(Collection<Plan> plans, Collection<PlanTombstone> tombstones) {
+        OffsetDateTime lastUpdated = null;
+        for (Plan plan : plans) {
+            lastUpdated = later(lastUpdated, plan.getUpdatedAt());
+        }
+        OffsetDateTime lastDeleted = null;
+        for (PlanTombstone tombstone : tombstones) {
+            lastDeleted = later(lastDeleted, tombstone.deletedAt());
+        }
+        return new PlanChangeStamp(plans.size(), lastUpdated, lastDeleted);
+    }
+
+    /**
+     * The later of the last update and the last deletion, or {@code null} when neither is known.
+     */
+    public OffsetDateTime lastModified() {
+        return later(lastUpdated, lastDeleted);
+    }
+
+    private static OffsetDateTime later(OffsetDateTime current, OffsetDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
+import org.springframework.util.StringUtils;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts behind the plan list filter options of one tenant scope: plans per status, owner and customer, and
+ * the planned window spanned by all plans. Blank owners and customers are not counted.
+ */
+public record PlanFilterFacets(Map<PlanStatus, Long> statusCounts,
+                               Map<String, Long> ownerCounts,
+                               Map<String, Long> customerCounts,
+                               OffsetDateTime earliestStart,
+                               OffsetDateTime latestEnd) {
+
+    public PlanFilterFacets {
+        statusCounts = statusCounts == null ? Map.of() : Map.copyOf(statusCounts);
+        ownerCounts = ownerCounts == null ? Map.of() : Map.copyOf(ownerCounts);
+        customerCounts = customerCounts == null ? Map.of() : Map.copyOf(customerCounts);
+    }
+
+    /**
+     * Counts all facets in a single pass over the summaries.
+     */
+    public static PlanFilterFacets summarize(Collection<PlanSummaryProjection> plans) {
+        Map<PlanStatus, Long> statuses = new EnumMap<>(PlanStatus.class);
+        Map<String, Long> owners = new HashMap<>();
+        Map<String, Long> customers = new HashMap<>();
+        OffsetDateTime earliestStart = null;
+        OffsetDateTime latestEnd = null;
+        for (PlanSummaryProjection plan : plans) {
+            if (plan.status() != null) {
+                statuses.merge(plan.status(), 1L, Long::sum);
+            }
+            if (StringUtils.hasText(plan.owner())) {
+                owners.merge(plan.owner(), 1L, Long::sum);
+            }
+            if (StringUtils.hasText(plan.customerId())) {
+                customers.merge(plan.customerId(), 1L, Long::sum);
+            }
+            OffsetDateTime start = plan.plannedStartTime();
+            if (start != null && (earliestStart == null || start.isBefore(earliestStart))) {
+                earliestStart = start;
+            }
+            OffsetDateTime end = plan.plannedEndTime();
+            if (end != null && (latestEnd == null || end.isAfter(latestEnd))) {
+                latestEnd = end;
+            }
+        }
+        return new PlanFilterFacets(statuses, owners, customers, earliestStart, latestEnd);
+    }
+}
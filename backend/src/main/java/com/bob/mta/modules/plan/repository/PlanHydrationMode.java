@@ -0,0 +1,17 @@
+package com.bob.mta.modules.plan.repository;
+
+/**
+ * Controls how repositories backed by the database assemble plan aggregates for a query.
+ */
+public enum PlanHydrationMode {
+
+    /**
+     * Loads the plan rows first and then each child table with one {@code IN (...)} query per table.
+     */
+    BATCHED,
+
+    /**
+     * Loads the plan rows together with their child rows aggregated as JSON arrays in a single statement.
+     */
+    JSON_AGGREGATE
+}
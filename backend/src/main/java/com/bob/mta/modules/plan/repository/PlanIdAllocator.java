@@ -0,0 +1,133 @@
+package com.bob.mta.modules.plan.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Pooled identifier generator on top of a database sequence whose increment is the pool size. Every
+ * {@code nextval} claims the range {@code (value - increment, value]} for this instance, so any number of
+ * application instances can draw from the same sequence without handing out a value twice. Values are
+ * served from the claimed range through an atomic counter; only refills go back to the database.
+ * <p>
+ * A sequence that still increments by one degrades to one round-trip per identifier, and the very first
+ * value of a fresh sequence is clamped so that no range reaches below one.
+ */
+final class PlanIdAllocator {
+
+    private final String prefix;
+    private final IntFunction<List<Long>> reserveBlocks;
+    private final Supplier<Long> increment;
+    private volatile long blockSize;
+    private volatile Range current = Range.EXHAUSTED;
+
+    PlanIdAllocator(String prefix, IntFunction<List<Long>> reserveBlocks, Supplier<Long> increment) {
+        this.prefix = Objects.requireNonNull(prefix, "prefix");
+        this.reserveBlocks = Objects.requireNonNull(reserveBlocks, "reserveBlocks");
+        this.increment = Objects.requireNonNull(increment, "increment");
+    }
+
+    String next() {
+        while (true) {
+            Range range = current;
+            long value = range.take();
+            if (value > 0) {
+                return format(value);
+            }
+            refill(range);
+        }
+    }
+
+    /**
+     * Takes what is left of the current range first and claims all missing blocks in one round-trip.
+     */
+    List<String> next(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        List<String> ids = new ArrayList<>(count);
+        drain(current, ids, count);
+        if (ids.size() < count) {
+            long size = blockSize();
+            int blocks = (int) ((count - ids.size() + size - 1) / size);
+            Range last = null;
+            for (Long high : reserveBlocks.apply(blocks)) {
+                last = Range.ending(high, size);
+                drain(last, ids, count);
+            }
+            if (ids.size() < count) {
+                throw new IllegalStateException("Sequence returned fewer blocks than requested for " + prefix);
+            }
+            if (last != null && last.hasRemaining()) {
+                synchronized (this) {
+                    current = last;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void drain(Range range, List<String> sink, int count) {
+        while (sink.size() < count) {
+            long value = range.take();
+            if (value <= 0) {
+                return;
+            }
+            sink.add(format(value));
+        }
+    }
+
+    private synchronized void refill(Range exhausted) {
+        if (current != exhausted) {
+            return;
+        }
+        List<Long> highs = reserveBlocks.apply(1);
+        if (highs == null || highs.isEmpty()) {
+            throw new IllegalStateException("Sequence returned no value for " + prefix);
+        }
+        current = Range.ending(highs.get(0), blockSize());
+    }
+
+    private long blockSize() {
+        long size = blockSize;
+        if (size == 0) {
+            Long configured = increment.get();
+            size = configured == null || configured < 1 ? 1 : configured;
+            blockSize = size;
+        }
+        return size;
+    }
+
+    private String format(long value) {
+        return prefix + String.format("%08d", value);
+    }
+
+    private static final class Range {
+
+        private static final Range EXHAUSTED = new Range(1, 0);
+
+        private final AtomicLong next;
+        private final long last;
+
+        private Range(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        static Range ending(long high, long size) {
+            return new Range(Math.max(high - size + 1, 1), high);
+        }
+
+        long take() {
+            long value = next.getAndIncrement();
+            return value <= last ? value : -1;
+        }
+
+        boolean hasRemaining() {
+            return next.get() <= last;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.domain.Plan;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted n-gram index over plan titles and descriptions used by the in-memory repository.
+ * <p>
+ * Every lower-cased text is indexed by its 1, 2 and 3 character grams. A keyword lookup intersects the
+ * posting lists of the keyword's grams, which yields a small superset of the matching plans; callers still
+ * verify the substring match, so results are identical to a full {@code contains} scan. Grams rather than
+ * words are indexed because titles are frequently Chinese or Japanese text without word separators.
+ */
+final class PlanKeywordIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> gramsByPlan = new ConcurrentHashMap<>();
+
+    synchronized void index(Plan plan) {
+        remove(plan.getId());
+        Set<String> grams = new HashSet<>();
+        collectGrams(normalize(plan.getTitle()), grams);
+        collectGrams(normalize(plan.getDescription()), grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(plan.getId());
+        }
+        gramsByPlan.put(plan.getId(), grams);
+    }
+
+    synchronized void remove(String planId) {
+        Set<String> grams = gramsByPlan.remove(planId);
+        if (grams == null) {
+            return;
+        }
+        for (String gram : grams) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(planId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Returns the identifiers of plans that may contain the keyword, smallest posting lists first.
+     */
+    Set<String> candidates(String keyword) {
+        String needle = normalize(keyword);
+        List<String> grams = queryGrams(needle);
+        Set<String> result = null;
+        for (String gram : grams.stream()
+                .sorted((left, right) -> Integer.compare(postingSize(left), postingSize(right)))
+                .toList()) {
+            Set<String> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                return Set.of();
+            }
+        }
+        return result == null ? Set.of() : result;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private int postingSize(String gram) {
+        Collection<String> ids = postings.get(gram);
+        return ids == null ? 0 : ids.size();
+    }
+
+    private static void collectGrams(String text, Set<String> grams) {
+        int length = text.length();
+        for (int start = 0; start < length; start++) {
+            for (int size = 1; size <= GRAM_SIZE && start + size <= length; size++) {
+                grams.add(text.substring(start, start + size));
+            }
+        }
+    }
+
+    private static List<String> queryGrams(String needle) {
+        if (needle.length() <= GRAM_SIZE) {
+            return List.of(needle);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start + GRAM_SIZE <= needle.length(); start++) {
+            grams.add(needle.substring(start, start + GRAM_SIZE));
+        }
+        return List.copyOf(grams);
+    }
+}
@@ -6,7 +6,10 @@ import com.bob.mta.modules.plan.persistence.PlanPersistenceMapper;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 @ConditionalOnBean(PlanActionHistoryMapper.class)
@@ -23,6 +26,30 @@ public class PlanPersistenceActionHistoryRepository implements PlanActionHistory
         mapper.insert(PlanPersistenceMapper.toActionHistoryEntity(history));
     }
 
+    @Override
+    public void appendPending(PlanActionHistory history, String owner, OffsetDateTime leaseUntil) {
+        mapper.insertPending(PlanPersistenceMapper.toActionHistoryEntity(history), owner, leaseUntil);
+    }
+
+    @Override
+    public Set<String> renewLeases(Collection<String> actionIds, String owner, OffsetDateTime leaseUntil) {
+        if (actionIds == null || actionIds.isEmpty()) {
+            return Set.of();
+        }
+        return Set.copyOf(mapper.renewLeases(actionIds, owner, leaseUntil));
+    }
+
+    @Override
+    public List<PlanActionHistory> claimPending(String owner, OffsetDateTime now, OffsetDateTime orphanedBefore,
+                                                OffsetDateTime leaseUntil, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return mapper.claimPending(owner, now, orphanedBefore, leaseUntil, limit).stream()
+                .map(PlanPersistenceMapper::toActionHistory)
+                .toList();
+    }
+
     @Override
     public List<PlanActionHistory> findByPlanId(String planId) {
         return mapper.findByPlanId(planId).stream()
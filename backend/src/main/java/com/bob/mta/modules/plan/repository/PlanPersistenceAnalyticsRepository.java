@@ -5,7 +5,9 @@ import com.bob.mta.modules.plan.domain.PlanRiskEvaluator;
 import com.bob.mta.modules.plan.domain.PlanStatus;
 import com.bob.mta.modules.plan.persistence.PlanAggregateMapper;
 import com.bob.mta.modules.plan.persistence.PlanAnalyticsQueryParameters;
+import com.bob.mta.modules.plan.persistence.PlanBoardCardQueryParameters;
 import com.bob.mta.modules.plan.persistence.PlanBoardCustomerAggregateEntity;
+import com.bob.mta.modules.plan.persistence.PlanBoardMetricsEntity;
 import com.bob.mta.modules.plan.persistence.PlanBoardPlanEntity;
 import com.bob.mta.modules.plan.persistence.PlanBoardQueryParameters;
 import com.bob.mta.modules.plan.persistence.PlanBoardTimeBucketEntity;
@@ -13,6 +15,7 @@ import com.bob.mta.modules.plan.persistence.PlanOwnerLoadEntity;
 import com.bob.mta.modules.plan.persistence.PlanRiskPlanEntity;
 import com.bob.mta.modules.plan.persistence.PlanStatusCountEntity;
 import com.bob.mta.modules.plan.persistence.PlanUpcomingPlanEntity;
+import com.bob.mta.modules.plan.service.PlanBoardCardPage;
 import com.bob.mta.modules.plan.service.PlanBoardView;
 import com.bob.mta.modules.plan.service.PlanBoardViewHelper;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -100,12 +103,45 @@ public class PlanPersistenceAnalyticsRepository implements PlanAnalyticsReposito
 
     @Override
     public PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping) {
+        return loadPlanBoard(criteria, grouping, null);
+    }
+
+    /**
+     * Reads at most {@code cardLimit} cards per customer group and time bucket; the metrics are then
+     * aggregated in SQL since the cards no longer cover every plan.
+     */
+    @Override
+    public PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping, int cardLimit) {
+        if (cardLimit <= 0) {
+            return getPlanBoard(criteria, grouping);
+        }
+        return loadPlanBoard(criteria, grouping, cardLimit).withCardLimit(cardLimit);
+    }
+
+    @Override
+    public PlanBoardCardPage findBoardCards(PlanSearchCriteria criteria, PlanBoardGrouping grouping,
+                                            PlanBoardCardQuery query) {
+        PlanBoardQueryParameters board = boardParameters(criteria, grouping, null);
+        List<PlanBoardView.PlanCard> cards = mapper.findBoardCards(
+                        PlanBoardCardQueryParameters.of(board, query, query.limit() + 1)).stream()
+                .map(this::toPlanCard)
+                .toList();
+        return PlanBoardCardPage.of(cards, null, query.limit());
+    }
+
+    private PlanBoardQueryParameters boardParameters(PlanSearchCriteria criteria, PlanBoardGrouping grouping,
+                                                     Integer cardLimit) {
         PlanSearchCriteria effectiveCriteria = criteria == null ? PlanSearchCriteria.builder().build() : criteria;
         PlanBoardGrouping effectiveGrouping = grouping == null ? PlanBoardGrouping.WEEK : grouping;
-        OffsetDateTime reference = OffsetDateTime.now();
-        int dueSoonMinutes = PlanRiskEvaluator.DEFAULT_DUE_SOON_MINUTES;
-        PlanBoardQueryParameters parameters = PlanBoardQueryParameters.fromCriteria(effectiveCriteria,
-                effectiveGrouping, reference, dueSoonMinutes);
+        return PlanBoardQueryParameters.fromCriteria(effectiveCriteria, effectiveGrouping, OffsetDateTime.now(),
+                PlanRiskEvaluator.DEFAULT_DUE_SOON_MINUTES, cardLimit);
+    }
+
+    private PlanBoardView loadPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping,
+                                        Integer cardLimit) {
+        PlanBoardQueryParameters parameters = boardParameters(criteria, grouping, cardLimit);
+        PlanBoardGrouping effectiveGrouping = parameters.grouping();
+        OffsetDateTime reference = parameters.referenceTime();
 
         List<PlanBoardPlanEntity> planEntities = mapper.findPlansForBoard(parameters);
         Map<String, List<PlanBoardView.PlanCard>> plansByCustomer = new HashMap<>();
@@ -116,13 +152,8 @@ public class PlanPersistenceAnalyticsRepository implements PlanAnalyticsReposito
             String customerKey = normalizeCustomerId(entity.customerId());
             plansByCustomer.computeIfAbsent(customerKey, key -> new java.util.ArrayList<>()).add(card);
 
-            if (entity.plannedStartTime() != null) {
-                OffsetDateTime bucketStart = PlanBoardViewHelper.normalizeBucketStart(entity.plannedStartTime(),
-                        effectiveGrouping);
-                String bucketId = PlanBoardViewHelper.formatBucketLabel(bucketStart, effectiveGrouping);
-                if (bucketId != null) {
-                    plansByBucket.computeIfAbsent(bucketId, key -> new java.util.ArrayList<>()).add(card);
-                }
+            if (entity.bucketId() != null) {
+                plansByBucket.computeIfAbsent(entity.bucketId(), key -> new java.util.ArrayList<>()).add(card);
             }
         }
 
@@ -186,7 +217,9 @@ public class PlanPersistenceAnalyticsRepository implements PlanAnalyticsReposito
                 ))
                 .toList();
 
-        PlanBoardView.Metrics metrics = computeMetrics(planEntities);
+        PlanBoardView.Metrics metrics = parameters.cardLimit() == null
+                ? computeMetrics(planEntities)
+                : toMetrics(mapper.aggregateBoardMetrics(parameters));
         return new PlanBoardView(customerGroups, timeBuckets, metrics, effectiveGrouping, reference);
     }
 
@@ -255,6 +288,18 @@ public class PlanPersistenceAnalyticsRepository implements PlanAnalyticsReposito
                 avgProgress, avgDuration, completionRate);
     }
 
+    private PlanBoardView.Metrics toMetrics(PlanBoardMetricsEntity entity) {
+        if (entity == null || entity.totalPlans() == 0) {
+            return new PlanBoardView.Metrics(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        double completionRate = PlanBoardViewHelper.roundAverage(
+                (entity.completedPlans() * 100.0) / entity.totalPlans());
+        return new PlanBoardView.Metrics(entity.totalPlans(), entity.activePlans(), entity.completedPlans(),
+                entity.overduePlans(), entity.dueSoonPlans(), entity.overduePlans() + entity.dueSoonPlans(),
+                PlanBoardViewHelper.roundAverage(entity.averageProgress()),
+                PlanBoardViewHelper.roundAverage(entity.averageDurationHours()), completionRate);
+    }
+
     private String normalizeCustomerId(String customerId) {
         if (customerId == null || customerId.isBlank()) {
             return PlanBoardView.UNKNOWN_CUSTOMER_ID;
@@ -1,28 +1,45 @@
 package com.bob.mta.modules.plan.repository;
 
+import com.bob.mta.modules.plan.PlanProperties;
 import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
 import com.bob.mta.modules.plan.domain.PlanActivity;
+import com.bob.mta.modules.plan.domain.PlanCalendarEntry;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
 import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
 import com.bob.mta.modules.plan.persistence.PlanActivityEntity;
 import com.bob.mta.modules.plan.persistence.PlanAggregate;
+import com.bob.mta.modules.plan.persistence.PlanAggregateDiff;
 import com.bob.mta.modules.plan.persistence.PlanAggregateMapper;
+import com.bob.mta.modules.plan.persistence.PlanChangeStampEntity;
 import com.bob.mta.modules.plan.persistence.PlanEntity;
+import com.bob.mta.modules.plan.persistence.PlanFilterFacetEntity;
 import com.bob.mta.modules.plan.persistence.PlanNodeAttachmentEntity;
 import com.bob.mta.modules.plan.persistence.PlanNodeEntity;
 import com.bob.mta.modules.plan.persistence.PlanNodeExecutionEntity;
 import com.bob.mta.modules.plan.persistence.PlanParticipantEntity;
 import com.bob.mta.modules.plan.persistence.PlanPersistenceMapper;
 import com.bob.mta.modules.plan.persistence.PlanQueryParameters;
+import com.bob.mta.modules.plan.persistence.PlanReminderOccurrenceEntity;
 import com.bob.mta.modules.plan.persistence.PlanReminderRuleEntity;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -34,10 +51,29 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
         PlanTimelineRepository,
         PlanAttachmentRepository {
 
+    private static final int INSERT_SLICE_SIZE = 1000;
+
     private final PlanAggregateMapper mapper;
+    private final PlanAggregateCache cache;
+    private final PlanIdAllocator planIds;
+    private final PlanIdAllocator nodeIds;
+    private final PlanIdAllocator reminderIds;
+    private final PlanHydrationMode defaultHydrationMode;
 
-    public PlanPersistencePlanRepository(PlanAggregateMapper mapper) {
+    public PlanPersistencePlanRepository(PlanAggregateMapper mapper, PlanAggregateCache cache,
+                                         PlanProperties properties) {
         this.mapper = mapper;
+        this.cache = cache;
+        this.defaultHydrationMode = properties.getPersistence().getHydrationMode();
+        this.planIds = allocator("PLAN-", "mt_plan_id_seq");
+        this.nodeIds = allocator("NODE-", "mt_plan_node_id_seq");
+        this.reminderIds = allocator("REM-", "mt_plan_reminder_id_seq");
+    }
+
+    private PlanIdAllocator allocator(String prefix, String sequence) {
+        return new PlanIdAllocator(prefix,
+                blocks -> mapper.allocateSequenceBlocks(sequence, blocks),
+                () -> mapper.findSequenceIncrement(sequence));
     }
 
     @Override
@@ -68,9 +104,74 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
     @Override
     public List<Plan> findByCriteria(PlanSearchCriteria criteria) {
         PlanQueryParameters parameters = PlanQueryParameters.fromCriteria(criteria);
+        PlanHydrationMode mode = criteria == null || criteria.getHydrationMode() == null
+                ? defaultHydrationMode : criteria.getHydrationMode();
+        if (mode == PlanHydrationMode.JSON_AGGREGATE) {
+            return mapper.findPlanAggregates(parameters).stream()
+                    .map(PlanPersistenceMapper::toDomain)
+                    .collect(Collectors.toList());
+        }
         return toDomain(loadAggregates(mapper.findPlans(parameters)));
     }
 
+    @Override
+    public List<PlanSummaryProjection> findSummaries(PlanSearchCriteria criteria) {
+        PlanQueryParameters parameters = PlanQueryParameters.fromCriteria(criteria);
+        return mapper.findPlanSummaries(parameters).stream()
+                .map(PlanPersistenceMapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<PlanCalendarEntry> findCalendarEntries(PlanSearchCriteria criteria) {
+        PlanQueryParameters parameters = PlanQueryParameters.fromCriteria(criteria);
+        return mapper.findPlans(parameters).stream()
+                .map(PlanPersistenceMapper::toCalendarEntry)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PlanChangeStamp stampChanges(PlanSearchCriteria criteria) {
+        PlanQueryParameters parameters = PlanQueryParameters.fromCriteria(criteria);
+        PlanChangeStampEntity entity = mapper.stampPlanChanges(parameters);
+        return entity == null ? new PlanChangeStamp(0, null, null)
+                : new PlanChangeStamp(entity.total(), entity.lastUpdated(), entity.lastDeleted());
+    }
+
+    @Override
+    public PlanFilterFacets summarizeFilterFacets(String tenantId) {
+        Map<PlanStatus, Long> statuses = new EnumMap<>(PlanStatus.class);
+        Map<String, Long> owners = new HashMap<>();
+        Map<String, Long> customers = new HashMap<>();
+        OffsetDateTime earliestStart = null;
+        OffsetDateTime latestEnd = null;
+        for (PlanFilterFacetEntity row : mapper.aggregateFilterFacets(tenantId)) {
+            String value = row.facetValue();
+            switch (row.dimension()) {
+                case PlanFilterFacetEntity.STATUS -> {
+                    if (StringUtils.hasText(value)) {
+                        statuses.put(PlanStatus.valueOf(value), row.total());
+                    }
+                }
+                case PlanFilterFacetEntity.OWNER -> {
+                    if (StringUtils.hasText(value)) {
+                        owners.put(value, row.total());
+                    }
+                }
+                case PlanFilterFacetEntity.CUSTOMER -> {
+                    if (StringUtils.hasText(value)) {
+                        customers.merge(value, row.total(), Long::sum);
+                    }
+                }
+                default -> {
+                    earliestStart = row.earliestStart();
+                    latestEnd = row.latestEnd();
+                }
+            }
+        }
+        return new PlanFilterFacets(statuses, owners, customers, earliestStart, latestEnd);
+    }
+
     @Override
     public int countByCriteria(PlanSearchCriteria criteria) {
         PlanQueryParameters parameters = PlanQueryParameters.fromCriteria(criteria);
@@ -79,51 +180,178 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
 
     @Override
     public Optional<Plan> findById(String id) {
+        if (!cache.isEnabled()) {
+            return load(id);
+        }
+        Long version = mapper.findPlanVersion(id);
+        if (version == null) {
+            cache.invalidate(id);
+            return Optional.empty();
+        }
+        Plan cached = cache.get(id, version);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(id);
+    }
+
+    private Optional<Plan> load(String id) {
         PlanEntity entity = mapper.findPlanById(id);
         if (entity == null) {
             return Optional.empty();
         }
         List<Plan> plans = toDomain(loadAggregates(List.of(entity)));
-        return plans.isEmpty() ? Optional.empty() : Optional.of(plans.get(0));
+        if (plans.isEmpty()) {
+            return Optional.empty();
+        }
+        if (entity.version() != null) {
+            cache.put(id, entity.version(), plans.get(0));
+        }
+        return Optional.of(plans.get(0));
     }
 
     @Override
     public void save(Plan plan) {
         Objects.requireNonNull(plan, "plan");
+        cache.invalidate(plan.getId());
         PlanAggregate aggregate = PlanPersistenceMapper.toAggregate(plan);
-        boolean exists = mapper.findPlanById(plan.getId()) != null;
-        if (exists) {
-            mapper.updatePlan(aggregate.plan());
-            cleanupAssociations(plan.getId());
-        } else {
+        PlanEntity existing = mapper.findPlanById(plan.getId());
+        if (existing == null) {
             mapper.insertPlan(aggregate.plan());
+            persistAssociations(aggregate);
+            return;
+        }
+        claimVersion(plan, existing, aggregate.plan());
+        List<String> planIds = List.of(plan.getId());
+        applyParticipantChanges(plan.getId(), PlanAggregateDiff.participants(
+                mapper.findParticipantsByPlanIds(planIds), aggregate.participants()));
+        applyNodeChanges(plan.getId(), PlanAggregateDiff.nodes(
+                mapper.findNodesByPlanIds(planIds), aggregate.nodes()));
+        applyExecutionChanges(plan.getId(), PlanAggregateDiff.executions(
+                mapper.findExecutionsByPlanIds(planIds), aggregate.executions()));
+    }
+
+    /**
+     * Writes new plans table by table, so that a batch costs a handful of multi-row INSERTs per slice
+     * instead of several statements per plan. Activities, reminder rules and attachments are part of the
+     * aggregate here because there is no earlier state to diff against.
+     */
+    @Override
+    public void insertAll(List<Plan> plans) {
+        if (plans == null || plans.isEmpty()) {
+            return;
+        }
+        List<PlanEntity> headers = new ArrayList<>(plans.size());
+        List<PlanParticipantEntity> participants = new ArrayList<>();
+        List<PlanNodeEntity> nodes = new ArrayList<>();
+        List<PlanNodeExecutionEntity> executions = new ArrayList<>();
+        List<PlanNodeAttachmentEntity> attachments = new ArrayList<>();
+        List<PlanActivityEntity> activities = new ArrayList<>();
+        List<PlanReminderRuleEntity> reminderRules = new ArrayList<>();
+        for (Plan plan : plans) {
+            PlanAggregate aggregate = PlanPersistenceMapper.toAggregate(plan);
+            headers.add(aggregate.plan());
+            participants.addAll(aggregate.participants());
+            nodes.addAll(aggregate.nodes());
+            executions.addAll(aggregate.executions());
+            attachments.addAll(aggregate.attachments());
+            activities.addAll(aggregate.activities());
+            reminderRules.addAll(aggregate.reminderRules());
+        }
+        insertInSlices(headers, mapper::insertPlans);
+        insertInSlices(participants, mapper::insertParticipants);
+        insertInSlices(nodes, mapper::insertNodes);
+        insertInSlices(executions, mapper::insertExecutions);
+        insertInSlices(attachments, mapper::insertAttachments);
+        insertInSlices(activities, mapper::insertActivities);
+        insertInSlices(reminderRules, mapper::insertReminderRules);
+    }
+
+    /**
+     * Keeps each multi-row INSERT well below the bind parameter limit of the PostgreSQL protocol.
+     */
+    private static <T> void insertInSlices(List<T> rows, Consumer<List<T>> insert) {
+        for (int from = 0; from < rows.size(); from += INSERT_SLICE_SIZE) {
+            insert.accept(new ArrayList<>(rows.subList(from, Math.min(from + INSERT_SLICE_SIZE, rows.size()))));
+        }
+    }
+
+    /**
+     * Advances the plan version from the one the caller loaded, before any child row is touched. The
+     * conditional UPDATE doubles as the row lock for the rest of the transaction, so concurrent writers
+     * of the same plan serialise here and the loser sees zero affected rows instead of overwriting.
+     */
+    private void claimVersion(Plan plan, PlanEntity existing, PlanEntity target) {
+        int updated = PlanAggregateDiff.planChanged(existing, target)
+                ? mapper.updatePlan(target)
+                : mapper.compareAndIncrementPlanVersion(plan.getId(), plan.getVersion());
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException("Plan " + plan.getId() + " was modified concurrently, "
+                    + "expected version " + plan.getVersion());
         }
-        persistAssociations(aggregate);
     }
 
     @Override
     public void delete(String id) {
         Objects.requireNonNull(id, "id");
+        cache.invalidate(id);
         mapper.deleteAttachments(id);
         mapper.deleteActivities(id);
         mapper.deleteReminderRules(id);
+        mapper.deleteReminderOccurrencesExcept(id, List.of());
         cleanupAssociations(id);
+        mapper.insertTombstone(id, OffsetDateTime.now());
         mapper.deletePlan(id);
     }
 
+    @Override
+    public List<PlanCalendarEntry> findCalendarChanges(String tenantId, OffsetDateTime since,
+                                                       OffsetDateTime until, int limit) {
+        return mapper.findCalendarChanges(tenantId, since, until, limit).stream()
+                .map(PlanPersistenceMapper::toCalendarEntry)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<PlanTombstone> findTombstones(String tenantId, OffsetDateTime since, OffsetDateTime until) {
+        return mapper.findTombstones(tenantId, since, until).stream()
+                .map(entity -> new PlanTombstone(entity.planId(), entity.tenantId(), entity.deletedAt()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void pruneTombstones(OffsetDateTime cutoff) {
+        mapper.deleteTombstonesBefore(cutoff);
+    }
+
     @Override
     public String nextPlanId() {
-        return mapper.nextPlanId();
+        return planIds.next();
     }
 
     @Override
     public String nextNodeId() {
-        return mapper.nextNodeId();
+        return nodeIds.next();
     }
 
     @Override
     public String nextReminderId() {
-        return mapper.nextReminderId();
+        return reminderIds.next();
+    }
+
+    @Override
+    public List<String> nextPlanIds(int count) {
+        return planIds.next(count);
+    }
+
+    @Override
+    public List<String> nextNodeIds(int count) {
+        return nodeIds.next(count);
+    }
+
+    @Override
+    public List<String> nextReminderIds(int count) {
+        return reminderIds.next(count);
     }
 
     @Override
@@ -142,14 +370,75 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
     public void replaceReminderPolicy(String planId, PlanReminderPolicy policy) {
         Objects.requireNonNull(planId, "planId");
         Objects.requireNonNull(policy, "policy");
-        mapper.deleteReminderRules(planId);
+        cache.invalidate(planId);
         List<PlanReminderRuleEntity> rules = PlanPersistenceMapper.toReminderRuleEntities(planId, policy);
-        if (!rules.isEmpty()) {
-            mapper.insertReminderRules(new ArrayList<>(rules));
+        PlanAggregateDiff.Changes<PlanReminderRuleEntity> changes = PlanAggregateDiff.reminderRules(
+                mapper.findReminderRulesByPlanId(planId), rules);
+        if (!changes.deletes().isEmpty()) {
+            mapper.deleteReminderRulesByIds(planId, changes.deletedKeys(PlanReminderRuleEntity::ruleId));
+        }
+        if (!changes.inserts().isEmpty()) {
+            mapper.insertReminderRules(new ArrayList<>(changes.inserts()));
         }
+        changes.updates().forEach(mapper::updateReminderRule);
         mapper.updateReminderAudit(planId, policy.getUpdatedAt(), policy.getUpdatedBy());
     }
 
+    @Override
+    public void replaceReminderOccurrences(String planId, List<PlanReminderOccurrence> occurrences,
+                                           OffsetDateTime now) {
+        Objects.requireNonNull(planId, "planId");
+        mapper.deleteReminderOccurrencesExcept(planId, occurrences.stream()
+                .map(PlanReminderOccurrence::reminderId)
+                .toList());
+        List<PlanReminderOccurrenceEntity> upcoming = occurrences.stream()
+                .filter(occurrence -> !occurrence.fireTime().isBefore(now))
+                .map(PlanPersistencePlanRepository::toOccurrenceEntity)
+                .toList();
+        if (!upcoming.isEmpty()) {
+            mapper.upsertReminderOccurrences(upcoming);
+        }
+    }
+
+    @Override
+    public List<PlanReminderOccurrence> leaseReminderOccurrences(String owner, OffsetDateTime now,
+                                                                 OffsetDateTime notBefore, OffsetDateTime until,
+                                                                 Duration lease, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return mapper.leaseReminderOccurrences(owner, now, notBefore, until, lease.toSeconds(), limit).stream()
+                .map(entity -> new PlanReminderOccurrence(entity.planId(), entity.reminderId(), entity.fireTime()))
+                .toList();
+    }
+
+    @Override
+    public boolean claimReminderOccurrence(PlanReminderOccurrence occurrence, String owner,
+                                           OffsetDateTime leaseUntil) {
+        return mapper.claimReminderOccurrence(toOccurrenceEntity(occurrence), owner, leaseUntil) == 1;
+    }
+
+    @Override
+    public void completeReminderOccurrence(PlanReminderOccurrence occurrence, String owner,
+                                           PlanActionStatus outcome, OffsetDateTime completedAt) {
+        mapper.completeReminderOccurrence(toOccurrenceEntity(occurrence), owner, outcome.name(), completedAt);
+    }
+
+    @Override
+    public int expireReminderOccurrences(OffsetDateTime before, OffsetDateTime now) {
+        return mapper.expireReminderOccurrences(before, now);
+    }
+
+    @Override
+    public void releaseReminderOccurrences(String owner) {
+        mapper.releaseReminderOccurrences(owner);
+    }
+
+    private static PlanReminderOccurrenceEntity toOccurrenceEntity(PlanReminderOccurrence occurrence) {
+        return new PlanReminderOccurrenceEntity(occurrence.planId(), occurrence.reminderId(),
+                occurrence.fireTime());
+    }
+
     @Override
     public List<PlanActivity> findTimeline(String planId) {
         Objects.requireNonNull(planId, "planId");
@@ -160,11 +449,34 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
     @Override
     public void replaceTimeline(String planId, List<PlanActivity> activities) {
         Objects.requireNonNull(planId, "planId");
-        mapper.deleteActivities(planId);
+        cache.invalidate(planId);
         List<PlanActivityEntity> entities = PlanPersistenceMapper.toActivityEntities(planId,
                 activities == null ? List.of() : activities);
+        PlanAggregateDiff.Changes<PlanActivityEntity> changes = PlanAggregateDiff.activities(
+                mapper.findActivitiesByPlanId(planId), entities);
+        if (!changes.deletes().isEmpty()) {
+            mapper.deleteActivitiesByIds(planId, changes.deletedKeys(PlanActivityEntity::activityId));
+        }
+        if (!changes.inserts().isEmpty()) {
+            mapper.insertActivities(new ArrayList<>(changes.inserts()));
+        }
+        changes.updates().forEach(mapper::updateActivity);
+        touch(planId, changes);
+    }
+
+    @Override
+    public void appendActivities(String planId, List<PlanActivity> activities) {
+        Objects.requireNonNull(planId, "planId");
+        List<PlanActivityEntity> entities = PlanPersistenceMapper.toActivityEntities(planId, activities);
         if (!entities.isEmpty()) {
-            mapper.insertActivities(new ArrayList<>(entities));
+            cache.invalidate(planId);
+            mapper.appendActivities(new ArrayList<>(entities));
+            OffsetDateTime lastOccurredAt = entities.stream()
+                    .map(PlanActivityEntity::occurredAt)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            mapper.touchPlanActivity(planId, lastOccurredAt);
         }
     }
 
@@ -178,10 +490,26 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
     @Override
     public void replaceAttachments(String planId, Map<String, List<String>> attachments) {
         Objects.requireNonNull(planId, "planId");
-        mapper.deleteAttachments(planId);
+        cache.invalidate(planId);
         List<PlanNodeAttachmentEntity> entities = PlanPersistenceMapper.toAttachmentEntities(planId, attachments);
-        if (!entities.isEmpty()) {
-            mapper.insertAttachments(new ArrayList<>(entities));
+        PlanAggregateDiff.Changes<PlanNodeAttachmentEntity> changes = PlanAggregateDiff.attachments(
+                mapper.findAttachmentsByPlanId(planId), entities);
+        if (!changes.deletes().isEmpty()) {
+            mapper.deleteAttachmentsByKeys(planId, new ArrayList<>(changes.deletes()));
+        }
+        if (!changes.inserts().isEmpty()) {
+            mapper.insertAttachments(new ArrayList<>(changes.inserts()));
+        }
+        touch(planId, changes);
+    }
+
+    /**
+     * Bumps the plan version after a child table changed on its own, so that cached copies held by other
+     * instances are detected as stale.
+     */
+    private void touch(String planId, PlanAggregateDiff.Changes<?> changes) {
+        if (!changes.isEmpty()) {
+            mapper.incrementPlanVersion(planId);
         }
     }
 
@@ -197,6 +525,40 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
         }
     }
 
+    private void applyParticipantChanges(String planId, PlanAggregateDiff.Changes<PlanParticipantEntity> changes) {
+        if (!changes.deletes().isEmpty()) {
+            mapper.deleteParticipantsByIds(planId, changes.deletedKeys(PlanParticipantEntity::participantId));
+        }
+        if (!changes.inserts().isEmpty()) {
+            mapper.insertParticipants(new ArrayList<>(changes.inserts()));
+        }
+    }
+
+    /**
+     * Nodes are inserted and re-parented before removed nodes are deleted, because deleting a parent
+     * cascades to every node that still references it.
+     */
+    private void applyNodeChanges(String planId, PlanAggregateDiff.Changes<PlanNodeEntity> changes) {
+        if (!changes.inserts().isEmpty()) {
+            mapper.insertNodes(new ArrayList<>(changes.inserts()));
+        }
+        changes.updates().forEach(mapper::updateNode);
+        if (!changes.deletes().isEmpty()) {
+            mapper.deleteNodesByIds(planId, changes.deletedKeys(PlanNodeEntity::nodeId));
+        }
+    }
+
+    private void applyExecutionChanges(String planId,
+                                          PlanAggregateDiff.Changes<PlanNodeExecutionEntity> changes) {
+        if (!changes.deletes().isEmpty()) {
+            mapper.deleteExecutionsByNodeIds(planId, changes.deletedKeys(PlanNodeExecutionEntity::nodeId));
+        }
+        if (!changes.inserts().isEmpty()) {
+            mapper.insertExecutions(new ArrayList<>(changes.inserts()));
+        }
+        changes.updates().forEach(mapper::updateExecution);
+    }
+
     private void cleanupAssociations(String planId) {
         mapper.deleteExecutions(planId);
         mapper.deleteNodes(planId);
@@ -221,12 +583,7 @@ public class PlanPersistencePlanRepository implements PlanAggregateRepository,
         Map<String, List<PlanReminderRuleEntity>> reminderRules = groupByPlanId(
                 mapper.findReminderRulesByPlanIds(planIds), PlanReminderRuleEntity::planId);
 
-        Comparator<PlanEntity> comparator = Comparator
-                .comparing(PlanEntity::plannedStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
-                .thenComparing(PlanEntity::id, Comparator.nullsLast(Comparator.naturalOrder()));
-
         return planEntities.stream()
-                .sorted(comparator)
                 .map(entity -> new PlanAggregate(
                         entity,
                         participants.getOrDefault(entity.id(), List.of()),
@@ -1,7 +1,12 @@
 package com.bob.mta.modules.plan.repository;
 
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
 import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface PlanReminderPolicyRepository {
@@ -9,4 +14,55 @@ public interface PlanReminderPolicyRepository {
     Optional<PlanReminderPolicy> findReminderPolicy(String planId);
 
     void replaceReminderPolicy(String planId, PlanReminderPolicy policy);
+
+    /**
+     * Replaces the scheduled occurrences of the reminders of a plan. Occurrences missing from
+     * {@code occurrences} are dropped, new or moved ones are stored as pending unless they fire before
+     * {@code now}, and stored occurrences whose fire time did not change keep their state, so saving a plan
+     * again does not send a reminder twice.
+     */
+    default void replaceReminderOccurrences(String planId, List<PlanReminderOccurrence> occurrences,
+                                            OffsetDateTime now) {
+    }
+
+    /**
+     * Leases up to {@code limit} pending occurrences firing between {@code notBefore} and {@code until} to
+     * {@code owner}, earliest first, until {@code lease} after their fire time. Occurrences leased to another
+     * owner are skipped until that lease expired, including occurrences whose sending was never completed.
+     */
+    default List<PlanReminderOccurrence> leaseReminderOccurrences(String owner, OffsetDateTime now,
+                                                                  OffsetDateTime notBefore, OffsetDateTime until,
+                                                                  Duration lease, int limit) {
+        return List.of();
+    }
+
+    /**
+     * Marks an occurrence leased to {@code owner} as being sent. Fails when the occurrence moved, was dropped
+     * or was leased by another owner in the meantime.
+     */
+    default boolean claimReminderOccurrence(PlanReminderOccurrence occurrence, String owner,
+                                            OffsetDateTime leaseUntil) {
+        return false;
+    }
+
+    default void completeReminderOccurrence(PlanReminderOccurrence occurrence, String owner,
+                                            PlanActionStatus outcome, OffsetDateTime completedAt) {
+    }
+
+    /**
+     * Marks pending occurrences that fired before {@code before} and are not leased at {@code now} as
+     * skipped, so that occurrences too late to be sent do not stay pending forever.
+     *
+     * @return number of occurrences skipped
+     */
+    default int expireReminderOccurrences(OffsetDateTime before, OffsetDateTime now) {
+        return 0;
+    }
+
+    /**
+     * Gives up the leases of {@code owner} on occurrences it did not start sending, so that other instances
+     * lease them on their next refresh instead of waiting for the leases to expire.
+     */
+    default void releaseReminderOccurrences(String owner) {
+    }
 }
@@ -1,9 +1,14 @@
 package com.bob.mta.modules.plan.repository;
 
 import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanCalendarEntry;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
 
+import java.time.OffsetDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PlanRepository {
 
@@ -13,10 +18,87 @@ public interface PlanRepository {
 
     int countByCriteria(PlanSearchCriteria criteria);
 
+    /**
+     * Returns header level summaries for list pages. Repositories that have to hydrate aggregates from
+     * storage should override this to avoid loading the child collections.
+     */
+    default List<PlanSummaryProjection> findSummaries(PlanSearchCriteria criteria) {
+        return findByCriteria(criteria).stream()
+                .map(PlanSummaryProjection::from)
+                .toList();
+    }
+
+    /**
+     * Counts the filter options of the plan list, over all tenants when {@code tenantId} is {@code null}.
+     * Database backed repositories should override this with grouped queries.
+     */
+    default PlanFilterFacets summarizeFilterFacets(String tenantId) {
+        return PlanFilterFacets.summarize(findSummaries(PlanSearchCriteria.builder().tenantId(tenantId).build()));
+    }
+
+    /**
+     * Returns the calendar columns of the matching plans in listing order, honouring the cursor and limit
+     * of the criteria. Repositories that have to hydrate aggregates from storage should override this to
+     * read the plan rows only.
+     */
+    default List<PlanCalendarEntry> findCalendarEntries(PlanSearchCriteria criteria) {
+        return findByCriteria(criteria).stream()
+                .map(PlanCalendarEntry::from)
+                .toList();
+    }
+
+    /**
+     * Counts the matching plans and finds their latest update together with the latest tombstone of the
+     * criteria's tenant. Database backed repositories should override this with an aggregate query.
+     */
+    default PlanChangeStamp stampChanges(PlanSearchCriteria criteria) {
+        List<PlanTombstone> tombstones = criteria.getTenantId() == null ? List.of()
+                : findTombstones(criteria.getTenantId(), OffsetDateTime.MIN, OffsetDateTime.MAX);
+        return PlanChangeStamp.of(findByCriteria(criteria), tombstones);
+    }
+
+    /**
+     * Returns the calendar columns of the plans of {@code tenantId} updated or canceled within
+     * {@code (since, until]}, ordered by plan id and at most {@code limit} of them. Database backed
+     * repositories should override this with an indexed query.
+     */
+    default List<PlanCalendarEntry> findCalendarChanges(String tenantId, OffsetDateTime since,
+                                                        OffsetDateTime until, int limit) {
+        return findByCriteria(PlanSearchCriteria.builder().tenantId(tenantId).build()).stream()
+                .filter(plan -> changedWithin(plan.getUpdatedAt(), since, until)
+                        || changedWithin(plan.getCanceledAt(), since, until))
+                .sorted(Comparator.comparing(Plan::getId))
+                .limit(limit)
+                .map(PlanCalendarEntry::from)
+                .toList();
+    }
+
+    /**
+     * Returns the plans of {@code tenantId} deleted within {@code (since, until]}. Repositories record a
+     * tombstone for every plan removed through {@link #delete(String)}.
+     */
+    default List<PlanTombstone> findTombstones(String tenantId, OffsetDateTime since, OffsetDateTime until) {
+        return List.of();
+    }
+
+    /**
+     * Drops the tombstones of plans deleted before {@code cutoff}.
+     */
+    default void pruneTombstones(OffsetDateTime cutoff) {
+    }
+
     Optional<Plan> findById(String id);
 
     void save(Plan plan);
 
+    /**
+     * Stores plans that do not exist yet. Repositories backed by a database should override this to
+     * write all rows of the batch with multi-row statements instead of one aggregate at a time.
+     */
+    default void insertAll(List<Plan> plans) {
+        plans.forEach(this::save);
+    }
+
     void delete(String id);
 
     String nextPlanId();
@@ -24,4 +106,24 @@ public interface PlanRepository {
     String nextNodeId();
 
     String nextReminderId();
+
+    /**
+     * Reserves a block of plan identifiers. Sequence backed repositories should override the block
+     * variants to fetch all identifiers in a single round-trip.
+     */
+    default List<String> nextPlanIds(int count) {
+        return Stream.generate(this::nextPlanId).limit(count).toList();
+    }
+
+    default List<String> nextNodeIds(int count) {
+        return Stream.generate(this::nextNodeId).limit(count).toList();
+    }
+
+    default List<String> nextReminderIds(int count) {
+        return Stream.generate(this::nextReminderId).limit(count).toList();
+    }
+
+    private static boolean changedWithin(OffsetDateTime changedAt, OffsetDateTime since, OffsetDateTime until) {
+        return changedAt != null && changedAt.isAfter(since) && !changedAt.isAfter(until);
+    }
 }
@@ -19,6 +19,9 @@ public final class PlanSearchCriteria {
     private final Integer limit;
     private final Integer offset;
     private final String excludePlanId;
+    private final PlanSearchCursor after;
+    private final boolean rankByKeyword;
+    private final PlanHydrationMode hydrationMode;
 
     private PlanSearchCriteria(Builder builder) {
         this.tenantId = builder.tenantId;
@@ -45,6 +48,9 @@ public final class PlanSearchCriteria {
         this.limit = builder.limit;
         this.offset = builder.offset;
         this.excludePlanId = builder.excludePlanId;
+        this.after = builder.after;
+        this.rankByKeyword = builder.rankByKeyword;
+        this.hydrationMode = builder.hydrationMode;
     }
 
     public static Builder builder() {
@@ -99,6 +105,18 @@ public final class PlanSearchCriteria {
         return excludePlanId;
     }
 
+    public PlanSearchCursor getAfter() {
+        return after;
+    }
+
+    public boolean isRankByKeyword() {
+        return rankByKeyword;
+    }
+
+    public PlanHydrationMode getHydrationMode() {
+        return hydrationMode;
+    }
+
     public static final class Builder {
 
         private String tenantId;
@@ -113,6 +131,9 @@ public final class PlanSearchCriteria {
         private Integer limit;
         private Integer offset;
         private String excludePlanId;
+        private PlanSearchCursor after;
+        private boolean rankByKeyword;
+        private PlanHydrationMode hydrationMode;
 
         private Builder() {
         }
@@ -183,6 +204,33 @@ public final class PlanSearchCriteria {
             return this;
         }
 
+        /**
+         * Restricts results to plans sorted after the given cursor; combine with {@link #limit(Integer)}
+         * instead of {@link #offset(Integer)}.
+         */
+        public Builder after(PlanSearchCursor after) {
+            this.after = after;
+            return this;
+        }
+
+        /**
+         * Orders keyword matches by relevance before the regular start time ordering. Ranked results are
+         * paged with {@link #offset(Integer)}; cursors only apply to the default ordering.
+         */
+        public Builder rankByKeyword(boolean rankByKeyword) {
+            this.rankByKeyword = rankByKeyword;
+            return this;
+        }
+
+        /**
+         * Chooses how matching aggregates are loaded; when unset the repository uses
+         * {@code plan.persistence.hydration-mode}. Only database backed repositories distinguish the modes.
+         */
+        public Builder hydrationMode(PlanHydrationMode hydrationMode) {
+            this.hydrationMode = hydrationMode;
+            return this;
+        }
+
         public PlanSearchCriteria build() {
             return new PlanSearchCriteria(this);
         }
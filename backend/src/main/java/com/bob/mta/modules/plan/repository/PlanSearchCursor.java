@@ -0,0 +1,93 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
+import com.bob.mta.modules.plan.service.PlanBoardView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Position of the last plan returned by a listing page, expressed in the listing sort key
+ * {@code (planned_start_time NULLS LAST, plan_id)}. The next page starts strictly after this key, so
+ * fetching it costs the same index seek regardless of how deep the caller has paged.
+ */
+public record PlanSearchCursor(OffsetDateTime plannedStartTime, String planId) {
+
+    public static final Comparator<Plan> PLAN_ORDER = Comparator
+            .comparing(Plan::getPlannedStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Plan::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final String NULL_START = "~";
+
+    public PlanSearchCursor {
+        Objects.requireNonNull(planId, "planId");
+    }
+
+    public static PlanSearchCursor of(Plan plan) {
+        return new PlanSearchCursor(plan.getPlannedStartTime(), plan.getId());
+    }
+
+    public static PlanSearchCursor of(PlanSummaryProjection summary) {
+        return new PlanSearchCursor(summary.plannedStartTime(), summary.id());
+    }
+
+    /**
+     * Board cards are ordered by the same key as listings, see {@code PlanBoardViewHelper.PLAN_CARD_COMPARATOR}.
+     */
+    public static PlanSearchCursor of(PlanBoardView.PlanCard card) {
+        return new PlanSearchCursor(card.getPlannedStartTime(), card.getId());
+    }
+
+    public boolean precedes(Plan plan) {
+        return precedes(plan.getPlannedStartTime(), plan.getId());
+    }
+
+    public boolean precedes(PlanBoardView.PlanCard card) {
+        return precedes(card.getPlannedStartTime(), card.getId());
+    }
+
+    private boolean precedes(OffsetDateTime start, String id) {
+        if (plannedStartTime == null) {
+            return start == null && id.compareTo(planId) > 0;
+        }
+        if (start == null) {
+            return true;
+        }
+        int compared = start.compareTo(plannedStartTime);
+        return compared > 0 || (compared == 0 && id.compareTo(planId) > 0);
+    }
+
+    public String encode() {
+        String start = plannedStartTime == null ? NULL_START : plannedStartTime.toInstant().toString();
+        String raw = start + "|" + planId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}
+     */
+    public static PlanSearchCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Malformed plan cursor");
+        }
+        String start = raw.substring(0, separator);
+        String planId = raw.substring(separator + 1);
+        try {
+            OffsetDateTime startTime = NULL_START.equals(start)
+                    ? null
+                    : Instant.parse(start).atOffset(ZoneOffset.UTC);
+            return new PlanSearchCursor(startTime, planId);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed plan cursor", ex);
+        }
+    }
+}
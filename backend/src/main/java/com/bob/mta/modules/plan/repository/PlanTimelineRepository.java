@@ -2,11 +2,30 @@ package com.bob.mta.modules.plan.repository;
 
 import com.bob.mta.modules.plan.domain.PlanActivity;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public interface PlanTimelineRepository {
 
     List<PlanActivity> findTimeline(String planId);
 
     void replaceTimeline(String planId, List<PlanActivity> activities);
+
+    /**
+     * Appends newly recorded activities to the timeline of a plan without touching existing entries.
+     * Activities whose id is already stored are skipped, so replaying an append has no effect.
+     */
+    default void appendActivities(String planId, List<PlanActivity> activities) {
+        if (activities == null || activities.isEmpty()) {
+            return;
+        }
+        List<PlanActivity> merged = new ArrayList<>(findTimeline(planId));
+        Set<String> stored = merged.stream().map(PlanActivity::getId).collect(Collectors.toSet());
+        activities.stream().filter(activity -> stored.add(activity.getId())).forEach(merged::add);
+        merged.sort(Comparator.comparing(PlanActivity::getOccurredAt));
+        replaceTimeline(planId, merged);
+    }
 }
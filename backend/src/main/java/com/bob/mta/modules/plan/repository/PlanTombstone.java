@@ -0,0 +1,10 @@
+package com.bob.mta.modules.plan.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Marker left behind by a deleted plan, so that incremental consumers such as calendar sync learn about the
+ * deletion.
+ */
+public record PlanTombstone(String planId, String tenantId, OffsetDateTime deletedAt) {
+}
@@ -12,11 +12,22 @@ import java.util.DoubleSummaryStatistics;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+/**
+ * Builds the plan board in a single traversal: the risk of every plan is evaluated once while its card is
+ * created, and the card is then counted into the board metrics, its customer group and its time bucket.
+ * Boards of at least {@code parallelThreshold} plans are split into ranges that are accumulated on the
+ * common fork/join pool and merged afterwards; since groups and buckets are ordered when the view is built,
+ * the result does not depend on how the plans were split.
+ */
 public final class PlanBoardAggregator {
 
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 5_000;
+
+    private static final int MIN_SPLIT_SIZE = 1_024;
+
     private PlanBoardAggregator() {
     }
 
@@ -27,138 +38,37 @@ public final class PlanBoardAggregator {
 
     public static PlanBoardView aggregate(List<Plan> plans, PlanBoardGrouping grouping,
                                           OffsetDateTime reference, int dueSoonMinutes) {
-        List<Plan> safePlans = plans == null ? List.of() : List.copyOf(plans);
-        PlanBoardGrouping effectiveGrouping = grouping == null ? PlanBoardGrouping.WEEK : grouping;
-
-        PlanBoardView.Metrics metrics = computeMetrics(safePlans, reference, dueSoonMinutes);
-        List<PlanBoardView.CustomerGroup> customerGroups = aggregateCustomers(safePlans, reference, dueSoonMinutes);
-        List<PlanBoardView.TimeBucket> buckets = aggregateBuckets(safePlans, effectiveGrouping, reference, dueSoonMinutes);
-        return new PlanBoardView(customerGroups, buckets, metrics, effectiveGrouping, reference);
+        return aggregate(plans, grouping, reference, dueSoonMinutes, DEFAULT_PARALLEL_THRESHOLD);
     }
 
-    private static List<PlanBoardView.CustomerGroup> aggregateCustomers(List<Plan> plans,
-                                                                        OffsetDateTime reference,
-                                                                        int dueSoonMinutes) {
-        if (plans.isEmpty()) {
-            return List.of();
-        }
-        Map<String, List<Plan>> grouped = plans.stream()
-                .collect(Collectors.groupingBy(plan -> plan.getCustomerId() == null
-                        ? PlanBoardView.UNKNOWN_CUSTOMER_ID
-                        : plan.getCustomerId()));
-        return grouped.entrySet().stream()
-                .sorted((left, right) -> {
-                    int compare = Integer.compare(right.getValue().size(), left.getValue().size());
-                    if (compare != 0) {
-                        return compare;
-                    }
-                    return left.getKey().compareTo(right.getKey());
-                })
-                .map(entry -> toCustomerGroup(entry.getKey(), entry.getValue(), reference, dueSoonMinutes))
-                .toList();
-    }
-
-    private static PlanBoardView.CustomerGroup toCustomerGroup(String customerId, List<Plan> plans,
-                                                                OffsetDateTime reference, int dueSoonMinutes) {
-        long total = plans.size();
-        long active = plans.stream().filter(PlanBoardAggregator::isActivePlan).count();
-        long completed = plans.stream().filter(plan -> plan.getStatus() == PlanStatus.COMPLETED).count();
-        long overdue = plans.stream().map(plan -> PlanRiskEvaluator.evaluate(plan, reference, dueSoonMinutes))
-                .filter(PlanRiskSnapshot::overdue)
-                .count();
-        long dueSoon = plans.stream().map(plan -> PlanRiskEvaluator.evaluate(plan, reference, dueSoonMinutes))
-                .filter(PlanRiskSnapshot::dueSoon)
-                .count();
-        long atRisk = overdue + dueSoon;
-        double avgProgress = roundAverage(plans.stream().mapToInt(Plan::getProgress).average().orElse(0));
-        OffsetDateTime earliest = plans.stream()
-                .map(Plan::getPlannedStartTime)
-                .filter(Objects::nonNull)
-                .min(OffsetDateTime::compareTo)
-                .orElse(null);
-        OffsetDateTime latest = plans.stream()
-                .map(Plan::getPlannedEndTime)
-                .filter(Objects::nonNull)
-                .max(OffsetDateTime::compareTo)
-                .orElse(null);
-        List<PlanBoardView.PlanCard> cards = plans.stream()
-                .map(plan -> toPlanCard(plan, reference, dueSoonMinutes))
-                .sorted(PlanBoardViewHelper.PLAN_CARD_COMPARATOR)
-                .toList();
-        return new PlanBoardView.CustomerGroup(customerId, null, total, active, completed,
-                overdue, dueSoon, atRisk, avgProgress, earliest, latest, cards);
-    }
+    /**
+     * @param parallelThreshold smallest number of plans aggregated in parallel; zero or less disables the
+     *                          parallel mode
+     */
+    public static PlanBoardView aggregate(List<Plan> plans, PlanBoardGrouping grouping,
+                                          OffsetDateTime reference, int dueSoonMinutes, int parallelThreshold) {
+        List<Plan> safePlans = plans == null ? List.of() : List.copyOf(plans);
+        PlanBoardGrouping effectiveGrouping = grouping == null ? PlanBoardGrouping.WEEK : grouping;
 
-    private static List<PlanBoardView.TimeBucket> aggregateBuckets(List<Plan> plans,
-                                                                   PlanBoardGrouping grouping,
-                                                                   OffsetDateTime reference,
-                                                                   int dueSoonMinutes) {
-        if (plans.isEmpty()) {
-            return List.of();
-        }
-        Map<OffsetDateTime, List<Plan>> bucketMap = new HashMap<>();
-        for (Plan plan : plans) {
-            OffsetDateTime plannedStart = plan.getPlannedStartTime();
-            if (plannedStart == null) {
-                continue;
-            }
-            OffsetDateTime bucketStart = PlanBoardViewHelper.normalizeBucketStart(plannedStart, grouping);
-            bucketMap.computeIfAbsent(bucketStart, key -> new ArrayList<>()).add(plan);
+        BoardAccumulator accumulator;
+        if (parallelThreshold > 0 && safePlans.size() >= parallelThreshold) {
+            int splitSize = Math.max(MIN_SPLIT_SIZE,
+                    safePlans.size() / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            accumulator = ForkJoinPool.commonPool().invoke(new AggregationTask(safePlans, 0, safePlans.size(),
+                    splitSize, effectiveGrouping, reference, dueSoonMinutes));
+        } else {
+            accumulator = accumulate(safePlans, 0, safePlans.size(), effectiveGrouping, reference, dueSoonMinutes);
         }
-        return bucketMap.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> toBucket(entry.getKey(), entry.getValue(), grouping, reference, dueSoonMinutes))
-                .toList();
-    }
-
-    private static PlanBoardView.TimeBucket toBucket(OffsetDateTime bucketStart, List<Plan> plans,
-                                                     PlanBoardGrouping grouping,
-                                                     OffsetDateTime reference,
-                                                     int dueSoonMinutes) {
-        OffsetDateTime bucketEnd = PlanBoardViewHelper.normalizeBucketEnd(bucketStart, grouping);
-        String bucketLabel = PlanBoardViewHelper.formatBucketLabel(bucketStart, grouping);
-        long total = plans.size();
-        long active = plans.stream().filter(PlanBoardAggregator::isActivePlan).count();
-        long completed = plans.stream().filter(plan -> plan.getStatus() == PlanStatus.COMPLETED).count();
-        List<PlanRiskSnapshot> risks = plans.stream()
-                .map(plan -> PlanRiskEvaluator.evaluate(plan, reference, dueSoonMinutes))
-                .toList();
-        long overdue = risks.stream().filter(PlanRiskSnapshot::overdue).count();
-        long dueSoon = risks.stream().filter(PlanRiskSnapshot::dueSoon).count();
-        long atRisk = overdue + dueSoon;
-        List<PlanBoardView.PlanCard> cards = plans.stream()
-                .map(plan -> toPlanCard(plan, reference, dueSoonMinutes))
-                .sorted(PlanBoardViewHelper.PLAN_CARD_COMPARATOR)
-                .toList();
-        return new PlanBoardView.TimeBucket(bucketLabel, bucketStart, bucketEnd, total,
-                active, completed, overdue, dueSoon, atRisk, cards);
+        return accumulator.toView(effectiveGrouping, reference);
     }
 
-    private static PlanBoardView.Metrics computeMetrics(List<Plan> plans,
-                                                        OffsetDateTime reference,
-                                                        int dueSoonMinutes) {
-        if (plans.isEmpty()) {
-            return new PlanBoardView.Metrics(0, 0, 0, 0, 0, 0, 0, 0, 0);
-        }
-        long total = plans.size();
-        long active = plans.stream().filter(PlanBoardAggregator::isActivePlan).count();
-        long completed = plans.stream().filter(plan -> plan.getStatus() == PlanStatus.COMPLETED).count();
-        List<PlanRiskSnapshot> risks = plans.stream()
-                .map(plan -> PlanRiskEvaluator.evaluate(plan, reference, dueSoonMinutes))
-                .toList();
-        long overdue = risks.stream().filter(PlanRiskSnapshot::overdue).count();
-        long dueSoon = risks.stream().filter(PlanRiskSnapshot::dueSoon).count();
-        long atRisk = overdue + dueSoon;
-        double avgProgress = roundAverage(plans.stream().mapToInt(Plan::getProgress).average().orElse(0));
-        DoubleSummaryStatistics durations = plans.stream()
-                .map(plan -> PlanBoardViewHelper.durationHours(plan.getPlannedStartTime(), plan.getPlannedEndTime()))
-                .filter(Objects::nonNull)
-                .mapToDouble(Double::doubleValue)
-                .summaryStatistics();
-        double avgDuration = durations.getCount() == 0 ? 0 : roundAverage(durations.getAverage());
-        double completionRate = total == 0 ? 0 : roundAverage((completed * 100.0) / total);
-        return new PlanBoardView.Metrics(total, active, completed, overdue, dueSoon, atRisk,
-                avgProgress, avgDuration, completionRate);
+    private static BoardAccumulator accumulate(List<Plan> plans, int from, int to, PlanBoardGrouping grouping,
+                                               OffsetDateTime reference, int dueSoonMinutes) {
+        BoardAccumulator accumulator = new BoardAccumulator();
+        for (int index = from; index < to; index++) {
+            accumulator.add(plans.get(index), grouping, reference, dueSoonMinutes);
+        }
+        return accumulator;
     }
 
     private static PlanBoardView.PlanCard toPlanCard(Plan plan, OffsetDateTime reference, int dueSoonMinutes) {
@@ -180,12 +90,214 @@ public final class PlanBoardAggregator {
         );
     }
 
-    private static boolean isActivePlan(Plan plan) {
-        return PlanBoardViewHelper.isActiveStatus(plan.getStatus());
-    }
-
     private static double roundAverage(double value) {
         return PlanBoardViewHelper.roundAverage(value);
     }
-}
 
+    private static final class AggregationTask extends RecursiveTask<BoardAccumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Plan> plans;
+        private final int from;
+        private final int to;
+        private final int splitSize;
+        private final PlanBoardGrouping grouping;
+        private final OffsetDateTime reference;
+        private final int dueSoonMinutes;
+
+        private AggregationTask(List<Plan> plans, int from, int to, int splitSize, PlanBoardGrouping grouping,
+                                OffsetDateTime reference, int dueSoonMinutes) {
+            this.plans = plans;
+            this.from = from;
+            this.to = to;
+            this.splitSize = splitSize;
+            this.grouping = grouping;
+            this.reference = reference;
+            this.dueSoonMinutes = dueSoonMinutes;
+        }
+
+        @Override
+        protected BoardAccumulator compute() {
+            if (to - from <= splitSize) {
+                return accumulate(plans, from, to, grouping, reference, dueSoonMinutes);
+            }
+            int middle = (from + to) >>> 1;
+            AggregationTask left = new AggregationTask(plans, from, middle, splitSize, grouping, reference,
+                    dueSoonMinutes);
+            left.fork();
+            BoardAccumulator right = new AggregationTask(plans, middle, to, splitSize, grouping, reference,
+                    dueSoonMinutes).compute();
+            BoardAccumulator merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+
+    /**
+     * Counters shared by the board metrics, the customer groups and the time buckets.
+     */
+    private static class Tally {
+
+        long total;
+        long active;
+        long completed;
+        long overdue;
+        long dueSoon;
+        long progressSum;
+
+        void add(PlanBoardView.PlanCard card) {
+            total++;
+            if (PlanBoardViewHelper.isActiveStatus(card.getStatus())) {
+                active++;
+            }
+            if (card.getStatus() == PlanStatus.COMPLETED) {
+                completed++;
+            }
+            if (card.isOverdue()) {
+                overdue++;
+            }
+            if (card.isDueSoon()) {
+                dueSoon++;
+            }
+            progressSum += card.getProgress();
+        }
+
+        void merge(Tally other) {
+            total += other.total;
+            active += other.active;
+            completed += other.completed;
+            overdue += other.overdue;
+            dueSoon += other.dueSoon;
+            progressSum += other.progressSum;
+        }
+
+        double averageProgress() {
+            return total == 0 ? 0 : roundAverage((double) progressSum / total);
+        }
+    }
+
+    private static final class CardTally extends Tally {
+
+        private final List<PlanBoardView.PlanCard> cards = new ArrayList<>();
+        private OffsetDateTime earliestStart;
+        private OffsetDateTime latestEnd;
+
+        @Override
+        void add(PlanBoardView.PlanCard card) {
+            super.add(card);
+            cards.add(card);
+            earliestStart = earlier(earliestStart, card.getPlannedStartTime());
+            latestEnd = later(latestEnd, card.getPlannedEndTime());
+        }
+
+        void merge(CardTally other) {
+            super.merge(other);
+            cards.addAll(other.cards);
+            earliestStart = earlier(earliestStart, other.earliestStart);
+            latestEnd = later(latestEnd, other.latestEnd);
+        }
+
+        List<PlanBoardView.PlanCard> sortedCards() {
+            cards.sort(PlanBoardViewHelper.PLAN_CARD_COMPARATOR);
+            return List.copyOf(cards);
+        }
+
+        private static OffsetDateTime earlier(OffsetDateTime current, OffsetDateTime candidate) {
+            if (candidate == null) {
+                return current;
+            }
+            return current == null || candidate.compareTo(current) < 0 ? candidate : current;
+        }
+
+        private static OffsetDateTime later(OffsetDateTime current, OffsetDateTime candidate) {
+            if (candidate == null) {
+                return current;
+            }
+            return current == null || candidate.compareTo(current) > 0 ? candidate : current;
+        }
+    }
+
+    private static final class BoardAccumulator {
+
+        private final Tally board = new Tally();
+        private final DoubleSummaryStatistics durations = new DoubleSummaryStatistics();
+        private final Map<String, CardTally> customers = new HashMap<>();
+        private final Map<OffsetDateTime, CardTally> buckets = new HashMap<>();
+
+        void add(Plan plan, PlanBoardGrouping grouping, OffsetDateTime reference, int dueSoonMinutes) {
+            PlanBoardView.PlanCard card = toPlanCard(plan, reference, dueSoonMinutes);
+            board.add(card);
+            Double duration = PlanBoardViewHelper.durationHours(plan.getPlannedStartTime(), plan.getPlannedEndTime());
+            if (duration != null) {
+                durations.accept(duration);
+            }
+            String customerId = plan.getCustomerId() == null
+                    ? PlanBoardView.UNKNOWN_CUSTOMER_ID
+                    : plan.getCustomerId();
+            customers.computeIfAbsent(customerId, key -> new CardTally()).add(card);
+            if (plan.getPlannedStartTime() != null) {
+                OffsetDateTime bucketStart = PlanBoardViewHelper.normalizeBucketStart(plan.getPlannedStartTime(),
+                        grouping);
+                buckets.computeIfAbsent(bucketStart, key -> new CardTally()).add(card);
+            }
+        }
+
+        void merge(BoardAccumulator other) {
+            board.merge(other.board);
+            durations.combine(other.durations);
+            other.customers.forEach((key, tally) -> customers.merge(key, tally, (left, right) -> {
+                left.merge(right);
+                return left;
+            }));
+            other.buckets.forEach((key, tally) -> buckets.merge(key, tally, (left, right) -> {
+                left.merge(right);
+                return left;
+            }));
+        }
+
+        PlanBoardView toView(PlanBoardGrouping grouping, OffsetDateTime reference) {
+            List<PlanBoardView.CustomerGroup> customerGroups = customers.entrySet().stream()
+                    .sorted((left, right) -> {
+                        int compare = Long.compare(right.getValue().total, left.getValue().total);
+                        if (compare != 0) {
+                            return compare;
+                        }
+                        return left.getKey().compareTo(right.getKey());
+                    })
+                    .map(entry -> {
+                        CardTally tally = entry.getValue();
+                        return new PlanBoardView.CustomerGroup(entry.getKey(), null, tally.total, tally.active,
+                                tally.completed, tally.overdue, tally.dueSoon, tally.overdue + tally.dueSoon,
+                                tally.averageProgress(), tally.earliestStart, tally.latestEnd, tally.sortedCards());
+                    })
+                    .toList();
+
+            List<PlanBoardView.TimeBucket> timeBuckets = buckets.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(entry -> {
+                        OffsetDateTime bucketStart = entry.getKey();
+                        CardTally tally = entry.getValue();
+                        return new PlanBoardView.TimeBucket(
+                                PlanBoardViewHelper.formatBucketLabel(bucketStart, grouping), bucketStart,
+                                PlanBoardViewHelper.normalizeBucketEnd(bucketStart, grouping), tally.total,
+                                tally.active, tally.completed, tally.overdue, tally.dueSoon,
+                                tally.overdue + tally.dueSoon, tally.sortedCards());
+                    })
+                    .toList();
+
+            return new PlanBoardView(customerGroups, timeBuckets, metrics(), grouping, reference);
+        }
+
+        private PlanBoardView.Metrics metrics() {
+            if (board.total == 0) {
+                return new PlanBoardView.Metrics(0, 0, 0, 0, 0, 0, 0, 0, 0);
+            }
+            double avgDuration = durations.getCount() == 0 ? 0 : roundAverage(durations.getAverage());
+            double completionRate = roundAverage((board.completed * 100.0) / board.total);
+            return new PlanBoardView.Metrics(board.total, board.active, board.completed, board.overdue,
+                    board.dueSoon, board.overdue + board.dueSoon, board.averageProgress(), avgDuration,
+                    completionRate);
+        }
+    }
+}
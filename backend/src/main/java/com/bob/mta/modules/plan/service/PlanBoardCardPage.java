@@ -0,0 +1,39 @@
+package com.bob.mta.modules.plan.service;
+
+import com.bob.mta.modules.plan.repository.PlanSearchCursor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cards of one board column following a cursor. {@code nextCursor} is {@code null} on the last page, and
+ * {@code pageSize} is the limit the page was cut at after the service clamped the requested one.
+ */
+public record PlanBoardCardPage(List<PlanBoardView.PlanCard> cards, String nextCursor, int pageSize) {
+
+    public PlanBoardCardPage {
+        cards = cards == null ? List.of() : List.copyOf(cards);
+    }
+
+    /**
+     * Pages cards that are already in board order; {@code limit + 1} cards are enough to tell whether a
+     * further page exists.
+     */
+    public static PlanBoardCardPage of(List<PlanBoardView.PlanCard> orderedCards, PlanSearchCursor after, int limit) {
+        List<PlanBoardView.PlanCard> page = new ArrayList<>(Math.min(orderedCards.size(), limit + 1));
+        for (PlanBoardView.PlanCard card : orderedCards) {
+            if (after != null && !after.precedes(card)) {
+                continue;
+            }
+            page.add(card);
+            if (page.size() > limit) {
+                break;
+            }
+        }
+        if (page.size() <= limit) {
+            return new PlanBoardCardPage(page, null, limit);
+        }
+        List<PlanBoardView.PlanCard> cards = page.subList(0, limit);
+        return new PlanBoardCardPage(cards, PlanSearchCursor.of(cards.get(limit - 1)).encode(), limit);
+    }
+}
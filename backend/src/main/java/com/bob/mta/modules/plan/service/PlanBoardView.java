@@ -1,7 +1,9 @@
 package com.bob.mta.modules.plan.service;
 
 import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanBoardGroupType;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
+import com.bob.mta.modules.plan.repository.PlanSearchCursor;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -48,6 +50,50 @@ public class PlanBoardView {
         return referenceTime;
     }
 
+    /**
+     * Keeps at most {@code cardLimit} cards per customer group and time bucket while the group counters and
+     * the board metrics stay those of the full board. Truncated groups carry the cursor of their last card,
+     * from which the remaining cards are loaded; a limit of zero or less keeps every card.
+     */
+    public PlanBoardView withCardLimit(int cardLimit) {
+        if (cardLimit <= 0) {
+            return this;
+        }
+        List<CustomerGroup> limitedGroups = customerGroups.stream()
+                .map(group -> group.withCardLimit(cardLimit))
+                .toList();
+        List<TimeBucket> limitedBuckets = timeBuckets.stream()
+                .map(bucket -> bucket.withCardLimit(cardLimit))
+                .toList();
+        return new PlanBoardView(limitedGroups, limitedBuckets, metrics, granularity, referenceTime);
+    }
+
+    /**
+     * Cards of the customer group or time bucket identified by {@code groupId}, or an empty list when the
+     * board has no such column.
+     */
+    public List<PlanCard> findCards(PlanBoardGroupType groupType, String groupId) {
+        if (groupType == PlanBoardGroupType.CUSTOMER) {
+            return customerGroups.stream()
+                    .filter(group -> group.getCustomerId().equals(groupId))
+                    .findFirst()
+                    .map(CustomerGroup::getPlans)
+                    .orElse(List.of());
+        }
+        return timeBuckets.stream()
+                .filter(bucket -> bucket.getBucketId().equals(groupId))
+                .findFirst()
+                .map(TimeBucket::getPlans)
+                .orElse(List.of());
+    }
+
+    private static String nextCursor(List<PlanCard> cards, long totalPlans, int cardLimit) {
+        if (cards.isEmpty() || (cards.size() <= cardLimit && totalPlans <= cardLimit)) {
+            return null;
+        }
+        return PlanSearchCursor.of(cards.get(Math.min(cards.size(), cardLimit) - 1)).encode();
+    }
+
     public static class CustomerGroup {
         private final String customerId;
         private final String customerName;
@@ -61,6 +107,7 @@ public class PlanBoardView {
         private final OffsetDateTime earliestStart;
         private final OffsetDateTime latestEnd;
         private final List<PlanCard> plans;
+        private final String nextCursor;
 
         public CustomerGroup(String customerId,
                              String customerName,
@@ -74,6 +121,23 @@ public class PlanBoardView {
                              OffsetDateTime earliestStart,
                              OffsetDateTime latestEnd,
                              List<PlanCard> plans) {
+            this(customerId, customerName, totalPlans, activePlans, completedPlans, overduePlans, dueSoonPlans,
+                    atRiskPlans, averageProgress, earliestStart, latestEnd, plans, null);
+        }
+
+        public CustomerGroup(String customerId,
+                             String customerName,
+                             long totalPlans,
+                             long activePlans,
+                             long completedPlans,
+                             long overduePlans,
+                             long dueSoonPlans,
+                             long atRiskPlans,
+                             double averageProgress,
+                             OffsetDateTime earliestStart,
+                             OffsetDateTime latestEnd,
+                             List<PlanCard> plans,
+                             String nextCursor) {
             this.customerId = customerId;
             this.customerName = customerName;
             this.totalPlans = totalPlans;
@@ -86,6 +150,13 @@ public class PlanBoardView {
             this.earliestStart = earliestStart;
             this.latestEnd = latestEnd;
             this.plans = plans == null ? List.of() : List.copyOf(plans);
+            this.nextCursor = nextCursor;
+        }
+
+        CustomerGroup withCardLimit(int cardLimit) {
+            return new CustomerGroup(customerId, customerName, totalPlans, activePlans, completedPlans,
+                    overduePlans, dueSoonPlans, atRiskPlans, averageProgress, earliestStart, latestEnd,
+                    plans.subList(0, Math.min(plans.size(), cardLimit)), nextCursor(plans, totalPlans, cardLimit));
         }
 
         public String getCustomerId() {
@@ -135,6 +206,14 @@ public class PlanBoardView {
         public List<PlanCard> getPlans() {
             return plans;
         }
+
+        /**
+         * Cursor from which the cards left out of {@link #getPlans()} are loaded, {@code null} when the group
+         * shows all of its cards.
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
     }
 
     public static class TimeBucket {
@@ -148,6 +227,7 @@ public class PlanBoardView {
         private final long dueSoonPlans;
         private final long atRiskPlans;
         private final List<PlanCard> plans;
+        private final String nextCursor;
 
         public TimeBucket(String bucketId,
                           OffsetDateTime start,
@@ -159,6 +239,21 @@ public class PlanBoardView {
                           long dueSoonPlans,
                           long atRiskPlans,
                           List<PlanCard> plans) {
+            this(bucketId, start, end, totalPlans, activePlans, completedPlans, overduePlans, dueSoonPlans,
+                    atRiskPlans, plans, null);
+        }
+
+        public TimeBucket(String bucketId,
+                          OffsetDateTime start,
+                          OffsetDateTime end,
+                          long totalPlans,
+                          long activePlans,
+                          long completedPlans,
+                          long overduePlans,
+                          long dueSoonPlans,
+                          long atRiskPlans,
+                          List<PlanCard> plans,
+                          String nextCursor) {
             this.bucketId = bucketId;
             this.start = start;
             this.end = end;
@@ -169,6 +264,13 @@ public class PlanBoardView {
             this.dueSoonPlans = dueSoonPlans;
             this.atRiskPlans = atRiskPlans;
             this.plans = plans == null ? List.of() : List.copyOf(plans);
+            this.nextCursor = nextCursor;
+        }
+
+        TimeBucket withCardLimit(int cardLimit) {
+            return new TimeBucket(bucketId, start, end, totalPlans, activePlans, completedPlans, overduePlans,
+                    dueSoonPlans, atRiskPlans, plans.subList(0, Math.min(plans.size(), cardLimit)),
+                    nextCursor(plans, totalPlans, cardLimit));
         }
 
         public String getBucketId() {
@@ -210,6 +312,10 @@ public class PlanBoardView {
         public List<PlanCard> getPlans() {
             return plans;
         }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
     }
 
     public static class PlanCard {
@@ -7,8 +7,8 @@ import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
 import java.time.temporal.TemporalAdjusters;
-import java.time.temporal.WeekFields;
 import java.util.Comparator;
 import java.util.Locale;
 
@@ -30,6 +30,7 @@ public final class PlanBoardViewHelper {
             case WEEK -> time.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
                     .truncatedTo(ChronoUnit.DAYS);
             case MONTH -> time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+            case QUARTER -> time.withMonth(quarterOf(time) * 3 - 2).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
             case YEAR -> time.withDayOfYear(1).truncatedTo(ChronoUnit.DAYS);
         };
     }
@@ -42,6 +43,7 @@ public final class PlanBoardViewHelper {
             case DAY -> start.plusDays(1);
             case WEEK -> start.plusWeeks(1);
             case MONTH -> start.plusMonths(1);
+            case QUARTER -> start.plusMonths(3);
             case YEAR -> start.plusYears(1);
         };
     }
@@ -53,14 +55,19 @@ public final class PlanBoardViewHelper {
         return switch (grouping) {
             case DAY -> start.toLocalDate().toString();
             case WEEK -> {
-                int week = start.get(WeekFields.ISO.weekOfWeekBasedYear());
-                yield start.getYear() + "-W" + String.format(Locale.ROOT, "%02d", week);
+                int week = start.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                yield start.get(IsoFields.WEEK_BASED_YEAR) + "-W" + String.format(Locale.ROOT, "%02d", week);
             }
             case MONTH -> String.format(Locale.ROOT, "%d-%02d", start.getYear(), start.getMonthValue());
+            case QUARTER -> start.getYear() + "-Q" + quarterOf(start);
             case YEAR -> Integer.toString(start.getYear());
         };
     }
 
+    private static int quarterOf(OffsetDateTime time) {
+        return (time.getMonthValue() - 1) / 3 + 1;
+    }
+
     public static boolean isActiveStatus(PlanStatus status) {
         return status == PlanStatus.SCHEDULED || status == PlanStatus.IN_PROGRESS;
     }
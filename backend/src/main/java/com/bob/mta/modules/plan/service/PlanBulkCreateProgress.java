@@ -0,0 +1,11 @@
+package com.bob.mta.modules.plan.service;
+
+/**
+ * Reported after each chunk of a bulk creation has been written.
+ */
+public record PlanBulkCreateProgress(int processed, int total) {
+
+    public int percentage() {
+        return total == 0 ? 100 : (int) Math.round(processed * 100.0 / total);
+    }
+}
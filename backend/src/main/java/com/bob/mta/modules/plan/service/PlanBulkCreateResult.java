@@ -0,0 +1,14 @@
+package com.bob.mta.modules.plan.service;
+
+import java.util.List;
+
+public record PlanBulkCreateResult(List<String> planIds) {
+
+    public PlanBulkCreateResult {
+        planIds = planIds == null ? List.of() : List.copyOf(planIds);
+    }
+
+    public int createdCount() {
+        return planIds.size();
+    }
+}
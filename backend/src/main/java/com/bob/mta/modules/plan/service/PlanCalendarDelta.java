@@ -0,0 +1,33 @@
+package com.bob.mta.modules.plan.service;
+
+import com.bob.mta.modules.plan.domain.PlanStatus;
+
+import java.util.List;
+
+/**
+ * Calendar changes of a tenant since a sync token. With {@code fullResync} the token could not be served
+ * incrementally, the subscriber reloads the whole feed and continues from {@code syncToken}.
+ *
+ * @param changes        events of the plans created or changed since the token, canceled plans included
+ * @param removedPlanIds plans deleted since the token or no longer scheduled
+ */
+public record PlanCalendarDelta(String syncToken,
+                                boolean fullResync,
+                                List<Change> changes,
+                                List<String> removedPlanIds) {
+
+    public PlanCalendarDelta {
+        changes = changes == null ? List.of() : List.copyOf(changes);
+        removedPlanIds = removedPlanIds == null ? List.of() : List.copyOf(removedPlanIds);
+    }
+
+    public static PlanCalendarDelta fullResync(String syncToken) {
+        return new PlanCalendarDelta(syncToken, true, List.of(), List.of());
+    }
+
+    /**
+     * @param event the VEVENT of the plan, replacing the one with the same UID on the subscriber side
+     */
+    public record Change(String planId, PlanStatus status, String event) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.bob.mta.modules.plan.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of a calendar subscriber in the change history of one tenant: every change up to and including
+ * {@code since} has been delivered to it.
+ */
+public record PlanCalendarSyncToken(String tenantId, OffsetDateTime since) {
+
+    public PlanCalendarSyncToken {
+        Objects.requireNonNull(tenantId, "tenantId");
+        Objects.requireNonNull(since, "since");
+    }
+
+    public String encode() {
+        String raw = since.toInstant().toString() + "|" + tenantId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}
+     */
+    public static PlanCalendarSyncToken decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Malformed calendar sync token");
+        }
+        try {
+            OffsetDateTime since = Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC);
+            return new PlanCalendarSyncToken(raw.substring(separator + 1), since);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed calendar sync token", ex);
+        }
+    }
+}
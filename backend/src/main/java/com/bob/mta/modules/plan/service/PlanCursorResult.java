@@ -0,0 +1,18 @@
+package com.bob.mta.modules.plan.service;
+
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
+
+import java.util.List;
+
+/**
+ * Page of plan summaries fetched after a cursor. {@code nextCursor} is {@code null} on the last page,
+ * {@code totalCount} is {@code null} unless the caller asked for the count, and {@code pageSize} is the limit
+ * the page was cut at after the service clamped the requested one.
+ */
+public record PlanCursorResult(List<PlanSummaryProjection> summaries, String nextCursor, Integer totalCount,
+                               int pageSize) {
+
+    public PlanCursorResult {
+        summaries = summaries == null ? List.of() : List.copyOf(summaries);
+    }
+}
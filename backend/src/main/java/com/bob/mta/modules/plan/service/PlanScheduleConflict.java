@@ -0,0 +1,19 @@
+package com.bob.mta.modules.plan.service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record PlanScheduleConflict(String reference, List<ConflictingPlan> conflicts) {
+
+    public PlanScheduleConflict {
+        conflicts = conflicts == null ? List.of() : List.copyOf(conflicts);
+    }
+
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    public record ConflictingPlan(String planId, String title, String customerId, String ownerId,
+                                  OffsetDateTime plannedStartTime, OffsetDateTime plannedEndTime) {
+    }
+}
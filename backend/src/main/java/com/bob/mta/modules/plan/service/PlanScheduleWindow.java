@@ -0,0 +1,11 @@
+package com.bob.mta.modules.plan.service;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A window to test for schedule conflicts. {@code reference} is echoed back so that callers can match
+ * results to their own records; {@code excludePlanId} skips the plan being rescheduled.
+ */
+public record PlanScheduleWindow(String reference, String customerId, String ownerId, OffsetDateTime start,
+                                 OffsetDateTime end, String excludePlanId) {
+}
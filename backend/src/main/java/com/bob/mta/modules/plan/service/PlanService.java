@@ -8,23 +8,45 @@ import com.bob.mta.modules.plan.domain.PlanNodeExecution;
 import com.bob.mta.modules.plan.domain.PlanReminderRule;
 import com.bob.mta.modules.plan.domain.PlanReminderSchedule;
 import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanBoardGroupType;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
+import com.bob.mta.modules.plan.repository.PlanChangeStamp;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
 import com.bob.mta.modules.plan.service.command.CreatePlanCommand;
 import com.bob.mta.modules.plan.service.command.UpdatePlanCommand;
 
+import java.io.Writer;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PlanService {
 
     PlanSearchResult listPlans(String tenantId, String customerId, String owner, String keyword, PlanStatus status,
                                OffsetDateTime from, OffsetDateTime to, int page, int size);
 
+    PlanSummarySearchResult listPlanSummaries(String tenantId, String customerId, String owner, String keyword,
+                                              PlanStatus status, OffsetDateTime from, OffsetDateTime to,
+                                              int page, int size);
+
+    PlanCursorResult scrollPlans(String tenantId, String customerId, String owner, String keyword, PlanStatus status,
+                                 OffsetDateTime from, OffsetDateTime to, String cursor, int size,
+                                 boolean includeTotal);
+
+    PlanSummarySearchResult searchPlans(String tenantId, String keyword, PlanStatus status, int page, int size);
+
     Plan getPlan(String id);
 
     Plan createPlan(CreatePlanCommand command);
 
+    /**
+     * Creates all plans or none of them. Schedule conflicts are checked for the whole batch up front,
+     * against stored plans and between the commands themselves, and the plans are then written in
+     * chunks; {@code progressListener} is notified after each chunk.
+     */
+    PlanBulkCreateResult createPlans(List<CreatePlanCommand> commands,
+                                     Consumer<PlanBulkCreateProgress> progressListener);
+
     Plan updatePlan(String id, UpdatePlanCommand command);
 
     void deletePlan(String id);
@@ -46,6 +68,26 @@ public interface PlanService {
 
     String renderTenantCalendar(String tenantId);
 
+    /**
+     * Stamps the plans of the tenant calendar feed for the given window, so that a served feed can be
+     * revalidated without rendering it again.
+     */
+    PlanChangeStamp stampTenantCalendar(String tenantId, OffsetDateTime from, OffsetDateTime to);
+
+    /**
+     * Writes the tenant calendar feed to {@code writer} page by page, without holding the whole feed in
+     * memory. When {@code from} or {@code to} is given only plans whose planned window overlaps it are
+     * included.
+     */
+    void writeTenantCalendar(String tenantId, OffsetDateTime from, OffsetDateTime to, Writer writer);
+
+    /**
+     * Returns the calendar changes of the tenant since {@code syncToken}: events of created, updated and
+     * canceled plans plus the ids of deleted ones. Without a token, or when the token is too old to be
+     * served incrementally, the result asks for a full resync and carries the token to continue from.
+     */
+    PlanCalendarDelta getTenantCalendarChanges(String tenantId, String syncToken);
+
     List<PlanActivity> getPlanTimeline(String planId);
 
     Plan updateReminderPolicy(String planId, List<PlanReminderRule> rules, String operator);
@@ -65,9 +107,29 @@ public interface PlanService {
      */
     PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping);
 
+    /**
+     * Same board as {@link #getPlanBoard(PlanSearchCriteria, PlanBoardGrouping)} with at most {@code cardLimit}
+     * cards per customer group and time bucket. Group counters and board metrics still cover every matching
+     * plan, and truncated groups expose the cursor from which {@link #getPlanBoardCards} continues. A limit of
+     * zero or less returns every card.
+     */
+    PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping, int cardLimit);
+
+    /**
+     * Loads the next cards of one board column after {@code cursor}, which is {@code null} for the first page.
+     */
+    PlanBoardCardPage getPlanBoardCards(PlanSearchCriteria criteria, PlanBoardGrouping grouping,
+                                        PlanBoardGroupType groupType, String groupId, String cursor, int limit);
+
     List<Plan> findConflictingPlans(String tenantId, String customerId, String ownerId,
                                     OffsetDateTime start, OffsetDateTime end, String excludePlanId);
 
+    /**
+     * Checks several windows of one tenant against the scheduled plans in a single call. The result has
+     * one entry per window, in the order given.
+     */
+    List<PlanScheduleConflict> checkScheduleConflicts(String tenantId, List<PlanScheduleWindow> windows);
+
     List<PlanActivityDescriptor> describeActivities();
 
     PlanReminderConfigurationDescriptor describeReminderOptions();
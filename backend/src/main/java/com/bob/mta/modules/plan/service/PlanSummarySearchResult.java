@@ -0,0 +1,15 @@
+package com.bob.mta.modules.plan.service;
+
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
+
+import java.util.List;
+
+public record PlanSummarySearchResult(List<PlanSummaryProjection> summaries, int totalCount) {
+
+    public PlanSummarySearchResult {
+        summaries = summaries == null ? List.of() : List.copyOf(summaries);
+        if (totalCount < 0) {
+            totalCount = 0;
+        }
+    }
+}
@@ -11,52 +11,86 @@ import com.bob.mta.modules.notification.EmailMessage;
 import com.bob.mta.modules.notification.EmailNotificationAdapter;
 import com.bob.mta.modules.notification.InstantMessage;
 import com.bob.mta.modules.notification.InstantMessageNotificationAdapter;
+import com.bob.mta.modules.notification.NotificationProperties;
 import com.bob.mta.modules.notification.NotificationResult;
+import com.bob.mta.modules.notification.NotificationRetryExecutor;
+import com.bob.mta.modules.notification.NotificationRetryExecutor.NotificationAttempt;
+import com.bob.mta.modules.plan.PlanProperties;
 import com.bob.mta.modules.plan.domain.Plan;
 import com.bob.mta.modules.plan.domain.PlanActionHistory;
 import com.bob.mta.modules.plan.domain.PlanActionStatus;
 import com.bob.mta.modules.plan.domain.PlanActivity;
 import com.bob.mta.modules.plan.domain.PlanActivityType;
 import com.bob.mta.modules.plan.domain.PlanAnalytics;
+import com.bob.mta.modules.plan.domain.PlanCalendarEntry;
 import com.bob.mta.modules.plan.domain.PlanNode;
 import com.bob.mta.modules.plan.domain.PlanNodeActionType;
 import com.bob.mta.modules.plan.domain.PlanNodeExecution;
 import com.bob.mta.modules.plan.domain.PlanNodeStatus;
 import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
 import com.bob.mta.modules.plan.domain.PlanReminderRule;
 import com.bob.mta.modules.plan.domain.PlanReminderSchedule;
 import com.bob.mta.modules.plan.domain.PlanReminderTrigger;
 import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
 import com.bob.mta.modules.plan.repository.PlanActionHistoryRepository;
 import com.bob.mta.modules.plan.repository.PlanAggregateRepository;
 import com.bob.mta.modules.plan.repository.PlanAnalyticsQuery;
 import com.bob.mta.modules.plan.repository.PlanAnalyticsRepository;
 import com.bob.mta.modules.plan.repository.PlanAttachmentRepository;
+import com.bob.mta.modules.plan.repository.PlanBoardCardQuery;
+import com.bob.mta.modules.plan.repository.PlanBoardGroupType;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
+import com.bob.mta.modules.plan.repository.PlanChangeStamp;
+import com.bob.mta.modules.plan.repository.PlanFilterFacets;
 import com.bob.mta.modules.plan.repository.PlanReminderPolicyRepository;
 import com.bob.mta.modules.plan.repository.PlanRepository;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
+import com.bob.mta.modules.plan.repository.PlanSearchCursor;
 import com.bob.mta.modules.plan.repository.PlanTimelineRepository;
 import com.bob.mta.modules.plan.service.PlanActivityDescriptor;
+import com.bob.mta.modules.plan.service.PlanBoardCardPage;
 import com.bob.mta.modules.plan.service.PlanBoardView;
+import com.bob.mta.modules.plan.service.PlanBulkCreateProgress;
+import com.bob.mta.modules.plan.service.PlanBulkCreateResult;
+import com.bob.mta.modules.plan.service.PlanCursorResult;
+import com.bob.mta.modules.plan.service.PlanCalendarDelta;
+import com.bob.mta.modules.plan.service.PlanCalendarSyncToken;
 import com.bob.mta.modules.plan.service.PlanFilterDescriptor;
 import com.bob.mta.modules.plan.service.PlanReminderConfigurationDescriptor;
+import com.bob.mta.modules.plan.service.PlanScheduleConflict;
+import com.bob.mta.modules.plan.service.PlanScheduleWindow;
 import com.bob.mta.modules.plan.service.PlanService;
 import com.bob.mta.modules.plan.service.PlanSearchResult;
+import com.bob.mta.modules.plan.service.PlanSummarySearchResult;
 import com.bob.mta.modules.plan.service.command.CreatePlanCommand;
 import com.bob.mta.modules.plan.service.command.PlanNodeCommand;
 import com.bob.mta.modules.plan.service.command.UpdatePlanCommand;
 import com.bob.mta.modules.template.domain.RenderedTemplate;
 import com.bob.mta.modules.template.service.TemplateService;
+import com.bob.mta.modules.user.domain.User;
+import com.bob.mta.modules.user.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -65,12 +99,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean(com.bob.mta.modules.plan.persistence.PlanAggregateMapper.class)
@@ -80,10 +115,50 @@ public class InMemoryPlanService implements PlanService {
     private static final DateTimeFormatter ICS_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'", Locale.US)
             .withZone(ZoneOffset.UTC);
 
+    private static final String CALENDAR_HEADER = "BEGIN:VCALENDAR\n" +
+            "VERSION:2.0\n" +
+            "PRODID:-//BOB MTA//EN\n";
+
+    private static final String CALENDAR_FOOTER = "END:VCALENDAR\n";
+
+    private static final int CALENDAR_PAGE_SIZE = 500;
+
+    /**
+     * Changes are only delivered once they are this old, so that writes still committing with an earlier
+     * {@code updated_at} are not skipped by a token issued meanwhile.
+     */
+    private static final Duration CALENDAR_SYNC_LAG = Duration.ofSeconds(30);
+
+    private static final Duration CALENDAR_TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    private static final int CALENDAR_SYNC_MAX_CHANGES = 1_000;
+
+    private static final List<PlanStatus> CALENDAR_STATUSES = Arrays.stream(PlanStatus.values())
+            .filter(status -> status != PlanStatus.CANCELED)
+            .toList();
+
     private static final DateTimeFormatter CONFLICT_WINDOW_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.US);
 
-    private static final int MAX_ACTION_ATTEMPTS = 3;
+    private static final String ACTION_LOCALE_KEY = "locale";
+
+    private static final int MAX_CONFLICT_ATTEMPTS = 3;
+
+    private static final int BULK_CREATE_CHUNK_SIZE = 200;
+
+    private static final int MAX_REPORTED_BULK_CONFLICTS = 20;
+
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+
+    private static final int DEFAULT_BOARD_CARD_PAGE_SIZE = 20;
+
+    private static final int MAX_BOARD_CARD_PAGE_SIZE = 200;
+
+    private static final Duration SCHEDULE_INDEX_REFRESH = Duration.ofMinutes(5);
+    private static final Duration ANALYTICS_SNAPSHOT_REFRESH = Duration.ofMinutes(5);
+    private static final Duration FILTER_FACET_REFRESH = Duration.ofMinutes(5);
 
     private static final List<PlanStatus> STATUS_ORDER = List.of(
             PlanStatus.DESIGN,
@@ -98,6 +173,15 @@ public class InMemoryPlanService implements PlanService {
             PlanStatus.IN_PROGRESS
     );
 
+    private static final List<DefaultReminderRule> DEFAULT_REMINDER_RULES = List.of(
+            new DefaultReminderRule(PlanReminderTrigger.BEFORE_PLAN_START, 120, List.of("EMAIL"),
+                    "plan-start-email", List.of("PARTICIPANTS"), "plan.reminder.default.start2h"),
+            new DefaultReminderRule(PlanReminderTrigger.BEFORE_PLAN_START, 30, List.of("IM", "SMS"),
+                    "plan-start-alert", List.of("OWNER"), "plan.reminder.default.start30m"),
+            new DefaultReminderRule(PlanReminderTrigger.BEFORE_PLAN_END, 15, List.of("EMAIL"),
+                    "plan-summary-reminder", List.of("OWNER"), "plan.reminder.default.end15m")
+    );
+
     private static final List<PlanActivityDescriptor> ACTIVITY_DESCRIPTORS = List.of(
             descriptor(PlanActivityType.PLAN_CREATED,
                     List.of("plan.activity.created"),
@@ -178,6 +262,18 @@ public class InMemoryPlanService implements PlanService {
     private final InstantMessageNotificationAdapter instantMessageNotificationAdapter;
     private final ApiNotificationAdapter apiNotificationAdapter;
     private final MessageResolver messageResolver;
+    private final NotificationRetryExecutor notificationRetry;
+    private final PlanActionDispatcher actionDispatcher;
+    private final PlanReminderEngine reminderEngine;
+    private final UserRepository userRepository;
+    private final PlanConflictRetryExecutor conflictRetry =
+            new PlanConflictRetryExecutor(MAX_CONFLICT_ATTEMPTS, this::concurrentModification);
+    private final PlanScheduleIndex scheduleIndex =
+            new PlanScheduleIndex(this::loadScheduleEntries, SCHEDULE_INDEX_REFRESH, Clock.systemUTC());
+    private final PlanAnalyticsSnapshots analyticsSnapshots =
+            new PlanAnalyticsSnapshots(this::loadAnalyticsEntries, ANALYTICS_SNAPSHOT_REFRESH, Clock.systemUTC());
+    private final PlanFilterFacetCache filterFacets = new PlanFilterFacetCache(
+            tenantId -> plans().summarizeFilterFacets(tenantId), FILTER_FACET_REFRESH, Clock.systemUTC());
 
     public InMemoryPlanService(FileService fileService,
                                PlanAggregateRepository planRepository,
@@ -188,6 +284,67 @@ public class InMemoryPlanService implements PlanService {
                                InstantMessageNotificationAdapter instantMessageNotificationAdapter,
                                ApiNotificationAdapter apiNotificationAdapter,
                                MessageResolver messageResolver) {
+        this(fileService, planRepository, planAnalyticsRepository, actionHistoryRepository, templateService,
+                emailNotificationAdapter, instantMessageNotificationAdapter, apiNotificationAdapter,
+                messageResolver, null, new NotificationRetryExecutor(new NotificationProperties()),
+                (UserRepository) null);
+    }
+
+    public InMemoryPlanService(FileService fileService,
+                               PlanAggregateRepository planRepository,
+                               PlanAnalyticsRepository planAnalyticsRepository,
+                               PlanActionHistoryRepository actionHistoryRepository,
+                               TemplateService templateService,
+                               EmailNotificationAdapter emailNotificationAdapter,
+                               InstantMessageNotificationAdapter instantMessageNotificationAdapter,
+                               ApiNotificationAdapter apiNotificationAdapter,
+                               MessageResolver messageResolver,
+                               PlanProperties properties,
+                               NotificationRetryExecutor notificationRetry) {
+        this(fileService, planRepository, planAnalyticsRepository, actionHistoryRepository, templateService,
+                emailNotificationAdapter, instantMessageNotificationAdapter, apiNotificationAdapter,
+                messageResolver, properties, notificationRetry, (UserRepository) null);
+    }
+
+    /**
+     * @param properties        enables asynchronous delivery of node actions through
+     *                          {@code plan.action-dispatch} and sending of reminders through
+     *                          {@code plan.reminders}; {@code null} delivers node actions on the calling thread
+     *                          and sends no reminders
+     * @param notificationRetry retries and circuit breakers applied to email, IM and API deliveries
+     * @param users             resolves the owner and participants of reminders to email addresses; only
+     *                          available with the persistence profile
+     */
+    @Autowired
+    public InMemoryPlanService(FileService fileService,
+                               PlanAggregateRepository planRepository,
+                               PlanAnalyticsRepository planAnalyticsRepository,
+                               PlanActionHistoryRepository actionHistoryRepository,
+                               TemplateService templateService,
+                               EmailNotificationAdapter emailNotificationAdapter,
+                               InstantMessageNotificationAdapter instantMessageNotificationAdapter,
+                               ApiNotificationAdapter apiNotificationAdapter,
+                               MessageResolver messageResolver,
+                               PlanProperties properties,
+                               NotificationRetryExecutor notificationRetry,
+                               ObjectProvider<UserRepository> users) {
+        this(fileService, planRepository, planAnalyticsRepository, actionHistoryRepository, templateService,
+                emailNotificationAdapter, instantMessageNotificationAdapter, apiNotificationAdapter,
+                messageResolver, properties, notificationRetry, users.getIfAvailable());
+    }
+
+    InMemoryPlanService(FileService fileService,
+                        PlanAggregateRepository planRepository,
+                        PlanAnalyticsRepository planAnalyticsRepository,
+                        PlanActionHistoryRepository actionHistoryRepository,
+                        TemplateService templateService,
+                        EmailNotificationAdapter emailNotificationAdapter,
+                        InstantMessageNotificationAdapter instantMessageNotificationAdapter,
+                        ApiNotificationAdapter apiNotificationAdapter,
+                        MessageResolver messageResolver,
+                        PlanProperties properties,
+                        NotificationRetryExecutor notificationRetry,
+                        UserRepository userRepository) {
         this.fileService = fileService;
         this.planRepository = planRepository;
         this.planAnalyticsRepository = planAnalyticsRepository;
@@ -197,6 +354,26 @@ public class InMemoryPlanService implements PlanService {
         this.instantMessageNotificationAdapter = instantMessageNotificationAdapter;
         this.apiNotificationAdapter = apiNotificationAdapter;
         this.messageResolver = messageResolver;
+        this.notificationRetry = notificationRetry;
+        this.userRepository = userRepository;
+        this.actionDispatcher = properties == null || !properties.getActionDispatch().isAsync()
+                ? null
+                : new PlanActionDispatcher(actionHistoryRepository, this::deliverQueuedAction,
+                properties.getActionDispatch(), Clock.systemUTC());
+        this.reminderEngine = properties == null || !properties.getReminders().isEnabled()
+                ? null
+                : new PlanReminderEngine(reminderPolicies(), this::deliverReminder, properties.getReminders(),
+                Clock.systemUTC());
+    }
+
+    @PreDestroy
+    public void shutdownActionDispatch() {
+        if (actionDispatcher != null) {
+            actionDispatcher.shutdown();
+        }
+        if (reminderEngine != null) {
+            reminderEngine.shutdown();
+        }
     }
 
     private PlanRepository plans() {
@@ -222,36 +399,93 @@ public class InMemoryPlanService implements PlanService {
         int sanitizedPage = Math.max(page, 0);
         int offset = sanitizedPage * sanitizedSize;
 
-        PlanSearchCriteria baseCriteria = PlanSearchCriteria.builder()
+        PlanSearchCriteria.Builder builder = listCriteria(tenantId, customerId, owner, keyword, status, from, to);
+        int total = plans().countByCriteria(builder.build());
+
+        List<Plan> plans = plans().findByCriteria(builder.limit(sanitizedSize).offset(offset).build()).stream()
+                .sorted(Comparator.comparing(Plan::getPlannedStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Plan::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+
+        return new PlanSearchResult(plans, total);
+    }
+
+    @Override
+    public PlanSummarySearchResult listPlanSummaries(String tenantId, String customerId, String owner, String keyword,
+                                                     PlanStatus status, OffsetDateTime from, OffsetDateTime to,
+                                                     int page, int size) {
+        int sanitizedSize = size <= 0 ? 10 : size;
+        int sanitizedPage = Math.max(page, 0);
+
+        PlanSearchCriteria.Builder builder = listCriteria(tenantId, customerId, owner, keyword, status, from, to);
+        int total = plans().countByCriteria(builder.build());
+        List<PlanSummaryProjection> summaries = plans().findSummaries(builder
+                .limit(sanitizedSize)
+                .offset(sanitizedPage * sanitizedSize)
+                .build());
+        return new PlanSummarySearchResult(summaries, total);
+    }
+
+    private PlanSearchCriteria.Builder listCriteria(String tenantId, String customerId, String owner, String keyword,
+                                                    PlanStatus status, OffsetDateTime from, OffsetDateTime to) {
+        return PlanSearchCriteria.builder()
                 .tenantId(StringUtils.hasText(tenantId) ? tenantId : null)
                 .customerId(StringUtils.hasText(customerId) ? customerId : null)
                 .owner(StringUtils.hasText(owner) ? owner : null)
                 .keyword(StringUtils.hasText(keyword) ? keyword : null)
                 .status(status)
                 .from(from)
-                .to(to)
-                .build();
+                .to(to);
+    }
 
-        int total = plans().countByCriteria(baseCriteria);
+    @Override
+    public PlanCursorResult scrollPlans(String tenantId, String customerId, String owner, String keyword,
+                                        PlanStatus status, OffsetDateTime from, OffsetDateTime to, String cursor,
+                                        int size, boolean includeTotal) {
+        int sanitizedSize = size <= 0 ? DEFAULT_CURSOR_PAGE_SIZE : Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        PlanSearchCursor after = decodeCursor(cursor);
+        PlanSearchCriteria.Builder builder = listCriteria(tenantId, customerId, owner, keyword, status, from, to);
+        Integer total = includeTotal ? plans().countByCriteria(builder.build()) : null;
 
-        PlanSearchCriteria pageCriteria = PlanSearchCriteria.builder()
-                .tenantId(baseCriteria.getTenantId())
-                .customerId(baseCriteria.getCustomerId())
-                .owner(baseCriteria.getOwner())
-                .keyword(baseCriteria.getKeyword())
-                .status(baseCriteria.getStatus())
-                .from(baseCriteria.getFrom())
-                .to(baseCriteria.getTo())
-                .limit(sanitizedSize)
-                .offset(offset)
-                .build();
+        List<PlanSummaryProjection> page = plans().findSummaries(builder.after(after).limit(sanitizedSize + 1).build());
+        String nextCursor = null;
+        if (page.size() > sanitizedSize) {
+            page = page.subList(0, sanitizedSize);
+            nextCursor = PlanSearchCursor.of(page.get(sanitizedSize - 1)).encode();
+        }
+        return new PlanCursorResult(page, nextCursor, total, sanitizedSize);
+    }
 
-        List<Plan> plans = plans().findByCriteria(pageCriteria).stream()
-                .sorted(Comparator.comparing(Plan::getPlannedStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
-                        .thenComparing(Plan::getId, Comparator.nullsLast(Comparator.naturalOrder())))
-                .collect(Collectors.toList());
+    @Override
+    public PlanSummarySearchResult searchPlans(String tenantId, String keyword, PlanStatus status, int page,
+                                               int size) {
+        if (!StringUtils.hasText(keyword)) {
+            return listPlanSummaries(tenantId, null, null, null, status, null, null, page, size);
+        }
+        int sanitizedSize = size <= 0 ? 10 : size;
+        int sanitizedPage = Math.max(page, 0);
+        PlanSearchCriteria.Builder builder = PlanSearchCriteria.builder()
+                .tenantId(StringUtils.hasText(tenantId) ? tenantId : null)
+                .keyword(keyword.trim())
+                .status(status);
+        int total = plans().countByCriteria(builder.build());
+        List<PlanSummaryProjection> ranked = plans().findSummaries(builder
+                .rankByKeyword(true)
+                .limit(sanitizedSize)
+                .offset(sanitizedPage * sanitizedSize)
+                .build());
+        return new PlanSummarySearchResult(ranked, total);
+    }
 
-        return new PlanSearchResult(plans, total);
+    private PlanSearchCursor decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            return PlanSearchCursor.decode(cursor.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, message("plan.error.invalidCursor"), ex);
+        }
     }
 
     @Override
@@ -266,11 +500,41 @@ public class InMemoryPlanService implements PlanService {
         String id = plans().nextPlanId();
         OffsetDateTime now = OffsetDateTime.now();
         Plan plan = buildPlan(id, command, now);
-        plans().save(plan);
-        persistAggregateState(plan);
+        storePlan(plan);
+        persistAggregateState(null, plan);
         return plan;
     }
 
+    @Override
+    @Transactional
+    public PlanBulkCreateResult createPlans(List<CreatePlanCommand> commands,
+                                            Consumer<PlanBulkCreateProgress> progressListener) {
+        if (commands == null || commands.isEmpty()) {
+            return new PlanBulkCreateResult(List.of());
+        }
+        ensureNoConflictsForBulkCreation(commands);
+        Consumer<PlanBulkCreateProgress> listener = progressListener == null ? progress -> { } : progressListener;
+        int total = commands.size();
+        List<String> created = new ArrayList<>(total);
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int from = 0; from < total; from += BULK_CREATE_CHUNK_SIZE) {
+            List<CreatePlanCommand> chunk = commands.subList(from, Math.min(from + BULK_CREATE_CHUNK_SIZE, total));
+            List<String> planIds = plans().nextPlanIds(chunk.size());
+            PlanIdReservation nodeIds = new PlanIdReservation(plans()::nextNodeIds, countGeneratedNodeIds(chunk));
+            PlanIdReservation reminderIds = new PlanIdReservation(plans()::nextReminderIds,
+                    chunk.size() * DEFAULT_REMINDER_RULES.size());
+            List<Plan> batch = new ArrayList<>(chunk.size());
+            for (int index = 0; index < chunk.size(); index++) {
+                batch.add(buildPlan(planIds.get(index), chunk.get(index), now, nodeIds, reminderIds));
+            }
+            plans().insertAll(batch);
+            batch.forEach(this::trackPlan);
+            batch.forEach(plan -> created.add(plan.getId()));
+            listener.accept(new PlanBulkCreateProgress(created.size(), total));
+        }
+        return new PlanBulkCreateResult(created);
+    }
+
     @Override
     @Transactional
     public Plan updatePlan(String id, UpdatePlanCommand command) {
@@ -296,8 +560,8 @@ public class InMemoryPlanService implements PlanService {
                 )));
         Plan updated = current.withDefinition(nodes, executions, now, command.getStartTime(), command.getEndTime(),
                 command.getDescription(), command.getParticipants(), timezone, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        savePlan(updated);
+        persistAggregateState(current, updated);
         return updated;
     }
 
@@ -309,6 +573,10 @@ public class InMemoryPlanService implements PlanService {
             throw new BusinessException(ErrorCode.BAD_REQUEST, message("plan.error.deleteDesignOnly"));
         }
         plans().delete(id);
+        plans().pruneTombstones(OffsetDateTime.now().minus(CALENDAR_TOMBSTONE_RETENTION));
+        scheduleIndex.remove(current.getTenantId(), id);
+        analyticsSnapshots.remove(id);
+        filterFacets.invalidate(current.getTenantId());
         actionHistoryRepository.deleteByPlanId(id);
     }
 
@@ -343,8 +611,8 @@ public class InMemoryPlanService implements PlanService {
                 )));
         Plan updated = current.withStatus(nextStatus, actualStart, null, current.getExecutions(), now,
                 null, null, null, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        savePlan(updated);
+        persistAggregateState(current, updated);
         return updated;
     }
 
@@ -368,14 +636,18 @@ public class InMemoryPlanService implements PlanService {
                 )));
         Plan updated = current.withStatus(PlanStatus.CANCELED, null, now, current.getExecutions(), now,
                 reason, operator, now, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        savePlan(updated);
+        persistAggregateState(current, updated);
         return updated;
     }
 
     @Override
     @Transactional
     public Plan startNode(String planId, String nodeId, String operator) {
+        return conflictRetry.execute(() -> applyStartNode(planId, nodeId, operator));
+    }
+
+    private Plan applyStartNode(String planId, String nodeId, String operator) {
         Plan current = requirePlan(planId);
         ensurePlanExecutable(current);
         PlanNodeExecution target = findExecution(current, nodeId);
@@ -404,14 +676,11 @@ public class InMemoryPlanService implements PlanService {
                         "assignee", node.getAssignee(),
                         "operator", operator
                 )));
-        PlanActivity actionActivity = executeNodeAction(current, node, operator, now, "start", null);
-        if (actionActivity != null) {
-            activities = appendActivity(activities, actionActivity);
-        }
         Plan updated = current.withStatus(nextStatus, actualStart, null, executions, now,
                 null, null, null, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        storePlan(updated);
+        updated = recordNodeAction(updated, executeNodeAction(current, node, operator, now, "start", null));
+        persistAggregateState(current, updated);
         return updated;
     }
 
@@ -419,6 +688,11 @@ public class InMemoryPlanService implements PlanService {
     @Transactional
     public Plan completeNode(String planId, String nodeId, String operator, String result,
                              String log, List<String> fileIds) {
+        return conflictRetry.execute(() -> applyCompleteNode(planId, nodeId, operator, result, log, fileIds));
+    }
+
+    private Plan applyCompleteNode(String planId, String nodeId, String operator, String result,
+                                   String log, List<String> fileIds) {
         Plan current = requirePlan(planId);
         ensurePlanExecutable(current);
         PlanNodeExecution target = findExecution(current, nodeId);
@@ -455,10 +729,6 @@ public class InMemoryPlanService implements PlanService {
                         "operator", operator,
                         "result", result
                 )));
-        PlanActivity actionActivity = executeNodeAction(current, node, operator, now, "complete", result);
-        if (actionActivity != null) {
-            activities = appendActivity(activities, actionActivity);
-        }
         for (PlanActivity activity : thresholdAdjustment.activities()) {
             activities = appendActivity(activities, activity);
         }
@@ -475,14 +745,20 @@ public class InMemoryPlanService implements PlanService {
         }
         Plan updated = current.withStatus(nextStatus, actualStart, actualEnd, executions, now,
                 null, null, null, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        storePlan(updated);
+        updated = recordNodeAction(updated, executeNodeAction(current, node, operator, now, "complete", result));
+        persistAggregateState(current, updated);
         return updated;
     }
 
     @Override
     @Transactional
     public Plan handoverNode(String planId, String nodeId, String newAssignee, String comment, String operator) {
+        return conflictRetry.execute(() -> applyHandoverNode(planId, nodeId, newAssignee, comment, operator));
+    }
+
+    private Plan applyHandoverNode(String planId, String nodeId, String newAssignee, String comment,
+                                   String operator) {
         Plan current = requirePlan(planId);
         ensurePlanExecutable(current);
         if (!StringUtils.hasText(newAssignee)) {
@@ -507,14 +783,11 @@ public class InMemoryPlanService implements PlanService {
                 nodeId,
                 attributes
         ));
-        PlanActivity actionActivity = executeNodeAction(current, updatedNode, operator, now, "handover",
-                StringUtils.hasText(comment) ? comment : null);
-        if (actionActivity != null) {
-            activities = appendActivity(activities, actionActivity);
-        }
         Plan updated = current.withNodes(nodes, current.getExecutions(), now, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        storePlan(updated);
+        updated = recordNodeAction(updated, executeNodeAction(current, updatedNode, operator, now, "handover",
+                StringUtils.hasText(comment) ? comment : null));
+        persistAggregateState(current, updated);
         return updated;
     }
 
@@ -548,25 +821,110 @@ public class InMemoryPlanService implements PlanService {
                 attributes
         ));
         Plan updated = current.withOwnerAndParticipants(newOwner, updatedParticipants, now, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        savePlan(updated);
+        persistAggregateState(current, updated);
         return updated;
     }
 
     @Override
     public String renderPlanIcs(String planId) {
         Plan plan = requirePlan(planId);
-        return wrapCalendar(List.of(buildEvent(plan)));
+        return CALENDAR_HEADER + buildEvent(PlanCalendarEntry.from(plan)) + "\n" + CALENDAR_FOOTER;
     }
 
     @Override
     public String renderTenantCalendar(String tenantId) {
-        List<String> events = plans().findAll().stream()
-                .filter(plan -> Objects.equals(plan.getTenantId(), tenantId))
-                .filter(plan -> plan.getStatus() != PlanStatus.CANCELED)
-                .map(this::buildEvent)
-                .toList();
-        return wrapCalendar(events);
+        StringWriter writer = new StringWriter();
+        writeTenantCalendar(tenantId, null, null, writer);
+        return writer.toString();
+    }
+
+    @Override
+    public PlanChangeStamp stampTenantCalendar(String tenantId, OffsetDateTime from, OffsetDateTime to) {
+        return plans().stampChanges(calendarCriteria(tenantId, from, to).build());
+    }
+
+    @Override
+    public void writeTenantCalendar(String tenantId, OffsetDateTime from, OffsetDateTime to, Writer writer) {
+        try {
+            writer.write(CALENDAR_HEADER);
+            PlanSearchCursor after = null;
+            List<PlanCalendarEntry> page;
+            do {
+                page = plans().findCalendarEntries(calendarCriteria(tenantId, from, to)
+                        .after(after)
+                        .limit(CALENDAR_PAGE_SIZE)
+                        .build());
+                for (PlanCalendarEntry entry : page) {
+                    if (entry.plannedStartTime() != null && entry.plannedEndTime() != null) {
+                        writer.write(buildEvent(entry));
+                        writer.write("\n");
+                    }
+                }
+                if (!page.isEmpty()) {
+                    PlanCalendarEntry last = page.get(page.size() - 1);
+                    after = new PlanSearchCursor(last.plannedStartTime(), last.id());
+                }
+            } while (page.size() == CALENDAR_PAGE_SIZE);
+            writer.write(CALENDAR_FOOTER);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public PlanCalendarDelta getTenantCalendarChanges(String tenantId, String syncToken) {
+        OffsetDateTime until = OffsetDateTime.now(ZoneOffset.UTC).minus(CALENDAR_SYNC_LAG);
+        PlanCalendarSyncToken token = decodeSyncToken(tenantId, syncToken);
+        String nextToken = new PlanCalendarSyncToken(tenantId, until).encode();
+        if (token == null || token.since().isBefore(until.minus(CALENDAR_TOMBSTONE_RETENTION))) {
+            return PlanCalendarDelta.fullResync(nextToken);
+        }
+        if (!token.since().isBefore(until)) {
+            return new PlanCalendarDelta(syncToken.trim(), false, List.of(), List.of());
+        }
+        List<PlanCalendarEntry> changed = plans().findCalendarChanges(tenantId, token.since(), until,
+                CALENDAR_SYNC_MAX_CHANGES + 1);
+        if (changed.size() > CALENDAR_SYNC_MAX_CHANGES) {
+            return PlanCalendarDelta.fullResync(nextToken);
+        }
+        List<PlanCalendarDelta.Change> changes = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (PlanCalendarEntry entry : changed) {
+            if (entry.plannedStartTime() == null || entry.plannedEndTime() == null) {
+                removed.add(entry.id());
+            } else {
+                changes.add(new PlanCalendarDelta.Change(entry.id(), entry.status(), buildEvent(entry)));
+            }
+        }
+        plans().findTombstones(tenantId, token.since(), until)
+                .forEach(tombstone -> removed.add(tombstone.planId()));
+        return new PlanCalendarDelta(nextToken, false, changes, removed);
+    }
+
+    private PlanCalendarSyncToken decodeSyncToken(String tenantId, String syncToken) {
+        if (!StringUtils.hasText(syncToken)) {
+            return null;
+        }
+        PlanCalendarSyncToken token;
+        try {
+            token = PlanCalendarSyncToken.decode(syncToken.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, message("plan.error.invalidSyncToken"), ex);
+        }
+        if (!token.tenantId().equals(tenantId)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, message("plan.error.invalidSyncToken"));
+        }
+        return token;
+    }
+
+    private PlanSearchCriteria.Builder calendarCriteria(String tenantId, OffsetDateTime from,
+                                                        OffsetDateTime to) {
+        return PlanSearchCriteria.builder()
+                .tenantId(tenantId)
+                .statuses(CALENDAR_STATUSES)
+                .from(from)
+                .to(to);
     }
 
     @Override
@@ -600,8 +958,8 @@ public class InMemoryPlanService implements PlanService {
                         "ruleCount", String.valueOf(normalized.size())
                 )));
         Plan updated = current.withReminderPolicy(policy, now, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        savePlan(updated);
+        persistAggregateState(current, updated);
         return updated;
     }
 
@@ -636,8 +994,8 @@ public class InMemoryPlanService implements PlanService {
                         "active", String.valueOf(nextActive)
                 )));
         Plan updated = current.withReminderPolicy(policy, now, activities);
-        plans().save(updated);
-        persistAggregateState(updated);
+        savePlan(updated);
+        persistAggregateState(current, updated);
         return updated;
     }
 
@@ -661,6 +1019,37 @@ public class InMemoryPlanService implements PlanService {
     @Override
     public List<Plan> findConflictingPlans(String tenantId, String customerId, String ownerId,
                                            OffsetDateTime start, OffsetDateTime end, String excludePlanId) {
+        return findScheduleConflicts(tenantId, customerId, ownerId, start, end, excludePlanId).stream()
+                .map(entry -> plans().findById(entry.planId()))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public List<PlanScheduleConflict> checkScheduleConflicts(String tenantId, List<PlanScheduleWindow> windows) {
+        if (windows == null || windows.isEmpty()) {
+            return List.of();
+        }
+        List<PlanScheduleConflict> results = new ArrayList<>(windows.size());
+        for (PlanScheduleWindow window : windows) {
+            if (window == null) {
+                results.add(new PlanScheduleConflict(null, List.of()));
+                continue;
+            }
+            List<PlanScheduleConflict.ConflictingPlan> conflicts = findScheduleConflicts(tenantId,
+                    window.customerId(), window.ownerId(), window.start(), window.end(), window.excludePlanId())
+                    .stream()
+                    .map(entry -> new PlanScheduleConflict.ConflictingPlan(entry.planId(), entry.title(),
+                            entry.customerId(), entry.ownerId(), entry.start(), entry.end()))
+                    .toList();
+            results.add(new PlanScheduleConflict(window.reference(), conflicts));
+        }
+        return results;
+    }
+
+    private List<PlanScheduleIndex.Entry> findScheduleConflicts(String tenantId, String customerId, String ownerId,
+                                                                OffsetDateTime start, OffsetDateTime end,
+                                                                String excludePlanId) {
         if (!StringUtils.hasText(tenantId)) {
             return List.of();
         }
@@ -671,29 +1060,70 @@ public class InMemoryPlanService implements PlanService {
         if (targetWindow == null) {
             return List.of();
         }
-        Set<String> seen = new LinkedHashSet<>();
-        List<Plan> conflicts = new ArrayList<>();
-        if (StringUtils.hasText(customerId)) {
-            collectConflicts(conflicts, seen, PlanSearchCriteria.builder()
-                    .tenantId(tenantId)
-                    .customerId(customerId)
-                    .from(targetWindow.start())
-                    .to(targetWindow.end())
-                    .excludePlanId(excludePlanId)
-                    .statuses(CONFLICT_STATUSES)
-                    .build(), targetWindow);
-        }
-        if (StringUtils.hasText(ownerId)) {
-            collectConflicts(conflicts, seen, PlanSearchCriteria.builder()
-                    .tenantId(tenantId)
-                    .owner(ownerId)
-                    .from(targetWindow.start())
-                    .to(targetWindow.end())
-                    .excludePlanId(excludePlanId)
-                    .statuses(CONFLICT_STATUSES)
-                    .build(), targetWindow);
-        }
-        return List.copyOf(conflicts);
+        return scheduleIndex.findOverlapping(tenantId,
+                StringUtils.hasText(customerId) ? customerId : null,
+                StringUtils.hasText(ownerId) ? ownerId : null,
+                targetWindow.start(), targetWindow.end(), excludePlanId);
+    }
+
+    /**
+     * Conflict check of the writes. The schedule index only sees plans written by other instances once it
+     * reloads the tenant, so a window it reports free is confirmed against the stored plans before the write
+     * accepts it.
+     */
+    private List<PlanScheduleIndex.Entry> confirmScheduleConflicts(String tenantId, String customerId,
+                                                                   String ownerId, OffsetDateTime start,
+                                                                   OffsetDateTime end, String excludePlanId) {
+        List<PlanScheduleIndex.Entry> indexed = findScheduleConflicts(tenantId, customerId, ownerId, start, end,
+                excludePlanId);
+        TimeWindow targetWindow = toWindow(start, end);
+        if (!indexed.isEmpty() || !StringUtils.hasText(tenantId) || targetWindow == null) {
+            return indexed;
+        }
+        boolean matchCustomer = StringUtils.hasText(customerId);
+        boolean matchOwner = StringUtils.hasText(ownerId);
+        return loadScheduleEntries(tenantId, targetWindow, excludePlanId).stream()
+                .filter(entry -> matchCustomer && customerId.equals(entry.customerId())
+                        || matchOwner && ownerId.equals(entry.ownerId()))
+                .sorted(Comparator.comparing((PlanScheduleIndex.Entry entry) -> !matchCustomer
+                                || !customerId.equals(entry.customerId()))
+                        .thenComparing(PlanScheduleIndex.Entry::start))
+                .toList();
+    }
+
+    private List<PlanScheduleIndex.Entry> loadScheduleEntries(String tenantId) {
+        return loadScheduleEntries(tenantId, null, null);
+    }
+
+    private List<PlanScheduleIndex.Entry> loadScheduleEntries(String tenantId, TimeWindow window,
+                                                              String excludePlanId) {
+        PlanSearchCriteria criteria = PlanSearchCriteria.builder()
+                .tenantId(tenantId)
+                .statuses(CONFLICT_STATUSES)
+                .from(window == null ? null : window.start())
+                .to(window == null ? null : window.end())
+                .excludePlanId(excludePlanId)
+                .build();
+        return plans().findSummaries(criteria).stream()
+                .map(summary -> scheduleEntry(summary.id(), summary.tenantId(), summary.customerId(),
+                        summary.owner(), summary.title(), summary.status(), summary.plannedStartTime(),
+                        summary.plannedEndTime()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private PlanScheduleIndex.Entry scheduleEntry(String planId, String tenantId, String customerId, String ownerId,
+                                                  String title, PlanStatus status, OffsetDateTime start,
+                                                  OffsetDateTime end) {
+        if (tenantId == null || !CONFLICT_STATUSES.contains(status)) {
+            return null;
+        }
+        TimeWindow window = toWindow(start, end);
+        if (window == null) {
+            return null;
+        }
+        return new PlanScheduleIndex.Entry(planId, tenantId, customerId, ownerId, title, window.start(),
+                window.end());
     }
 
     @Override
@@ -712,9 +1142,25 @@ public class InMemoryPlanService implements PlanService {
                 .riskLimit(5)
                 .dueSoonMinutes(1440)
                 .build();
+        if (PlanAnalyticsSnapshots.supports(query)) {
+            return analyticsSnapshots.read(query);
+        }
         return planAnalyticsRepository.summarize(query);
     }
 
+    private List<PlanAnalyticsSnapshots.Entry> loadAnalyticsEntries(PlanAnalyticsSnapshots.Scope scope) {
+        PlanSearchCriteria criteria = PlanSearchCriteria.builder()
+                .tenantId(scope.tenantId())
+                .customerId(scope.customerId())
+                .owner(scope.ownerId())
+                .build();
+        return plans().findSummaries(criteria).stream()
+                .map(summary -> new PlanAnalyticsSnapshots.Entry(summary.id(), summary.tenantId(),
+                        summary.customerId(), summary.owner(), summary.title(), summary.status(),
+                        summary.plannedStartTime(), summary.plannedEndTime(), summary.progress()))
+                .toList();
+    }
+
     @Override
     public PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping) {
         PlanBoardGrouping effectiveGrouping = grouping == null ? PlanBoardGrouping.WEEK : grouping;
@@ -722,6 +1168,32 @@ public class InMemoryPlanService implements PlanService {
         return planAnalyticsRepository.getPlanBoard(effectiveCriteria, effectiveGrouping);
     }
 
+    @Override
+    public PlanBoardView getPlanBoard(PlanSearchCriteria criteria, PlanBoardGrouping grouping, int cardLimit) {
+        if (cardLimit <= 0) {
+            return getPlanBoard(criteria, grouping);
+        }
+        PlanBoardGrouping effectiveGrouping = grouping == null ? PlanBoardGrouping.WEEK : grouping;
+        PlanSearchCriteria effectiveCriteria = sanitizeBoardCriteria(criteria);
+        return planAnalyticsRepository.getPlanBoard(effectiveCriteria, effectiveGrouping,
+                Math.min(cardLimit, MAX_BOARD_CARD_PAGE_SIZE));
+    }
+
+    @Override
+    public PlanBoardCardPage getPlanBoardCards(PlanSearchCriteria criteria, PlanBoardGrouping grouping,
+                                               PlanBoardGroupType groupType, String groupId, String cursor,
+                                               int limit) {
+        if (groupType == null || !StringUtils.hasText(groupId)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, message("plan.error.boardGroupRequired"));
+        }
+        PlanBoardGrouping effectiveGrouping = grouping == null ? PlanBoardGrouping.WEEK : grouping;
+        PlanSearchCriteria effectiveCriteria = sanitizeBoardCriteria(criteria);
+        int sanitizedLimit = limit <= 0 ? DEFAULT_BOARD_CARD_PAGE_SIZE : Math.min(limit, MAX_BOARD_CARD_PAGE_SIZE);
+        PlanBoardCardQuery query = new PlanBoardCardQuery(groupType, groupId.trim(), decodeCursor(cursor),
+                sanitizedLimit);
+        return planAnalyticsRepository.findBoardCards(effectiveCriteria, effectiveGrouping, query);
+    }
+
     private PlanSearchCriteria sanitizeBoardCriteria(PlanSearchCriteria criteria) {
         if (criteria == null) {
             return PlanSearchCriteria.builder().build();
@@ -763,55 +1235,112 @@ public class InMemoryPlanService implements PlanService {
         if (command == null) {
             return;
         }
-        List<Plan> conflicts = findConflictingPlans(command.getTenantId(), command.getCustomerId(),
-                command.getOwner(), command.getStartTime(), command.getEndTime(), null);
+        List<PlanScheduleIndex.Entry> conflicts = confirmScheduleConflicts(command.getTenantId(),
+                command.getCustomerId(), command.getOwner(), command.getStartTime(), command.getEndTime(), null);
         if (!conflicts.isEmpty()) {
             throw new BusinessException(ErrorCode.CONFLICT,
                     message("plan.error.scheduleConflict", summarizeConflicts(conflicts)));
         }
     }
 
-    private void ensureNoConflictsForPublication(Plan plan) {
-        if (plan == null) {
-            return;
+    /**
+     * Checks a whole import up front. Stored plans are looked up in the schedule index per command, and the
+     * requested windows are grouped per customer and per owner and swept in start order, so overlaps inside
+     * the batch are found as well. A batch the index lets through is confirmed against the plans stored for
+     * the span of each tenant's windows.
+     */
+    private void ensureNoConflictsForBulkCreation(List<CreatePlanCommand> commands) {
+        Map<String, List<ScheduledWindow>> windowsByResource = new HashMap<>();
+        Map<String, TimeWindow> spanByTenant = new HashMap<>();
+        Set<String> conflicts = new LinkedHashSet<>();
+        for (int index = 0; index < commands.size(); index++) {
+            CreatePlanCommand command = commands.get(index);
+            TimeWindow window = command == null ? null : toWindow(command.getStartTime(), command.getEndTime());
+            if (window == null || !StringUtils.hasText(command.getTenantId())) {
+                continue;
+            }
+            String title = StringUtils.hasText(command.getTitle()) ? command.getTitle() : "#" + (index + 1);
+            String label = describeWindow(title, window);
+            for (PlanScheduleIndex.Entry existing : findScheduleConflicts(command.getTenantId(),
+                    command.getCustomerId(), command.getOwner(), window.start(), window.end(), null)) {
+                conflicts.add(describeConflict(existing) + " / " + label);
+            }
+            ScheduledWindow requested = new ScheduledWindow(label, window);
+            spanByTenant.merge(command.getTenantId(), window, (left, right) -> new TimeWindow(
+                    left.start().isBefore(right.start()) ? left.start() : right.start(),
+                    left.end().isAfter(right.end()) ? left.end() : right.end()));
+            if (StringUtils.hasText(command.getCustomerId())) {
+                windowsByResource.computeIfAbsent(command.getTenantId() + "|customer|" + command.getCustomerId(),
+                        ignored -> new ArrayList<>()).add(requested);
+            }
+            if (StringUtils.hasText(command.getOwner())) {
+                windowsByResource.computeIfAbsent(command.getTenantId() + "|owner|" + command.getOwner(),
+                        ignored -> new ArrayList<>()).add(requested);
+            }
+        }
+        windowsByResource.values().forEach(windows -> sweepConflicts(windows, conflicts));
+        if (conflicts.isEmpty()) {
+            confirmBulkConflicts(spanByTenant, windowsByResource, conflicts);
         }
-        List<Plan> conflicts = findConflictingPlans(plan.getTenantId(), plan.getCustomerId(), plan.getOwner(),
-                plan.getPlannedStartTime(), plan.getPlannedEndTime(), plan.getId());
         if (!conflicts.isEmpty()) {
+            String reported = conflicts.stream()
+                    .limit(MAX_REPORTED_BULK_CONFLICTS)
+                    .collect(Collectors.joining(", "));
             throw new BusinessException(ErrorCode.CONFLICT,
-                    message("plan.warning.scheduleConflict", summarizeConflicts(conflicts)));
+                    message("plan.error.bulkScheduleConflict", conflicts.size(), reported));
         }
     }
 
-    private void collectConflicts(List<Plan> sink, Set<String> seen, PlanSearchCriteria criteria, TimeWindow target) {
-        if (criteria == null) {
-            return;
-        }
-        for (Plan plan : plans().findByCriteria(criteria)) {
-            if (seen.contains(plan.getId())) {
-                continue;
-            }
-            if (!CONFLICT_STATUSES.contains(plan.getStatus())) {
-                continue;
+    private void confirmBulkConflicts(Map<String, TimeWindow> spanByTenant,
+                                      Map<String, List<ScheduledWindow>> windowsByResource, Set<String> sink) {
+        Map<String, PlanIntervalTree> storedByResource = new HashMap<>();
+        spanByTenant.forEach((tenantId, span) -> {
+            for (PlanScheduleIndex.Entry stored : loadScheduleEntries(tenantId, span, null)) {
+                if (stored.customerId() != null) {
+                    storedByResource.computeIfAbsent(tenantId + "|customer|" + stored.customerId(),
+                            ignored -> new PlanIntervalTree()).insert(stored);
+                }
+                if (stored.ownerId() != null) {
+                    storedByResource.computeIfAbsent(tenantId + "|owner|" + stored.ownerId(),
+                            ignored -> new PlanIntervalTree()).insert(stored);
+                }
             }
-            TimeWindow candidateWindow = toWindow(plan.getPlannedStartTime(), plan.getPlannedEndTime());
-            if (candidateWindow == null) {
-                continue;
+        });
+        windowsByResource.forEach((resource, windows) -> {
+            PlanIntervalTree stored = storedByResource.get(resource);
+            if (stored == null) {
+                return;
             }
-            if (!overlaps(target, candidateWindow)) {
-                continue;
+            for (ScheduledWindow requested : windows) {
+                stored.findOverlapping(requested.window().start().toInstant(), requested.window().end().toInstant(),
+                        existing -> sink.add(describeConflict(existing) + " / " + requested.label()));
             }
-            if (seen.add(plan.getId())) {
-                sink.add(plan);
+        });
+    }
+
+    private void sweepConflicts(List<ScheduledWindow> windows, Set<String> sink) {
+        windows.sort(Comparator.comparing((ScheduledWindow window) -> window.window().start())
+                .thenComparing(ScheduledWindow::label));
+        List<ScheduledWindow> open = new ArrayList<>();
+        for (ScheduledWindow current : windows) {
+            open.removeIf(candidate -> candidate.window().end().isBefore(current.window().start()));
+            for (ScheduledWindow candidate : open) {
+                sink.add(candidate.label() + " / " + current.label());
             }
+            open.add(current);
         }
     }
 
-    private boolean overlaps(TimeWindow first, TimeWindow second) {
-        if (first == null || second == null) {
-            return false;
+    private void ensureNoConflictsForPublication(Plan plan) {
+        if (plan == null) {
+            return;
+        }
+        List<PlanScheduleIndex.Entry> conflicts = confirmScheduleConflicts(plan.getTenantId(), plan.getCustomerId(),
+                plan.getOwner(), plan.getPlannedStartTime(), plan.getPlannedEndTime(), plan.getId());
+        if (!conflicts.isEmpty()) {
+            throw new BusinessException(ErrorCode.CONFLICT,
+                    message("plan.warning.scheduleConflict", summarizeConflicts(conflicts)));
         }
-        return !first.end().isBefore(second.start()) && !second.end().isBefore(first.start());
     }
 
     private TimeWindow toWindow(OffsetDateTime start, OffsetDateTime end) {
@@ -834,15 +1363,18 @@ public class InMemoryPlanService implements PlanService {
         return new TimeWindow(effectiveStart, effectiveEnd);
     }
 
-    private String summarizeConflicts(List<Plan> conflicts) {
+    private String summarizeConflicts(List<PlanScheduleIndex.Entry> conflicts) {
         return conflicts.stream()
                 .map(this::describeConflict)
                 .collect(Collectors.joining(", "));
     }
 
-    private String describeConflict(Plan plan) {
-        String title = StringUtils.hasText(plan.getTitle()) ? plan.getTitle() : plan.getId();
-        TimeWindow window = toWindow(plan.getPlannedStartTime(), plan.getPlannedEndTime());
+    private String describeConflict(PlanScheduleIndex.Entry entry) {
+        String title = StringUtils.hasText(entry.title()) ? entry.title() : entry.planId();
+        return describeWindow(title, new TimeWindow(entry.start(), entry.end()));
+    }
+
+    private String describeWindow(String title, TimeWindow window) {
         if (window == null) {
             return title;
         }
@@ -860,57 +1392,26 @@ public class InMemoryPlanService implements PlanService {
 
     private record TimeWindow(OffsetDateTime start, OffsetDateTime end) { }
 
+    private record DefaultReminderRule(PlanReminderTrigger trigger, int offsetMinutes, List<String> channels,
+                                       String templateId, List<String> recipients, String descriptionKey) { }
+
+    private record ScheduledWindow(String label, TimeWindow window) { }
+
     @Override
     public PlanFilterDescriptor describePlanFilters(String tenantId) {
-        Stream<Plan> scopedStream = plans().findAll().stream();
-        if (StringUtils.hasText(tenantId)) {
-            scopedStream = scopedStream.filter(plan -> tenantId.equals(plan.getTenantId()));
-        }
-        List<Plan> scopedPlans = scopedStream.toList();
-
-        Map<PlanStatus, Long> statusCounts = scopedPlans.stream()
-                .collect(Collectors.groupingBy(Plan::getStatus, Collectors.counting()));
+        PlanFilterFacets facets = filterFacets.get(StringUtils.hasText(tenantId) ? tenantId : null);
 
         List<PlanFilterDescriptor.Option> statusOptions = STATUS_ORDER.stream()
                 .map(status -> new PlanFilterDescriptor.Option(
                         status.name(),
                         message(statusLabelKey(status)),
-                        statusCounts.getOrDefault(status, 0L)))
-                .toList();
-
-        Map<String, Long> ownerCounts = scopedPlans.stream()
-                .map(Plan::getOwner)
-                .filter(StringUtils::hasText)
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-        List<PlanFilterDescriptor.Option> ownerOptions = ownerCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
-                        .thenComparing(Map.Entry.comparingByKey()))
-                .map(entry -> new PlanFilterDescriptor.Option(entry.getKey(), entry.getKey(), entry.getValue()))
-                .toList();
-
-        Map<String, Long> customerCounts = scopedPlans.stream()
-                .map(Plan::getCustomerId)
-                .filter(StringUtils::hasText)
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-        List<PlanFilterDescriptor.Option> customerOptions = customerCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
-                        .thenComparing(Map.Entry.comparingByKey()))
-                .map(entry -> new PlanFilterDescriptor.Option(entry.getKey(), entry.getKey(), entry.getValue()))
+                        facets.statusCounts().getOrDefault(status, 0L)))
                 .toList();
+        List<PlanFilterDescriptor.Option> ownerOptions = facetOptions(facets.ownerCounts());
+        List<PlanFilterDescriptor.Option> customerOptions = facetOptions(facets.customerCounts());
 
-        OffsetDateTime earliestStart = scopedPlans.stream()
-                .map(Plan::getPlannedStartTime)
-                .filter(Objects::nonNull)
-                .min(OffsetDateTime::compareTo)
-                .orElse(null);
-        OffsetDateTime latestEnd = scopedPlans.stream()
-                .map(Plan::getPlannedEndTime)
-                .filter(Objects::nonNull)
-                .max(OffsetDateTime::compareTo)
-                .orElse(null);
-
+        OffsetDateTime earliestStart = facets.earliestStart();
+        OffsetDateTime latestEnd = facets.latestEnd();
         PlanFilterDescriptor.DateRange window = (earliestStart != null || latestEnd != null)
                 ? new PlanFilterDescriptor.DateRange(earliestStart, latestEnd)
                 : null;
@@ -928,6 +1429,14 @@ public class InMemoryPlanService implements PlanService {
         );
     }
 
+    private List<PlanFilterDescriptor.Option> facetOptions(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> new PlanFilterDescriptor.Option(entry.getKey(), entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
     @Override
     public PlanReminderConfigurationDescriptor describeReminderOptions() {
         List<PlanReminderConfigurationDescriptor.Option> triggers = List.of(
@@ -972,7 +1481,12 @@ public class InMemoryPlanService implements PlanService {
     }
 
     private Plan buildPlan(String id, CreatePlanCommand command, OffsetDateTime now) {
-        List<PlanNode> nodes = toNodes(command.getNodes());
+        return buildPlan(id, command, now, plans()::nextNodeId, this::nextReminderId);
+    }
+
+    private Plan buildPlan(String id, CreatePlanCommand command, OffsetDateTime now, Supplier<String> nodeIds,
+                           Supplier<String> reminderIds) {
+        List<PlanNode> nodes = toNodes(command.getNodes(), nodeIds);
         List<PlanNodeExecution> executions = initializeExecutions(nodes);
         List<PlanActivity> activities = List.of(new PlanActivity(
                 PlanActivityType.PLAN_CREATED,
@@ -984,7 +1498,8 @@ public class InMemoryPlanService implements PlanService {
                         "title", command.getTitle(),
                         "owner", command.getOwner()
                 )));
-        PlanReminderPolicy reminderPolicy = new PlanReminderPolicy(defaultReminderRules(), now, command.getOwner());
+        PlanReminderPolicy reminderPolicy = new PlanReminderPolicy(defaultReminderRules(reminderIds), now,
+                command.getOwner());
         return new Plan(id, command.getTenantId(), command.getTitle(), command.getDescription(),
                 command.getCustomerId(), command.getOwner(), command.getParticipants(), PlanStatus.DESIGN,
                 command.getStartTime(), command.getEndTime(), null, null, null, null, null,
@@ -992,22 +1507,43 @@ public class InMemoryPlanService implements PlanService {
     }
 
     private List<PlanNode> toNodes(List<PlanNodeCommand> commands) {
+        return toNodes(commands, plans()::nextNodeId);
+    }
+
+    private List<PlanNode> toNodes(List<PlanNodeCommand> commands, Supplier<String> nodeIds) {
         List<PlanNode> nodes = new ArrayList<>();
         for (PlanNodeCommand command : commands) {
-            nodes.add(toNode(command));
+            nodes.add(toNode(command, nodeIds));
         }
         nodes.sort(Comparator.comparingInt(PlanNode::getOrder));
         return nodes;
     }
 
-    private PlanNode toNode(PlanNodeCommand command) {
-        List<PlanNode> children = toNodes(command.getChildren());
-        String nodeId = StringUtils.hasText(command.getId()) ? command.getId() : plans().nextNodeId();
+    private PlanNode toNode(PlanNodeCommand command, Supplier<String> nodeIds) {
+        List<PlanNode> children = toNodes(command.getChildren(), nodeIds);
+        String nodeId = StringUtils.hasText(command.getId()) ? command.getId() : nodeIds.get();
         return new PlanNode(nodeId, command.getName(), command.getType(), command.getAssignee(), command.getOrder(),
                 command.getExpectedDurationMinutes(), command.getActionType(), command.getCompletionThreshold(),
                 command.getActionRef(), command.getDescription(), children);
     }
 
+    private int countGeneratedNodeIds(List<CreatePlanCommand> commands) {
+        return commands.stream()
+                .mapToInt(command -> countGeneratedNodeIdsOf(command.getNodes()))
+                .sum();
+    }
+
+    private int countGeneratedNodeIdsOf(List<PlanNodeCommand> commands) {
+        int count = 0;
+        for (PlanNodeCommand command : commands) {
+            if (!StringUtils.hasText(command.getId())) {
+                count++;
+            }
+            count += countGeneratedNodeIdsOf(command.getChildren());
+        }
+        return count;
+    }
+
     private List<PlanNodeExecution> initializeExecutions(List<PlanNode> nodes) {
         return flatten(nodes).stream()
                 .map(node -> new PlanNodeExecution(node.getId(), PlanNodeStatus.PENDING, null, null, null, null, null, List.of()))
@@ -1171,9 +1707,13 @@ public class InMemoryPlanService implements PlanService {
         if (actionType == PlanNodeActionType.NONE || actionType == PlanNodeActionType.MANUAL) {
             return null;
         }
-        ActionDispatchResult dispatchResult = dispatchNodeAction(plan, node, operator, trigger, resultSummary);
+        Map<String, String> context = buildActionContext(plan, node, operator, trigger, resultSummary);
+        ActionDispatchResult dispatchResult = skippedNodeAction(actionType, node.getActionRef(), context);
         if (dispatchResult == null) {
-            return null;
+            dispatchResult = actionDispatcher == null
+                    ? deliverNodeAction(actionType, node.getActionRef(), context)
+                    : new ActionDispatchResult(PlanActionStatus.PENDING, "plan.action.queued", null, context,
+                    Map.of(ACTION_LOCALE_KEY, LocaleContextHolder.getLocale().toLanguageTag()));
         }
         Map<String, String> attributes = attributes(
                 "nodeName", node.getName(),
@@ -1212,7 +1752,11 @@ public class InMemoryPlanService implements PlanService {
                 dispatchResult.context(),
                 dispatchResult.metadata()
         );
-        actionHistoryRepository.append(history);
+        if (history.getStatus() == PlanActionStatus.PENDING) {
+            actionDispatcher.enqueue(history);
+        } else {
+            actionHistoryRepository.append(history);
+        }
         attributes.put("actionId", history.getId());
         return new PlanActivity(
                 PlanActivityType.NODE_ACTION_EXECUTED,
@@ -1224,15 +1768,25 @@ public class InMemoryPlanService implements PlanService {
         );
     }
 
-    private ActionDispatchResult dispatchNodeAction(Plan plan, PlanNode node, String operator,
-                                                    String trigger, String resultSummary) {
-        String actionRef = node.getActionRef();
-        PlanNodeActionType actionType = node.getActionType() == null ? PlanNodeActionType.NONE : node.getActionType();
-        Map<String, String> context = buildActionContext(plan, node, operator, trigger, resultSummary);
+    /**
+     * Returns the outcome of actions that are settled without contacting any downstream service, or
+     * {@code null} when the action has to be delivered.
+     */
+    private ActionDispatchResult skippedNodeAction(PlanNodeActionType actionType, String actionRef,
+                                                   Map<String, String> context) {
         if (!StringUtils.hasText(actionRef)) {
             return new ActionDispatchResult(PlanActionStatus.SKIPPED, "plan.action.missingRef",
                     message("plan.error.nodeActionMissingRef"), context, Map.of("reason", "MISSING_REF"));
         }
+        if (actionType == PlanNodeActionType.FILE) {
+            return new ActionDispatchResult(PlanActionStatus.SKIPPED,
+                    "plan.action.noAutomation", null, context, Map.of("reason", "NOT_SUPPORTED"));
+        }
+        return null;
+    }
+
+    private ActionDispatchResult deliverNodeAction(PlanNodeActionType actionType, String actionRef,
+                                                   Map<String, String> context) {
         try {
             return switch (actionType) {
                 case EMAIL -> dispatchEmail(actionRef, context);
@@ -1240,9 +1794,8 @@ public class InMemoryPlanService implements PlanService {
                 case LINK -> generateLink(actionRef, context);
                 case REMOTE -> generateRemoteSession(actionRef, context);
                 case API_CALL -> dispatchApiCall(actionRef, context);
-                case FILE -> new ActionDispatchResult(PlanActionStatus.SKIPPED,
+                case FILE, MANUAL, NONE -> new ActionDispatchResult(PlanActionStatus.SKIPPED,
                         "plan.action.noAutomation", null, context, Map.of("reason", "NOT_SUPPORTED"));
-                case MANUAL, NONE -> null;
             };
         } catch (Exception ex) {
             return new ActionDispatchResult(PlanActionStatus.FAILED, "plan.action.failed",
@@ -1250,6 +1803,27 @@ public class InMemoryPlanService implements PlanService {
         }
     }
 
+    /**
+     * Delivers an action queued by a node transition on a dispatch worker, rendering its templates in the
+     * language of the operator that triggered it.
+     */
+    private PlanActionHistory deliverQueuedAction(PlanActionHistory pending) {
+        String languageTag = pending.getMetadata().get(ACTION_LOCALE_KEY);
+        LocaleContextHolder.setLocale(languageTag == null ? null : Locale.forLanguageTag(languageTag));
+        try {
+            ActionDispatchResult result = deliverNodeAction(pending.getActionType(), pending.getActionRef(),
+                    pending.getContext());
+            Map<String, String> metadata = new LinkedHashMap<>(pending.getMetadata());
+            metadata.putAll(result.metadata());
+            return new PlanActionHistory(pending.getId(), pending.getPlanId(), pending.getNodeId(),
+                    pending.getActionType(), pending.getActionRef(), pending.getTriggeredAt(),
+                    pending.getTriggeredBy(), result.status(), result.message(), result.error(),
+                    pending.getContext(), metadata);
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
     private Map<String, String> buildActionContext(Plan plan, PlanNode node, String operator,
                                                    String trigger, String resultSummary) {
         Map<String, String> context = new LinkedHashMap<>();
@@ -1289,7 +1863,7 @@ public class InMemoryPlanService implements PlanService {
     private ActionDispatchResult dispatchEmail(String actionRef, Map<String, String> context) {
         long templateId = parseTemplateId(actionRef);
         RenderedTemplate template = templateService.render(templateId, context, LocaleContextHolder.getLocale());
-        NotificationDispatchAttempt attempt = sendWithRetry("EMAIL", () -> emailNotificationAdapter.send(new EmailMessage(
+        NotificationAttempt attempt = sendWithRetry("EMAIL", null, () -> emailNotificationAdapter.send(new EmailMessage(
                 template.getTo(), template.getCc(), template.getSubject(), template.getContent())));
         NotificationResult result = attempt.result();
         Map<String, String> metadata = new LinkedHashMap<>();
@@ -1307,7 +1881,7 @@ public class InMemoryPlanService implements PlanService {
     private ActionDispatchResult dispatchInstantMessage(String actionRef, Map<String, String> context) {
         long templateId = parseTemplateId(actionRef);
         RenderedTemplate template = templateService.render(templateId, context, LocaleContextHolder.getLocale());
-        NotificationDispatchAttempt attempt = sendWithRetry("IM", () -> instantMessageNotificationAdapter.send(new InstantMessage(
+        NotificationAttempt attempt = sendWithRetry("IM", null, () -> instantMessageNotificationAdapter.send(new InstantMessage(
                 template.getTo(), template.getContent())));
         NotificationResult result = attempt.result();
         Map<String, String> metadata = new LinkedHashMap<>();
@@ -1379,7 +1953,7 @@ public class InMemoryPlanService implements PlanService {
         }
         Map<String, String> headers = extractHeaders(templateMetadata);
         ApiCallRequest request = new ApiCallRequest(endpoint, method, template.getContent(), headers);
-        NotificationDispatchAttempt attempt = sendWithRetry("API", () -> apiNotificationAdapter.invoke(request));
+        NotificationAttempt attempt = sendWithRetry("API", endpoint, () -> apiNotificationAdapter.invoke(request));
         NotificationResult result = attempt.result();
         metadata.putAll(result.getMetadata());
         metadata.put("attempts", String.valueOf(attempt.attempts()));
@@ -1407,29 +1981,20 @@ public class InMemoryPlanService implements PlanService {
         return headers;
     }
 
-    private NotificationDispatchAttempt sendWithRetry(String channel, Supplier<NotificationResult> supplier) {
-        NotificationResult lastResult = NotificationResult.failure(channel, "plan.action.failed",
-                message("plan.error.nodeActionNoResponse", channel), Map.of("reason", "NO_RESPONSE"));
-        int attempts = 0;
-        while (attempts < MAX_ACTION_ATTEMPTS) {
-            attempts++;
+    private NotificationAttempt sendWithRetry(String channel, String endpoint, Supplier<NotificationResult> supplier) {
+        return notificationRetry.execute(channel, endpoint, () -> {
             try {
                 NotificationResult candidate = supplier.get();
                 if (candidate != null) {
-                    lastResult = candidate;
-                } else {
-                    lastResult = NotificationResult.failure(channel, "plan.action.failed",
-                            message("plan.error.nodeActionNoResponse", channel), Map.of("reason", "NO_RESPONSE"));
+                    return candidate;
                 }
             } catch (Exception ex) {
-                lastResult = NotificationResult.failure(channel, "plan.action.failed", ex.getMessage(),
+                return NotificationResult.failure(channel, "plan.action.failed", ex.getMessage(),
                         Map.of("reason", "EXCEPTION"));
             }
-            if (lastResult.isSuccess()) {
-                break;
-            }
-        }
-        return new NotificationDispatchAttempt(lastResult, attempts == 0 ? 1 : attempts);
+            return NotificationResult.failure(channel, "plan.action.failed",
+                    message("plan.error.nodeActionNoResponse", channel), Map.of("reason", "NO_RESPONSE"));
+        });
     }
 
     private long parseTemplateId(String actionRef) {
@@ -1440,14 +2005,6 @@ public class InMemoryPlanService implements PlanService {
         }
     }
 
-    private record NotificationDispatchAttempt(NotificationResult result, int attempts) {
-
-        private NotificationDispatchAttempt {
-            result = Objects.requireNonNull(result, "result");
-            attempts = Math.max(attempts, 1);
-        }
-    }
-
     private record ActionDispatchResult(PlanActionStatus status, String message, String error,
                                         Map<String, String> context,
                                         Map<String, String> metadata) {
@@ -1490,12 +2047,223 @@ public class InMemoryPlanService implements PlanService {
         return changed ? updated : nodes;
     }
 
-    private void persistAggregateState(Plan plan) {
-        timelines().replaceTimeline(plan.getId(), plan.getActivities());
+    /**
+     * Saves a plan that was changed outside of the node workflow. These updates are not retried: a version
+     * conflict means someone else changed the plan since it was read, and the caller has to decide again.
+     */
+    private void savePlan(Plan plan) {
+        try {
+            storePlan(plan);
+        } catch (OptimisticLockingFailureException ex) {
+            throw concurrentModification(ex);
+        }
+    }
+
+    private void storePlan(Plan plan) {
+        plans().save(plan);
+        trackPlan(plan);
+    }
+
+    /**
+     * Feeds a stored plan into the read models kept by this service; they apply it once the transaction
+     * committed.
+     */
+    private void trackPlan(Plan plan) {
+        analyticsSnapshots.put(new PlanAnalyticsSnapshots.Entry(plan.getId(), plan.getTenantId(),
+                plan.getCustomerId(), plan.getOwner(), plan.getTitle(), plan.getStatus(),
+                plan.getPlannedStartTime(), plan.getPlannedEndTime(), plan.getProgress()));
+        filterFacets.invalidate(plan.getTenantId());
+        PlanScheduleIndex.Entry entry = scheduleEntry(plan.getId(), plan.getTenantId(), plan.getCustomerId(),
+                plan.getOwner(), plan.getTitle(), plan.getStatus(), plan.getPlannedStartTime(),
+                plan.getPlannedEndTime());
+        if (entry == null) {
+            scheduleIndex.remove(plan.getTenantId(), plan.getId());
+        } else {
+            scheduleIndex.put(entry);
+        }
+    }
+
+    private BusinessException concurrentModification(OptimisticLockingFailureException ex) {
+        return new BusinessException(ErrorCode.CONFLICT, message("plan.error.concurrentModification"), ex);
+    }
+
+    private Plan recordNodeAction(Plan saved, PlanActivity actionActivity) {
+        if (actionActivity == null) {
+            return saved;
+        }
+        return saved.withNodes(saved.getNodes(), saved.getExecutions(), saved.getUpdatedAt(),
+                appendActivity(saved, actionActivity));
+    }
+
+    private void persistAggregateState(Plan previous, Plan plan) {
+        timelines().appendActivities(plan.getId(), recordedActivities(previous, plan));
         reminderPolicies().replaceReminderPolicy(plan.getId(), plan.getReminderPolicy());
+        if (reminderScheduleChanged(previous, plan)) {
+            syncReminderOccurrences(plan);
+        }
         attachments().replaceAttachments(plan.getId(), collectAttachments(plan.getExecutions()));
     }
 
+    private boolean reminderScheduleChanged(Plan previous, Plan plan) {
+        return previous == null
+                || previous.getStatus() != plan.getStatus()
+                || !Objects.equals(previous.getPlannedStartTime(), plan.getPlannedStartTime())
+                || !Objects.equals(previous.getPlannedEndTime(), plan.getPlannedEndTime())
+                || previous.getReminderPolicy() != plan.getReminderPolicy();
+    }
+
+    private void syncReminderOccurrences(Plan plan) {
+        List<PlanReminderOccurrence> occurrences = reminderOccurrences(plan);
+        reminderPolicies().replaceReminderOccurrences(plan.getId(), occurrences, OffsetDateTime.now());
+        if (reminderEngine != null && !occurrences.isEmpty()) {
+            PlanTransactions.afterCommit(() -> reminderEngine.reschedule(occurrences));
+        }
+    }
+
+    private List<PlanReminderOccurrence> reminderOccurrences(Plan plan) {
+        if (!remindable(plan) || plan.getReminderPolicy() == null) {
+            return List.of();
+        }
+        List<PlanReminderOccurrence> occurrences = new ArrayList<>();
+        for (PlanReminderRule rule : plan.getReminderPolicy().getRules()) {
+            OffsetDateTime fireTime = rule.isActive() ? computeReminderFireTime(plan, rule) : null;
+            if (fireTime != null) {
+                occurrences.add(new PlanReminderOccurrence(plan.getId(), rule.getId(), fireTime));
+            }
+        }
+        return occurrences;
+    }
+
+    private boolean remindable(Plan plan) {
+        return plan.getStatus() == PlanStatus.SCHEDULED || plan.getStatus() == PlanStatus.IN_PROGRESS;
+    }
+
+    /**
+     * Sends a reminder that fell due. The plan is reloaded, so a reminder whose plan was cancelled, completed
+     * or deleted, or whose rule was disabled since the occurrence was stored, is skipped. As for node actions,
+     * a numeric template supplies the content and its own recipients; the owner and participants named by the
+     * rule are added as user ids for IM and as the users' email addresses for email.
+     */
+    PlanActionStatus deliverReminder(PlanReminderOccurrence occurrence) {
+        Plan plan = plans().findById(occurrence.planId()).orElse(null);
+        if (plan == null || !remindable(plan) || plan.getReminderPolicy() == null) {
+            return PlanActionStatus.SKIPPED;
+        }
+        PlanReminderRule rule = plan.getReminderPolicy().getRules().stream()
+                .filter(candidate -> candidate.getId().equals(occurrence.reminderId()) && candidate.isActive())
+                .findFirst()
+                .orElse(null);
+        if (rule == null) {
+            return PlanActionStatus.SKIPPED;
+        }
+        RenderedTemplate template = null;
+        String subject;
+        String content;
+        if (StringUtils.hasText(rule.getTemplateId()) && rule.getTemplateId().chars().allMatch(Character::isDigit)) {
+            Map<String, String> context = new LinkedHashMap<>();
+            context.put("planId", plan.getId());
+            context.put("planTitle", plan.getTitle());
+            context.put("reminderId", rule.getId());
+            context.put("fireTime", occurrence.fireTime().toString());
+            template = templateService.render(parseTemplateId(rule.getTemplateId()), context,
+                    LocaleContextHolder.getLocale());
+            subject = template.getSubject();
+            content = template.getContent();
+        } else {
+            subject = message("plan.reminder.notification.subject", plan.getTitle());
+            content = message("plan.reminder.notification.content", plan.getTitle(), occurrence.fireTime());
+        }
+        List<String> templateTo = template == null ? List.of() : template.getTo();
+        List<String> cc = template == null ? List.of() : template.getCc();
+        List<String> members = reminderRecipients(plan, rule);
+        boolean sent = false;
+        boolean failed = false;
+        for (String channel : rule.getChannels()) {
+            NotificationAttempt attempt = switch (channel.toUpperCase(Locale.ROOT)) {
+                case "EMAIL" -> {
+                    List<String> to = union(templateTo, emailAddresses(members));
+                    yield to.isEmpty() ? null : sendWithRetry("EMAIL", null, () -> emailNotificationAdapter.send(
+                            new EmailMessage(to, cc, subject, content)));
+                }
+                case "IM" -> {
+                    List<String> to = union(templateTo, members);
+                    yield to.isEmpty() ? null : sendWithRetry("IM", null, () -> instantMessageNotificationAdapter.send(
+                            new InstantMessage(to, content)));
+                }
+                // no adapter exists for the remaining channels, such as SMS
+                default -> null;
+            };
+            if (attempt != null) {
+                sent |= attempt.result().isSuccess();
+                failed |= !attempt.result().isSuccess();
+            }
+        }
+        if (failed) {
+            return PlanActionStatus.FAILED;
+        }
+        return sent ? PlanActionStatus.SUCCESS : PlanActionStatus.SKIPPED;
+    }
+
+    /**
+     * @return user ids for the OWNER and PARTICIPANTS groups, other entries as configured
+     */
+    private List<String> reminderRecipients(Plan plan, PlanReminderRule rule) {
+        Set<String> recipients = new LinkedHashSet<>();
+        for (String recipient : rule.getRecipients()) {
+            switch (recipient) {
+                case "OWNER" -> {
+                    if (StringUtils.hasText(plan.getOwner())) {
+                        recipients.add(plan.getOwner());
+                    }
+                }
+                case "PARTICIPANTS" -> recipients.addAll(plan.getParticipants());
+                default -> {
+                    if (StringUtils.hasText(recipient)) {
+                        recipients.add(recipient);
+                    }
+                }
+            }
+        }
+        return List.copyOf(recipients);
+    }
+
+    /**
+     * Entries that already are addresses are kept; user ids are replaced by the user's email address and
+     * dropped when no user store is available or the user has none.
+     */
+    private List<String> emailAddresses(List<String> recipients) {
+        List<String> addresses = new ArrayList<>();
+        for (String recipient : recipients) {
+            if (recipient.contains("@")) {
+                addresses.add(recipient);
+            } else if (userRepository != null) {
+                userRepository.findById(recipient)
+                        .map(User::getEmail)
+                        .filter(StringUtils::hasText)
+                        .ifPresent(addresses::add);
+            }
+        }
+        return addresses;
+    }
+
+    private static List<String> union(List<String> first, List<String> second) {
+        Set<String> merged = new LinkedHashSet<>(first);
+        merged.addAll(second);
+        return List.copyOf(merged);
+    }
+
+    private List<PlanActivity> recordedActivities(Plan previous, Plan plan) {
+        if (previous == null) {
+            return plan.getActivities();
+        }
+        Set<String> known = previous.getActivities().stream()
+                .map(PlanActivity::getId)
+                .collect(Collectors.toSet());
+        return plan.getActivities().stream()
+                .filter(activity -> !known.contains(activity.getId()))
+                .toList();
+    }
+
     private Map<String, List<String>> collectAttachments(List<PlanNodeExecution> executions) {
         if (executions == null || executions.isEmpty()) {
             return Map.of();
@@ -1533,51 +2301,42 @@ public class InMemoryPlanService implements PlanService {
         return attributes;
     }
 
-    private String buildEvent(Plan plan) {
-        OffsetDateTime start = plan.getPlannedStartTime();
-        OffsetDateTime end = plan.getPlannedEndTime();
-        String status = switch (plan.getStatus()) {
+    private String buildEvent(PlanCalendarEntry entry) {
+        OffsetDateTime start = entry.plannedStartTime();
+        OffsetDateTime end = entry.plannedEndTime();
+        String status = switch (entry.status()) {
             case CANCELED -> "CANCELLED";
             case COMPLETED -> "COMPLETED";
             default -> "CONFIRMED";
         };
         String descriptionHeader = message("plan.ics.description",
-                plan.getDescription() == null ? "" : escape(plan.getDescription()),
-                escape(plan.getOwner()), plan.getStatus().name());
+                entry.description() == null ? "" : escape(entry.description()),
+                escape(entry.owner()), entry.status().name());
         StringBuilder descriptionBuilder = new StringBuilder(descriptionHeader);
-        if (plan.getStatus() == PlanStatus.CANCELED) {
-            if (StringUtils.hasText(plan.getCancelReason())) {
-                descriptionBuilder.append(message("plan.ics.cancel.reason", escape(plan.getCancelReason())));
+        if (entry.status() == PlanStatus.CANCELED) {
+            if (StringUtils.hasText(entry.cancelReason())) {
+                descriptionBuilder.append(message("plan.ics.cancel.reason", escape(entry.cancelReason())));
             }
-            if (StringUtils.hasText(plan.getCanceledBy())) {
-                descriptionBuilder.append(message("plan.ics.cancel.operator", escape(plan.getCanceledBy())));
+            if (StringUtils.hasText(entry.canceledBy())) {
+                descriptionBuilder.append(message("plan.ics.cancel.operator", escape(entry.canceledBy())));
             }
-            if (plan.getCanceledAt() != null) {
+            if (entry.canceledAt() != null) {
                 descriptionBuilder.append(message("plan.ics.cancel.time",
-                        escape(plan.getCanceledAt().toString())));
+                        escape(entry.canceledAt().toString())));
             }
         }
         String description = descriptionBuilder.toString();
         return "BEGIN:VEVENT\n" +
-                "UID:" + plan.getId() + "@bob-mta.local\n" +
+                "UID:" + entry.id() + "@bob-mta.local\n" +
                 "DTSTAMP:" + ICS_FORMATTER.format(OffsetDateTime.now()) + "\n" +
                 "DTSTART:" + ICS_FORMATTER.format(start) + "\n" +
                 "DTEND:" + ICS_FORMATTER.format(end) + "\n" +
-                "SUMMARY:" + escape(plan.getTitle()) + "\n" +
+                "SUMMARY:" + escape(entry.title()) + "\n" +
                 "DESCRIPTION:" + description + "\n" +
                 "STATUS:" + status + "\n" +
                 "END:VEVENT";
     }
 
-    private String wrapCalendar(List<String> events) {
-        String body = events.isEmpty() ? "" : String.join("\n", events) + "\n";
-        return "BEGIN:VCALENDAR\n" +
-                "VERSION:2.0\n" +
-                "PRODID:-//BOB MTA//EN\n" +
-                body +
-                "END:VCALENDAR\n";
-    }
-
     private String escape(String value) {
         if (!StringUtils.hasText(value)) {
             return "";
@@ -1588,17 +2347,12 @@ public class InMemoryPlanService implements PlanService {
                 .replace(";", "\\;");
     }
 
-    private List<PlanReminderRule> defaultReminderRules() {
-        List<PlanReminderRule> rules = new ArrayList<>();
-        rules.add(new PlanReminderRule(nextReminderId(), PlanReminderTrigger.BEFORE_PLAN_START, 120,
-                List.of("EMAIL"), "plan-start-email", List.of("PARTICIPANTS"),
-                message("plan.reminder.default.start2h")));
-        rules.add(new PlanReminderRule(nextReminderId(), PlanReminderTrigger.BEFORE_PLAN_START, 30,
-                List.of("IM", "SMS"), "plan-start-alert", List.of("OWNER"),
-                message("plan.reminder.default.start30m")));
-        rules.add(new PlanReminderRule(nextReminderId(), PlanReminderTrigger.BEFORE_PLAN_END, 15,
-                List.of("EMAIL"), "plan-summary-reminder", List.of("OWNER"),
-                message("plan.reminder.default.end15m")));
+    private List<PlanReminderRule> defaultReminderRules(Supplier<String> reminderIds) {
+        List<PlanReminderRule> rules = new ArrayList<>(DEFAULT_REMINDER_RULES.size());
+        for (DefaultReminderRule rule : DEFAULT_REMINDER_RULES) {
+            rules.add(new PlanReminderRule(reminderIds.get(), rule.trigger(), rule.offsetMinutes(),
+                    rule.channels(), rule.templateId(), rule.recipients(), message(rule.descriptionKey())));
+        }
         return rules;
     }
 
@@ -5,6 +5,8 @@ import com.bob.mta.modules.file.service.FileService;
 import com.bob.mta.modules.notification.ApiNotificationAdapter;
 import com.bob.mta.modules.notification.EmailNotificationAdapter;
 import com.bob.mta.modules.notification.InstantMessageNotificationAdapter;
+import com.bob.mta.modules.notification.NotificationRetryExecutor;
+import com.bob.mta.modules.plan.PlanProperties;
 import com.bob.mta.modules.plan.persistence.PlanAggregateMapper;
 import com.bob.mta.modules.plan.repository.PlanActionHistoryRepository;
 import com.bob.mta.modules.plan.repository.PlanAggregateRepository;
@@ -29,9 +31,11 @@ public class PersistencePlanService extends InMemoryPlanService {
                                   EmailNotificationAdapter emailNotificationAdapter,
                                   InstantMessageNotificationAdapter instantMessageNotificationAdapter,
                                   ApiNotificationAdapter apiNotificationAdapter,
-                                  MessageResolver messageResolver) {
+                                  MessageResolver messageResolver,
+                                  PlanProperties properties,
+                                  NotificationRetryExecutor notificationRetry) {
         super(fileService, planRepository, planAnalyticsRepository, actionHistoryRepository,
                 templateService, emailNotificationAdapter, instantMessageNotificationAdapter,
-                apiNotificationAdapter, messageResolver);
+                apiNotificationAdapter, messageResolver, properties, notificationRetry);
     }
 }
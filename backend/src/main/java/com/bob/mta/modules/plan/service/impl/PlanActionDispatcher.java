@@ -0,0 +1,145 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.PlanProperties;
+import com.bob.mta.modules.plan.domain.PlanActionHistory;
+import com.bob.mta.modules.plan.repository.PlanActionHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Delivers node actions that the node transitions recorded as {@code PENDING} in the action history, which
+ * serves as their outbox. A pending action is written already leased to this instance and handed to a bounded
+ * pool of workers after commit; its outcome replaces the pending entry. The sweep renews the leases of the
+ * actions still queued here and leases back actions whose owner went away, so every pending action is
+ * delivered at least once. A worker only sends an action after extending its lease, which fails once the action
+ * was completed or its lease was taken over, so two instances never deliver the same action concurrently.
+ */
+final class PlanActionDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanActionDispatcher.class);
+
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final PlanActionHistoryRepository repository;
+    private final UnaryOperator<PlanActionHistory> delivery;
+    private final Duration lease;
+    private final Clock clock;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService sweeper;
+    private final String owner;
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    PlanActionDispatcher(PlanActionHistoryRepository repository, UnaryOperator<PlanActionHistory> delivery,
+                         PlanProperties.ActionDispatch settings, Clock clock) {
+        this.repository = repository;
+        this.delivery = delivery;
+        this.lease = settings.getLease();
+        this.clock = clock;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+                + UUID.randomUUID().toString().substring(0, 8);
+        int poolSize = Math.max(1, settings.getWorkers());
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())), threads("plan-action-"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(threads("plan-action-sweep-"));
+        long sweepMillis = Math.max(1L, Math.min(settings.getSweepInterval().toMillis(), lease.toMillis() / 2));
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records a pending action leased to this instance and queues it for delivery once the surrounding
+     * transaction commits.
+     */
+    void enqueue(PlanActionHistory pending) {
+        repository.appendPending(pending, owner, OffsetDateTime.now(clock).plus(lease));
+        PlanTransactions.afterCommit(() -> submit(pending));
+    }
+
+    void submit(PlanActionHistory pending) {
+        held.add(pending.getId());
+        try {
+            workers.execute(() -> deliver(pending));
+        } catch (RejectedExecutionException ex) {
+            held.remove(pending.getId());
+            release(pending.getId());
+            log.warn("Node action {} left pending, dispatch queue is full", pending.getId());
+        }
+    }
+
+    void sweep() {
+        try {
+            int capacity = Math.min(workers.getQueue().remainingCapacity(), SWEEP_BATCH_SIZE);
+            if (capacity == 0 || workers.isShutdown()) {
+                return;
+            }
+            OffsetDateTime now = OffsetDateTime.now(clock);
+            if (!held.isEmpty()) {
+                repository.renewLeases(Set.copyOf(held), owner, now.plus(lease));
+            }
+            repository.claimPending(owner, now, now.minus(lease), now.plus(lease), capacity)
+                    .forEach(this::submit);
+        } catch (RuntimeException ex) {
+            log.warn("Sweeping pending node actions failed", ex);
+        }
+    }
+
+    void shutdown() {
+        sweeper.shutdownNow();
+        workers.shutdown();
+    }
+
+    private void deliver(PlanActionHistory pending) {
+        try {
+            Set<String> renewed = repository.renewLeases(List.of(pending.getId()), owner,
+                    OffsetDateTime.now(clock).plus(lease));
+            if (!renewed.contains(pending.getId())) {
+                log.info("Node action {} skipped, it is no longer pending under this instance's lease",
+                        pending.getId());
+                return;
+            }
+            repository.update(delivery.apply(pending));
+        } catch (RuntimeException ex) {
+            log.warn("Node action {} could not be delivered", pending.getId(), ex);
+        } finally {
+            held.remove(pending.getId());
+        }
+    }
+
+    /**
+     * Lets the sweep of any instance pick up an action this instance cannot queue, instead of waiting for
+     * the lease written on insert to run out.
+     */
+    private void release(String actionId) {
+        try {
+            repository.renewLeases(List.of(actionId), owner, OffsetDateTime.now(clock));
+        } catch (RuntimeException ex) {
+            log.warn("Lease of node action {} could not be released", actionId, ex);
+        }
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,304 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.domain.PlanAnalytics;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanAnalyticsQuery;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Continuously maintained analytics of a tenant, optionally narrowed to a customer and an owner, so that
+ * reading the dashboard does not touch the plans again.
+ * <p>
+ * Counters are adjusted per write. Upcoming and risk plans are read from sets ordered by planned start and
+ * planned end, which only requires walking the first entries after the current time. The one figure that
+ * changes without a write, an active plan passing its planned end and becoming overdue, is driven by a
+ * {@link PlanTimerWheel}. Scopes are kept in a {@link PlanReadModelCache} and subject to its staleness.
+ */
+final class PlanAnalyticsSnapshots {
+
+    private static final Duration TIMER_TICK = Duration.ofSeconds(1);
+    private static final int TIMER_WHEEL_SIZE = 512;
+
+    private static final Comparator<Tracked> START_ORDER =
+            Comparator.comparing((Tracked tracked) -> tracked.start).thenComparing(tracked -> tracked.entry.planId());
+    private static final Comparator<Tracked> END_ORDER =
+            Comparator.comparing((Tracked tracked) -> tracked.end).thenComparing(tracked -> tracked.entry.planId());
+    private static final Comparator<PlanAnalytics.OwnerLoad> OWNER_ORDER =
+            Comparator.comparingLong(PlanAnalytics.OwnerLoad::getActivePlans).reversed()
+                    .thenComparing(Comparator.comparingLong(PlanAnalytics.OwnerLoad::getOverduePlans).reversed())
+                    .thenComparing(PlanAnalytics.OwnerLoad::getOwnerId);
+
+    private final PlanReadModelCache<Scope, Snapshot> snapshots;
+
+    PlanAnalyticsSnapshots(Function<Scope, List<Entry>> loader, Duration refreshInterval, Clock clock) {
+        Objects.requireNonNull(loader, "loader");
+        Objects.requireNonNull(clock, "clock");
+        this.snapshots = new PlanReadModelCache<>(scope -> {
+            Snapshot snapshot = new Snapshot(scope);
+            snapshot.load(loader.apply(scope), clock.instant());
+            return snapshot;
+        }, refreshInterval, clock);
+    }
+
+    /**
+     * Snapshots only exist per tenant, customer and owner; queries restricted to a time range or to
+     * statuses have to be answered by the repository.
+     */
+    static boolean supports(PlanAnalyticsQuery query) {
+        return query.getFrom() == null && query.getTo() == null && query.getStatuses().isEmpty();
+    }
+
+    PlanAnalytics read(PlanAnalyticsQuery query) {
+        Scope scope = new Scope(query.getTenantId(), query.getCustomerId(), query.getOwnerId());
+        return snapshots.read(scope, (snapshot, now) -> {
+            snapshot.advance(now);
+            return snapshot.toAnalytics(query, now);
+        });
+    }
+
+    void put(Entry entry) {
+        Objects.requireNonNull(entry, "entry");
+        snapshots.updateAll((snapshot, now) -> snapshot.replace(entry.planId(), entry, now));
+    }
+
+    void remove(String planId) {
+        if (planId == null) {
+            return;
+        }
+        snapshots.updateAll((snapshot, now) -> snapshot.replace(planId, null, now));
+    }
+
+    /**
+     * Plans covered by a snapshot; {@code null} components match every plan.
+     */
+    record Scope(String tenantId, String customerId, String ownerId) {
+
+        boolean includes(Entry entry) {
+            return (tenantId == null || tenantId.equals(entry.tenantId()))
+                    && (customerId == null || customerId.equals(entry.customerId()))
+                    && (ownerId == null || ownerId.equals(entry.ownerId()));
+        }
+    }
+
+    /**
+     * The fields of a plan the analytics are derived from.
+     */
+    record Entry(String planId, String tenantId, String customerId, String ownerId, String title,
+                 PlanStatus status, OffsetDateTime plannedStartTime, OffsetDateTime plannedEndTime, int progress) {
+
+        Entry {
+            Objects.requireNonNull(planId, "planId");
+        }
+
+        private boolean active() {
+            return status == PlanStatus.SCHEDULED || status == PlanStatus.IN_PROGRESS;
+        }
+
+        private boolean pending() {
+            return status != PlanStatus.CANCELED && status != PlanStatus.COMPLETED;
+        }
+    }
+
+    private static final class Tracked {
+
+        private final Entry entry;
+        private final Instant start;
+        private final Instant end;
+        private boolean overdue;
+        private boolean removed;
+
+        private Tracked(Entry entry) {
+            this.entry = entry;
+            this.start = entry.plannedStartTime() == null ? null : entry.plannedStartTime().toInstant();
+            this.end = entry.plannedEndTime() == null ? null : entry.plannedEndTime().toInstant();
+        }
+
+        private Tracked(Instant start, Instant end) {
+            this.entry = new Entry("", null, null, null, null, null, null, null, 0);
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final Scope scope;
+        private final Map<String, Tracked> plans = new HashMap<>();
+        private final long[] statusCounts = new long[PlanStatus.values().length];
+        private final Map<String, long[]> owners = new HashMap<>();
+        private final TreeSet<Tracked> byStart = new TreeSet<>(START_ORDER);
+        private final TreeSet<Tracked> byEnd = new TreeSet<>(END_ORDER);
+        private PlanTimerWheel<Tracked> overdueTimers;
+        private long overdue;
+
+        private Snapshot(Scope scope) {
+            this.scope = scope;
+        }
+
+        private void load(List<Entry> entries, Instant now) {
+            plans.clear();
+            owners.clear();
+            byStart.clear();
+            byEnd.clear();
+            Arrays.fill(statusCounts, 0);
+            overdue = 0;
+            overdueTimers = new PlanTimerWheel<>(TIMER_TICK, TIMER_WHEEL_SIZE, now);
+            for (Entry entry : entries) {
+                add(entry, now);
+            }
+        }
+
+        private void replace(String planId, Entry replacement, Instant now) {
+            advance(now);
+            remove(planId);
+            if (replacement != null && scope.includes(replacement)) {
+                add(replacement, now);
+            }
+        }
+
+        private void advance(Instant now) {
+            overdueTimers.advance(now, tracked -> {
+                if (!tracked.removed && !tracked.overdue) {
+                    markOverdue(tracked);
+                }
+            });
+        }
+
+        private void add(Entry entry, Instant now) {
+            Tracked tracked = new Tracked(entry);
+            plans.put(entry.planId(), tracked);
+            if (entry.status() != null) {
+                statusCounts[entry.status().ordinal()]++;
+            }
+            long[] load = ownerLoad(entry.ownerId());
+            if (load != null) {
+                load[0]++;
+                if (entry.active()) {
+                    load[1]++;
+                }
+            }
+            if (tracked.start != null && entry.pending()) {
+                byStart.add(tracked);
+            }
+            if (tracked.end != null && entry.active()) {
+                byEnd.add(tracked);
+                if (tracked.end.isBefore(now)) {
+                    markOverdue(tracked);
+                } else {
+                    overdueTimers.schedule(tracked.end.plusNanos(1), tracked);
+                }
+            }
+        }
+
+        private void remove(String planId) {
+            Tracked tracked = plans.remove(planId);
+            if (tracked == null) {
+                return;
+            }
+            tracked.removed = true;
+            Entry entry = tracked.entry;
+            if (entry.status() != null) {
+                statusCounts[entry.status().ordinal()]--;
+            }
+            long[] load = ownerLoad(entry.ownerId());
+            if (load != null) {
+                load[0]--;
+                if (entry.active()) {
+                    load[1]--;
+                }
+                if (tracked.overdue) {
+                    load[2]--;
+                }
+                if (load[0] == 0) {
+                    owners.remove(entry.ownerId());
+                }
+            }
+            if (tracked.overdue) {
+                overdue--;
+            }
+            byStart.remove(tracked);
+            byEnd.remove(tracked);
+        }
+
+        private void markOverdue(Tracked tracked) {
+            tracked.overdue = true;
+            overdue++;
+            long[] load = ownerLoad(tracked.entry.ownerId());
+            if (load != null) {
+                load[2]++;
+            }
+        }
+
+        private long[] ownerLoad(String owner) {
+            if (owner == null || owner.isBlank()) {
+                return null;
+            }
+            return owners.computeIfAbsent(owner, ignored -> new long[3]);
+        }
+
+        private PlanAnalytics toAnalytics(PlanAnalyticsQuery query, Instant now) {
+            List<PlanAnalytics.UpcomingPlan> upcoming = new ArrayList<>(query.getUpcomingLimit());
+            for (Tracked tracked : byStart.tailSet(new Tracked(now, null), true)) {
+                if (upcoming.size() >= query.getUpcomingLimit()) {
+                    break;
+                }
+                Entry entry = tracked.entry;
+                upcoming.add(new PlanAnalytics.UpcomingPlan(entry.planId(), entry.title(), entry.status(),
+                        entry.plannedStartTime(), entry.plannedEndTime(), entry.ownerId(), entry.customerId(),
+                        entry.progress()));
+            }
+
+            PriorityQueue<PlanAnalytics.OwnerLoad> topOwners = new PriorityQueue<>(OWNER_ORDER.reversed());
+            owners.forEach((owner, load) -> {
+                topOwners.add(new PlanAnalytics.OwnerLoad(owner, load[0], load[1], load[2]));
+                if (topOwners.size() > query.getOwnerLimit()) {
+                    topOwners.poll();
+                }
+            });
+            List<PlanAnalytics.OwnerLoad> ownerLoads = new ArrayList<>(topOwners);
+            ownerLoads.sort(OWNER_ORDER);
+
+            Instant dueSoonThreshold = now.plusSeconds(query.getDueSoonMinutes() * 60L);
+            List<PlanAnalytics.RiskPlan> riskPlans = new ArrayList<>(query.getRiskLimit());
+            for (Tracked tracked : byEnd) {
+                if (riskPlans.size() >= query.getRiskLimit() || !tracked.end.isBefore(dueSoonThreshold)) {
+                    break;
+                }
+                riskPlans.add(toRiskPlan(tracked, now));
+            }
+
+            return new PlanAnalytics(plans.size(),
+                    statusCounts[PlanStatus.DESIGN.ordinal()],
+                    statusCounts[PlanStatus.SCHEDULED.ordinal()],
+                    statusCounts[PlanStatus.IN_PROGRESS.ordinal()],
+                    statusCounts[PlanStatus.COMPLETED.ordinal()],
+                    statusCounts[PlanStatus.CANCELED.ordinal()],
+                    overdue, List.copyOf(upcoming), List.copyOf(ownerLoads), List.copyOf(riskPlans));
+        }
+
+        private PlanAnalytics.RiskPlan toRiskPlan(Tracked tracked, Instant now) {
+            Entry entry = tracked.entry;
+            boolean late = tracked.end.isBefore(now);
+            long minutesUntilDue = late ? 0 : Math.max(0, tracked.end.getEpochSecond() - now.getEpochSecond()) / 60;
+            long minutesOverdue = late ? Math.max(0, now.getEpochSecond() - tracked.end.getEpochSecond()) / 60 : 0;
+            return new PlanAnalytics.RiskPlan(entry.planId(), entry.title(), entry.status(), entry.plannedEndTime(),
+                    entry.ownerId(), entry.customerId(),
+                    late ? PlanAnalytics.RiskLevel.OVERDUE : PlanAnalytics.RiskLevel.DUE_SOON,
+                    minutesUntilDue, minutesOverdue);
+        }
+    }
+}
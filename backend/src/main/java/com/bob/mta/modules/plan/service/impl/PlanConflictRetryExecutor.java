@@ -0,0 +1,43 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a read-modify-write operation on a plan when the repository rejects the save because another
+ * writer bumped the plan version in between. Each attempt must reload the plan, so the operation is
+ * passed in as a whole rather than just its final save.
+ * <p>
+ * Side effects that must not be repeated (node action dispatch, notifications) have to happen after the
+ * save succeeded, otherwise a retried attempt would trigger them twice.
+ */
+final class PlanConflictRetryExecutor {
+
+    private final int maxAttempts;
+    private final Function<OptimisticLockingFailureException, RuntimeException> exhaustedHandler;
+
+    PlanConflictRetryExecutor(int maxAttempts,
+                              Function<OptimisticLockingFailureException, RuntimeException> exhaustedHandler) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+        this.exhaustedHandler = Objects.requireNonNull(exhaustedHandler, "exhaustedHandler");
+    }
+
+    <T> T execute(Supplier<T> operation) {
+        Objects.requireNonNull(operation, "operation");
+        OptimisticLockingFailureException lastConflict = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException ex) {
+                lastConflict = ex;
+            }
+        }
+        throw exhaustedHandler.apply(lastConflict);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.repository.PlanFilterFacets;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Caches the filter facets of each tenant scope, the unscoped view included, in a {@link PlanReadModelCache}
+ * and subject to its staleness. Writes of this instance evict the scope of the written plan and the unscoped
+ * view.
+ */
+final class PlanFilterFacetCache {
+
+    private static final String ALL_TENANTS = "";
+
+    private final PlanReadModelCache<String, PlanFilterFacets> scopes;
+
+    PlanFilterFacetCache(Function<String, PlanFilterFacets> loader, Duration refreshInterval, Clock clock) {
+        Objects.requireNonNull(loader, "loader");
+        this.scopes = new PlanReadModelCache<>(key -> loader.apply(ALL_TENANTS.equals(key) ? null : key),
+                refreshInterval, clock);
+    }
+
+    /**
+     * @param tenantId tenant scope, {@code null} for all tenants
+     */
+    PlanFilterFacets get(String tenantId) {
+        return scopes.read(tenantId == null ? ALL_TENANTS : tenantId, (facets, now) -> facets);
+    }
+
+    void invalidate(String tenantId) {
+        if (tenantId != null) {
+            scopes.invalidate(tenantId);
+        }
+        scopes.invalidate(ALL_TENANTS);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Hands out identifiers from blocks reserved through the repository, so that building many plans in a
+ * row does not cost one sequence round-trip per plan, node or reminder rule. Identifiers left over when
+ * the reservation is dropped are simply skipped, which is no different from a rolled back sequence call.
+ */
+final class PlanIdReservation implements Supplier<String> {
+
+    private final IntFunction<? extends Iterable<String>> reserve;
+    private final int blockSize;
+    private final Deque<String> available = new ArrayDeque<>();
+
+    PlanIdReservation(IntFunction<? extends Iterable<String>> reserve, int blockSize) {
+        this.reserve = Objects.requireNonNull(reserve, "reserve");
+        this.blockSize = Math.max(blockSize, 1);
+    }
+
+    @Override
+    public String get() {
+        if (available.isEmpty()) {
+            reserve.apply(blockSize).forEach(available::addLast);
+            if (available.isEmpty()) {
+                throw new IllegalStateException("No identifiers could be reserved");
+            }
+        }
+        return available.pollFirst();
+    }
+}
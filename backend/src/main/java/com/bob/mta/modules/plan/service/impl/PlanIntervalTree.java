@@ -0,0 +1,161 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Interval tree over scheduled plan windows, implemented as a treap ordered by window start and plan id
+ * where every node also tracks the latest end below it. Inserts and removals are O(log n) expected; an
+ * overlap query prunes every subtree that ends before the window or starts after it and therefore costs
+ * O(log n + k) for k matches. Windows are closed on both ends, like the conflict checks of the service.
+ * <p>
+ * Not thread safe; {@link PlanScheduleIndex} guards each tree with the lock of its tenant.
+ */
+final class PlanIntervalTree {
+
+    private static final Comparator<PlanScheduleIndex.Entry> ORDER =
+            Comparator.comparing((PlanScheduleIndex.Entry entry) -> entry.start().toInstant())
+                    .thenComparing(PlanScheduleIndex.Entry::planId);
+
+    private Node root;
+    private int size;
+
+    void insert(PlanScheduleIndex.Entry entry) {
+        root = insert(root, new Node(entry));
+        size++;
+    }
+
+    boolean remove(PlanScheduleIndex.Entry entry) {
+        int before = size;
+        root = remove(root, entry);
+        return size < before;
+    }
+
+    void findOverlapping(Instant from, Instant to, Consumer<PlanScheduleIndex.Entry> sink) {
+        findOverlapping(root, from, to, sink);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (ORDER.compare(added.entry, node.entry) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node remove(Node node, PlanScheduleIndex.Entry entry) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = ORDER.compare(entry, node.entry);
+        if (comparison < 0) {
+            node.left = remove(node.left, entry);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, entry);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private void findOverlapping(Node node, Instant from, Instant to, Consumer<PlanScheduleIndex.Entry> sink) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        findOverlapping(node.left, from, to, sink);
+        if (node.start.isAfter(to)) {
+            return;
+        }
+        if (!node.end.isBefore(from)) {
+            sink.accept(node.entry);
+        }
+        findOverlapping(node.right, from, to, sink);
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static final class Node {
+
+        private final PlanScheduleIndex.Entry entry;
+        private final Instant start;
+        private final Instant end;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Instant maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(PlanScheduleIndex.Entry entry) {
+            this.entry = entry;
+            this.start = entry.start().toInstant();
+            this.end = entry.end().toInstant();
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            Instant latest = end;
+            if (left != null && left.maxEnd.isAfter(latest)) {
+                latest = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(latest)) {
+                latest = right.maxEnd;
+            }
+            maxEnd = latest;
+        }
+    }
+}
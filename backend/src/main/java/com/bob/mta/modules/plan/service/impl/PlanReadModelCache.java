@@ -0,0 +1,109 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Plan read models kept in memory per scope, such as a tenant or a customer and owner within one.
+ * <p>
+ * A scope is loaded on its first read. Writes of this instance are applied to the loaded scopes once their
+ * transaction committed, so this instance reads its own writes right away. Writes of other instances are not
+ * observed: a scope is loaded again on the first read after {@code refreshInterval}, so reads may miss them
+ * for up to that interval. Decisions that must not rest on such a read, like accepting a write, have to be
+ * confirmed against the repository. Scopes that were not read for {@code refreshInterval} are dropped.
+ * <p>
+ * Readers and writers of a scope are serialized on it, so models do not need to be thread safe.
+ */
+final class PlanReadModelCache<K, M> {
+
+    private final Function<K, M> loader;
+    private final Duration refreshInterval;
+    private final Clock clock;
+    private final ConcurrentMap<K, Holder<M>> scopes = new ConcurrentHashMap<>();
+
+    PlanReadModelCache(Function<K, M> loader, Duration refreshInterval, Clock clock) {
+        this.loader = Objects.requireNonNull(loader, "loader");
+        this.refreshInterval = Objects.requireNonNull(refreshInterval, "refreshInterval");
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
+    /**
+     * Applies {@code reader} to the model of {@code scope}, loading it first when it is missing or due for
+     * a refresh.
+     */
+    <R> R read(K scope, BiFunction<M, Instant, R> reader) {
+        Holder<M> holder = scopes.get(scope);
+        if (holder == null) {
+            evictIdle();
+            holder = scopes.computeIfAbsent(scope, ignored -> new Holder<>());
+        }
+        Instant now = clock.instant();
+        synchronized (holder) {
+            holder.lastReadAt = now;
+            if (holder.loadedAt == null || !holder.loadedAt.plus(refreshInterval).isAfter(now)) {
+                holder.model = loader.apply(scope);
+                holder.loadedAt = now;
+            }
+            return reader.apply(holder.model, now);
+        }
+    }
+
+    /**
+     * Applies a write to the model of {@code scope} once the transaction committed. Scopes that are not
+     * loaded are left alone; their first read loads the committed state anyway.
+     */
+    void update(K scope, BiConsumer<M, Instant> change) {
+        PlanTransactions.afterCommit(() -> {
+            Holder<M> holder = scopes.get(scope);
+            if (holder != null) {
+                apply(holder, change);
+            }
+        });
+    }
+
+    /**
+     * Applies a write to every loaded model once the transaction committed.
+     */
+    void updateAll(BiConsumer<M, Instant> change) {
+        PlanTransactions.afterCommit(() -> scopes.values().forEach(holder -> apply(holder, change)));
+    }
+
+    /**
+     * Drops the model of {@code scope} once the transaction committed. A load running at that moment is
+     * returned to its reader but not kept.
+     */
+    void invalidate(K scope) {
+        PlanTransactions.afterCommit(() -> scopes.remove(scope));
+    }
+
+    private void apply(Holder<M> holder, BiConsumer<M, Instant> change) {
+        synchronized (holder) {
+            if (holder.loadedAt != null) {
+                change.accept(holder.model, clock.instant());
+            }
+        }
+    }
+
+    private void evictIdle() {
+        Instant threshold = clock.instant().minus(refreshInterval);
+        scopes.values().removeIf(holder -> {
+            synchronized (holder) {
+                return holder.lastReadAt != null && holder.lastReadAt.isBefore(threshold);
+            }
+        });
+    }
+
+    private static final class Holder<M> {
+
+        private M model;
+        private Instant loadedAt;
+        private Instant lastReadAt;
+    }
+}
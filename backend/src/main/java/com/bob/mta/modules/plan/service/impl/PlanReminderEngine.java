@@ -0,0 +1,185 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.PlanProperties;
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
+import com.bob.mta.modules.plan.repository.PlanReminderPolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends reminders when their occurrences fire. The occurrences live in the repository; every refresh leases
+ * those firing within {@code horizon} to this instance and hashes them into a {@link PlanTimerWheel}, so the
+ * memory of an instance is bounded by {@code maxLoaded} however many reminders are pending, and instances
+ * sharing a database never hold the same occurrence. When the wheel fires an occurrence, a worker claims it
+ * again, which fails if the occurrence was moved or dropped since it was leased, sends it and records the
+ * outcome; sent occurrences are never leased again, so restarts do not repeat them. Occurrences missed by more
+ * than {@code maxLateness} are marked skipped instead. On shutdown an instance releases the occurrences it
+ * leased but did not start sending, so that other instances take them over on their next refresh; the
+ * occurrences of an instance that went away without shutting down are only leased again once their lease
+ * expired, that is up to {@code lease} after their fire time.
+ * <p>
+ * The wheel is only touched by the timer thread.
+ */
+final class PlanReminderEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanReminderEngine.class);
+
+    private final PlanReminderPolicyRepository repository;
+    private final Function<PlanReminderOccurrence, PlanActionStatus> delivery;
+    private final Clock clock;
+    private final String owner;
+    private final Duration horizon;
+    private final Duration refreshInterval;
+    private final Duration lease;
+    private final Duration maxLateness;
+    private final int maxLoaded;
+    private final PlanTimerWheel<PlanReminderOccurrence> wheel;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService timer;
+
+    PlanReminderEngine(PlanReminderPolicyRepository repository,
+                       Function<PlanReminderOccurrence, PlanActionStatus> delivery,
+                       PlanProperties.Reminders settings, Clock clock) {
+        this.repository = repository;
+        this.delivery = delivery;
+        this.clock = clock;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+                + UUID.randomUUID().toString().substring(0, 8);
+        this.refreshInterval = settings.getRefreshInterval();
+        // a horizon shorter than two refreshes could let occurrences fire before any refresh leased them
+        this.horizon = settings.getHorizon().compareTo(refreshInterval.multipliedBy(2)) < 0
+                ? refreshInterval.multipliedBy(2) : settings.getHorizon();
+        this.lease = settings.getLease();
+        this.maxLateness = settings.getMaxLateness();
+        this.maxLoaded = Math.max(1, settings.getMaxLoaded());
+        this.wheel = new PlanTimerWheel<>(settings.getTick(), Math.max(1, settings.getWheelSize()), clock.instant());
+        int poolSize = Math.max(1, settings.getWorkers());
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())), threads("plan-reminder-"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(threads("plan-reminder-timer-"));
+        long tickMillis = Math.max(1L, settings.getTick().toMillis());
+        long refreshMillis = Math.max(1L, refreshInterval.toMillis());
+        timer.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        timer.scheduleWithFixedDelay(this::refresh, tickMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Called after the occurrences of a plan were stored. Occurrences firing before the next regular refresh
+     * are leased right away; later ones are left to the refreshes.
+     */
+    void reschedule(List<PlanReminderOccurrence> occurrences) {
+        Instant nextRefresh = clock.instant().plus(refreshInterval);
+        boolean urgent = occurrences.stream()
+                .anyMatch(occurrence -> occurrence.fireTime().toInstant().isBefore(nextRefresh));
+        if (!urgent) {
+            return;
+        }
+        try {
+            timer.execute(this::refresh);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Reminder engine is shut down, not refreshing");
+        }
+    }
+
+    void shutdown() {
+        timer.shutdownNow();
+        workers.shutdown();
+        try {
+            repository.releaseReminderOccurrences(owner);
+        } catch (RuntimeException ex) {
+            log.warn("Releasing leased reminder occurrences failed, they are taken over once their lease expired",
+                    ex);
+        }
+    }
+
+    private void tick() {
+        try {
+            wheel.advance(clock.instant(), this::fire);
+        } catch (RuntimeException ex) {
+            log.warn("Advancing the reminder wheel failed", ex);
+        }
+    }
+
+    private void refresh() {
+        try {
+            if (workers.isShutdown()) {
+                return;
+            }
+            OffsetDateTime now = OffsetDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+            int expired = repository.expireReminderOccurrences(now.minus(maxLateness), now);
+            if (expired > 0) {
+                log.warn("Skipped {} reminders missed by more than {}", expired, maxLateness);
+            }
+            int capacity = maxLoaded - wheel.pending();
+            if (capacity <= 0) {
+                return;
+            }
+            List<PlanReminderOccurrence> leased = repository.leaseReminderOccurrences(owner, now,
+                    now.minus(maxLateness), now.plus(horizon), lease, capacity);
+            for (PlanReminderOccurrence occurrence : leased) {
+                wheel.schedule(occurrence.fireTime().toInstant(), occurrence);
+            }
+            // occurrences that were already due are fired right away rather than on the next tick
+            tick();
+        } catch (RuntimeException ex) {
+            log.warn("Leasing reminder occurrences failed", ex);
+        }
+    }
+
+    private void fire(PlanReminderOccurrence occurrence) {
+        try {
+            workers.execute(() -> deliver(occurrence));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Reminder {} of plan {} deferred until its lease expires, reminder queue is full",
+                    occurrence.reminderId(), occurrence.planId());
+        }
+    }
+
+    private void deliver(PlanReminderOccurrence occurrence) {
+        try {
+            if (!repository.claimReminderOccurrence(occurrence, owner, OffsetDateTime.now(clock).plus(lease))) {
+                return;
+            }
+            PlanActionStatus outcome;
+            try {
+                outcome = delivery.apply(occurrence);
+            } catch (RuntimeException ex) {
+                log.warn("Reminder {} of plan {} could not be sent", occurrence.reminderId(),
+                        occurrence.planId(), ex);
+                outcome = PlanActionStatus.FAILED;
+            }
+            repository.completeReminderOccurrence(occurrence, owner, outcome, OffsetDateTime.now(clock));
+        } catch (RuntimeException ex) {
+            log.warn("Reminder {} of plan {} could not be recorded", occurrence.reminderId(),
+                    occurrence.planId(), ex);
+        }
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * In-memory index of the windows of plans that can cause schedule conflicts, one interval tree per
+ * customer and per owner of each tenant, kept per tenant in a {@link PlanReadModelCache} and subject to its
+ * staleness.
+ */
+final class PlanScheduleIndex {
+
+    private final PlanReadModelCache<String, TenantSchedule> tenants;
+
+    PlanScheduleIndex(Function<String, List<Entry>> loader, Duration refreshInterval, Clock clock) {
+        Objects.requireNonNull(loader, "loader");
+        this.tenants = new PlanReadModelCache<>(tenantId -> TenantSchedule.of(loader.apply(tenantId)),
+                refreshInterval, clock);
+    }
+
+    /**
+     * Returns the indexed plans whose window overlaps {@code [start, end]} and that share the customer or
+     * the owner, customer matches first, each in start order.
+     */
+    List<Entry> findOverlapping(String tenantId, String customerId, String ownerId, OffsetDateTime start,
+                                OffsetDateTime end, String excludePlanId) {
+        Map<String, Entry> matches = new LinkedHashMap<>();
+        Instant from = start.toInstant();
+        Instant to = end.toInstant();
+        tenants.read(tenantId, (schedule, now) -> {
+            collect(schedule.byCustomer.get(customerId), from, to, excludePlanId, matches);
+            collect(schedule.byOwner.get(ownerId), from, to, excludePlanId, matches);
+            return null;
+        });
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Indexes the current window of a plan, replacing the previous one.
+     */
+    void put(Entry entry) {
+        Objects.requireNonNull(entry, "entry");
+        tenants.update(entry.tenantId(), (schedule, now) -> {
+            schedule.remove(entry.planId());
+            schedule.add(entry);
+        });
+    }
+
+    void remove(String tenantId, String planId) {
+        if (tenantId == null || planId == null) {
+            return;
+        }
+        tenants.update(tenantId, (schedule, now) -> schedule.remove(planId));
+    }
+
+    private void collect(PlanIntervalTree tree, Instant from, Instant to, String excludePlanId,
+                         Map<String, Entry> sink) {
+        if (tree == null) {
+            return;
+        }
+        tree.findOverlapping(from, to, entry -> {
+            if (!entry.planId().equals(excludePlanId)) {
+                sink.putIfAbsent(entry.planId(), entry);
+            }
+        });
+    }
+
+    /**
+     * An indexed plan window. {@code start} and {@code end} are both present and ordered.
+     */
+    record Entry(String planId, String tenantId, String customerId, String ownerId, String title,
+                 OffsetDateTime start, OffsetDateTime end) {
+
+        Entry {
+            Objects.requireNonNull(planId, "planId");
+            Objects.requireNonNull(tenantId, "tenantId");
+            Objects.requireNonNull(start, "start");
+            Objects.requireNonNull(end, "end");
+        }
+    }
+
+    private static final class TenantSchedule {
+
+        private final Map<String, Entry> byPlan = new HashMap<>();
+        private final Map<String, PlanIntervalTree> byCustomer = new HashMap<>();
+        private final Map<String, PlanIntervalTree> byOwner = new HashMap<>();
+
+        private static TenantSchedule of(List<Entry> entries) {
+            TenantSchedule schedule = new TenantSchedule();
+            entries.forEach(schedule::add);
+            return schedule;
+        }
+
+        private void add(Entry entry) {
+            byPlan.put(entry.planId(), entry);
+            if (entry.customerId() != null) {
+                byCustomer.computeIfAbsent(entry.customerId(), ignored -> new PlanIntervalTree()).insert(entry);
+            }
+            if (entry.ownerId() != null) {
+                byOwner.computeIfAbsent(entry.ownerId(), ignored -> new PlanIntervalTree()).insert(entry);
+            }
+        }
+
+        private void remove(String planId) {
+            Entry previous = byPlan.remove(planId);
+            if (previous == null) {
+                return;
+            }
+            removeFrom(byCustomer, previous.customerId(), previous);
+            removeFrom(byOwner, previous.ownerId(), previous);
+        }
+
+        private void removeFrom(Map<String, PlanIntervalTree> trees, String key, Entry entry) {
+            if (key == null) {
+                return;
+            }
+            PlanIntervalTree tree = trees.get(key);
+            if (tree != null && tree.remove(entry) && tree.isEmpty()) {
+                trees.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for time based transitions of the analytics snapshots. Timeouts are hashed into
+ * {@code wheelSize} slots of one {@code tick} each; advancing the wheel only visits the slots of the ticks
+ * that elapsed since the previous advance, and timeouts that belong to a later round of the wheel stay in
+ * their slot. Scheduling is O(1), and advancing costs the elapsed slots plus the timeouts found in them.
+ * <p>
+ * The wheel has no thread of its own, it is advanced by its owner whenever the current time matters.
+ * Timeouts cannot be cancelled; the owner ignores payloads that became obsolete when they fire. Not thread
+ * safe.
+ */
+final class PlanTimerWheel<T> {
+
+    private final long tickMillis;
+    private final List<List<Timeout<T>>> slots;
+    private long currentTick;
+    private int pending;
+
+    PlanTimerWheel(Duration tick, int wheelSize, Instant start) {
+        Objects.requireNonNull(tick, "tick");
+        if (tick.toMillis() < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("tick and wheelSize must be positive");
+        }
+        this.tickMillis = tick.toMillis();
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = tickOf(start);
+    }
+
+    /**
+     * Registers {@code payload} to fire on the first advance to {@code deadline} or later. Deadlines in
+     * the past fire on the next advance.
+     */
+    void schedule(Instant deadline, T payload) {
+        long tick = Math.max(tickOf(deadline), currentTick);
+        slots.get(slotOf(tick)).add(new Timeout<>(deadline, payload));
+        pending++;
+    }
+
+    void advance(Instant now, Consumer<T> expired) {
+        long targetTick = tickOf(now);
+        if (targetTick < currentTick) {
+            return;
+        }
+        long elapsed = Math.min(targetTick - currentTick, slots.size() - 1L);
+        for (long tick = targetTick - elapsed; tick <= targetTick; tick++) {
+            Iterator<Timeout<T>> iterator = slots.get(slotOf(tick)).iterator();
+            while (iterator.hasNext()) {
+                Timeout<T> timeout = iterator.next();
+                if (!timeout.deadline().isAfter(now)) {
+                    iterator.remove();
+                    pending--;
+                    expired.accept(timeout.payload());
+                }
+            }
+        }
+        currentTick = targetTick;
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+
+    private record Timeout<T>(Instant deadline, T payload) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of the in-memory read models of the service until the surrounding transaction committed,
+ * so that a rolled back write never becomes visible through them. Outside of a transaction the update is
+ * applied right away.
+ */
+final class PlanTransactions {
+
+    private PlanTransactions() {
+    }
+
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,5 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V10 - Version stamp on plan headers, bumped on every aggregate write
+-- -----------------------------------------------------------------------------
+
+ALTER TABLE mt_plan ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
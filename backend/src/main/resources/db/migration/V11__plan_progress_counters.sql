@@ -0,0 +1,33 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V11 - Node counters, progress and last activity kept on plan headers
+-- -----------------------------------------------------------------------------
+
+ALTER TABLE mt_plan ADD COLUMN IF NOT EXISTS total_nodes INT NOT NULL DEFAULT 0;
+ALTER TABLE mt_plan ADD COLUMN IF NOT EXISTS completed_nodes INT NOT NULL DEFAULT 0;
+ALTER TABLE mt_plan ADD COLUMN IF NOT EXISTS progress INT NOT NULL DEFAULT 0;
+ALTER TABLE mt_plan ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMPTZ;
+
+UPDATE mt_plan p
+SET total_nodes     = counters.total_nodes,
+    completed_nodes = counters.completed_nodes,
+    progress        = CASE
+                          WHEN counters.total_nodes = 0 THEN 0
+                          ELSE ROUND(counters.completed_nodes * 100.0 / counters.total_nodes)
+        END
+FROM (
+    SELECT plan_id,
+           COUNT(*)                                         AS total_nodes,
+           SUM(CASE WHEN status = 'DONE' THEN 1 ELSE 0 END) AS completed_nodes
+    FROM mt_plan_node_execution
+    GROUP BY plan_id
+) counters
+WHERE counters.plan_id = p.plan_id;
+
+UPDATE mt_plan p
+SET last_activity_at = activity.last_activity_at
+FROM (
+    SELECT plan_id, MAX(occurred_at) AS last_activity_at
+    FROM mt_plan_activity
+    GROUP BY plan_id
+) activity
+WHERE activity.plan_id = p.plan_id;
@@ -0,0 +1,11 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V12 - Plan, node and reminder sequences hand out blocks of 50 values
+-- -----------------------------------------------------------------------------
+-- Upgrade with every instance stopped. Instances of an earlier release use each
+-- nextval as a single id, while this release claims the 50 values below it, so
+-- both running side by side, e.g. during a rolling deploy, hand out duplicate
+-- primary keys. See "Plan Id Allocation" in notification-runbook.md.
+
+ALTER SEQUENCE mt_plan_id_seq INCREMENT BY 50;
+ALTER SEQUENCE mt_plan_node_id_seq INCREMENT BY 50;
+ALTER SEQUENCE mt_plan_reminder_id_seq INCREMENT BY 50;
@@ -0,0 +1,15 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V13 - Calendar delta sync: change indexes and tombstones of deleted plans
+-- -----------------------------------------------------------------------------
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_updated ON mt_plan (tenant_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_canceled ON mt_plan (tenant_id, canceled_at)
+    WHERE canceled_at IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS mt_plan_tombstone (
+    plan_id    VARCHAR(64) PRIMARY KEY,
+    tenant_id  VARCHAR(64) NOT NULL,
+    deleted_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tombstone_tenant_deleted ON mt_plan_tombstone (tenant_id, deleted_at);
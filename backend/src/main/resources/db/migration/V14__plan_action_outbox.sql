@@ -0,0 +1,8 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V14 - Pending node actions are delivered asynchronously from the history
+-- -----------------------------------------------------------------------------
+
+ALTER TABLE mt_plan_action_history ADD COLUMN IF NOT EXISTS dispatch_lease_until TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_action_pending ON mt_plan_action_history (triggered_at)
+    WHERE status = 'PENDING';
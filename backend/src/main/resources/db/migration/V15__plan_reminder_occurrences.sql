@@ -0,0 +1,36 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V15 - Scheduled reminder occurrences, leased by the reminder engine
+-- -----------------------------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS mt_plan_reminder_occurrence (
+    plan_id      VARCHAR(64)  NOT NULL,
+    reminder_id  VARCHAR(64)  NOT NULL,
+    fire_at      TIMESTAMPTZ  NOT NULL,
+    status       VARCHAR(16)  NOT NULL DEFAULT 'PENDING',
+    lease_owner  VARCHAR(128),
+    lease_until  TIMESTAMPTZ,
+    completed_at TIMESTAMPTZ,
+    PRIMARY KEY (plan_id, reminder_id),
+    CONSTRAINT fk_plan_reminder_occurrence_plan FOREIGN KEY (plan_id) REFERENCES mt_plan(plan_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_reminder_occurrence_due ON mt_plan_reminder_occurrence (fire_at)
+    WHERE status IN ('PENDING', 'SENDING');
+
+-- Upcoming reminders of plans that are already scheduled or running
+INSERT INTO mt_plan_reminder_occurrence (plan_id, reminder_id, fire_at)
+SELECT r.plan_id,
+       r.rule_id,
+       CASE r.trigger
+           WHEN 'BEFORE_PLAN_START' THEN p.planned_start_time
+           ELSE p.planned_end_time
+       END - r.offset_minutes * INTERVAL '1 minute'
+FROM mt_plan_reminder_rule r
+JOIN mt_plan p ON p.plan_id = r.plan_id
+WHERE r.active
+  AND p.status IN ('SCHEDULED', 'IN_PROGRESS')
+  AND CASE r.trigger
+          WHEN 'BEFORE_PLAN_START' THEN p.planned_start_time
+          ELSE p.planned_end_time
+      END - r.offset_minutes * INTERVAL '1 minute' > CURRENT_TIMESTAMP
+ON CONFLICT (plan_id, reminder_id) DO NOTHING;
@@ -0,0 +1,21 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V16 - Gram index serving keywords too short for the trigram indexes
+-- -----------------------------------------------------------------------------
+-- pg_trgm extracts no trigram from a one or two character pattern, so ILIKE '%kw%' with such a keyword
+-- scans every plan. Two character keywords are common in Chinese and Japanese titles; every distinct one and
+-- two character substring of title and description is therefore indexed as an array element.
+
+CREATE OR REPLACE FUNCTION mt_plan_short_grams(TEXT, TEXT)
+    RETURNS TEXT[]
+    LANGUAGE SQL
+    IMMUTABLE
+    PARALLEL SAFE
+AS $$
+    SELECT COALESCE(array_agg(DISTINCT substr(source, gram_start, gram_size)), '{}'::TEXT[])
+    FROM unnest(ARRAY[lower($1), lower($2)]) AS source,
+         generate_series(1, length(source)) AS gram_start,
+         generate_series(1, 2) AS gram_size
+    WHERE gram_start + gram_size - 1 <= length(source)
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_short_grams ON mt_plan USING GIN (mt_plan_short_grams(title, description));
@@ -0,0 +1,5 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V17 - Pending node actions are leased to the instance that delivers them
+-- -----------------------------------------------------------------------------
+
+ALTER TABLE mt_plan_action_history ADD COLUMN IF NOT EXISTS dispatch_lease_owner VARCHAR(128);
@@ -0,0 +1,6 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V8 - Keyset pagination index matching the plan listing sort order
+-- -----------------------------------------------------------------------------
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_start_id ON mt_plan (tenant_id, planned_start_time, plan_id);
+DROP INDEX IF EXISTS idx_mt_plan_tenant_start;
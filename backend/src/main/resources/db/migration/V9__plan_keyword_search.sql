@@ -0,0 +1,8 @@
+-- -----------------------------------------------------------------------------
+-- Flyway V9 - Trigram indexes backing keyword search over plan title/description
+-- -----------------------------------------------------------------------------
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_title_trgm ON mt_plan USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_mt_plan_description_trgm ON mt_plan USING GIN (description gin_trgm_ops);
@@ -8,10 +8,13 @@
 -- 3. 若需手动初始化或在测试环境快速重置，可直接执行本文件中的 DDL，并视需要再运行 data.sql。
 -- -----------------------------------------------------------------------------
 
+-- 扩展 ------------------------------------------------------------------------
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- 序列定义 --------------------------------------------------------------------
-CREATE SEQUENCE IF NOT EXISTS mt_plan_id_seq AS BIGINT START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE IF NOT EXISTS mt_plan_node_id_seq AS BIGINT START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE IF NOT EXISTS mt_plan_reminder_id_seq AS BIGINT START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS mt_plan_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS mt_plan_node_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS mt_plan_reminder_id_seq AS BIGINT START WITH 1 INCREMENT BY 50;
 CREATE SEQUENCE IF NOT EXISTS mt_user_id_seq AS BIGINT START WITH 1 INCREMENT BY 1;
 
 -- 主表：运维计划 --------------------------------------------------------------
@@ -34,12 +37,17 @@ CREATE TABLE IF NOT EXISTS mt_plan (
     created_at           TIMESTAMPTZ    NOT NULL DEFAULT NOW(),
     updated_at           TIMESTAMPTZ    NOT NULL DEFAULT NOW(),
     reminder_updated_at  TIMESTAMPTZ,
-    reminder_updated_by  VARCHAR(64)
+    reminder_updated_by  VARCHAR(64),
+    version              BIGINT         NOT NULL DEFAULT 0,
+    total_nodes          INT            NOT NULL DEFAULT 0,
+    completed_nodes      INT            NOT NULL DEFAULT 0,
+    progress             INT            NOT NULL DEFAULT 0,
+    last_activity_at     TIMESTAMPTZ
 );
 
 -- 计划筛选与统计常用索引 ------------------------------------------------------
 CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_status ON mt_plan (tenant_id, status);
-CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_start ON mt_plan (tenant_id, planned_start_time);
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_start_id ON mt_plan (tenant_id, planned_start_time, plan_id);
 CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_end ON mt_plan (tenant_id, planned_end_time);
 CREATE INDEX IF NOT EXISTS idx_mt_plan_customer_status ON mt_plan (customer_id, status);
 CREATE INDEX IF NOT EXISTS idx_mt_plan_owner_status ON mt_plan (owner_id, status);
@@ -47,6 +55,36 @@ CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_owner_end ON mt_plan (tenant_id, o
 CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_customer_start ON mt_plan (tenant_id, customer_id, planned_start_time);
 CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_status_end ON mt_plan (tenant_id, status, planned_end_time);
 CREATE INDEX IF NOT EXISTS idx_mt_plan_status_end ON mt_plan (status, planned_end_time);
+-- 关键字检索（三元组索引，支持 ILIKE 与相似度排序） -----------------------------
+CREATE INDEX IF NOT EXISTS idx_mt_plan_title_trgm ON mt_plan USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_mt_plan_description_trgm ON mt_plan USING GIN (description gin_trgm_ops);
+-- 短关键字检索（三元组无法覆盖一、二字关键字，改用片段数组索引） ---------------
+CREATE OR REPLACE FUNCTION mt_plan_short_grams(TEXT, TEXT)
+    RETURNS TEXT[]
+    LANGUAGE SQL
+    IMMUTABLE
+    PARALLEL SAFE
+AS $$
+    SELECT COALESCE(array_agg(DISTINCT substr(source, gram_start, gram_size)), '{}'::TEXT[])
+    FROM unnest(ARRAY[lower($1), lower($2)]) AS source,
+         generate_series(1, length(source)) AS gram_start,
+         generate_series(1, 2) AS gram_size
+    WHERE gram_start + gram_size - 1 <= length(source)
+$$;
+CREATE INDEX IF NOT EXISTS idx_mt_plan_short_grams ON mt_plan USING GIN (mt_plan_short_grams(title, description));
+-- 日历增量同步（按更新时间与取消时间查找变更） ---------------------------------
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_updated ON mt_plan (tenant_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tenant_canceled ON mt_plan (tenant_id, canceled_at)
+    WHERE canceled_at IS NOT NULL;
+
+-- 已删除计划的墓碑记录（供日历增量同步下发删除） -------------------------------
+CREATE TABLE IF NOT EXISTS mt_plan_tombstone (
+    plan_id    VARCHAR(64) PRIMARY KEY,
+    tenant_id  VARCHAR(64) NOT NULL,
+    deleted_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_tombstone_tenant_deleted ON mt_plan_tombstone (tenant_id, deleted_at);
 
 -- 参与者 ----------------------------------------------------------------------
 CREATE TABLE IF NOT EXISTS mt_plan_participant (
@@ -142,6 +180,21 @@ CREATE TABLE IF NOT EXISTS mt_plan_reminder_rule (
 CREATE INDEX IF NOT EXISTS idx_mt_plan_reminder_active ON mt_plan_reminder_rule (plan_id, active);
 CREATE INDEX IF NOT EXISTS idx_mt_plan_reminder_trigger ON mt_plan_reminder_rule (plan_id, trigger);
 
+CREATE TABLE IF NOT EXISTS mt_plan_reminder_occurrence (
+    plan_id      VARCHAR(64)  NOT NULL,
+    reminder_id  VARCHAR(64)  NOT NULL,
+    fire_at      TIMESTAMPTZ  NOT NULL,
+    status       VARCHAR(16)  NOT NULL DEFAULT 'PENDING',
+    lease_owner  VARCHAR(128),
+    lease_until  TIMESTAMPTZ,
+    completed_at TIMESTAMPTZ,
+    PRIMARY KEY (plan_id, reminder_id),
+    CONSTRAINT fk_plan_reminder_occurrence_plan FOREIGN KEY (plan_id) REFERENCES mt_plan(plan_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_mt_plan_reminder_occurrence_due ON mt_plan_reminder_occurrence (fire_at)
+    WHERE status IN ('PENDING', 'SENDING');
+
 -- 用户 ------------------------------------------------------------------------
 CREATE TABLE IF NOT EXISTS mt_user (
     user_id       VARCHAR(64) PRIMARY KEY,
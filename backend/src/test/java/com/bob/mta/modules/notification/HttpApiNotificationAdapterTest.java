@@ -16,6 +16,7 @@ import static org.springframework.test.web.client.match.MockRestRequestMatchers.
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
 class HttpApiNotificationAdapterTest {
 
@@ -52,4 +53,22 @@ class HttpApiNotificationAdapterTest {
         NotificationResult result = adapter.invoke(request);
         assertThat(result.isSuccess()).isFalse();
     }
+
+    @Test
+    void shouldReportStatusOfRejectedCall() {
+        RestTemplate restTemplate = new RestTemplate();
+        HttpApiNotificationAdapter adapter = new HttpApiNotificationAdapter(restTemplate);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("https://workflow.example.com"))
+                .andRespond(withStatus(BAD_REQUEST).body("invalid ticket"));
+
+        NotificationResult result = adapter.invoke(new ApiCallRequest("https://workflow.example.com", "POST",
+                null, Map.of()));
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMetadata())
+                .containsEntry("status", "400")
+                .containsEntry("reason", "HTTP_STATUS")
+                .containsEntry("body", "invalid ticket");
+    }
 }
@@ -0,0 +1,91 @@
+package com.bob.mta.modules.notification;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationHttpClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldInvokeApiAsynchronouslyAndRecordHostLatency() throws Exception {
+        startServer(202, "{\"status\":\"ok\"}");
+        NotificationProperties properties = new NotificationProperties();
+        NotificationHttpClient httpClient = new NotificationHttpClient(properties, meterRegistry);
+        HttpApiNotificationAdapter adapter = new HttpApiNotificationAdapter(new RestTemplateBuilder(), httpClient,
+                properties);
+        String endpoint = "http://localhost:" + server.getAddress().getPort() + "/hooks";
+
+        NotificationResult result = adapter.invokeAsync(new ApiCallRequest(endpoint, "POST", "{\"ticket\":42}",
+                Map.of("X-Correlation-Id", "123"))).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getMetadata()).containsEntry("status", "202").containsEntry("body", "{\"status\":\"ok\"}");
+        Timer timer = meterRegistry.find(NotificationHttpClient.METRIC_NAME)
+                .tags("host", "localhost:" + server.getAddress().getPort(), "outcome", "SUCCESS")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldQueueRequestsBeyondHostLimitUntilSlotIsReleased() {
+        NotificationHttpClient.HostLimiter limiter = new NotificationHttpClient.HostLimiter(1);
+
+        CompletableFuture<Void> first = limiter.acquire();
+        CompletableFuture<Void> second = limiter.acquire();
+
+        assertThat(first).isDone();
+        assertThat(second).isNotDone();
+        limiter.release();
+        assertThat(second).isDone();
+        limiter.release();
+        assertThat(limiter.acquire()).isDone();
+    }
+
+    @Test
+    void shouldTagHostsBeyondTheLimitAsOther() {
+        NotificationHttpClient httpClient = new NotificationHttpClient(new NotificationProperties(), meterRegistry);
+        for (int i = 0; i < NotificationHttpClient.MAX_HOST_TAGS; i++) {
+            assertThat(httpClient.hostTag("hooks-" + i + ".example.com")).isEqualTo("hooks-" + i + ".example.com");
+        }
+
+        assertThat(httpClient.hostTag("late.example.com")).isEqualTo(NotificationHttpClient.OTHER_HOST);
+        assertThat(httpClient.hostTag("hooks-0.example.com")).isEqualTo("hooks-0.example.com");
+    }
+
+    private void startServer(int status, String body) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hooks", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        });
+        server.start();
+    }
+}
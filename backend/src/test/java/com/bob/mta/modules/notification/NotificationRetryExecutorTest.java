@@ -0,0 +1,112 @@
+package com.bob.mta.modules.notification;
+
+import com.bob.mta.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationRetryExecutorTest {
+
+    private static final String ENDPOINT = "https://hooks.example.com/tickets";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T09:00:00Z"));
+    private final List<Duration> pauses = new ArrayList<>();
+    private final NotificationRetryExecutor executor = new NotificationRetryExecutor(properties(), clock,
+            pauses::add);
+
+    @Test
+    void shouldBackOffBetweenRetryableFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        NotificationRetryExecutor.NotificationAttempt attempt = executor.execute("API", ENDPOINT, () ->
+                calls.incrementAndGet() < 3 ? serverError() : NotificationResult.success("API", "api.invoked", Map.of()));
+
+        assertThat(attempt.result().isSuccess()).isTrue();
+        assertThat(attempt.attempts()).isEqualTo(3);
+        assertThat(pauses).hasSize(2);
+        assertThat(pauses.get(0)).isBetween(Duration.ZERO, Duration.ofMillis(100));
+        assertThat(pauses.get(1)).isBetween(Duration.ZERO, Duration.ofMillis(200));
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        AtomicInteger calls = new AtomicInteger();
+
+        NotificationRetryExecutor.NotificationAttempt attempt = executor.execute("API", ENDPOINT, () -> {
+            calls.incrementAndGet();
+            return NotificationResult.failure("API", "api.failed", "HTTP status 404",
+                    Map.of("status", "404", "reason", "HTTP_STATUS"));
+        });
+
+        assertThat(attempt.attempts()).isEqualTo(1);
+        assertThat(calls).hasValue(1);
+        assertThat(pauses).isEmpty();
+        assertThat(executor.circuitSnapshots().get("API hooks.example.com").state())
+                .isEqualTo(NotificationCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldOpenCircuitAndProbeAfterOpenDuration() {
+        AtomicInteger calls = new AtomicInteger();
+        executor.execute("API", ENDPOINT, () -> {
+            calls.incrementAndGet();
+            return serverError();
+        });
+        executor.execute("API", "https://hooks.example.com/other", () -> {
+            calls.incrementAndGet();
+            return serverError();
+        });
+
+        NotificationRetryExecutor.NotificationAttempt rejected = executor.execute("API", ENDPOINT, () -> {
+            calls.incrementAndGet();
+            return serverError();
+        });
+
+        assertThat(calls).hasValue(4);
+        assertThat(rejected.attempts()).isZero();
+        assertThat(rejected.result().getMetadata()).containsEntry("reason", "CIRCUIT_OPEN");
+        assertThat(executor.circuitSnapshots().get("API hooks.example.com").state())
+                .isEqualTo(NotificationCircuitBreaker.State.OPEN);
+
+        clock.advance(Duration.ofSeconds(30));
+        NotificationRetryExecutor.NotificationAttempt probe = executor.execute("API", ENDPOINT,
+                () -> NotificationResult.success("API", "api.invoked", Map.of()));
+
+        assertThat(probe.result().isSuccess()).isTrue();
+        assertThat(probe.attempts()).isEqualTo(1);
+        assertThat(executor.circuitSnapshots().get("API hooks.example.com").state())
+                .isEqualTo(NotificationCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldAdmitSingleProbeWhileHalfOpen() {
+        NotificationCircuitBreaker circuit = new NotificationCircuitBreaker(1, Duration.ofSeconds(10));
+        Instant now = clock.instant();
+        circuit.onFailure(now);
+
+        assertThat(circuit.tryAcquire(now.plusSeconds(5))).isFalse();
+        assertThat(circuit.tryAcquire(now.plusSeconds(10))).isTrue();
+        assertThat(circuit.tryAcquire(now.plusSeconds(10))).isFalse();
+        circuit.onFailure(now.plusSeconds(11));
+        assertThat(circuit.snapshot().retryAt()).isEqualTo(now.plusSeconds(21));
+    }
+
+    private static NotificationResult serverError() {
+        return NotificationResult.failure("API", "api.failed", "HTTP status 503",
+                Map.of("status", "503", "reason", "HTTP_STATUS"));
+    }
+
+    private static NotificationProperties properties() {
+        NotificationProperties properties = new NotificationProperties();
+        properties.getRetry().setInitialDelay(Duration.ofMillis(100));
+        properties.getCircuitBreaker().setFailureThreshold(4);
+        return properties;
+    }
+}
@@ -1,13 +1,31 @@
 package com.bob.mta.modules.notification;
 
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
 import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,6 +36,9 @@ import static org.mockito.Mockito.when;
 
 class SmtpEmailNotificationAdapterTest {
 
+    private static final int CONNECT_MILLIS = 100;
+    private static final int SEND_MILLIS = 5;
+
     @Test
     void shouldSendEmailUsingJavaMailSender() throws Exception {
         JavaMailSender mailSender = mock(JavaMailSender.class);
@@ -67,4 +88,198 @@ class SmtpEmailNotificationAdapterTest {
         assertThat(result.isSuccess()).isFalse();
         assertThat(result.getError()).contains("not configured");
     }
+
+    @Test
+    void shouldSendBatchOverOneSessionAndReportEachMessage() throws Exception {
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        AtomicInteger connects = new AtomicInteger();
+        List<String> delivered = new ArrayList<>();
+        Transport transport = new Transport(Session.getInstance(new Properties()), new URLName("smtp://localhost")) {
+            @Override
+            public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+                String recipient = addresses[0].toString();
+                if (recipient.startsWith("unknown")) {
+                    throw new SendFailedException("550 mailbox unavailable");
+                }
+                delivered.add(recipient);
+            }
+
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+        };
+
+        NotificationProperties properties = new NotificationProperties();
+        properties.getEmail().setEnabled(true);
+        properties.getEmail().setFrom("noreply@example.com");
+        properties.getEmail().getBatch().setEnabled(true);
+        properties.getEmail().getBatch().setSize(3);
+        properties.getEmail().getBatch().setFlushInterval(Duration.ofSeconds(5));
+        SmtpEmailNotificationAdapter adapter = new SmtpEmailNotificationAdapter(mailSender, properties, () -> {
+            connects.incrementAndGet();
+            return transport;
+        });
+
+        try {
+            CompletableFuture<NotificationResult> first = adapter.sendAsync(
+                    new EmailMessage(List.of("alice@example.com"), List.of(), "Reminder", "Body"));
+            CompletableFuture<NotificationResult> second = adapter.sendAsync(
+                    new EmailMessage(List.of("unknown@example.com"), List.of(), "Reminder", "Body"));
+            CompletableFuture<NotificationResult> third = adapter.sendAsync(
+                    new EmailMessage(List.of("bob@example.com"), List.of(), "Reminder", "Body"));
+
+            assertThat(first.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+            NotificationResult rejected = second.get(5, TimeUnit.SECONDS);
+            assertThat(rejected.isSuccess()).isFalse();
+            assertThat(rejected.getMetadata()).containsEntry("reason", "SMTP_ERROR");
+            assertThat(third.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+            assertThat(delivered).containsExactly("alice@example.com", "bob@example.com");
+            assertThat(connects).hasValue(1);
+        } finally {
+            adapter.shutdownBatchSender();
+        }
+    }
+
+    @Test
+    void shouldGiveUpOnQueuedMessageAfterSessionTimeoutsAndNotSendItLater() throws Exception {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.getJavaMailProperties().setProperty("mail.smtp.connectiontimeout", "100");
+        mailSender.getJavaMailProperties().setProperty("mail.smtp.timeout", "100");
+        mailSender.getJavaMailProperties().setProperty("mail.smtp.writetimeout", "100");
+        CountDownLatch hanging = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        Transport transport = new Transport(Session.getInstance(new Properties()), new URLName("smtp://localhost")) {
+            @Override
+            public void sendMessage(Message message, Address[] addresses) {
+                try {
+                    hanging.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.add(addresses[0].toString());
+            }
+
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+        };
+        NotificationProperties properties = new NotificationProperties();
+        properties.getEmail().setEnabled(true);
+        properties.getEmail().setFrom("noreply@example.com");
+        properties.getEmail().getBatch().setEnabled(true);
+        SmtpEmailNotificationAdapter adapter = new SmtpEmailNotificationAdapter(mailSender, properties,
+                () -> transport);
+
+        try {
+            adapter.sendAsync(new EmailMessage(List.of("slow@example.com"), List.of(), "Reminder", "Body"));
+            long start = System.nanoTime();
+            NotificationResult result = adapter.send(
+                    new EmailMessage(List.of("queued@example.com"), List.of(), "Reminder", "Body"));
+
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getMetadata()).containsEntry("reason", "TIMEOUT");
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(3000);
+        } finally {
+            hanging.countDown();
+            adapter.shutdownBatchSender();
+        }
+        assertThat(delivered).containsExactly("slow@example.com");
+    }
+
+    @Test
+    void shouldFailMessagesSubmittedAfterShutdown() throws Exception {
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        NotificationProperties properties = new NotificationProperties();
+        properties.getEmail().setEnabled(true);
+        properties.getEmail().setFrom("noreply@example.com");
+        properties.getEmail().getBatch().setEnabled(true);
+        SmtpEmailNotificationAdapter adapter = new SmtpEmailNotificationAdapter(mailSender, properties,
+                () -> mock(Transport.class));
+        adapter.shutdownBatchSender();
+
+        NotificationResult result = adapter.sendAsync(
+                new EmailMessage(List.of("late@example.com"), List.of(), "Reminder", "Body")).get(1, TimeUnit.SECONDS);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getError()).contains("shut down");
+    }
+
+    /**
+     * Blocking callers, as the node action and reminder workers are, against a server whose session setup
+     * costs {@value #CONNECT_MILLIS} ms and whose message transfer costs {@value #SEND_MILLIS} ms.
+     */
+    @Test
+    void batchedDeliveryShouldOutpaceSessionPerMessageForBlockingCallers() throws Exception {
+        long perMessageSession = measure(null);
+        long lingering = measure(Duration.ofMillis(200));
+        long drained = measure(Duration.ZERO);
+
+        assertThat(drained).isLessThan(perMessageSession * 3 / 4);
+        assertThat(drained).isLessThan(lingering / 2);
+    }
+
+    /**
+     * @param flushInterval batch flush interval, {@code null} to open a session per message
+     * @return milliseconds 8 caller threads take to send 80 messages through {@link SmtpEmailNotificationAdapter#send}
+     */
+    private static long measure(Duration flushInterval) throws Exception {
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            Thread.sleep(CONNECT_MILLIS + SEND_MILLIS);
+            return null;
+        }).when(mailSender).send(any(MimeMessage.class));
+        Transport transport = new Transport(Session.getInstance(new Properties()), new URLName("smtp://localhost")) {
+            @Override
+            public void sendMessage(Message message, Address[] addresses) {
+                sleep(SEND_MILLIS);
+            }
+
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+        };
+        NotificationProperties properties = new NotificationProperties();
+        properties.getEmail().setEnabled(true);
+        properties.getEmail().setFrom("noreply@example.com");
+        properties.getEmail().getBatch().setEnabled(flushInterval != null);
+        if (flushInterval != null) {
+            properties.getEmail().getBatch().setFlushInterval(flushInterval);
+        }
+        SmtpEmailNotificationAdapter adapter = new SmtpEmailNotificationAdapter(mailSender, properties,
+                flushInterval == null ? null : () -> {
+                    sleep(CONNECT_MILLIS);
+                    return transport;
+                });
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            long start = System.nanoTime();
+            List<Future<NotificationResult>> results = new ArrayList<>();
+            for (int index = 0; index < 80; index++) {
+                EmailMessage message = new EmailMessage(List.of("user" + index + "@example.com"), List.of(),
+                        "Reminder", "Body");
+                results.add(callers.submit(() -> adapter.send(message)));
+            }
+            for (Future<NotificationResult> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS).isSuccess()).isTrue();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            callers.shutdownNow();
+            adapter.shutdownBatchSender();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.bob.mta.modules.plan.controller;
+
+import com.bob.mta.modules.plan.repository.PlanChangeStamp;
+import com.bob.mta.modules.plan.service.PlanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.Writer;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CalendarControllerTest {
+
+    private static final OffsetDateTime UPDATED = OffsetDateTime.of(2024, 5, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime DELETED = UPDATED.plusHours(1);
+
+    private PlanService planService;
+    private CalendarController controller;
+
+    @BeforeEach
+    void setUp() {
+        LocaleContextHolder.setLocale(Locale.US);
+        planService = mock(PlanService.class);
+        controller = new CalendarController(planService);
+        when(planService.stampTenantCalendar(eq("tenant-1"), any(), any()))
+                .thenReturn(new PlanChangeStamp(3, UPDATED, null));
+        doAnswer(invocation -> {
+            invocation.<Writer>getArgument(3).write("BEGIN:VCALENDAR\nEND:VCALENDAR\n");
+            return null;
+        }).when(planService).writeTenantCalendar(eq("tenant-1"), any(), any(), any());
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void shouldStreamFeedWithValidators() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/calendar/tenant/tenant-1.ics");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.tenantFeed("tenant-1", null, null, new ServletWebRequest(request, response), response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith("text/calendar");
+        assertThat(response.getContentAsString()).isEqualTo("BEGIN:VCALENDAR\nEND:VCALENDAR\n");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(UPDATED.toInstant().toEpochMilli());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWithoutRenderingWhenEtagMatches() throws Exception {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/calendar/tenant/tenant-1.ics");
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        controller.tenantFeed("tenant-1", null, null, new ServletWebRequest(first, firstResponse), firstResponse);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/calendar/tenant/tenant-1.ics");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, firstResponse.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.tenantFeed("tenant-1", null, null, new ServletWebRequest(request, response), response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsString()).isEmpty();
+        verify(planService).writeTenantCalendar(eq("tenant-1"), any(), any(), any());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedSinceLatestUpdate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/calendar/tenant/tenant-1.ics");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, UPDATED.toInstant().toEpochMilli());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.tenantFeed("tenant-1", null, null, new ServletWebRequest(request, response), response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        verify(planService, never()).writeTenantCalendar(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRenderAgainAfterPlanIsDeleted() throws Exception {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/calendar/tenant/tenant-1.ics");
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        controller.tenantFeed("tenant-1", null, null, new ServletWebRequest(first, firstResponse), firstResponse);
+        when(planService.stampTenantCalendar(eq("tenant-1"), any(), any()))
+                .thenReturn(new PlanChangeStamp(3, UPDATED, DELETED));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/calendar/tenant/tenant-1.ics");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, firstResponse.getHeader(HttpHeaders.ETAG));
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, UPDATED.toInstant().toEpochMilli());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.tenantFeed("tenant-1", null, null, new ServletWebRequest(request, response), response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(firstResponse.getHeader(HttpHeaders.ETAG));
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(DELETED.toInstant().toEpochMilli());
+    }
+}
@@ -258,7 +258,8 @@ class PlanControllerTest {
                 List.of(PlanStatus.SCHEDULED),
                 null,
                 null,
-                PlanBoardGrouping.DAY);
+                null,
+                PlanBoardGrouping.DAY, 0);
 
         PlanBoardResponse board = response.getData();
         assertThat(board.getMetrics().getTotalPlans()).isEqualTo(2);
@@ -299,7 +300,8 @@ class PlanControllerTest {
                 List.of(PlanStatus.SCHEDULED, null, PlanStatus.SCHEDULED, PlanStatus.COMPLETED),
                 null,
                 null,
-                PlanBoardGrouping.MONTH);
+                null,
+                PlanBoardGrouping.MONTH, 0);
 
         assertThat(response.getData()).isNotNull();
 
@@ -333,7 +335,8 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
-                PlanBoardGrouping.DAY);
+                null,
+                PlanBoardGrouping.DAY, 0);
 
         PlanBoardResponse board = response.getData();
         assertThat(board.getMetrics().getTotalPlans()).isZero();
@@ -360,7 +363,8 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
-                PlanBoardGrouping.MONTH);
+                null,
+                PlanBoardGrouping.MONTH, 0);
 
         assertThat(response.getData()).isNotNull();
 
@@ -390,7 +394,8 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
-                PlanBoardGrouping.MONTH);
+                null,
+                PlanBoardGrouping.MONTH, 0);
 
         List<AuditLog> logs = auditService.query(new AuditQuery("PlanBoard", "GLOBAL", "VIEW_PLAN_BOARD", null));
         assertThat(logs).hasSize(1);
@@ -414,7 +419,8 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
-                null);
+                null,
+                null, 0);
 
         assertThat(response.getData()).isNotNull();
 
@@ -440,7 +446,8 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
-                PlanBoardGrouping.WEEK);
+                null,
+                PlanBoardGrouping.WEEK, 0);
 
         assertThat(response.getData().getMetrics().getTotalPlans()).isZero();
         assertThat(response.getData().getMetrics().getCompletionRate()).isZero();
@@ -505,9 +512,10 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
+                null,
                 base.minusDays(1),
                 base.plusDays(1),
-                PlanBoardGrouping.DAY);
+                PlanBoardGrouping.DAY, 0);
 
         PlanBoardResponse board = response.getData();
         assertThat(board.getMetrics().getTotalPlans()).isEqualTo(2);
@@ -601,9 +609,10 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
+                null,
                 base.minusDays(1),
                 base.plusDays(5),
-                PlanBoardGrouping.DAY);
+                PlanBoardGrouping.DAY, 0);
 
         PlanBoardResponse board = response.getData();
         assertThat(board.getMetrics().getTotalPlans()).isEqualTo(7);
@@ -644,7 +653,8 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
-                PlanBoardGrouping.DAY);
+                null,
+                PlanBoardGrouping.DAY, 0);
 
         PlanBoardResponse board = response.getData();
         assertThat(board.getCustomerGroups())
@@ -680,9 +690,10 @@ class PlanControllerTest {
                 null,
                 null,
                 null,
+                null,
                 now.minusDays(1),
                 null,
-                PlanBoardGrouping.DAY);
+                PlanBoardGrouping.DAY, 0);
 
         PlanBoardResponse board = response.getData();
         assertThat(board.getMetrics().getTotalPlans()).isEqualTo(1);
@@ -0,0 +1,60 @@
+package com.bob.mta.modules.plan.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bob.mta.modules.plan.domain.PlanNodeActionType;
+import com.bob.mta.modules.plan.domain.PlanNodeStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+class PlanAggregateDiffTest {
+
+    @Test
+    void shouldOnlyReportChangedNodes() {
+        PlanNodeEntity kept = node("node-1", "check");
+        PlanNodeEntity renamed = node("node-2", "before");
+        PlanNodeEntity removed = node("node-3", "gone");
+        PlanNodeEntity added = node("node-4", "new");
+
+        PlanAggregateDiff.Changes<PlanNodeEntity> changes = PlanAggregateDiff.nodes(
+                List.of(kept, renamed, removed),
+                List.of(kept, node("node-2", "after"), added));
+
+        assertThat(changes.inserts()).containsExactly(added);
+        assertThat(changes.updates()).extracting(PlanNodeEntity::name).containsExactly("after");
+        assertThat(changes.deletedKeys(PlanNodeEntity::nodeId)).containsExactly("node-3");
+    }
+
+    @Test
+    void shouldTreatSameInstantAsUnchanged() {
+        OffsetDateTime local = OffsetDateTime.of(2024, 5, 1, 9, 0, 0, 123_456_789, ZoneOffset.ofHours(9));
+        OffsetDateTime reloaded = local.withOffsetSameInstant(ZoneOffset.UTC).withNano(123_456_000);
+        PlanNodeExecutionEntity persisted = new PlanNodeExecutionEntity("plan-1", "node-1",
+                PlanNodeStatus.IN_PROGRESS, reloaded, null, "operator", null, null);
+        PlanNodeExecutionEntity target = new PlanNodeExecutionEntity("plan-1", "node-1",
+                PlanNodeStatus.IN_PROGRESS, local, null, "operator", null, null);
+
+        assertThat(PlanAggregateDiff.executions(List.of(persisted), List.of(target)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldKeyAttachmentsByNodeAndFile() {
+        PlanNodeAttachmentEntity first = new PlanNodeAttachmentEntity("plan-1", "node-1", "file-1");
+        PlanNodeAttachmentEntity second = new PlanNodeAttachmentEntity("plan-1", "node-2", "file-1");
+
+        PlanAggregateDiff.Changes<PlanNodeAttachmentEntity> changes = PlanAggregateDiff.attachments(
+                List.of(first), List.of(first, second));
+
+        assertThat(changes.inserts()).containsExactly(second);
+        assertThat(changes.updates()).isEmpty();
+        assertThat(changes.deletes()).isEmpty();
+    }
+
+    private PlanNodeEntity node(String id, String name) {
+        return new PlanNodeEntity("plan-1", id, null, name, "CHECK", "assignee", 0, 30,
+                PlanNodeActionType.NONE, null, null, null);
+    }
+}
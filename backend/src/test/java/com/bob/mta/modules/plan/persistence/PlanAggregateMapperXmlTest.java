@@ -0,0 +1,184 @@
+package com.bob.mta.modules.plan.persistence;
+
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Loads PlanAggregateMapper.xml the way MyBatis does at startup and maps a row through the real result handler,
+ * so that a mapper the DTD or the record constructors reject fails here rather than at application start.
+ */
+class PlanAggregateMapperXmlTest {
+
+    private static final String RESOURCE = "mapper/PlanAggregateMapper.xml";
+
+    @Test
+    void shouldLoadMapperXml() throws Exception {
+        Configuration configuration = load();
+
+        assertThat(configuration.hasStatement(PlanAggregateMapper.class.getName() + ".findPlanAggregates")).isTrue();
+        assertThat(configuration.getResultMap(PlanAggregateMapper.class.getName() + ".PlanAggregateJsonResult")
+                .getConstructorResultMappings()).hasSize(7);
+    }
+
+    @Test
+    void shouldMapAggregateRowIntoRecords() throws Exception {
+        Configuration configuration = load();
+        OffsetDateTime start = OffsetDateTime.parse("2024-05-01T09:00:00Z");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("plan_id", "PLAN-1");
+        row.put("tenant_id", "tenant-1");
+        row.put("customer_id", "cust-1");
+        row.put("owner_id", "owner-1");
+        row.put("title", "title");
+        row.put("description", null);
+        row.put("status", "SCHEDULED");
+        row.put("planned_start_time", start);
+        row.put("planned_end_time", start.plusHours(2));
+        row.put("actual_start_time", null);
+        row.put("actual_end_time", null);
+        row.put("cancel_reason", null);
+        row.put("canceled_by", null);
+        row.put("canceled_at", null);
+        row.put("timezone", "UTC");
+        row.put("created_at", start.minusDays(1));
+        row.put("updated_at", start.minusHours(1));
+        row.put("reminder_updated_at", null);
+        row.put("reminder_updated_by", null);
+        row.put("version", 3L);
+        row.put("total_nodes", 2);
+        row.put("completed_nodes", 1);
+        row.put("progress", 50);
+        row.put("last_activity_at", start.minusHours(1));
+        row.put("participants_json", "[{\"planId\":\"PLAN-1\",\"participantId\":\"user-1\"}]");
+        row.put("nodes_json", null);
+        row.put("executions_json", null);
+        row.put("attachments_json", null);
+        row.put("activities_json", null);
+        row.put("reminder_rules_json", "[]");
+
+        List<Object> results = handle(configuration, "findPlanAggregates", row);
+
+        assertThat(results).hasSize(1);
+        PlanAggregateJsonEntity aggregate = (PlanAggregateJsonEntity) results.get(0);
+        assertThat(aggregate.plan().id()).isEqualTo("PLAN-1");
+        assertThat(aggregate.plan().status()).isEqualTo(PlanStatus.SCHEDULED);
+        assertThat(aggregate.plan().plannedStartTime()).isEqualTo(start);
+        assertThat(aggregate.plan().version()).isEqualTo(3L);
+        assertThat(aggregate.plan().progress()).isEqualTo(50);
+        assertThat(aggregate.participants()).contains("user-1");
+        assertThat(aggregate.nodes()).isNull();
+        assertThat(aggregate.reminderRules()).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldFilterShortKeywordsThroughGramIndex() throws Exception {
+        Configuration configuration = load();
+
+        assertThat(sql(configuration, "findPlans", "巡检")).contains("mt_plan_short_grams").contains("ILIKE");
+        assertThat(sql(configuration, "countPlans", "DB")).contains("mt_plan_short_grams");
+        assertThat(sql(configuration, "findPlans", "巡检计划")).doesNotContain("mt_plan_short_grams")
+                .contains("ILIKE");
+    }
+
+    private static String sql(Configuration configuration, String statementId, String keyword) {
+        return configuration.getMappedStatement(PlanAggregateMapper.class.getName() + "." + statementId)
+                .getBoundSql(new PlanQueryParameters(null, null, List.of(), null, keyword, null, List.of(),
+                        null, null, null, null, null))
+                .getSql();
+    }
+
+    private static Configuration load() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeHandlerRegistry().register("com.bob.mta.common.mybatis");
+        try (InputStream input = Resources.getResourceAsStream(RESOURCE)) {
+            new XMLMapperBuilder(input, configuration, RESOURCE, configuration.getSqlFragments()).parse();
+        }
+        return configuration;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> handle(Configuration configuration, String statementId, Map<String, Object> row)
+            throws Exception {
+        MappedStatement statement = configuration.getMappedStatement(
+                PlanAggregateMapper.class.getName() + "." + statementId);
+        List<String> columns = new ArrayList<>(row.keySet());
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columns.size());
+        for (int index = 0; index < columns.size(); index++) {
+            Object value = row.get(columns.get(index));
+            when(metaData.getColumnLabel(index + 1)).thenReturn(columns.get(index));
+            when(metaData.getColumnType(index + 1)).thenReturn(value instanceof OffsetDateTime
+                    ? Types.TIMESTAMP_WITH_TIMEZONE : value instanceof Number ? Types.BIGINT : Types.VARCHAR);
+            when(metaData.getColumnClassName(index + 1)).thenReturn(
+                    value == null ? String.class.getName() : value.getClass().getName());
+        }
+        boolean[] consumed = {false};
+        Object[] last = {null};
+        ResultSet resultSet = mock(ResultSet.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            if (args.length > 0 && args[0] instanceof String column && row.containsKey(column)) {
+                last[0] = row.get(column);
+            }
+            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+        });
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.getType()).thenReturn(ResultSet.TYPE_FORWARD_ONLY);
+        when(resultSet.next()).thenAnswer(invocation -> {
+            boolean hasRow = !consumed[0];
+            consumed[0] = true;
+            return hasRow;
+        });
+        when(resultSet.wasNull()).thenAnswer(invocation -> last[0] == null);
+        when(resultSet.getString(anyString())).thenAnswer(invocation -> remember(row, invocation.getArgument(0), last));
+        when(resultSet.getObject(anyString(), eq(OffsetDateTime.class)))
+                .thenAnswer(invocation -> remember(row, invocation.getArgument(0), last));
+        when(resultSet.getLong(anyString())).thenAnswer(invocation -> {
+            Object value = remember(row, invocation.getArgument(0), last);
+            return value == null ? 0L : ((Number) value).longValue();
+        });
+        when(resultSet.getInt(anyString())).thenAnswer(invocation -> {
+            Object value = remember(row, invocation.getArgument(0), last);
+            return value == null ? 0 : ((Number) value).intValue();
+        });
+        when(resultSet.getObject(anyInt())).thenReturn(null);
+        Statement jdbcStatement = mock(Statement.class, Mockito.RETURNS_DEEP_STUBS);
+        when(jdbcStatement.getResultSet()).thenReturn(resultSet);
+        BoundSql boundSql = new BoundSql(configuration, "", List.of(), null);
+        ResultSetHandler handler = configuration.newResultSetHandler(mock(Executor.class), statement,
+                RowBounds.DEFAULT, null, null, boundSql);
+        return handler.handleResultSets(jdbcStatement);
+    }
+
+    private static Object remember(Map<String, Object> row, String column, Object[] last) {
+        last[0] = row.get(column);
+        return last[0];
+    }
+}
@@ -16,6 +16,7 @@ import com.bob.mta.modules.plan.domain.PlanStatus;
 import org.junit.jupiter.api.Test;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 
@@ -126,6 +127,10 @@ class PlanPersistenceMapperTest {
         assertThat(aggregate.executions()).hasSize(2);
         assertThat(aggregate.activities()).hasSize(1);
         assertThat(aggregate.reminderRules()).hasSize(1);
+        assertThat(aggregate.plan().totalNodes()).isEqualTo(2);
+        assertThat(aggregate.plan().completedNodes()).isEqualTo(1);
+        assertThat(aggregate.plan().progress()).isEqualTo(50);
+        assertThat(aggregate.plan().lastActivityAt()).isEqualTo(now.minusDays(1));
 
         assertThat(converted.getId()).isEqualTo(plan.getId());
         assertThat(converted.getTenantId()).isEqualTo(plan.getTenantId());
@@ -142,4 +147,76 @@ class PlanPersistenceMapperTest {
         assertThat(converted.getReminderPolicy().getRules()).hasSize(1);
         assertThat(converted.getReminderPolicy().getUpdatedBy()).isEqualTo("operator-2");
     }
+
+    @Test
+    void shouldStoreActivitiesUnderTheirOwnIds() {
+        OffsetDateTime occurredAt = OffsetDateTime.parse("2024-05-01T09:00:00+09:00");
+        PlanActivity activity = new PlanActivity(PlanActivityType.NODE_STARTED, occurredAt, "operator-1",
+                "plan.activity.nodeStarted", "node-1", Map.of("nodeName", "check"));
+        PlanActivity sameContent = new PlanActivity(PlanActivityType.NODE_STARTED, occurredAt, "operator-1",
+                "plan.activity.nodeStarted", "node-1", Map.of("nodeName", "check"));
+
+        List<PlanActivityEntity> first = PlanPersistenceMapper.toActivityEntities("plan-1", List.of(activity));
+        List<PlanActivityEntity> replayed = PlanPersistenceMapper.toActivityEntities("plan-1",
+                List.of(activity, sameContent));
+
+        assertThat(replayed).extracting(PlanActivityEntity::activityId)
+                .containsExactly(activity.getId(), sameContent.getId());
+        assertThat(replayed.get(0).activityId()).isEqualTo(first.get(0).activityId()).hasSizeLessThanOrEqualTo(64);
+        assertThat(sameContent.getId()).isNotEqualTo(activity.getId());
+    }
+
+    @Test
+    void shouldKeepStoredActivityIdsWhenReadingTimeline() {
+        OffsetDateTime occurredAt = OffsetDateTime.parse("2024-05-01T09:00:00Z");
+        PlanActivity published = new PlanActivity("activity-1", PlanActivityType.PLAN_PUBLISHED, occurredAt,
+                "admin", "plan.activity.published", "plan-1", Map.of());
+
+        List<PlanActivity> timeline = PlanPersistenceMapper.toActivities(
+                PlanPersistenceMapper.toActivityEntities("plan-1", List.of(published)));
+
+        assertThat(timeline).extracting(PlanActivity::getId).containsExactly("activity-1");
+    }
+
+    @Test
+    void shouldDecodeJsonAggregatedRows() {
+        OffsetDateTime created = OffsetDateTime.of(2024, 5, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        PlanEntity header = new PlanEntity("plan-json", "tenant-1", "customer-1", "owner-1", "Title",
+                "Description", PlanStatus.IN_PROGRESS, created, created.plusHours(4), created, null,
+                null, null, null, "UTC", created, created, null, null, 7L, 1, 1, 100, created);
+        PlanAggregateJsonEntity row = new PlanAggregateJsonEntity(
+                header,
+                "[{\"planId\": \"plan-json\", \"participantId\": \"owner-1\"}]",
+                "[{\"planId\": \"plan-json\", \"nodeId\": \"node-1\", \"parentNodeId\": null, "
+                        + "\"name\": \"Root\", \"type\": \"CHECK\", \"assignee\": \"owner-1\", "
+                        + "\"orderIndex\": 1, \"expectedDurationMinutes\": 30, \"actionType\": \"EMAIL\", "
+                        + "\"completionThreshold\": 100, \"actionRef\": \"tpl-1\", \"description\": null}]",
+                "[{\"planId\": \"plan-json\", \"nodeId\": \"node-1\", \"status\": \"DONE\", "
+                        + "\"startTime\": \"2024-05-01T18:00:00+09:00\", "
+                        + "\"endTime\": \"2024-05-01T10:30:00.123456+00:00\", \"operator\": \"owner-1\", "
+                        + "\"result\": \"ok\", \"log\": null}]",
+                "[{\"planId\": \"plan-json\", \"nodeId\": \"node-1\", \"fileId\": \"file-1\"}]",
+                "[{\"planId\": \"plan-json\", \"activityId\": \"act-1\", \"type\": \"NODE_COMPLETED\", "
+                        + "\"occurredAt\": \"2024-05-01T10:30:00+00:00\", \"actor\": \"owner-1\", "
+                        + "\"message\": \"plan.activity.nodeCompleted\", \"referenceId\": \"node-1\", "
+                        + "\"attributes\": {\"result\": \"ok\"}}]",
+                null
+        );
+
+        Plan plan = PlanPersistenceMapper.toDomain(row);
+
+        assertThat(plan.getVersion()).isEqualTo(7L);
+        assertThat(plan.getParticipants()).containsExactly("owner-1");
+        assertThat(plan.getNodes()).singleElement()
+                .satisfies(node -> assertThat(node.getActionType()).isEqualTo(PlanNodeActionType.EMAIL));
+        assertThat(plan.getExecutions()).singleElement().satisfies(execution -> {
+            assertThat(execution.getStartTime().toInstant()).isEqualTo(created.toInstant());
+            assertThat(execution.getEndTime().getNano()).isEqualTo(123_456_000);
+            assertThat(execution.getFileIds()).containsExactly("file-1");
+        });
+        assertThat(plan.getProgress()).isEqualTo(100);
+        assertThat(plan.getActivities()).singleElement()
+                .satisfies(activity -> assertThat(activity.getAttributes()).containsEntry("result", "ok"));
+        assertThat(plan.getReminderPolicy().getRules()).isEmpty();
+    }
 }
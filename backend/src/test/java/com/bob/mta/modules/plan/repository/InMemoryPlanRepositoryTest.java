@@ -1,14 +1,28 @@
 package com.bob.mta.modules.plan.repository;
 
 import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
+import com.bob.mta.modules.plan.domain.PlanActivity;
+import com.bob.mta.modules.plan.domain.PlanActivityType;
+import com.bob.mta.modules.plan.domain.PlanCalendarEntry;
+import com.bob.mta.modules.plan.domain.PlanNodeExecution;
+import com.bob.mta.modules.plan.domain.PlanNodeStatus;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
 import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanReminderRule;
+import com.bob.mta.modules.plan.domain.PlanReminderTrigger;
 import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class InMemoryPlanRepositoryTest {
 
@@ -113,4 +127,223 @@ class InMemoryPlanRepositoryTest {
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo("PLAN-202");
     }
+
+    @Test
+    void shouldAppendActivitiesOnlyOnce() {
+        OffsetDateTime now = OffsetDateTime.now();
+        PlanActivity created = new PlanActivity(PlanActivityType.PLAN_CREATED, now.minusMinutes(5), "admin",
+                "plan.activity.created", "PLAN-103", Map.of());
+        Plan plan = new Plan(
+                "PLAN-103", "tenant-x", "追加时间线", "desc", "cust-1", "admin",
+                List.of("admin"), PlanStatus.DESIGN,
+                now, now.plusHours(2),
+                null, null, null, null, null,
+                "Asia/Shanghai", List.of(), List.of(), now, now,
+                List.of(created), PlanReminderPolicy.empty()
+        );
+        repository.save(plan);
+        PlanActivity published = new PlanActivity(PlanActivityType.PLAN_PUBLISHED, now, "admin",
+                "plan.activity.published", "PLAN-103", Map.of());
+
+        repository.appendActivities("PLAN-103", List.of(created, published));
+        repository.appendActivities("PLAN-103", List.of(published));
+
+        assertThat(repository.findTimeline("PLAN-103")).containsExactly(created, published);
+    }
+
+    @Test
+    void shouldSeekPastCursor() {
+        OffsetDateTime baseline = OffsetDateTime.parse("2024-06-01T00:00:00Z");
+        for (int i = 1; i <= 4; i++) {
+            repository.save(new Plan(
+                    "PLAN-20" + i, "tenant-seek", "计划" + i, "desc", "cust-1", "owner-a",
+                    List.of("owner-a"), PlanStatus.SCHEDULED,
+                    i == 4 ? null : baseline.plusDays(i % 3), i == 4 ? null : baseline.plusDays(i % 3).plusHours(1),
+                    null, null, null, null, null,
+                    "Asia/Shanghai", List.of(), List.of(), baseline, baseline,
+                    List.of(), PlanReminderPolicy.empty()
+            ));
+        }
+
+        PlanSearchCriteria firstPage = PlanSearchCriteria.builder().tenantId("tenant-seek").limit(2).build();
+        List<Plan> first = repository.findByCriteria(firstPage);
+        PlanSearchCursor cursor = PlanSearchCursor.decode(PlanSearchCursor.of(first.get(1)).encode());
+        List<Plan> second = repository.findByCriteria(PlanSearchCriteria.builder()
+                .tenantId("tenant-seek")
+                .after(cursor)
+                .limit(2)
+                .build());
+
+        assertThat(first).extracting(Plan::getId).containsExactly("PLAN-203", "PLAN-201");
+        assertThat(second).extracting(Plan::getId).containsExactly("PLAN-202", "PLAN-204");
+        assertThat(repository.findByCriteria(PlanSearchCriteria.builder()
+                .tenantId("tenant-seek")
+                .after(PlanSearchCursor.of(second.get(1)))
+                .build())).isEmpty();
+    }
+
+    @Test
+    void shouldRankKeywordMatchesByField() {
+        OffsetDateTime baseline = OffsetDateTime.parse("2024-06-01T00:00:00Z");
+        repository.save(new Plan(
+                "PLAN-301", "tenant-search", "数据库升级", "夜间巡检后执行", "cust-1", "owner-a",
+                List.of("owner-a"), PlanStatus.SCHEDULED, baseline, baseline.plusHours(1),
+                null, null, null, null, null,
+                "Asia/Shanghai", List.of(), List.of(), baseline, baseline,
+                List.of(), PlanReminderPolicy.empty()));
+        repository.save(new Plan(
+                "PLAN-302", "tenant-search", "Nightly Inspection", "巡检 checklist", "cust-1", "owner-a",
+                List.of("owner-a"), PlanStatus.SCHEDULED, baseline.plusDays(1), baseline.plusDays(1).plusHours(1),
+                null, null, null, null, null,
+                "Asia/Shanghai", List.of(), List.of(), baseline, baseline,
+                List.of(), PlanReminderPolicy.empty()));
+        repository.save(new Plan(
+                "PLAN-303", "tenant-search", "机房巡检", null, "cust-1", "owner-a",
+                List.of("owner-a"), PlanStatus.SCHEDULED, baseline.plusDays(2), baseline.plusDays(2).plusHours(1),
+                null, null, null, null, null,
+                "Asia/Shanghai", List.of(), List.of(), baseline, baseline,
+                List.of(), PlanReminderPolicy.empty()));
+
+        List<Plan> ranked = repository.findByCriteria(PlanSearchCriteria.builder()
+                .tenantId("tenant-search")
+                .keyword("巡检")
+                .rankByKeyword(true)
+                .build());
+        List<Plan> inspection = repository.findByCriteria(PlanSearchCriteria.builder()
+                .tenantId("tenant-search")
+                .keyword("INSPECT")
+                .build());
+
+        assertThat(ranked).extracting(Plan::getId).containsExactly("PLAN-303", "PLAN-301", "PLAN-302");
+        assertThat(inspection).extracting(Plan::getId).containsExactly("PLAN-302");
+
+        repository.delete("PLAN-302");
+
+        assertThat(repository.countByCriteria(PlanSearchCriteria.builder().keyword("inspection").build()))
+                .isZero();
+    }
+
+    @Test
+    void shouldRejectSaveOfStaleVersion() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Plan plan = new Plan(
+                "PLAN-400", "tenant-cas", "并发计划", "desc", "cust-1", "owner-a",
+                List.of("owner-a"), PlanStatus.DESIGN, now, now.plusHours(1),
+                null, null, null, null, null,
+                "Asia/Shanghai", List.of(), List.of(), now, now,
+                List.of(), PlanReminderPolicy.empty());
+        repository.save(plan);
+
+        Plan first = repository.findById("PLAN-400").orElseThrow();
+        Plan second = repository.findById("PLAN-400").orElseThrow();
+        repository.save(first.withOwnerAndParticipants("owner-b", null, now.plusMinutes(1), first.getActivities()));
+
+        assertThat(repository.findById("PLAN-400")).get()
+                .extracting(Plan::getOwner, Plan::getVersion)
+                .containsExactly("owner-b", 1L);
+        assertThatThrownBy(() -> repository.save(
+                second.withOwnerAndParticipants("owner-c", null, now.plusMinutes(2), second.getActivities())))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository.findById("PLAN-400")).get().extracting(Plan::getOwner).isEqualTo("owner-b");
+    }
+
+    @Test
+    void shouldProjectSummariesWithoutChildCollections() {
+        OffsetDateTime now = OffsetDateTime.now();
+        repository.save(new Plan(
+                "PLAN-500", "tenant-summary", "巡检汇总", "desc", "cust-1", "owner-a",
+                List.of("owner-a", "member-b"), PlanStatus.IN_PROGRESS, now, now.plusHours(2),
+                now, null, null, null, null,
+                "Asia/Shanghai", List.of(),
+                List.of(new PlanNodeExecution("NODE-1", PlanNodeStatus.DONE, now, now, "owner-a", null, null, List.of()),
+                        new PlanNodeExecution("NODE-2", PlanNodeStatus.PENDING, null, null, null, null, null, List.of())),
+                now, now, List.of(),
+                new PlanReminderPolicy(List.of(new PlanReminderRule("REM-1", PlanReminderTrigger.BEFORE_PLAN_START,
+                        30, List.of("EMAIL"), "tpl-1", List.of("OWNER"), null)), now, "owner-a")));
+
+        List<PlanSummaryProjection> summaries = repository.findSummaries(PlanSearchCriteria.builder()
+                .tenantId("tenant-summary")
+                .build());
+
+        assertThat(summaries).singleElement().satisfies(summary -> {
+            assertThat(summary.id()).isEqualTo("PLAN-500");
+            assertThat(summary.progress()).isEqualTo(50);
+            assertThat(summary.participants()).containsExactly("owner-a", "member-b");
+            assertThat(summary.reminderRuleCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldFindCalendarChangesAndRecordTombstones() {
+        OffsetDateTime now = OffsetDateTime.now();
+        repository.save(syncPlan("PLAN-600", PlanStatus.SCHEDULED, now.minusHours(3), null));
+        repository.save(syncPlan("PLAN-601", PlanStatus.SCHEDULED, now.minusMinutes(20), null));
+        repository.save(syncPlan("PLAN-602", PlanStatus.CANCELED, now.minusHours(3), now.minusMinutes(10)));
+
+        assertThat(repository.findCalendarChanges("tenant-sync", now.minusHours(1), now, 10))
+                .extracting(PlanCalendarEntry::id)
+                .containsExactly("PLAN-601", "PLAN-602");
+        assertThat(repository.findCalendarChanges("tenant-sync", now.minusHours(1), now, 1))
+                .extracting(PlanCalendarEntry::id)
+                .containsExactly("PLAN-601");
+
+        repository.delete("PLAN-600");
+
+        assertThat(repository.findTombstones("tenant-sync", now.minusHours(1), OffsetDateTime.now().plusMinutes(1)))
+                .extracting(PlanTombstone::planId)
+                .containsExactly("PLAN-600");
+        repository.pruneTombstones(OffsetDateTime.now().plusMinutes(1));
+        assertThat(repository.findTombstones("tenant-sync", now.minusHours(1), OffsetDateTime.now().plusMinutes(1)))
+                .isEmpty();
+    }
+
+    @Test
+    void shouldLeaseReminderOccurrencesOnceAndKeepStateOfUnchangedOnes() {
+        OffsetDateTime now = OffsetDateTime.parse("2024-06-01T08:00:00Z");
+        PlanReminderOccurrence first = new PlanReminderOccurrence("PLAN-700", "REM-1", now.plusMinutes(5));
+        PlanReminderOccurrence second = new PlanReminderOccurrence("PLAN-700", "REM-2", now.plusMinutes(8));
+        PlanReminderOccurrence past = new PlanReminderOccurrence("PLAN-700", "REM-3", now.minusMinutes(1));
+        repository.replaceReminderOccurrences("PLAN-700", List.of(first, second, past), now);
+
+        assertThat(repository.leaseReminderOccurrences("node-a", now, now.minusHours(1), now.plusMinutes(10),
+                Duration.ofMinutes(5), 10)).containsExactly(first, second);
+        assertThat(repository.leaseReminderOccurrences("node-b", now, now.minusHours(1), now.plusMinutes(10),
+                Duration.ofMinutes(5), 10)).isEmpty();
+        assertThat(repository.claimReminderOccurrence(first, "node-b", now.plusMinutes(10))).isFalse();
+        assertThat(repository.claimReminderOccurrence(first, "node-a", now.plusMinutes(10))).isTrue();
+        repository.completeReminderOccurrence(first, "node-a", PlanActionStatus.SUCCESS, now.plusMinutes(5));
+
+        PlanReminderOccurrence moved = new PlanReminderOccurrence("PLAN-700", "REM-2", now.plusMinutes(9));
+        repository.replaceReminderOccurrences("PLAN-700", List.of(first, moved), now);
+
+        assertThat(repository.claimReminderOccurrence(second, "node-a", now.plusMinutes(10))).isFalse();
+        assertThat(repository.leaseReminderOccurrences("node-b", now, now.minusHours(1), now.plusMinutes(10),
+                Duration.ofMinutes(5), 10)).containsExactly(moved);
+    }
+
+    @Test
+    void shouldSkipReminderOccurrencesMissedForTooLongAndReleaseLeases() {
+        OffsetDateTime now = OffsetDateTime.parse("2024-06-01T08:00:00Z");
+        PlanReminderOccurrence missed = new PlanReminderOccurrence("PLAN-701", "REM-1", now.minusHours(2));
+        PlanReminderOccurrence upcoming = new PlanReminderOccurrence("PLAN-701", "REM-2", now.plusMinutes(5));
+        repository.replaceReminderOccurrences("PLAN-701", List.of(missed, upcoming), now.minusHours(3));
+
+        assertThat(repository.expireReminderOccurrences(now.minusHours(1), now)).isEqualTo(1);
+        assertThat(repository.expireReminderOccurrences(now.minusHours(1), now)).isZero();
+        assertThat(repository.leaseReminderOccurrences("node-a", now, now.minusDays(1), now.plusMinutes(10),
+                Duration.ofMinutes(5), 10)).containsExactly(upcoming);
+
+        repository.releaseReminderOccurrences("node-a");
+
+        assertThat(repository.leaseReminderOccurrences("node-b", now, now.minusDays(1), now.plusMinutes(10),
+                Duration.ofMinutes(5), 10)).containsExactly(upcoming);
+    }
+
+    private Plan syncPlan(String id, PlanStatus status, OffsetDateTime updatedAt, OffsetDateTime canceledAt) {
+        OffsetDateTime start = updatedAt.plusDays(1);
+        return new Plan(id, "tenant-sync", "同步 " + id, null, "cust-1", "owner-a", List.of("owner-a"), status,
+                start, start.plusHours(2), null, null, canceledAt == null ? null : "stop",
+                canceledAt == null ? null : "owner-a", canceledAt, "UTC", List.of(), List.of(),
+                updatedAt, updatedAt, List.of(), PlanReminderPolicy.empty());
+    }
 }
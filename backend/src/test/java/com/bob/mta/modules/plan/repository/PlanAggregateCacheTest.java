@@ -0,0 +1,70 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanAggregateCacheTest {
+
+    @Test
+    void shouldOnlyServeEntriesLoadedAtCurrentVersion() {
+        PlanAggregateCache cache = new PlanAggregateCache(true, 100);
+        Plan plan = plan("PLAN-1", List.of("owner"));
+
+        cache.put("PLAN-1", 3, plan);
+
+        assertThat(cache.get("PLAN-1", 3)).isSameAs(plan);
+        assertThat(cache.get("PLAN-1", 4)).isNull();
+        assertThat(cache.get("PLAN-1", 3)).isNull();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesBeyondWeight() {
+        PlanAggregateCache cache = new PlanAggregateCache(true, 6);
+        cache.put("PLAN-1", 0, plan("PLAN-1", List.of("a", "b")));
+        cache.put("PLAN-2", 0, plan("PLAN-2", List.of("a", "b")));
+        cache.get("PLAN-1", 0);
+
+        cache.put("PLAN-3", 0, plan("PLAN-3", List.of("a", "b")));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.weight()).isEqualTo(6);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.get("PLAN-2", 0)).isNull();
+        assertThat(cache.get("PLAN-1", 0)).isNotNull();
+    }
+
+    @Test
+    void shouldExposeMetricsAndIgnoreWritesWhenDisabled() {
+        PlanAggregateCache cache = new PlanAggregateCache(true, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put("PLAN-1", 0, plan("PLAN-1", List.of()));
+        cache.get("PLAN-1", 0);
+        cache.invalidate("PLAN-1");
+
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.size").gauge().value()).isZero();
+
+        PlanAggregateCache disabled = new PlanAggregateCache(false, 100);
+        disabled.put("PLAN-1", 0, plan("PLAN-1", List.of()));
+        assertThat(disabled.get("PLAN-1", 0)).isNull();
+        assertThat(disabled.missCount()).isZero();
+    }
+
+    private Plan plan(String id, List<String> participants) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new Plan(id, "tenant", "title", null, "cust", "owner", participants, PlanStatus.DESIGN,
+                now, now.plusHours(1), null, null, null, null, null, "UTC", List.of(), List.of(), now, now,
+                List.of(), PlanReminderPolicy.empty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanAnalytics;
+import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanAnalyticsAccumulatorTest {
+
+    private static final OffsetDateTime REFERENCE = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void shouldSummarizeCountsAndTopEntriesInOnePass() {
+        List<Plan> plans = List.of(
+                plan("PLAN-1", "alice", PlanStatus.SCHEDULED, REFERENCE.minusHours(5), REFERENCE.minusHours(2)),
+                plan("PLAN-2", "alice", PlanStatus.IN_PROGRESS, REFERENCE.minusHours(3), REFERENCE.plusHours(2)),
+                plan("PLAN-3", "bob", PlanStatus.SCHEDULED, REFERENCE.plusHours(1), REFERENCE.plusHours(3)),
+                plan("PLAN-4", "bob", PlanStatus.DESIGN, REFERENCE.plusHours(2), REFERENCE.plusHours(4)),
+                plan("PLAN-5", "carol", PlanStatus.COMPLETED, REFERENCE.minusDays(2), REFERENCE.minusDays(1)),
+                plan("PLAN-6", " ", PlanStatus.CANCELED, REFERENCE.plusHours(1), REFERENCE.plusHours(2)),
+                plan("PLAN-7", "carol", PlanStatus.SCHEDULED, REFERENCE.plusDays(3), REFERENCE.plusDays(4)));
+        PlanAnalyticsQuery query = PlanAnalyticsQuery.builder()
+                .referenceTime(REFERENCE)
+                .upcomingLimit(2)
+                .ownerLimit(2)
+                .riskLimit(2)
+                .build();
+
+        PlanAnalytics analytics = PlanAnalyticsAccumulator.summarize(plans, query);
+
+        assertThat(analytics.getTotalPlans()).isEqualTo(7);
+        assertThat(analytics.getDesignCount()).isEqualTo(1);
+        assertThat(analytics.getScheduledCount()).isEqualTo(3);
+        assertThat(analytics.getInProgressCount()).isEqualTo(1);
+        assertThat(analytics.getCompletedCount()).isEqualTo(1);
+        assertThat(analytics.getCanceledCount()).isEqualTo(1);
+        assertThat(analytics.getOverdueCount()).isEqualTo(1);
+        assertThat(analytics.getUpcomingPlans()).extracting(PlanAnalytics.UpcomingPlan::getId)
+                .containsExactly("PLAN-3", "PLAN-4");
+        assertThat(analytics.getOwnerLoads()).extracting(PlanAnalytics.OwnerLoad::getOwnerId)
+                .containsExactly("alice", "bob");
+        assertThat(analytics.getOwnerLoads().get(0).getOverduePlans()).isEqualTo(1);
+        assertThat(analytics.getRiskPlans()).extracting(PlanAnalytics.RiskPlan::getId)
+                .containsExactly("PLAN-1", "PLAN-2");
+        assertThat(analytics.getRiskPlans().get(0).getRiskLevel()).isEqualTo(PlanAnalytics.RiskLevel.OVERDUE);
+        assertThat(analytics.getRiskPlans().get(0).getMinutesOverdue()).isEqualTo(120);
+        assertThat(analytics.getRiskPlans().get(1).getMinutesUntilDue()).isEqualTo(120);
+    }
+
+    @Test
+    void shouldMatchPerMetricScansWhenSplitAcrossWorkers() {
+        Random random = new Random(7);
+        String[] owners = {"alice", "bob", "carol", "dave", "erin"};
+        PlanStatus[] statuses = PlanStatus.values();
+        List<Plan> plans = new ArrayList<>();
+        for (int i = 0; i < PlanAnalyticsAccumulator.PARALLEL_THRESHOLD + 500; i++) {
+            OffsetDateTime start = REFERENCE.plusMinutes(random.nextInt(20_000) - 10_000);
+            plans.add(plan("PLAN-" + i, owners[random.nextInt(owners.length)],
+                    statuses[random.nextInt(statuses.length)], start, start.plusMinutes(30 + random.nextInt(600))));
+        }
+        PlanAnalyticsQuery query = PlanAnalyticsQuery.builder().referenceTime(REFERENCE).build();
+
+        PlanAnalytics analytics = PlanAnalyticsAccumulator.summarize(plans, query);
+
+        assertThat(analytics.getTotalPlans()).isEqualTo(plans.size());
+        assertThat(analytics.getScheduledCount())
+                .isEqualTo(plans.stream().filter(plan -> plan.getStatus() == PlanStatus.SCHEDULED).count());
+        assertThat(analytics.getOverdueCount()).isEqualTo(plans.stream()
+                .filter(plan -> plan.getStatus() == PlanStatus.SCHEDULED || plan.getStatus() == PlanStatus.IN_PROGRESS)
+                .filter(plan -> plan.getPlannedEndTime().isBefore(REFERENCE))
+                .count());
+        assertThat(analytics.getUpcomingPlans()).extracting(PlanAnalytics.UpcomingPlan::getId)
+                .containsExactlyElementsOf(expectedUpcoming(plans, query.getUpcomingLimit()));
+        assertThat(analytics.getOwnerLoads()).extracting(PlanAnalytics.OwnerLoad::getTotalPlans)
+                .containsOnlyOnce(plans.stream().filter(plan -> plan.getOwner().equals("alice")).count());
+        assertThat(analytics.getRiskPlans()).hasSize(query.getRiskLimit())
+                .allMatch(risk -> risk.getRiskLevel() == PlanAnalytics.RiskLevel.OVERDUE);
+    }
+
+    private List<String> expectedUpcoming(List<Plan> plans, int limit) {
+        return plans.stream()
+                .filter(plan -> plan.getStatus() != PlanStatus.CANCELED && plan.getStatus() != PlanStatus.COMPLETED)
+                .filter(plan -> !plan.getPlannedStartTime().isBefore(REFERENCE))
+                .sorted((left, right) -> {
+                    int compare = left.getPlannedStartTime().compareTo(right.getPlannedStartTime());
+                    return compare != 0 ? compare : left.getId().compareTo(right.getId());
+                })
+                .limit(limit)
+                .map(Plan::getId)
+                .toList();
+    }
+
+    private Plan plan(String id, String owner, PlanStatus status, OffsetDateTime start, OffsetDateTime end) {
+        return new Plan(id, "tenant", "title " + id, null, "cust", owner, List.of(), status,
+                start, end, null, null, null, null, null, "UTC", List.of(), List.of(), start, start,
+                List.of(), PlanReminderPolicy.empty());
+    }
+}
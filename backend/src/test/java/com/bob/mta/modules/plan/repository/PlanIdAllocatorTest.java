@@ -0,0 +1,108 @@
+package com.bob.mta.modules.plan.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanIdAllocatorTest {
+
+    @Test
+    void shouldServeIdentifiersFromClaimedBlock() {
+        FakeSequence sequence = new FakeSequence(50);
+        PlanIdAllocator allocator = sequence.allocator("PLAN-");
+
+        assertThat(allocator.next()).isEqualTo("PLAN-00000001");
+        assertThat(allocator.next()).isEqualTo("PLAN-00000002");
+        for (int i = 0; i < 60; i++) {
+            allocator.next();
+        }
+
+        assertThat(allocator.next()).isEqualTo("PLAN-00000063");
+        assertThat(sequence.roundTrips).hasValue(3);
+    }
+
+    @Test
+    void shouldReserveMissingBlocksInOneRoundTrip() {
+        FakeSequence sequence = new FakeSequence(50);
+        PlanIdAllocator allocator = sequence.allocator("NODE-");
+        allocator.next();
+
+        List<String> ids = allocator.next(120);
+
+        assertThat(ids).hasSize(120).doesNotHaveDuplicates();
+        assertThat(ids.get(0)).isEqualTo("NODE-00000002");
+        assertThat(sequence.roundTrips).hasValue(2);
+        assertThat(allocator.next()).isEqualTo("NODE-00000122");
+        assertThat(sequence.roundTrips).hasValue(2);
+    }
+
+    @Test
+    void shouldNeverHandOutDuplicatesAcrossInstances() throws Exception {
+        FakeSequence sequence = new FakeSequence(50);
+        List<PlanIdAllocator> instances = List.of(sequence.allocator("REM-"), sequence.allocator("REM-"));
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int worker = 0; worker < 8; worker++) {
+            PlanIdAllocator allocator = instances.get(worker % 2);
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    assertThat(issued.add(allocator.next())).isTrue();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(issued).hasSize(8000);
+    }
+
+    @Test
+    void shouldFallBackToSingleValuesWhenSequenceIncrementsByOne() {
+        FakeSequence sequence = new FakeSequence(1);
+        PlanIdAllocator allocator = sequence.allocator("PLAN-");
+
+        assertThat(allocator.next(3)).containsExactly("PLAN-00000001", "PLAN-00000002", "PLAN-00000003");
+        assertThat(sequence.roundTrips).hasValue(1);
+    }
+
+    /**
+     * Mimics a PostgreSQL sequence: the first nextval returns the start value, later calls add the increment.
+     */
+    private static final class FakeSequence {
+
+        private final long increment;
+        private final AtomicLong last = new AtomicLong();
+        private final AtomicInteger roundTrips = new AtomicInteger();
+
+        private FakeSequence(long increment) {
+            this.increment = increment;
+        }
+
+        PlanIdAllocator allocator(String prefix) {
+            return new PlanIdAllocator(prefix, this::nextValues, () -> increment);
+        }
+
+        private List<Long> nextValues(int count) {
+            roundTrips.incrementAndGet();
+            List<Long> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(last.updateAndGet(current -> current == 0 ? 1 : current + increment));
+            }
+            return values;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.bob.mta.modules.plan.domain.PlanStatus;
 import com.bob.mta.modules.plan.repository.PlanAnalyticsQuery;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
+import com.bob.mta.modules.plan.service.PlanBoardCardPage;
 import com.bob.mta.modules.plan.service.PlanBoardView;
 import com.bob.mta.modules.plan.service.PlanBoardViewHelper;
 import org.assertj.core.groups.Tuple;
@@ -35,6 +36,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.tuple;
 
 @Testcontainers
@@ -401,6 +403,100 @@ class PlanPersistenceAnalyticsRepositoryTest {
                 .isSortedAccordingTo(PlanBoardViewHelper.PLAN_CARD_COMPARATOR);
     }
 
+    @Test
+    void shouldLimitBoardCardsWithExactAggregatesAndPageTheRest() {
+        OffsetDateTime baseline = OffsetDateTime.of(2024, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        List<Plan> plans = new ArrayList<>();
+        for (int index = 0; index < 5; index++) {
+            plans.add(createPlan(planRepository.nextPlanId(), "tenant-board-limit", PlanStatus.SCHEDULED,
+                    "owner-limit", "cust-limit", baseline.plusHours(index), baseline.plusHours(index + 2),
+                    baseline.minusDays(2), baseline.minusDays(1), List.of(PlanNodeStatus.PENDING)));
+        }
+        persist(plans.toArray(Plan[]::new));
+        PlanSearchCriteria criteria = PlanSearchCriteria.builder().tenantId("tenant-board-limit").build();
+
+        PlanBoardView full = analyticsRepository.getPlanBoard(criteria, PlanBoardGrouping.DAY);
+        PlanBoardView limited = analyticsRepository.getPlanBoard(criteria, PlanBoardGrouping.DAY, 2);
+
+        assertThat(limited.getMetrics()).usingRecursiveComparison().isEqualTo(full.getMetrics());
+        PlanBoardView.CustomerGroup group = limited.getCustomerGroups().get(0);
+        assertThat(group.getTotalPlans()).isEqualTo(5);
+        assertThat(group.getPlans()).extracting(PlanBoardView.PlanCard::getId)
+                .containsExactly(plans.get(0).getId(), plans.get(1).getId());
+        assertThat(limited.getTimeBuckets().get(0).getPlans()).hasSize(2);
+
+        PlanBoardCardPage page = analyticsRepository.findBoardCards(criteria, PlanBoardGrouping.DAY,
+                new PlanBoardCardQuery(PlanBoardGroupType.CUSTOMER, "cust-limit",
+                        PlanSearchCursor.decode(group.getNextCursor()), 2));
+        assertThat(page.cards()).extracting(PlanBoardView.PlanCard::getId)
+                .containsExactly(plans.get(2).getId(), plans.get(3).getId());
+
+        PlanBoardView.TimeBucket bucket = limited.getTimeBuckets().get(0);
+        PlanBoardCardPage last = analyticsRepository.findBoardCards(criteria, PlanBoardGrouping.DAY,
+                new PlanBoardCardQuery(PlanBoardGroupType.TIME_BUCKET, bucket.getBucketId(),
+                        PlanSearchCursor.decode(page.nextCursor()), 2));
+        assertThat(last.cards()).extracting(PlanBoardView.PlanCard::getId).containsExactly(plans.get(4).getId());
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldPushKeywordStatusAndCustomerFiltersIntoBoardQueries() {
+        OffsetDateTime baseline = OffsetDateTime.of(2024, 8, 5, 9, 0, 0, 0, ZoneOffset.UTC);
+        Plan matching = createPlan(planRepository.nextPlanId(), "tenant-board-filters", PlanStatus.SCHEDULED,
+                "owner-filters", "cust-filter-a", baseline, baseline.plusHours(2),
+                baseline.minusDays(2), baseline.minusDays(1), List.of(PlanNodeStatus.PENDING));
+        Plan otherCustomer = createPlan(planRepository.nextPlanId(), "tenant-board-filters", PlanStatus.SCHEDULED,
+                "owner-filters", "cust-filter-c", baseline.plusMonths(2), baseline.plusMonths(2).plusHours(2),
+                baseline.minusDays(2), baseline.minusDays(1), List.of(PlanNodeStatus.PENDING));
+        Plan otherStatus = createPlan(planRepository.nextPlanId(), "tenant-board-filters", PlanStatus.COMPLETED,
+                "owner-filters", "cust-filter-b", baseline.plusMonths(3), baseline.plusMonths(3).plusHours(2),
+                baseline.minusDays(2), baseline.minusDays(1), List.of(PlanNodeStatus.DONE));
+        persist(matching, otherCustomer, otherStatus);
+
+        PlanSearchCriteria criteria = PlanSearchCriteria.builder()
+                .tenantId("tenant-board-filters")
+                .customerIds(List.of("cust-filter-a", "cust-filter-b"))
+                .statuses(List.of(PlanStatus.SCHEDULED, PlanStatus.IN_PROGRESS))
+                .keyword(matching.getId())
+                .build();
+
+        PlanBoardView persistence = analyticsRepository.getPlanBoard(criteria, PlanBoardGrouping.QUARTER);
+        PlanBoardView inMemory = inMemoryAnalyticsRepository.getPlanBoard(criteria, PlanBoardGrouping.QUARTER);
+
+        assertThat(persistence.getMetrics().getTotalPlans()).isEqualTo(1);
+        assertThat(persistence.getTimeBuckets()).extracting(PlanBoardView.TimeBucket::getBucketId)
+                .containsExactly("2024-Q3");
+        assertThat(bucketTuples(persistence.getTimeBuckets())).isEqualTo(bucketTuples(inMemory.getTimeBuckets()));
+        assertThat(planCardTuples(persistence.getCustomerGroups()))
+                .isEqualTo(planCardTuples(inMemory.getCustomerGroups()));
+    }
+
+    @Test
+    void shouldSummarizeFilterFacetsWithGroupedQuery() {
+        OffsetDateTime baseline = OffsetDateTime.of(2024, 9, 2, 9, 0, 0, 0, ZoneOffset.UTC);
+        persist(
+                createPlan(planRepository.nextPlanId(), "tenant-facets", PlanStatus.SCHEDULED, "owner-a",
+                        "cust-a", baseline, baseline.plusHours(2), baseline, baseline, List.of()),
+                createPlan(planRepository.nextPlanId(), "tenant-facets", PlanStatus.SCHEDULED, "owner-a",
+                        "cust-b", baseline.plusDays(3), baseline.plusDays(4), baseline, baseline, List.of()),
+                createPlan(planRepository.nextPlanId(), "tenant-facets", PlanStatus.DESIGN, "owner-b",
+                        null, null, null, baseline, baseline, List.of()),
+                createPlan(planRepository.nextPlanId(), "tenant-other", PlanStatus.COMPLETED, "owner-c",
+                        "cust-c", baseline.minusDays(9), baseline.minusDays(8), baseline, baseline, List.of()));
+
+        PlanFilterFacets persistence = planRepository.summarizeFilterFacets("tenant-facets");
+
+        assertThat(persistence).isEqualTo(inMemoryPlanRepository.summarizeFilterFacets("tenant-facets"));
+        assertThat(persistence.statusCounts())
+                .containsOnly(entry(PlanStatus.SCHEDULED, 2L), entry(PlanStatus.DESIGN, 1L));
+        assertThat(persistence.ownerCounts()).containsOnly(entry("owner-a", 2L), entry("owner-b", 1L));
+        assertThat(persistence.customerCounts()).containsOnly(entry("cust-a", 1L), entry("cust-b", 1L));
+        assertThat(persistence.earliestStart()).isEqualTo(baseline);
+        assertThat(persistence.latestEnd()).isEqualTo(baseline.plusDays(4));
+        assertThat(planRepository.summarizeFilterFacets(null).statusCounts())
+                .containsEntry(PlanStatus.COMPLETED, 1L);
+    }
+
     private void persist(Plan... plans) {
         for (Plan plan : plans) {
             planRepository.save(plan);
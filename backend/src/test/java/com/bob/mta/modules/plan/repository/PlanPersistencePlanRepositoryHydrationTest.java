@@ -0,0 +1,46 @@
+package com.bob.mta.modules.plan.repository;
+
+import com.bob.mta.modules.plan.PlanProperties;
+import com.bob.mta.modules.plan.persistence.PlanAggregateMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlanPersistencePlanRepositoryHydrationTest {
+
+    private final PlanAggregateMapper mapper = mock(PlanAggregateMapper.class);
+
+    @Test
+    void shouldHydrateWithConfiguredModeWhenCriteriaLeaveItOpen() {
+        PlanPersistencePlanRepository repository = repository(PlanHydrationMode.JSON_AGGREGATE);
+
+        repository.findByCriteria(PlanSearchCriteria.builder().tenantId("tenant-1").build());
+
+        verify(mapper).findPlanAggregates(any());
+        verify(mapper, never()).findPlans(any());
+    }
+
+    @Test
+    void shouldLetCriteriaOverrideConfiguredMode() {
+        PlanPersistencePlanRepository repository = repository(PlanHydrationMode.JSON_AGGREGATE);
+
+        repository.findByCriteria(PlanSearchCriteria.builder().hydrationMode(PlanHydrationMode.BATCHED).build());
+
+        verify(mapper).findPlans(any());
+        verify(mapper, never()).findPlanAggregates(any());
+    }
+
+    private PlanPersistencePlanRepository repository(PlanHydrationMode mode) {
+        when(mapper.findPlans(any())).thenReturn(List.of());
+        when(mapper.findPlanAggregates(any())).thenReturn(List.of());
+        PlanProperties properties = new PlanProperties();
+        properties.getPersistence().setHydrationMode(mode);
+        return new PlanPersistencePlanRepository(mapper, new PlanAggregateCache(properties), properties);
+    }
+}
@@ -13,6 +13,8 @@ final class PlanPersistenceTestDatabase {
             "DROP TABLE IF EXISTS mt_plan_node",
             "DROP TABLE IF EXISTS mt_plan_participant",
             "DROP TABLE IF EXISTS mt_plan_reminder_rule",
+            "DROP TABLE IF EXISTS mt_plan_tombstone",
+            "DROP TABLE IF EXISTS mt_plan_reminder_occurrence",
             "DROP TABLE IF EXISTS mt_plan",
             "DROP SEQUENCE IF EXISTS mt_plan_id_seq",
             "DROP SEQUENCE IF EXISTS mt_plan_node_id_seq",
@@ -96,7 +98,20 @@ final class PlanPersistenceTestDatabase {
                     "recipients JSONB, " +
                     "description TEXT, " +
                     "active BOOLEAN NOT NULL, " +
-                    "PRIMARY KEY (plan_id, rule_id))"
+                    "PRIMARY KEY (plan_id, rule_id))",
+            "CREATE TABLE IF NOT EXISTS mt_plan_tombstone (" +
+                    "plan_id VARCHAR(64) PRIMARY KEY, " +
+                    "tenant_id VARCHAR(64) NOT NULL, " +
+                    "deleted_at TIMESTAMPTZ NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS mt_plan_reminder_occurrence (" +
+                    "plan_id VARCHAR(64) NOT NULL, " +
+                    "reminder_id VARCHAR(64) NOT NULL, " +
+                    "fire_at TIMESTAMPTZ NOT NULL, " +
+                    "status VARCHAR(16) NOT NULL DEFAULT 'PENDING', " +
+                    "lease_owner VARCHAR(128), " +
+                    "lease_until TIMESTAMPTZ, " +
+                    "completed_at TIMESTAMPTZ, " +
+                    "PRIMARY KEY (plan_id, reminder_id))"
     };
 
     private static final String[] RESET_SEQUENCES = {
@@ -127,6 +142,8 @@ final class PlanPersistenceTestDatabase {
         for (String table : TABLES) {
             jdbcTemplate.execute("DELETE FROM " + table);
         }
+        jdbcTemplate.execute("DELETE FROM mt_plan_tombstone");
+        jdbcTemplate.execute("DELETE FROM mt_plan_reminder_occurrence");
         runStatements(jdbcTemplate, RESET_SEQUENCES);
     }
 
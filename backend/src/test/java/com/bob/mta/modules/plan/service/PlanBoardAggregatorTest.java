@@ -0,0 +1,104 @@
+package com.bob.mta.modules.plan.service;
+
+import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanBoardAggregatorTest {
+
+    private static final OffsetDateTime REFERENCE = OffsetDateTime.of(2024, 5, 6, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void shouldAggregateGroupsBucketsAndMetricsInOnePass() {
+        List<Plan> plans = List.of(
+                plan("PLAN-1", "cust-a", PlanStatus.IN_PROGRESS, REFERENCE.minusHours(4), REFERENCE.minusHours(1)),
+                plan("PLAN-2", "cust-a", PlanStatus.SCHEDULED, REFERENCE.plusHours(2), REFERENCE.plusHours(4)),
+                plan("PLAN-3", "cust-b", PlanStatus.COMPLETED, REFERENCE.minusDays(8), REFERENCE.minusDays(8)
+                        .plusHours(2)),
+                plan("PLAN-4", null, PlanStatus.DESIGN, null, null));
+
+        PlanBoardView view = PlanBoardAggregator.aggregate(plans, PlanBoardGrouping.WEEK, REFERENCE, 1440);
+
+        assertThat(view.getMetrics().getTotalPlans()).isEqualTo(4);
+        assertThat(view.getMetrics().getActivePlans()).isEqualTo(2);
+        assertThat(view.getMetrics().getOverduePlans()).isEqualTo(1);
+        assertThat(view.getMetrics().getDueSoonPlans()).isEqualTo(1);
+        assertThat(view.getMetrics().getCompletionRate()).isEqualTo(25.0);
+        assertThat(view.getCustomerGroups()).extracting(PlanBoardView.CustomerGroup::getCustomerId)
+                .containsExactly("cust-a", PlanBoardView.UNKNOWN_CUSTOMER_ID, "cust-b");
+        PlanBoardView.CustomerGroup first = view.getCustomerGroups().get(0);
+        assertThat(first.getAtRiskPlans()).isEqualTo(2);
+        assertThat(first.getEarliestStart()).isEqualTo(REFERENCE.minusHours(4));
+        assertThat(first.getLatestEnd()).isEqualTo(REFERENCE.plusHours(4));
+        assertThat(first.getPlans()).extracting(PlanBoardView.PlanCard::getId).containsExactly("PLAN-1", "PLAN-2");
+        assertThat(view.getTimeBuckets()).extracting(PlanBoardView.TimeBucket::getTotalPlans)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldBucketPlansByQuarter() {
+        List<Plan> plans = List.of(
+                plan("PLAN-1", "cust-a", PlanStatus.SCHEDULED, REFERENCE.withMonth(4).withDayOfMonth(1),
+                        REFERENCE.withMonth(4).withDayOfMonth(2)),
+                plan("PLAN-2", "cust-a", PlanStatus.SCHEDULED, REFERENCE.withMonth(6).withDayOfMonth(30),
+                        REFERENCE.withMonth(7).withDayOfMonth(1)),
+                plan("PLAN-3", "cust-a", PlanStatus.SCHEDULED, REFERENCE.withMonth(7).withDayOfMonth(1),
+                        REFERENCE.withMonth(7).withDayOfMonth(2)));
+
+        PlanBoardView view = PlanBoardAggregator.aggregate(plans, PlanBoardGrouping.QUARTER, REFERENCE, 1440);
+
+        assertThat(view.getTimeBuckets()).extracting(PlanBoardView.TimeBucket::getBucketId)
+                .containsExactly("2024-Q2", "2024-Q3");
+        PlanBoardView.TimeBucket firstQuarter = view.getTimeBuckets().get(0);
+        assertThat(firstQuarter.getStart()).isEqualTo(OffsetDateTime.of(2024, 4, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(firstQuarter.getEnd()).isEqualTo(OffsetDateTime.of(2024, 7, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(firstQuarter.getTotalPlans()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLabelWeeksWithTheIsoWeekBasedYear() {
+        OffsetDateTime lastDayOf2024 = OffsetDateTime.of(2024, 12, 31, 9, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime firstDayOf2027 = OffsetDateTime.of(2027, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        List<Plan> plans = List.of(
+                plan("PLAN-1", "cust-a", PlanStatus.SCHEDULED, lastDayOf2024, lastDayOf2024.plusHours(1)),
+                plan("PLAN-2", "cust-a", PlanStatus.SCHEDULED, firstDayOf2027, firstDayOf2027.plusHours(1)));
+
+        PlanBoardView view = PlanBoardAggregator.aggregate(plans, PlanBoardGrouping.WEEK, REFERENCE, 1440);
+
+        assertThat(view.getTimeBuckets()).extracting(PlanBoardView.TimeBucket::getBucketId)
+                .containsExactly("2025-W01", "2026-W53");
+    }
+
+    @Test
+    void shouldProduceSameBoardInParallelMode() {
+        Random random = new Random(11);
+        PlanStatus[] statuses = PlanStatus.values();
+        List<Plan> plans = new ArrayList<>();
+        for (int i = 0; i < 6_000; i++) {
+            OffsetDateTime start = REFERENCE.plusMinutes(random.nextInt(200_000) - 100_000);
+            plans.add(plan("PLAN-" + i, "cust-" + random.nextInt(40), statuses[random.nextInt(statuses.length)],
+                    start, start.plusMinutes(random.nextInt(900))));
+        }
+
+        PlanBoardView sequential = PlanBoardAggregator.aggregate(plans, PlanBoardGrouping.MONTH, REFERENCE, 1440, 0);
+        PlanBoardView parallel = PlanBoardAggregator.aggregate(plans, PlanBoardGrouping.MONTH, REFERENCE, 1440, 1);
+
+        assertThat(parallel).usingRecursiveComparison().isEqualTo(sequential);
+    }
+
+    private Plan plan(String id, String customerId, PlanStatus status, OffsetDateTime start, OffsetDateTime end) {
+        return new Plan(id, "tenant", "title " + id, null, customerId, "owner", List.of(), status,
+                start, end, null, null, null, null, null, "UTC", List.of(), List.of(), REFERENCE, REFERENCE,
+                List.of(), PlanReminderPolicy.empty());
+    }
+}
@@ -0,0 +1,74 @@
+package com.bob.mta.modules.plan.service;
+
+import com.bob.mta.modules.plan.domain.Plan;
+import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanBoardGroupType;
+import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
+import com.bob.mta.modules.plan.repository.PlanSearchCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanBoardCardPageTest {
+
+    private static final OffsetDateTime REFERENCE = OffsetDateTime.of(2024, 5, 6, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void shouldLimitCardsWhileKeepingGroupCounters() {
+        PlanBoardView board = PlanBoardAggregator.aggregate(plans(), PlanBoardGrouping.WEEK, REFERENCE, 1440);
+
+        PlanBoardView limited = board.withCardLimit(2);
+
+        assertThat(limited.getMetrics()).isSameAs(board.getMetrics());
+        PlanBoardView.CustomerGroup group = limited.getCustomerGroups().get(0);
+        assertThat(group.getCustomerId()).isEqualTo("cust-a");
+        assertThat(group.getTotalPlans()).isEqualTo(5);
+        assertThat(group.getPlans()).extracting(PlanBoardView.PlanCard::getId).containsExactly("PLAN-0", "PLAN-1");
+        assertThat(PlanSearchCursor.decode(group.getNextCursor()))
+                .isEqualTo(PlanSearchCursor.of(group.getPlans().get(1)));
+        PlanBoardView.CustomerGroup small = limited.getCustomerGroups().get(1);
+        assertThat(small.getPlans()).hasSize(1);
+        assertThat(small.getNextCursor()).isNull();
+        assertThat(board.withCardLimit(0)).isSameAs(board);
+    }
+
+    @Test
+    void shouldPageRemainingCardsOfOneColumn() {
+        PlanBoardView board = PlanBoardAggregator.aggregate(plans(), PlanBoardGrouping.WEEK, REFERENCE, 1440);
+        List<PlanBoardView.PlanCard> cards = board.findCards(PlanBoardGroupType.CUSTOMER, "cust-a");
+        String cursor = board.withCardLimit(2).getCustomerGroups().get(0).getNextCursor();
+
+        PlanBoardCardPage second = PlanBoardCardPage.of(cards, PlanSearchCursor.decode(cursor), 2);
+        PlanBoardCardPage third = PlanBoardCardPage.of(cards, PlanSearchCursor.decode(second.nextCursor()), 2);
+
+        assertThat(second.cards()).extracting(PlanBoardView.PlanCard::getId).containsExactly("PLAN-2", "PLAN-3");
+        assertThat(third.cards()).extracting(PlanBoardView.PlanCard::getId).containsExactly("PLAN-4");
+        assertThat(third.nextCursor()).isNull();
+        assertThat(third.pageSize()).isEqualTo(2);
+        assertThat(board.findCards(PlanBoardGroupType.TIME_BUCKET, "missing")).isEmpty();
+    }
+
+    private List<Plan> plans() {
+        List<Plan> plans = new ArrayList<>();
+        for (int index = 0; index < 4; index++) {
+            plans.add(plan("PLAN-" + index, REFERENCE.plusHours(index)));
+        }
+        plans.add(plan("PLAN-4", null));
+        plans.add(new Plan("PLAN-5", "tenant", "title PLAN-5", null, "cust-b", "owner", List.of(),
+                PlanStatus.SCHEDULED, REFERENCE, REFERENCE.plusHours(1), null, null, null, null, null, "UTC",
+                List.of(), List.of(), REFERENCE, REFERENCE, List.of(), PlanReminderPolicy.empty()));
+        return plans;
+    }
+
+    private Plan plan(String id, OffsetDateTime start) {
+        return new Plan(id, "tenant", "title " + id, null, "cust-a", "owner", List.of(), PlanStatus.SCHEDULED,
+                start, start == null ? null : start.plusHours(1), null, null, null, null, null, "UTC", List.of(),
+                List.of(), REFERENCE, REFERENCE, List.of(), PlanReminderPolicy.empty());
+    }
+}
@@ -1,5 +1,7 @@
 package com.bob.mta.modules.plan.service.impl;
 
+import com.bob.mta.common.exception.BusinessException;
+import com.bob.mta.common.exception.ErrorCode;
 import com.bob.mta.common.i18n.MessageResolver;
 import com.bob.mta.modules.file.domain.FileMetadata;
 import com.bob.mta.modules.file.service.FileService;
@@ -9,7 +11,10 @@ import com.bob.mta.modules.notification.EmailMessage;
 import com.bob.mta.modules.notification.EmailNotificationAdapter;
 import com.bob.mta.modules.notification.InstantMessage;
 import com.bob.mta.modules.notification.InstantMessageNotificationAdapter;
+import com.bob.mta.modules.notification.NotificationProperties;
 import com.bob.mta.modules.notification.NotificationResult;
+import com.bob.mta.modules.notification.NotificationRetryExecutor;
+import com.bob.mta.modules.plan.PlanProperties;
 import com.bob.mta.modules.plan.domain.Plan;
 import com.bob.mta.modules.plan.domain.PlanActionHistory;
 import com.bob.mta.modules.plan.domain.PlanActionStatus;
@@ -20,24 +25,37 @@ import com.bob.mta.modules.plan.domain.PlanNode;
 import com.bob.mta.modules.plan.domain.PlanNodeActionType;
 import com.bob.mta.modules.plan.domain.PlanNodeExecution;
 import com.bob.mta.modules.plan.domain.PlanNodeStatus;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
 import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
+import com.bob.mta.modules.plan.domain.PlanReminderRule;
+import com.bob.mta.modules.plan.domain.PlanReminderTrigger;
 import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.InMemoryPlanActionHistoryRepository;
 import com.bob.mta.modules.plan.repository.PlanActionHistoryRepository;
 import com.bob.mta.modules.plan.repository.PlanAggregateRepository;
 import com.bob.mta.modules.plan.repository.PlanAnalyticsQuery;
 import com.bob.mta.modules.plan.repository.PlanAnalyticsRepository;
 import com.bob.mta.modules.plan.repository.PlanAttachmentRepository;
+import com.bob.mta.modules.plan.repository.PlanBoardGroupType;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
 import com.bob.mta.modules.plan.repository.PlanReminderPolicyRepository;
 import com.bob.mta.modules.plan.repository.PlanRepository;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
 import com.bob.mta.modules.plan.repository.PlanTimelineRepository;
 import com.bob.mta.modules.plan.service.PlanBoardView;
+import com.bob.mta.modules.plan.service.PlanBulkCreateProgress;
+import com.bob.mta.modules.plan.service.PlanBulkCreateResult;
+import com.bob.mta.modules.plan.service.command.CreatePlanCommand;
+import com.bob.mta.modules.plan.service.command.PlanNodeCommand;
 import com.bob.mta.modules.template.domain.RenderedTemplate;
 import com.bob.mta.modules.template.service.TemplateService;
+import com.bob.mta.modules.user.domain.User;
+import com.bob.mta.modules.user.domain.UserStatus;
+import com.bob.mta.modules.user.support.FakeUserRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.context.support.StaticMessageSource;
 
@@ -49,13 +67,18 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -717,6 +740,46 @@ class InMemoryPlanServiceActionTest {
                 .orElseThrow(() -> new AssertionError("Missing NODE_ACTION_EXECUTED activity"));
     }
 
+    @Test
+    void createPlans_shouldInsertEveryPlanAndReportProgress() {
+        OffsetDateTime start = OffsetDateTime.parse("2024-09-01T09:00:00Z");
+        List<CreatePlanCommand> commands = new ArrayList<>();
+        for (int index = 0; index < 250; index++) {
+            commands.add(bulkCommand("Plan " + index, "cust-" + index, "owner-" + index, start));
+        }
+        List<PlanBulkCreateProgress> progress = new ArrayList<>();
+
+        PlanBulkCreateResult result = planService.createPlans(commands, progress::add);
+
+        assertThat(result.createdCount()).isEqualTo(250);
+        assertThat(aggregateRepository.planRepository.findAll()).hasSize(250);
+        assertThat(progress).extracting(PlanBulkCreateProgress::processed).containsExactly(200, 250);
+        Plan created = aggregateRepository.planRepository.findById(result.planIds().get(0)).orElseThrow();
+        assertThat(created.getExecutions()).hasSize(1);
+        assertThat(created.getReminderPolicy().getRules()).hasSize(3);
+    }
+
+    @Test
+    void createPlans_shouldRejectBatchWhenCommandsOverlapEachOther() {
+        OffsetDateTime start = OffsetDateTime.parse("2024-09-01T09:00:00Z");
+        List<CreatePlanCommand> commands = List.of(
+                bulkCommand("First", "cust-shared", "owner-a", start),
+                bulkCommand("Second", "cust-other", "owner-b", start.plusDays(1)),
+                bulkCommand("Third", "cust-shared", "owner-c", start.plusMinutes(30)));
+
+        assertThatThrownBy(() -> planService.createPlans(commands, null))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode()).isEqualTo(ErrorCode.CONFLICT));
+        assertThat(aggregateRepository.planRepository.findAll()).isEmpty();
+    }
+
+    private CreatePlanCommand bulkCommand(String title, String customerId, String owner, OffsetDateTime start) {
+        return new CreatePlanCommand("tenant-bulk", title, null, customerId, owner, start, start.plusHours(2),
+                "UTC", List.of(owner),
+                List.of(new PlanNodeCommand(null, "Check", "CHECKLIST", owner, 1, 30,
+                        PlanNodeActionType.NONE, 100, null, null, List.of())));
+    }
+
     @Test
     void getPlanBoardShouldSanitizeCriteriaBeforeDelegation() {
         CapturingPlanAnalyticsRepository capturingRepository = new CapturingPlanAnalyticsRepository();
@@ -755,6 +818,157 @@ class InMemoryPlanServiceActionTest {
         assertThat(delegated.getStatuses()).containsExactly(PlanStatus.SCHEDULED, PlanStatus.COMPLETED);
     }
 
+    @Test
+    void getPlanBoardCardsShouldReportClampedPageSize() {
+        InMemoryPlanService boardService = new InMemoryPlanService(
+                fileService,
+                aggregateRepository,
+                new CapturingPlanAnalyticsRepository(),
+                actionHistoryRepository,
+                templateService,
+                emailNotificationAdapter,
+                instantMessageNotificationAdapter,
+                apiNotificationAdapter,
+                messageResolver
+        );
+        PlanSearchCriteria criteria = PlanSearchCriteria.builder().build();
+
+        assertThat(boardService.getPlanBoardCards(criteria, null, PlanBoardGroupType.CUSTOMER, "cust-a", null, 5000)
+                .pageSize()).isEqualTo(200);
+        assertThat(boardService.getPlanBoardCards(criteria, null, PlanBoardGroupType.CUSTOMER, "cust-a", null, 0)
+                .pageSize()).isEqualTo(20);
+        assertThat(boardService.getPlanBoardCards(criteria, null, PlanBoardGroupType.CUSTOMER, "cust-a", null, 7)
+                .pageSize()).isEqualTo(7);
+    }
+
+    @Test
+    void scrollPlansShouldReportClampedPageSize() {
+        assertThat(planService.scrollPlans(null, null, null, null, null, null, null, null, 5000, false).pageSize())
+                .isEqualTo(200);
+        assertThat(planService.scrollPlans(null, null, null, null, null, null, null, null, 0, false).pageSize())
+                .isEqualTo(10);
+        assertThat(planService.scrollPlans(null, null, null, null, null, null, null, null, 7, false).pageSize())
+                .isEqualTo(7);
+    }
+
+    @Test
+    void startNode_shouldQueueActionAndDeliverItAsynchronously() throws Exception {
+        InMemoryPlanActionHistoryRepository histories = new InMemoryPlanActionHistoryRepository();
+        PlanProperties properties = new PlanProperties();
+        properties.getActionDispatch().setWorkers(1);
+        InMemoryPlanService asyncService = new InMemoryPlanService(
+                fileService,
+                aggregateRepository,
+                planAnalyticsRepository,
+                histories,
+                templateService,
+                emailNotificationAdapter,
+                instantMessageNotificationAdapter,
+                apiNotificationAdapter,
+                messageResolver,
+                properties,
+                new NotificationRetryExecutor(new NotificationProperties())
+        );
+        Plan plan = seedPlan("plan-email-async", PlanStatus.SCHEDULED, PlanNodeStatus.PENDING,
+                PlanNodeActionType.EMAIL, "121", "ivy");
+        aggregateRepository.planRepository.save(plan);
+        when(templateService.render(anyLong(), anyMap(), any(Locale.class))).thenReturn(new RenderedTemplate(
+                "Subject", "Body", List.of("async@example.com"), List.of(), null, null, null, null, Map.of()));
+        CountDownLatch release = new CountDownLatch(1);
+        when(emailNotificationAdapter.send(any(EmailMessage.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return NotificationResult.success("EMAIL", "email.sent", Map.of());
+        });
+
+        try {
+            Plan updated = asyncService.startNode(plan.getId(), plan.getNodes().get(0).getId(), "operator-async");
+
+            assertThat(findActionActivity(updated).getAttributes())
+                    .containsEntry("actionStatus", PlanActionStatus.PENDING.name())
+                    .containsEntry("actionMessage", "plan.action.queued");
+            assertThat(histories.findByPlanId(plan.getId())).singleElement()
+                    .extracting(PlanActionHistory::getStatus).isEqualTo(PlanActionStatus.PENDING);
+
+            release.countDown();
+            verify(emailNotificationAdapter, timeout(5_000)).send(any(EmailMessage.class));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (histories.findByPlanId(plan.getId()).get(0).getStatus() == PlanActionStatus.PENDING
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            PlanActionHistory delivered = histories.findByPlanId(plan.getId()).get(0);
+            assertThat(delivered.getStatus()).isEqualTo(PlanActionStatus.SUCCESS);
+            assertThat(delivered.getMetadata()).containsEntry("locale", "en-US").containsEntry("attempts", "1");
+        } finally {
+            asyncService.shutdownActionDispatch();
+        }
+    }
+
+    @Test
+    void deliverReminder_shouldEmailUsersAtTheirAddressesAndMessageThemById() {
+        FakeUserRepository users = new FakeUserRepository();
+        users.create(new User("owner-1", "owner", "Owner", "owner@example.com", "hash", UserStatus.ACTIVE,
+                Set.of()));
+        InMemoryPlanService reminderService = reminderService(users);
+        Plan plan = reminderPlan("plan-reminder-users", new PlanReminderRule("rem-1",
+                PlanReminderTrigger.BEFORE_PLAN_START, 30, List.of("EMAIL", "IM", "SMS"), "plan-start-alert",
+                List.of("OWNER", "PARTICIPANTS", "ops@example.com"), null));
+        when(emailNotificationAdapter.send(any(EmailMessage.class)))
+                .thenReturn(NotificationResult.success("EMAIL", "email.sent", Map.of()));
+        when(instantMessageNotificationAdapter.send(any(InstantMessage.class)))
+                .thenReturn(NotificationResult.success("IM", "im.sent", Map.of()));
+
+        PlanActionStatus status = reminderService.deliverReminder(
+                new PlanReminderOccurrence(plan.getId(), "rem-1", plan.getPlannedStartTime().minusMinutes(30)));
+
+        assertThat(status).isEqualTo(PlanActionStatus.SUCCESS);
+        ArgumentCaptor<EmailMessage> email = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(emailNotificationAdapter).send(email.capture());
+        assertThat(email.getValue().getTo()).containsExactly("owner@example.com", "ops@example.com");
+        assertThat(email.getValue().getSubject()).isEqualTo("plan.reminder.notification.subject");
+        ArgumentCaptor<InstantMessage> im = ArgumentCaptor.forClass(InstantMessage.class);
+        verify(instantMessageNotificationAdapter).send(im.capture());
+        assertThat(im.getValue().getRecipients()).containsExactly("owner-1", "ops@example.com");
+    }
+
+    @Test
+    void deliverReminder_shouldAddRecipientsOfRenderedTemplate() {
+        InMemoryPlanService reminderService = reminderService(new FakeUserRepository());
+        Plan plan = reminderPlan("plan-reminder-template", new PlanReminderRule("rem-1",
+                PlanReminderTrigger.BEFORE_PLAN_END, 15, List.of("EMAIL"), "131", List.of("OWNER"), null));
+        when(templateService.render(anyLong(), anyMap(), any(Locale.class))).thenReturn(new RenderedTemplate(
+                "Reminder", "Body", List.of("lead@example.com"), List.of("cc@example.com"), null, null, null, null,
+                Map.of()));
+        when(emailNotificationAdapter.send(any(EmailMessage.class)))
+                .thenReturn(NotificationResult.success("EMAIL", "email.sent", Map.of()));
+
+        PlanActionStatus status = reminderService.deliverReminder(
+                new PlanReminderOccurrence(plan.getId(), "rem-1", plan.getPlannedEndTime().minusMinutes(15)));
+
+        assertThat(status).isEqualTo(PlanActionStatus.SUCCESS);
+        ArgumentCaptor<EmailMessage> email = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(emailNotificationAdapter).send(email.capture());
+        assertThat(email.getValue().getTo()).containsExactly("lead@example.com");
+        assertThat(email.getValue().getCc()).containsExactly("cc@example.com");
+        assertThat(email.getValue().getSubject()).isEqualTo("Reminder");
+    }
+
+    private InMemoryPlanService reminderService(FakeUserRepository users) {
+        return new InMemoryPlanService(fileService, aggregateRepository, planAnalyticsRepository,
+                actionHistoryRepository, templateService, emailNotificationAdapter,
+                instantMessageNotificationAdapter, apiNotificationAdapter, messageResolver, null,
+                new NotificationRetryExecutor(new NotificationProperties()), users);
+    }
+
+    private Plan reminderPlan(String planId, PlanReminderRule rule) {
+        Plan seeded = seedPlan(planId, PlanStatus.SCHEDULED, PlanNodeStatus.PENDING, PlanNodeActionType.NONE,
+                null, "owner-1");
+        Plan plan = seeded.withReminderPolicy(new PlanReminderPolicy(List.of(rule), OffsetDateTime.now(), "owner-1"),
+                OffsetDateTime.now(), seeded.getActivities());
+        aggregateRepository.planRepository.save(plan);
+        return plan;
+    }
+
     private static final class RecordingPlanActionHistoryRepository implements PlanActionHistoryRepository {
 
         private final List<PlanActionHistory> entries = new ArrayList<>();
@@ -13,21 +13,30 @@ import com.bob.mta.modules.plan.domain.PlanActivity;
 import com.bob.mta.modules.plan.domain.PlanActionHistory;
 import com.bob.mta.modules.plan.domain.PlanActionStatus;
 import com.bob.mta.modules.plan.domain.PlanActivityType;
+import com.bob.mta.modules.plan.domain.PlanReminderPolicy;
 import com.bob.mta.modules.plan.domain.PlanReminderRule;
 import com.bob.mta.modules.plan.domain.PlanReminderSchedule;
 import com.bob.mta.modules.plan.domain.PlanReminderTrigger;
 import com.bob.mta.modules.plan.domain.PlanNodeActionType;
 import com.bob.mta.modules.plan.domain.PlanNodeExecution;
+import com.bob.mta.modules.plan.domain.PlanNodeStatus;
 import com.bob.mta.modules.plan.domain.PlanAnalytics;
 import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.domain.PlanSummaryProjection;
 import com.bob.mta.modules.plan.repository.InMemoryPlanActionHistoryRepository;
 import com.bob.mta.modules.plan.repository.InMemoryPlanAnalyticsRepository;
 import com.bob.mta.modules.plan.repository.PlanBoardGrouping;
 import com.bob.mta.modules.plan.repository.PlanSearchCriteria;
 import com.bob.mta.modules.plan.repository.InMemoryPlanRepository;
+import com.bob.mta.modules.plan.repository.PlanChangeStamp;
+import com.bob.mta.modules.plan.repository.PlanTombstone;
 import com.bob.mta.modules.plan.service.command.CreatePlanCommand;
 import com.bob.mta.modules.plan.service.command.PlanNodeCommand;
 import com.bob.mta.modules.plan.service.PlanBoardView;
+import com.bob.mta.modules.plan.service.PlanCalendarDelta;
+import com.bob.mta.modules.plan.service.PlanCalendarSyncToken;
+import com.bob.mta.modules.plan.service.PlanCursorResult;
+import com.bob.mta.modules.plan.service.PlanSummarySearchResult;
 import com.bob.mta.i18n.Localization;
 import com.bob.mta.i18n.LocalizationKeys;
 import com.bob.mta.modules.template.domain.RenderedTemplate;
@@ -37,7 +46,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.i18n.LocaleContextHolder;
 
+import java.io.StringWriter;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -756,6 +767,49 @@ class InMemoryPlanServiceTest {
                 .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode()).isEqualTo(ErrorCode.CONFLICT));
     }
 
+    @Test
+    void shouldRejectPlanCreationWhenConflictingPlanWasStoredByAnotherInstance() {
+        OffsetDateTime start = OffsetDateTime.now().plusDays(4);
+        InMemoryPlanService otherInstance = new InMemoryPlanService(new InMemoryFileService(), repository,
+                analyticsRepository, actionHistoryRepository, templateService,
+                notificationGateway, notificationGateway, notificationGateway, messageResolver);
+        assertThat(service.findConflictingPlans("tenant-conflict-remote", "cust-conflict", null,
+                start, start.plusHours(2), null)).isEmpty();
+
+        Plan stored = otherInstance.createPlan(new CreatePlanCommand(
+                "tenant-conflict-remote",
+                "他实例计划",
+                "他实例计划描述",
+                "cust-conflict",
+                "owner-remote-a",
+                start,
+                start.plusHours(2),
+                "Asia/Shanghai",
+                List.of("owner-remote-a"),
+                List.of(new PlanNodeCommand(null, "节点A", "CHECKLIST", "owner-remote-a", 1, 30,
+                        PlanNodeActionType.NONE, 100, null, "", List.of()))
+        ));
+        otherInstance.publishPlan(stored.getId(), "admin");
+
+        CreatePlanCommand conflicting = new CreatePlanCommand(
+                "tenant-conflict-remote",
+                "冲突计划",
+                "冲突描述",
+                "cust-conflict",
+                "owner-remote-b",
+                start.plusMinutes(30),
+                start.plusHours(3),
+                "Asia/Shanghai",
+                List.of("owner-remote-b"),
+                List.of(new PlanNodeCommand(null, "节点B", "CHECKLIST", "owner-remote-b", 1, 45,
+                        PlanNodeActionType.NONE, 100, null, "", List.of()))
+        );
+
+        assertThatThrownBy(() -> service.createPlan(conflicting))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getErrorCode()).isEqualTo(ErrorCode.CONFLICT));
+    }
+
     @Test
     void shouldCreatePlanWithExecutions() {
         CreatePlanCommand command = new CreatePlanCommand(
@@ -897,9 +951,14 @@ class InMemoryPlanServiceTest {
     void shouldStartNode() {
         var plan = service.listPlans(null, null, null, null, null, null, null, 0, 10).plans().get(0);
         service.publishPlan(plan.getId(), "admin");
-        PlanNodeExecution execution = service.startNode(plan.getId(), plan.getExecutions().get(0).getNodeId(), "admin");
+        String nodeId = plan.getExecutions().get(0).getNodeId();
+        Plan started = service.startNode(plan.getId(), nodeId, "admin");
+        PlanNodeExecution execution = started.getExecutions().stream()
+                .filter(candidate -> nodeId.equals(candidate.getNodeId()))
+                .findFirst()
+                .orElseThrow();
 
-        assertThat(execution.getStatus()).isEqualTo(com.bob.mta.modules.plan.domain.PlanNodeStatus.IN_PROGRESS);
+        assertThat(execution.getStatus()).isEqualTo(PlanNodeStatus.IN_PROGRESS);
         assertThat(service.getPlan(plan.getId()).getStatus()).isIn(PlanStatus.IN_PROGRESS, PlanStatus.SCHEDULED);
     }
 
@@ -913,6 +972,131 @@ class InMemoryPlanServiceTest {
         assertThat(ics).contains("客户原因取消");
     }
 
+    @Test
+    void shouldStreamTenantCalendarWithinWindow() {
+        OffsetDateTime start = OffsetDateTime.now().plusDays(10);
+        Plan inWindow = service.createPlan(calendarPlan("窗口内计划", start));
+        Plan outside = service.createPlan(calendarPlan("窗口外计划", start.plusDays(30)));
+        StringWriter writer = new StringWriter();
+
+        service.writeTenantCalendar("tenant-calendar", start.minusDays(1), start.plusDays(1), writer);
+
+        assertThat(writer.toString())
+                .startsWith("BEGIN:VCALENDAR")
+                .endsWith("END:VCALENDAR\n")
+                .contains("UID:" + inWindow.getId() + "@bob-mta.local")
+                .doesNotContain("UID:" + outside.getId() + "@");
+        assertThat(service.stampTenantCalendar("tenant-calendar", null, null).total()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldServeCalendarChangesSinceSyncToken() {
+        OffsetDateTime changedAt = OffsetDateTime.now().minusMinutes(10);
+        repository.save(syncPlan("PLAN-SYNC-1", PlanStatus.SCHEDULED, changedAt, null));
+        repository.save(syncPlan("PLAN-SYNC-2", PlanStatus.CANCELED, changedAt.minusHours(3), changedAt));
+        repository.save(syncPlan("PLAN-SYNC-3", PlanStatus.SCHEDULED, changedAt.minusHours(3), null));
+        String token = new PlanCalendarSyncToken("tenant-sync", changedAt.minusHours(1)).encode();
+
+        PlanCalendarDelta delta = service.getTenantCalendarChanges("tenant-sync", token);
+
+        assertThat(delta.fullResync()).isFalse();
+        assertThat(delta.syncToken()).isNotEqualTo(token);
+        assertThat(delta.changes()).extracting(PlanCalendarDelta.Change::planId)
+                .containsExactly("PLAN-SYNC-1", "PLAN-SYNC-2");
+        assertThat(delta.changes().get(1).event()).contains("STATUS:CANCELLED");
+        assertThat(service.getTenantCalendarChanges("tenant-sync", null).fullResync()).isTrue();
+        assertThatThrownBy(() -> service.getTenantCalendarChanges("tenant-other", token))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void shouldReportPlansDeletedSinceSyncToken() {
+        InMemoryPlanRepository lagElapsed = new InMemoryPlanRepository() {
+            @Override
+            public List<PlanTombstone> findTombstones(String tenantId, OffsetDateTime since, OffsetDateTime until) {
+                return super.findTombstones(tenantId, since, until.plusMinutes(1));
+            }
+        };
+        InMemoryPlanService deletingService = new InMemoryPlanService(new InMemoryFileService(), lagElapsed,
+                new InMemoryPlanAnalyticsRepository(lagElapsed), actionHistoryRepository, templateService,
+                notificationGateway, notificationGateway, notificationGateway, messageResolver);
+        OffsetDateTime changedAt = OffsetDateTime.now().minusMinutes(10);
+        lagElapsed.save(syncPlan("PLAN-SYNC-1", PlanStatus.SCHEDULED, changedAt, null));
+        lagElapsed.save(syncPlan("PLAN-SYNC-4", PlanStatus.DESIGN, changedAt.minusHours(3), null));
+        String token = new PlanCalendarSyncToken("tenant-sync", changedAt.minusHours(1)).encode();
+
+        deletingService.deletePlan("PLAN-SYNC-4");
+        PlanCalendarDelta delta = deletingService.getTenantCalendarChanges("tenant-sync", token);
+
+        assertThat(delta.fullResync()).isFalse();
+        assertThat(delta.changes()).extracting(PlanCalendarDelta.Change::planId).containsExactly("PLAN-SYNC-1");
+        assertThat(delta.removedPlanIds()).containsExactly("PLAN-SYNC-4");
+    }
+
+    @Test
+    void shouldAdvanceCalendarStampWhenPlanIsDeleted() {
+        OffsetDateTime changedAt = OffsetDateTime.now().minusMinutes(10);
+        repository.save(syncPlan("PLAN-SYNC-1", PlanStatus.SCHEDULED, changedAt, null));
+        repository.save(syncPlan("PLAN-SYNC-4", PlanStatus.DESIGN, changedAt.minusHours(3), null));
+        PlanChangeStamp before = service.stampTenantCalendar("tenant-sync", null, null);
+
+        service.deletePlan("PLAN-SYNC-4");
+        PlanChangeStamp after = service.stampTenantCalendar("tenant-sync", null, null);
+
+        assertThat(after.lastUpdated()).isEqualTo(before.lastUpdated());
+        assertThat(after.lastDeleted()).isAfter(changedAt);
+        assertThat(after.lastModified()).isEqualTo(after.lastDeleted()).isAfter(before.lastModified());
+    }
+
+    @Test
+    void shouldScrollAndSearchPlanSummariesWithoutHydratingAggregates() {
+        List<PlanSearchCriteria> hydrated = new ArrayList<>();
+        InMemoryPlanRepository summaries = new InMemoryPlanRepository() {
+            @Override
+            public List<Plan> findByCriteria(PlanSearchCriteria criteria) {
+                hydrated.add(criteria);
+                return super.findByCriteria(criteria);
+            }
+
+            @Override
+            public List<PlanSummaryProjection> findSummaries(PlanSearchCriteria criteria) {
+                return super.findByCriteria(criteria).stream().map(PlanSummaryProjection::from).toList();
+            }
+        };
+        InMemoryPlanService listingService = new InMemoryPlanService(new InMemoryFileService(), summaries,
+                new InMemoryPlanAnalyticsRepository(summaries), actionHistoryRepository, templateService,
+                notificationGateway, notificationGateway, notificationGateway, messageResolver);
+        OffsetDateTime changedAt = OffsetDateTime.now();
+        summaries.save(syncPlan("PLAN-LIST-1", PlanStatus.SCHEDULED, changedAt, null));
+        summaries.save(syncPlan("PLAN-LIST-2", PlanStatus.SCHEDULED, changedAt.plusHours(1), null));
+        hydrated.clear();
+
+        PlanCursorResult first = listingService.scrollPlans("tenant-sync", null, null, null, null, null, null,
+                null, 1, true);
+        PlanCursorResult second = listingService.scrollPlans("tenant-sync", null, null, null, null, null, null,
+                first.nextCursor(), 1, false);
+        PlanSummarySearchResult found = listingService.searchPlans("tenant-sync", "同步计划", null, 0, 10);
+
+        assertThat(first.summaries()).extracting(PlanSummaryProjection::id).containsExactly("PLAN-LIST-1");
+        assertThat(second.summaries()).extracting(PlanSummaryProjection::id).containsExactly("PLAN-LIST-2");
+        assertThat(found.summaries()).extracting(PlanSummaryProjection::id)
+                .containsExactlyInAnyOrder("PLAN-LIST-1", "PLAN-LIST-2");
+        assertThat(hydrated).isEmpty();
+    }
+
+    private Plan syncPlan(String id, PlanStatus status, OffsetDateTime updatedAt, OffsetDateTime canceledAt) {
+        OffsetDateTime start = updatedAt.plusDays(1);
+        return new Plan(id, "tenant-sync", "同步计划", null, "cust-sync", "admin", List.of("admin"), status,
+                start, start.plusHours(2), null, null, canceledAt == null ? null : "客户原因取消",
+                canceledAt == null ? null : "admin", canceledAt, "Asia/Shanghai", List.of(), List.of(),
+                updatedAt, updatedAt, List.of(), PlanReminderPolicy.empty());
+    }
+
+    private CreatePlanCommand calendarPlan(String title, OffsetDateTime start) {
+        return new CreatePlanCommand("tenant-calendar", title, "", "cust-calendar", "admin", start,
+                start.plusHours(2), "Asia/Shanghai", List.of("admin"), List.of());
+    }
+
     @Test
     @DisplayName("completeNode auto-completes parent and skips optional siblings when threshold satisfied")
     void shouldSkipOptionalSiblingsOnceThresholdReached() {
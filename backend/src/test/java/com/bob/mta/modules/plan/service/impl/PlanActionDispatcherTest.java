@@ -0,0 +1,151 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.PlanProperties;
+import com.bob.mta.modules.plan.domain.PlanActionHistory;
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
+import com.bob.mta.modules.plan.domain.PlanNodeActionType;
+import com.bob.mta.modules.plan.repository.InMemoryPlanActionHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanActionDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T09:00:00Z");
+
+    private final List<OffsetDateTime> claims = new ArrayList<>();
+    private final List<PlanActionHistory> orphaned = new ArrayList<>();
+    private final List<OffsetDateTime> pendingLeases = new ArrayList<>();
+    private final Set<String> takenOver = ConcurrentHashMap.newKeySet();
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final InMemoryPlanActionHistoryRepository repository = new InMemoryPlanActionHistoryRepository() {
+        @Override
+        public void appendPending(PlanActionHistory history, String owner, OffsetDateTime leaseUntil) {
+            pendingLeases.add(leaseUntil);
+            super.appendPending(history, owner, leaseUntil);
+        }
+
+        @Override
+        public Set<String> renewLeases(Collection<String> actionIds, String owner, OffsetDateTime leaseUntil) {
+            Set<String> renewed = new HashSet<>(super.renewLeases(actionIds, owner, leaseUntil));
+            renewed.removeAll(takenOver);
+            return renewed;
+        }
+
+        @Override
+        public List<PlanActionHistory> claimPending(String owner, OffsetDateTime now, OffsetDateTime orphanedBefore,
+                                                    OffsetDateTime leaseUntil, int limit) {
+            claims.add(orphanedBefore);
+            claims.add(leaseUntil);
+            List<PlanActionHistory> claimed = List.copyOf(orphaned);
+            orphaned.clear();
+            return claimed;
+        }
+    };
+    private final PlanActionDispatcher dispatcher = new PlanActionDispatcher(repository,
+            pending -> {
+                delivered.add(pending.getId());
+                return history(pending.getId(), PlanActionStatus.SUCCESS);
+            }, settings(),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @AfterEach
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldRecordOutcomeOfSubmittedAction() throws InterruptedException {
+        PlanActionHistory pending = history("plan-1-action-1", PlanActionStatus.PENDING);
+        repository.append(pending);
+
+        dispatcher.submit(pending);
+
+        assertThat(awaitStatus("plan-1-action-1")).isEqualTo(PlanActionStatus.SUCCESS);
+    }
+
+    @Test
+    void shouldLeasePendingActionWhenRecordingIt() throws InterruptedException {
+        PlanActionHistory pending = history("plan-1-action-3", PlanActionStatus.PENDING);
+
+        dispatcher.enqueue(pending);
+
+        assertThat(pendingLeases).containsExactly(OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC).plusMinutes(5));
+        assertThat(awaitStatus("plan-1-action-3")).isEqualTo(PlanActionStatus.SUCCESS);
+    }
+
+    @Test
+    void shouldSkipDeliveryWhenLeaseWasTakenOver() throws InterruptedException {
+        PlanActionHistory pending = history("plan-1-action-4", PlanActionStatus.PENDING);
+        PlanActionHistory next = history("plan-1-action-5", PlanActionStatus.PENDING);
+        repository.append(pending);
+        repository.append(next);
+        takenOver.add(pending.getId());
+
+        dispatcher.submit(pending);
+        dispatcher.submit(next);
+
+        assertThat(awaitStatus("plan-1-action-5")).isEqualTo(PlanActionStatus.SUCCESS);
+        assertThat(delivered).doesNotContain("plan-1-action-4");
+        assertThat(currentStatus("plan-1-action-4")).isEqualTo(PlanActionStatus.PENDING);
+    }
+
+    @Test
+    void shouldDeliverOrphanedActionsLeasedBySweep() throws InterruptedException {
+        PlanActionHistory pending = history("plan-1-action-2", PlanActionStatus.PENDING);
+        repository.append(pending);
+        orphaned.add(pending);
+
+        dispatcher.sweep();
+
+        assertThat(awaitStatus("plan-1-action-2")).isEqualTo(PlanActionStatus.SUCCESS);
+        OffsetDateTime now = OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        assertThat(claims).containsExactly(now.minusMinutes(5), now.plusMinutes(5));
+    }
+
+    private PlanActionStatus awaitStatus(String actionId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        PlanActionStatus status = currentStatus(actionId);
+        while (status == PlanActionStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = currentStatus(actionId);
+        }
+        return status;
+    }
+
+    private PlanActionStatus currentStatus(String actionId) {
+        return repository.findByPlanId("plan-1").stream()
+                .filter(history -> history.getId().equals(actionId))
+                .findFirst()
+                .map(PlanActionHistory::getStatus)
+                .orElseThrow();
+    }
+
+    private static PlanActionHistory history(String id, PlanActionStatus status) {
+        return new PlanActionHistory(id, "plan-1", "node-1", PlanNodeActionType.EMAIL, "101",
+                OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC), "operator", status, null, null, Map.of(), Map.of());
+    }
+
+    private static PlanProperties.ActionDispatch settings() {
+        PlanProperties.ActionDispatch settings = new PlanProperties().getActionDispatch();
+        settings.setWorkers(2);
+        settings.setSweepInterval(Duration.ofHours(1));
+        return settings;
+    }
+}
@@ -0,0 +1,115 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.domain.PlanAnalytics;
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanAnalyticsQuery;
+import com.bob.mta.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanAnalyticsSnapshotsTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final List<PlanAnalyticsSnapshots.Entry> stored = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final MutableClock clock = new MutableClock(BASE.toInstant());
+    private final PlanAnalyticsSnapshots snapshots = new PlanAnalyticsSnapshots(scope -> {
+        loads.incrementAndGet();
+        return stored.stream().filter(scope::includes).toList();
+    }, Duration.ofHours(2), clock);
+
+    @Test
+    void shouldServeLoadedSnapshotAndApplyWrites() {
+        stored.add(entry("PLAN-1", "alice", PlanStatus.SCHEDULED, 1, 2));
+        stored.add(entry("PLAN-2", "bob", PlanStatus.DESIGN, 3, 4));
+
+        PlanAnalytics initial = snapshots.read(query(null));
+        snapshots.put(entry("PLAN-2", "bob", PlanStatus.SCHEDULED, 3, 4));
+        snapshots.put(entry("PLAN-3", "alice", PlanStatus.CANCELED, 5, 6));
+        snapshots.remove("PLAN-1");
+        PlanAnalytics updated = snapshots.read(query(null));
+
+        assertThat(initial.getTotalPlans()).isEqualTo(2);
+        assertThat(initial.getDesignCount()).isEqualTo(1);
+        assertThat(updated.getTotalPlans()).isEqualTo(2);
+        assertThat(updated.getDesignCount()).isZero();
+        assertThat(updated.getScheduledCount()).isEqualTo(1);
+        assertThat(updated.getCanceledCount()).isEqualTo(1);
+        assertThat(updated.getUpcomingPlans()).extracting(PlanAnalytics.UpcomingPlan::getId)
+                .containsExactly("PLAN-2");
+        assertThat(updated.getOwnerLoads()).extracting(PlanAnalytics.OwnerLoad::getOwnerId)
+                .containsExactly("bob", "alice");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldTurnActivePlansOverdueWhenTheirEndPasses() {
+        stored.add(entry("PLAN-1", "alice", PlanStatus.IN_PROGRESS, -1, 1));
+        stored.add(entry("PLAN-2", "alice", PlanStatus.DESIGN, -1, 1));
+
+        PlanAnalytics before = snapshots.read(query(null));
+        clock.advance(Duration.ofMinutes(90));
+        PlanAnalytics after = snapshots.read(query(null));
+
+        assertThat(before.getOverdueCount()).isZero();
+        assertThat(before.getRiskPlans()).singleElement()
+                .satisfies(risk -> assertThat(risk.getRiskLevel()).isEqualTo(PlanAnalytics.RiskLevel.DUE_SOON));
+        assertThat(after.getOverdueCount()).isEqualTo(1);
+        assertThat(after.getOwnerLoads().get(0).getOverduePlans()).isEqualTo(1);
+        assertThat(after.getRiskPlans()).singleElement()
+                .satisfies(risk -> {
+                    assertThat(risk.getRiskLevel()).isEqualTo(PlanAnalytics.RiskLevel.OVERDUE);
+                    assertThat(risk.getMinutesOverdue()).isEqualTo(30);
+                });
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldKeepScopedSnapshotsToTheirOwnerAndReloadAfterRefresh() {
+        stored.add(entry("PLAN-1", "alice", PlanStatus.SCHEDULED, 1, 2));
+        stored.add(entry("PLAN-2", "bob", PlanStatus.SCHEDULED, 1, 2));
+
+        PlanAnalytics scoped = snapshots.read(query("alice"));
+        snapshots.put(entry("PLAN-3", "bob", PlanStatus.SCHEDULED, 2, 3));
+        stored.add(entry("PLAN-4", "alice", PlanStatus.DESIGN, 2, 3));
+
+        assertThat(scoped.getTotalPlans()).isEqualTo(1);
+        assertThat(snapshots.read(query("alice")).getTotalPlans()).isEqualTo(1);
+
+        clock.advance(Duration.ofHours(3));
+
+        assertThat(snapshots.read(query("alice")).getTotalPlans()).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldOnlySupportQueriesWithoutTimeRangeOrStatuses() {
+        assertThat(PlanAnalyticsSnapshots.supports(query(null))).isTrue();
+        assertThat(PlanAnalyticsSnapshots.supports(PlanAnalyticsQuery.builder().from(BASE).build())).isFalse();
+        assertThat(PlanAnalyticsSnapshots.supports(PlanAnalyticsQuery.builder()
+                .statuses(List.of(PlanStatus.DESIGN)).build())).isFalse();
+    }
+
+    private PlanAnalyticsQuery query(String ownerId) {
+        return PlanAnalyticsQuery.builder()
+                .tenantId("tenant")
+                .ownerId(ownerId)
+                .referenceTime(clock.instant().atOffset(ZoneOffset.UTC))
+                .build();
+    }
+
+    private PlanAnalyticsSnapshots.Entry entry(String planId, String owner, PlanStatus status,
+                                               int startHour, int endHour) {
+        return new PlanAnalyticsSnapshots.Entry(planId, "tenant", "cust", owner, planId, status,
+                BASE.plusHours(startHour), BASE.plusHours(endHour), 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.common.exception.BusinessException;
+import com.bob.mta.common.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlanConflictRetryExecutorTest {
+
+    private final PlanConflictRetryExecutor executor = new PlanConflictRetryExecutor(3,
+            ex -> new BusinessException(ErrorCode.CONFLICT, "conflict", ex));
+
+    @Test
+    void shouldRetryUntilOperationSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "saved";
+        });
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldTranslateConflictOnceAttemptsAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        }))
+                .isInstanceOf(BusinessException.class)
+                .extracting(ex -> ((BusinessException) ex).getErrorCode())
+                .isEqualTo(ErrorCode.CONFLICT);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        })).isInstanceOf(BusinessException.class);
+        assertThat(attempts).hasValue(1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.domain.PlanStatus;
+import com.bob.mta.modules.plan.repository.PlanFilterFacets;
+import com.bob.mta.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanFilterFacetCacheTest {
+
+    private final List<String> loads = new ArrayList<>();
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T09:00:00Z"));
+    private final PlanFilterFacetCache cache = new PlanFilterFacetCache(tenantId -> {
+        loads.add(tenantId);
+        return new PlanFilterFacets(Map.of(PlanStatus.DESIGN, (long) loads.size()), Map.of(), Map.of(),
+                null, null);
+    }, Duration.ofMinutes(5), clock);
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        PlanFilterFacets first = cache.get("tenant-a");
+
+        assertThat(cache.get("tenant-a")).isSameAs(first);
+        assertThat(cache.get(null).statusCounts()).containsEntry(PlanStatus.DESIGN, 2L);
+        assertThat(loads).containsExactly("tenant-a", null);
+    }
+
+    @Test
+    void shouldEvictTenantAndUnscopedViewOnWrite() {
+        cache.get("tenant-a");
+        cache.get("tenant-b");
+        cache.get(null);
+
+        cache.invalidate("tenant-a");
+
+        cache.get("tenant-a");
+        cache.get("tenant-b");
+        cache.get(null);
+        assertThat(loads).containsExactly("tenant-a", "tenant-b", null, "tenant-a", null);
+    }
+
+    @Test
+    void shouldReloadAfterRefreshInterval() {
+        cache.get("tenant-a");
+
+        clock.advance(Duration.ofMinutes(6));
+
+        assertThat(cache.get("tenant-a").statusCounts()).containsEntry(PlanStatus.DESIGN, 2L);
+        assertThat(loads).containsExactly("tenant-a", "tenant-a");
+    }
+}
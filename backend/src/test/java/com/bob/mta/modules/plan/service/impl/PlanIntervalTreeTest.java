@@ -0,0 +1,68 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanIntervalTreeTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void shouldMatchBruteForceOverlapsAfterInsertsAndRemovals() {
+        Random random = new Random(42);
+        PlanIntervalTree tree = new PlanIntervalTree();
+        List<PlanScheduleIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            OffsetDateTime start = BASE.plusHours(random.nextInt(2000));
+            PlanScheduleIndex.Entry entry = entry("plan-" + i, start, start.plusHours(1 + random.nextInt(48)));
+            entries.add(entry);
+            tree.insert(entry);
+        }
+        for (int i = 0; i < 150; i++) {
+            PlanScheduleIndex.Entry removed = entries.remove(random.nextInt(entries.size()));
+            assertThat(tree.remove(removed)).isTrue();
+        }
+        assertThat(tree.size()).isEqualTo(entries.size());
+
+        for (int i = 0; i < 200; i++) {
+            OffsetDateTime from = BASE.plusHours(random.nextInt(2100));
+            OffsetDateTime to = from.plusHours(random.nextInt(72));
+            List<String> expected = entries.stream()
+                    .filter(entry -> !entry.start().isAfter(to) && !entry.end().isBefore(from))
+                    .map(PlanScheduleIndex.Entry::planId)
+                    .toList();
+            List<String> actual = new ArrayList<>();
+            tree.findOverlapping(from.toInstant(), to.toInstant(), entry -> actual.add(entry.planId()));
+
+            assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void shouldTreatWindowsAsClosedAndIgnoreUnknownRemovals() {
+        PlanIntervalTree tree = new PlanIntervalTree();
+        PlanScheduleIndex.Entry entry = entry("plan-1", BASE, BASE.plusHours(2));
+        tree.insert(entry);
+
+        List<String> touching = new ArrayList<>();
+        Instant end = BASE.plusHours(2).toInstant();
+        tree.findOverlapping(end, end.plusSeconds(60), hit -> touching.add(hit.planId()));
+
+        assertThat(touching).containsExactly("plan-1");
+        assertThat(tree.remove(entry("plan-2", BASE, BASE.plusHours(1)))).isFalse();
+        assertThat(tree.remove(entry)).isTrue();
+        assertThat(tree.isEmpty()).isTrue();
+    }
+
+    private PlanScheduleIndex.Entry entry(String planId, OffsetDateTime start, OffsetDateTime end) {
+        return new PlanScheduleIndex.Entry(planId, "tenant", "cust", "owner", planId, start, end);
+    }
+}
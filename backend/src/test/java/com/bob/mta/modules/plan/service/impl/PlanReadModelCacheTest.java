@@ -0,0 +1,60 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanReadModelCacheTest {
+
+    private final List<String> loads = new ArrayList<>();
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T09:00:00Z"));
+    private final PlanReadModelCache<String, List<String>> cache = new PlanReadModelCache<>(scope -> {
+        loads.add(scope);
+        return new ArrayList<>(List.of(scope + "-stored"));
+    }, Duration.ofMinutes(5), clock);
+
+    @Test
+    void shouldApplyWritesToLoadedScopesOnly() {
+        cache.read("tenant-a", (model, now) -> model);
+
+        cache.update("tenant-a", (model, now) -> model.add("written"));
+        cache.update("tenant-b", (model, now) -> model.add("written"));
+
+        assertThat(contents("tenant-a")).containsExactly("tenant-a-stored", "written");
+        assertThat(contents("tenant-b")).containsExactly("tenant-b-stored");
+        assertThat(loads).containsExactly("tenant-a", "tenant-b");
+    }
+
+    @Test
+    void shouldReloadAfterRefreshInterval() {
+        cache.read("tenant-a", (model, now) -> model.add("written"));
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertThat(contents("tenant-a")).containsExactly("tenant-a-stored");
+        assertThat(loads).containsExactly("tenant-a", "tenant-a");
+    }
+
+    @Test
+    void shouldReloadInvalidatedScope() {
+        cache.read("tenant-a", (model, now) -> model);
+        cache.read("tenant-b", (model, now) -> model);
+
+        cache.invalidate("tenant-a");
+        cache.updateAll((model, now) -> model.add("written"));
+
+        assertThat(contents("tenant-a")).containsExactly("tenant-a-stored");
+        assertThat(contents("tenant-b")).containsExactly("tenant-b-stored", "written");
+        assertThat(loads).containsExactly("tenant-a", "tenant-b", "tenant-a");
+    }
+
+    private List<String> contents(String scope) {
+        return cache.read(scope, (model, now) -> List.copyOf(model));
+    }
+}
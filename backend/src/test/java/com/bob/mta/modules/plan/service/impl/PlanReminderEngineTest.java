@@ -0,0 +1,125 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.modules.plan.PlanProperties;
+import com.bob.mta.modules.plan.domain.PlanActionStatus;
+import com.bob.mta.modules.plan.domain.PlanReminderOccurrence;
+import com.bob.mta.modules.plan.repository.InMemoryPlanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanReminderEngineTest {
+
+    private final InMemoryPlanRepository repository = new InMemoryPlanRepository();
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final List<PlanReminderEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        engines.forEach(PlanReminderEngine::shutdown);
+    }
+
+    @Test
+    void shouldSendOccurrenceOnceWhenItFallsDue() throws InterruptedException {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PlanReminderOccurrence> occurrences = List.of(
+                new PlanReminderOccurrence("plan-1", "rem-1", now.plusNanos(TimeUnit.MILLISECONDS.toNanos(150))),
+                new PlanReminderOccurrence("plan-1", "rem-2", now.plusHours(2)));
+        repository.replaceReminderOccurrences("plan-1", occurrences, now);
+
+        PlanReminderEngine engine = engine();
+        engine.reschedule(occurrences);
+
+        awaitDeliveries(1);
+        Thread.sleep(200);
+        assertThat(delivered).containsExactly("plan-1/rem-1");
+    }
+
+    @Test
+    void shouldSendEachOccurrenceOnceAcrossInstancesSharingTheRepository() throws InterruptedException {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PlanReminderOccurrence> occurrences = new ArrayList<>();
+        for (int index = 0; index < 20; index++) {
+            occurrences.add(new PlanReminderOccurrence("plan-" + index, "rem-1",
+                    now.plusNanos(TimeUnit.MILLISECONDS.toNanos(100 + index * 10L))));
+        }
+        for (PlanReminderOccurrence occurrence : occurrences) {
+            repository.replaceReminderOccurrences(occurrence.planId(), List.of(occurrence), now);
+        }
+
+        engine();
+        engine();
+
+        awaitDeliveries(20);
+        Thread.sleep(200);
+        assertThat(delivered).hasSize(20).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldNotSendOccurrenceThatMovedAfterItWasLeased() throws InterruptedException {
+        OffsetDateTime now = OffsetDateTime.now();
+        PlanReminderOccurrence original = new PlanReminderOccurrence("plan-1", "rem-1",
+                now.plusNanos(TimeUnit.MILLISECONDS.toNanos(300)));
+        repository.replaceReminderOccurrences("plan-1", List.of(original), now);
+        engine();
+        Thread.sleep(100);
+
+        repository.replaceReminderOccurrences("plan-1",
+                List.of(new PlanReminderOccurrence("plan-1", "rem-1", now.plusHours(1))), now);
+
+        Thread.sleep(400);
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void shouldReleaseLeasedOccurrencesOnShutdown() throws InterruptedException {
+        OffsetDateTime now = OffsetDateTime.now();
+        PlanReminderOccurrence occurrence = new PlanReminderOccurrence("plan-1", "rem-1", now.plusMinutes(5));
+        repository.replaceReminderOccurrences("plan-1", List.of(occurrence), now);
+        PlanReminderEngine engine = engine();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!leasedBy("probe", now).isEmpty() && System.nanoTime() < deadline) {
+            repository.releaseReminderOccurrences("probe");
+            Thread.sleep(10);
+        }
+
+        engine.shutdown();
+
+        assertThat(leasedBy("other", now)).containsExactly(occurrence);
+        assertThat(delivered).isEmpty();
+    }
+
+    private List<PlanReminderOccurrence> leasedBy(String owner, OffsetDateTime now) {
+        return repository.leaseReminderOccurrences(owner, now, now.minusHours(1), now.plusMinutes(10),
+                Duration.ofMinutes(5), 10);
+    }
+
+    private PlanReminderEngine engine() {
+        PlanProperties.Reminders settings = new PlanProperties().getReminders();
+        settings.setTick(Duration.ofMillis(10));
+        settings.setWheelSize(64);
+        settings.setRefreshInterval(Duration.ofMillis(50));
+        PlanReminderEngine engine = new PlanReminderEngine(repository, occurrence -> {
+            delivered.add(occurrence.planId() + "/" + occurrence.reminderId());
+            return PlanActionStatus.SUCCESS;
+        }, settings, Clock.systemUTC());
+        engines.add(engine);
+        return engine;
+    }
+
+    private void awaitDeliveries(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (delivered.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import com.bob.mta.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanScheduleIndexTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2024, 3, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private final List<PlanScheduleIndex.Entry> stored = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final MutableClock clock = new MutableClock(BASE.toInstant());
+    private final PlanScheduleIndex index = new PlanScheduleIndex(tenantId -> {
+        loads.incrementAndGet();
+        return stored.stream().filter(entry -> entry.tenantId().equals(tenantId)).toList();
+    }, Duration.ofMinutes(5), clock);
+
+    @Test
+    void shouldFindOverlapsByCustomerOrOwner() {
+        stored.add(entry("plan-1", "cust-1", "owner-1", 0, 2));
+        stored.add(entry("plan-2", "cust-2", "owner-2", 1, 3));
+        stored.add(entry("plan-3", "cust-3", "owner-1", 1, 2));
+        stored.add(entry("plan-4", "cust-1", "owner-9", 5, 6));
+
+        List<PlanScheduleIndex.Entry> matches = index.findOverlapping("tenant", "cust-1", "owner-1",
+                BASE.plusMinutes(30), BASE.plusMinutes(90), null);
+
+        assertThat(matches).extracting(PlanScheduleIndex.Entry::planId).containsExactly("plan-1", "plan-3");
+        assertThat(index.findOverlapping("tenant", "cust-1", "owner-1", BASE, BASE.plusMinutes(30), "plan-1"))
+                .isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldApplyWritesToLoadedTenants() {
+        stored.add(entry("plan-1", "cust-1", "owner-1", 0, 2));
+        index.findOverlapping("tenant", "cust-1", "owner-1", BASE, BASE, null);
+
+        index.put(entry("plan-1", "cust-1", "owner-1", 10, 12));
+        index.put(entry("plan-2", "cust-1", "owner-2", 0, 1));
+
+        assertThat(index.findOverlapping("tenant", "cust-1", "owner-1", BASE, BASE.plusHours(1), null))
+                .extracting(PlanScheduleIndex.Entry::planId)
+                .containsExactly("plan-2");
+
+        index.remove("tenant", "plan-2");
+
+        assertThat(index.findOverlapping("tenant", "cust-1", "owner-1", BASE, BASE.plusHours(1), null)).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldReloadTenantAfterRefreshInterval() {
+        index.findOverlapping("tenant", "cust-1", "owner-1", BASE, BASE.plusHours(1), null);
+        stored.add(entry("plan-1", "cust-1", "owner-1", 0, 2));
+
+        assertThat(index.findOverlapping("tenant", "cust-1", "owner-1", BASE, BASE.plusHours(1), null)).isEmpty();
+
+        clock.advance(Duration.ofMinutes(6));
+
+        assertThat(index.findOverlapping("tenant", "cust-1", "owner-1", BASE, BASE.plusHours(1), null))
+                .extracting(PlanScheduleIndex.Entry::planId)
+                .containsExactly("plan-1");
+        assertThat(loads).hasValue(2);
+    }
+
+    private PlanScheduleIndex.Entry entry(String planId, String customerId, String ownerId,
+                                          int startHour, int endHour) {
+        return new PlanScheduleIndex.Entry(planId, "tenant", customerId, ownerId, planId,
+                BASE.plusHours(startHour), BASE.plusHours(endHour));
+    }
+}
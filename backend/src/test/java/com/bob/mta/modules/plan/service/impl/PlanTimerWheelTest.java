@@ -0,0 +1,63 @@
+package com.bob.mta.modules.plan.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanTimerWheelTest {
+
+    private static final Instant START = Instant.parse("2024-05-01T00:00:00Z");
+
+    @Test
+    void shouldFireTimeoutsOnceTheirDeadlinePassed() {
+        PlanTimerWheel<String> wheel = new PlanTimerWheel<>(Duration.ofSeconds(1), 8, START);
+        wheel.schedule(START.plusMillis(1500), "first");
+        wheel.schedule(START.plusSeconds(3), "second");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(START.plusSeconds(1), fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(START.plusSeconds(2), fired::add);
+        assertThat(fired).containsExactly("first");
+
+        wheel.advance(START.plusSeconds(3), fired::add);
+        assertThat(fired).containsExactly("first", "second");
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void shouldKeepTimeoutsOfLaterRoundsAndCatchUpAfterLongGaps() {
+        PlanTimerWheel<String> wheel = new PlanTimerWheel<>(Duration.ofSeconds(1), 4, START);
+        wheel.schedule(START.plusSeconds(1), "near");
+        wheel.schedule(START.plusSeconds(5), "next-round");
+        wheel.schedule(START.plusSeconds(40), "far");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(START.plusSeconds(2), fired::add);
+        assertThat(fired).containsExactly("near");
+
+        wheel.advance(START.plusSeconds(20), fired::add);
+        assertThat(fired).containsExactly("near", "next-round");
+        assertThat(wheel.pending()).isEqualTo(1);
+
+        wheel.advance(START.plusSeconds(60), fired::add);
+        assertThat(fired).containsExactly("near", "next-round", "far");
+    }
+
+    @Test
+    void shouldFirePastDeadlinesOnNextAdvance() {
+        PlanTimerWheel<String> wheel = new PlanTimerWheel<>(Duration.ofSeconds(1), 4, START.plusSeconds(10));
+        wheel.schedule(START, "late");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(START.plusSeconds(10), fired::add);
+
+        assertThat(fired).containsExactly("late");
+    }
+}
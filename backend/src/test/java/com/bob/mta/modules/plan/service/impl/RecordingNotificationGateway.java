@@ -29,7 +29,6 @@ public class RecordingNotificationGateway implements EmailNotificationAdapter,
     private int apiFailuresRemaining;
     private String apiError = "api.failed";
 
-    @Override
     @Override
     public NotificationResult send(EmailMessage message) {
         emails.add(message);